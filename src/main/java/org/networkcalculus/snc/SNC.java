@@ -22,12 +22,13 @@ package org.networkcalculus.snc;
 import java.awt.EventQueue;
 
 import java.io.File;
-import java.io.IOException;
 
 import java.lang.reflect.InvocationTargetException;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.networkcalculus.snc.analysis.AbstractAnalysis;
 import org.networkcalculus.snc.analysis.AnalysisException;
@@ -37,22 +38,27 @@ import org.networkcalculus.snc.analysis.Analyzer;
 import org.networkcalculus.snc.analysis.BoundType;
 import org.networkcalculus.snc.analysis.DeadlockException;
 import org.networkcalculus.snc.commands.Command;
-import org.networkcalculus.snc.exceptions.FileOperationException;
 import org.networkcalculus.snc.gui.MainWindow;
 import org.networkcalculus.snc.network.ArrivalNotAvailableException;
 import org.networkcalculus.snc.network.Flow;
 import org.networkcalculus.snc.network.Network;
 import org.networkcalculus.snc.network.NetworkListener;
 import org.networkcalculus.snc.network.Vertex;
+import org.networkcalculus.snc.optimization.BoundCurve;
 import org.networkcalculus.snc.optimization.BoundFactory;
+import org.networkcalculus.snc.optimization.CancellationToken;
 import org.networkcalculus.snc.optimization.Optimizable;
 import org.networkcalculus.snc.optimization.OptimizationFactory;
+import org.networkcalculus.snc.optimization.OptimizationResult;
 import org.networkcalculus.snc.optimization.OptimizationType;
 import org.networkcalculus.snc.optimization.Optimizer;
+import org.networkcalculus.snc.optimization.ProgressListener;
+import org.networkcalculus.snc.optimization.WarmStartCache;
 import org.networkcalculus.snc.symbolic_math.Arrival;
 import org.networkcalculus.snc.symbolic_math.BadInitializationException;
 import org.networkcalculus.snc.symbolic_math.ParameterMismatchException;
 import org.networkcalculus.snc.symbolic_math.ServerOverloadException;
+import org.networkcalculus.snc.symbolic_math.SymbolicSimplifier;
 import org.networkcalculus.snc.symbolic_math.ThetaOutOfBoundException;
 
 /**
@@ -71,6 +77,7 @@ public class SNC {
     private static SNC singletonInstance;
     private final List<Network> networks;
     private final int currentNetworkPosition;
+    private WarmStartCache warmStartCache;
 
     private SNC() {
     	undoRedoStack = new UndoRedoStack();
@@ -93,6 +100,29 @@ public class SNC {
         return singletonInstance;
     }
 
+    /**
+     * Sets the cache, through which the optimizations of
+     * {@link #optimizeSymbolicFunction} start at the optima of earlier
+     * bounds of the same structure, e.g. while sweeping a parameter of
+     * the network. Only {@link OptimizationType#GRADIENT_OPT} uses the
+     * cache (see {@link WarmStartCache}).
+     *
+     * @param cache the cache of optima, <code>null</code> to start every
+     * optimization from scratch
+     */
+    public void setWarmStartCache(WarmStartCache cache) {
+        this.warmStartCache = cache;
+    }
+
+    /**
+     * Returns the cache of optima used by {@link #optimizeSymbolicFunction}
+     *
+     * @return the cache, <code>null</code> if there is none
+     */
+    public WarmStartCache getWarmStartCache() {
+        return warmStartCache;
+    }
+
     /**
      * The main method of the program, used to start the GUI and initialize
      * everything
@@ -206,7 +236,9 @@ public class SNC {
     /**
      * This relays the command of calculating a symbolic (not optimized) bound
      * to the corresponding {@link AbstractAnalysis}-subclass. The result is
-     * returned in arrival-representation.
+     * returned in arrival-representation. The analysis works on a snapshot
+     * of <code>nw</code> (see {@link Network#deepCopy()}), which is left
+     * unchanged.
      *
      * @param flow the <code>Flow</code> of interest.
      * @param vertex the <code>Vertex</code> of interest.
@@ -219,20 +251,14 @@ public class SNC {
     public Arrival analyzeNetwork(Flow flow, Vertex vertex, AnalysisType anaType, BoundType boundtype, Network nw) {
         // Preparations
         Arrival bound = null;
-        File file = null;
-        try {
-            file = File.createTempFile("SNC", "txt");
-        } catch (IOException e) {
-            throw new FileOperationException("Error while analyzing Network: " + e.getMessage());
-        }
-        this.saveNetwork(file);
-        Network nwCopy = Network.load(file, false);
+        Network nwCopy = nw.deepCopy();
         Analyzer analyzer = AnalysisFactory.getAnalyzer(anaType, nwCopy, nwCopy.getVertices(), nwCopy.getFlows(), flow.getID(), vertex.getID(), boundtype);
         try {
             bound = analyzer.analyze();
         } catch (ArrivalNotAvailableException | DeadlockException | BadInitializationException e) {
             throw new AnalysisException(e);
         }
+        System.out.println("Symbolic bound: " + SymbolicSimplifier.simplify(bound, nwCopy.getFunctionFactory()));
         return bound;
     }
 
@@ -257,15 +283,49 @@ public class SNC {
      * @param nw The network to which the <code>flow</code> and
      * <code>vertex</code> belong to
      * 
-     * @return An optimal bound
+     * @return An optimal bound together with its parameters and the
+     * statistics of the computation. The time of the analysis is reported
+     * as phase "analysis".
      */
-    public double optimizeSymbolicFunction(Flow flow, Vertex vertex, double thetaGran, double hoelderGran,
+    public OptimizationResult optimizeSymbolicFunction(Flow flow, Vertex vertex, double thetaGran, double hoelderGran,
             AnalysisType analysisType, OptimizationType optAlgorithm, BoundType boundType, double value, Network nw) {
+        return optimizeSymbolicFunction(flow, vertex, thetaGran, hoelderGran, analysisType, optAlgorithm, boundType, value, nw, null, null);
+    }
+
+    /**
+     * Computes an optimized bound like
+     * {@link #optimizeSymbolicFunction(Flow, Vertex, double, double, AnalysisType, OptimizationType, BoundType, double, Network)},
+     * while the progress of the optimization is reported to
+     * <code>listener</code>. If <code>token</code> is cancelled, the best
+     * bound found so far is returned.
+     *
+     * @param flow The {@link Flow} of interest
+     * @param vertex The {@link Vertex} of interest
+     * @param thetaGran Specifies the optimization granularity of the
+     * theta-parameter
+     * @param hoelderGran Specifies the optimization granularity of the
+     * hoelder-parameter
+     * @param analysisType The desired analysis algorithm
+     * @param optAlgorithm The desired optimization algorithm
+     * @param boundType The desired {@link BoundType}
+     * @param value A violation probability or a bound value
+     * @param nw The network to which the <code>flow</code> and
+     * <code>vertex</code> belong to
+     * @param listener The {@link ProgressListener}, or <code>null</code>
+     * @param token The {@link CancellationToken}, or <code>null</code>
+     * 
+     * @return An optimal bound together with its parameters and the
+     * statistics of the computation
+     */
+    public OptimizationResult optimizeSymbolicFunction(Flow flow, Vertex vertex, double thetaGran, double hoelderGran,
+            AnalysisType analysisType, OptimizationType optAlgorithm, BoundType boundType, double value, Network nw,
+            ProgressListener listener, CancellationToken token) {
 
-        double result = Double.NaN;
-        double debugVal = Double.NaN;
+        OptimizationResult result;
         BoundType analysisBound = convertBoundTypes(boundType);
+        long start = System.nanoTime();
         Arrival symbolicBound = analyzeNetwork(flow, vertex, analysisType, analysisBound, nw);
+        long analysisTime = System.nanoTime() - start;
 
         //Backlog values are represented by negative values in the arrival representation
         if (boundType == BoundType.BACKLOG && value > 0) {
@@ -273,25 +333,73 @@ public class SNC {
         }
 
         Optimizable bound = BoundFactory.createBound(symbolicBound, boundType, value);
-        Optimizer optimizer = OptimizationFactory.getOptimizer(bound, analysisBound, optAlgorithm);
+        Optimizer optimizer = OptimizationFactory.getOptimizer(bound, analysisBound, optAlgorithm, warmStartCache);
 
         try {
-            result = optimizer.minimize(thetaGran, hoelderGran);
-            // Temporary Debug Test
-            if (boundType == BoundType.BACKLOG || boundType == BoundType.DELAY) {
-                debugVal = optimizer.Bound(symbolicBound, analysisBound, value, thetaGran, hoelderGran);
-            } else {
-                debugVal = optimizer.ReverseBound(symbolicBound, analysisBound, value, thetaGran, hoelderGran);
+            result = optimizer.optimize(thetaGran, hoelderGran, listener, token);
+        } catch (ThetaOutOfBoundException | ParameterMismatchException | ServerOverloadException e) {
+            throw new AnalysisException(e);
+        }
+        Map<String, Long> phaseTimes = new LinkedHashMap<>();
+        phaseTimes.put("analysis", analysisTime);
+        phaseTimes.putAll(result.getPhaseTimes());
+        return result.withPhaseTimes(phaseTimes);
+    }
+
+    /**
+     * Computes optimized bounds for the desired {@link Flow} and
+     * {@link Vertex} for several values, e.g. to plot a delay over the
+     * violation probability. The network is analyzed once and the
+     * bounds are optimized by a {@link BoundCurve}, which shares the
+     * evaluations of the coarse grid between the values and refines
+     * the values in parallel.
+     *
+     * @param flow The {@link Flow} of interest
+     * @param vertex The {@link Vertex} of interest
+     * @param thetaGran Specifies the optimization granularity of the
+     * theta-parameter
+     * @param hoelderGran Specifies the optimization granularity of the
+     * hoelder-parameter
+     * @param analysisType The desired analysis algorithm (see
+     * {@link AnalysisType})
+     * @param boundType The desired {@link BoundType}
+     * @param values Depending on the boundType parameter these are either
+     * violation probabilities (in case of an inverse bound) or bound values
+     * (otherwise)
+     * @param nw The network to which the <code>flow</code> and
+     * <code>vertex</code> belong to
+     * 
+     * @return The optimal bounds in the order of the values. The time of
+     * the analysis is reported as phase "analysis" of each bound.
+     */
+    public OptimizationResult[] optimizeBoundCurve(Flow flow, Vertex vertex, double thetaGran, double hoelderGran,
+            AnalysisType analysisType, BoundType boundType, double[] values, Network nw) {
+
+        long start = System.nanoTime();
+        Arrival symbolicBound = analyzeNetwork(flow, vertex, analysisType, convertBoundTypes(boundType), nw);
+        long analysisTime = System.nanoTime() - start;
+
+        //Backlog values are represented by negative values in the arrival representation
+        double[] boundValues = values.clone();
+        for (int i = 0; i < boundValues.length; i++) {
+            if (boundType == BoundType.BACKLOG && boundValues[i] > 0) {
+                boundValues[i] = -boundValues[i];
             }
+        }
 
+        OptimizationResult[] results;
+        try {
+            results = new BoundCurve(symbolicBound, boundType, boundValues).optimize(thetaGran, hoelderGran);
         } catch (ThetaOutOfBoundException | ParameterMismatchException | ServerOverloadException e) {
             throw new AnalysisException(e);
         }
-        // For debugging purposes
-        if (result != debugVal) {
-            throw new RuntimeException("[DEBUG] Optimization results do not match!");
+        for (int i = 0; i < results.length; i++) {
+            Map<String, Long> phaseTimes = new LinkedHashMap<>();
+            phaseTimes.put("analysis", analysisTime);
+            phaseTimes.putAll(results[i].getPhaseTimes());
+            results[i] = results[i].withPhaseTimes(phaseTimes);
         }
-        return result;
+        return results;
     }
 
     /**
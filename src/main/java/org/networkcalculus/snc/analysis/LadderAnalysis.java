@@ -29,14 +29,12 @@ import org.networkcalculus.snc.network.ArrivalNotAvailableException;
 import org.networkcalculus.snc.network.Flow;
 import org.networkcalculus.snc.network.Network;
 import org.networkcalculus.snc.network.Vertex;
-import org.networkcalculus.snc.symbolic_math.AdditiveComposition;
 import org.networkcalculus.snc.symbolic_math.Arrival;
 import org.networkcalculus.snc.symbolic_math.BadInitializationException;
 import org.networkcalculus.snc.symbolic_math.Hoelder;
 import org.networkcalculus.snc.symbolic_math.Service;
 import org.networkcalculus.snc.symbolic_math.SymbolicFunction;
-import org.networkcalculus.snc.symbolic_math.UnitaryMinus;
-import org.networkcalculus.snc.symbolic_math.functions.BFunction;
+import org.networkcalculus.snc.symbolic_math.SymbolicFunctionFactory;
 import org.networkcalculus.snc.symbolic_math.functions.ScaledFunction;
 import org.networkcalculus.snc.utils.SetUtils;
 
@@ -347,17 +345,18 @@ public class LadderAnalysis extends AbstractAnalysis {
 				}
         */
                 // Independent Case
-                SymbolicFunction rho = new UnitaryMinus(arrival.getRho());
+                SymbolicFunctionFactory factory = nw.getFunctionFactory();
+                SymbolicFunction rho = factory.minus(arrival.getRho());
                 SymbolicFunction sigma = arrival.getSigma();
                 SymbolicFunction rho_through_total = arrival.getRho();
                 if(aggregated_through != null){
-                	sigma = new AdditiveComposition(arrival.getSigma(), aggregated_through.getSigma());
-                	rho_through_total = new AdditiveComposition(arrival.getRho(), aggregated_through.getRho());
+                	sigma = factory.add(arrival.getSigma(), aggregated_through.getSigma());
+                	rho_through_total = factory.add(arrival.getRho(), aggregated_through.getRho());
                 }
                 
                 for (Service leftover_service : leftover_services) {
-                    sigma = new AdditiveComposition(sigma, leftover_service.getSigma());
-                    sigma = new AdditiveComposition(sigma, new BFunction(new AdditiveComposition(leftover_service.getRho(), rho_through_total)));
+                    sigma = factory.add(sigma, leftover_service.getSigma());
+                    sigma = factory.add(sigma, factory.b(factory.add(leftover_service.getRho(), rho_through_total)));
                 }
 
                 System.out.println("Ladder Analysis (Independent Case):");
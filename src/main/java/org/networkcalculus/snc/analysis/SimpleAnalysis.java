@@ -26,16 +26,12 @@ import org.networkcalculus.snc.network.ArrivalNotAvailableException;
 import org.networkcalculus.snc.network.Flow;
 import org.networkcalculus.snc.network.Network;
 import org.networkcalculus.snc.network.Vertex;
-import org.networkcalculus.snc.symbolic_math.AdditiveComposition;
 import org.networkcalculus.snc.symbolic_math.Arrival;
 import org.networkcalculus.snc.symbolic_math.BadInitializationException;
 import org.networkcalculus.snc.symbolic_math.Hoelder;
-import org.networkcalculus.snc.symbolic_math.NewParameter;
 import org.networkcalculus.snc.symbolic_math.Service;
 import org.networkcalculus.snc.symbolic_math.SymbolicFunction;
-import org.networkcalculus.snc.symbolic_math.functions.BFunction;
-import org.networkcalculus.snc.symbolic_math.functions.ConstantFunction;
-import org.networkcalculus.snc.symbolic_math.functions.ScaledFunction;
+import org.networkcalculus.snc.symbolic_math.SymbolicFunctionFactory;
 import org.networkcalculus.snc.utils.SetUtils;
 
 /**
@@ -181,6 +177,7 @@ public class SimpleAnalysis extends AbstractAnalysis {
 	 */
 	private Arrival calculateBound(Arrival arrival, Service service) throws BadInitializationException{
 		Arrival result;
+		SymbolicFunctionFactory factory = nw.getFunctionFactory();
 		
 		// The result is dependent on the wished performance-bound
 		switch(getBoundType()){
@@ -191,22 +188,22 @@ public class SimpleAnalysis extends AbstractAnalysis {
 			if(!SetUtils.getIntersection(arrival.getServicedependencies(),service.getServicedependencies()).isEmpty() 
 					|| !SetUtils.getIntersection(service.getArrivaldependencies(), arrival.getArrivaldependencies()).isEmpty()){
 				Hoelder hoelder = nw.createHoelder();
-				preparation = new AdditiveComposition(new AdditiveComposition(arrival.getSigma(), service.getSigma(), hoelder), 
-					new BFunction(new AdditiveComposition(arrival.getRho(), service.getRho(), hoelder)));
+				preparation = factory.add(factory.add(arrival.getSigma(), service.getSigma(), hoelder), 
+					factory.b(factory.add(arrival.getRho(), service.getRho(), hoelder)));
 			}
 			
 			// Independent Case
 			else{
-				preparation = new AdditiveComposition(new AdditiveComposition(arrival.getSigma(), service.getSigma()), 
-					new BFunction(new AdditiveComposition(arrival.getRho(), service.getRho())));	
+				preparation = factory.add(factory.add(arrival.getSigma(), service.getSigma()), 
+					factory.b(factory.add(arrival.getRho(), service.getRho())));	
 			}
 			
 			// introduces the backlog-part in the backlog-bound as new variable. The sign must be negative!
-			SymbolicFunction backlog_part = new NewParameter(nw.createHoelder());
-			SymbolicFunction function = new AdditiveComposition(preparation, backlog_part);
+			SymbolicFunction backlog_part = factory.parameter(nw.createHoelder());
+			SymbolicFunction function = factory.add(preparation, backlog_part);
 
 			// In the vector of variables the backlog has Hoelder_ID equal to Network.HOELDER_ID-1.
-			result = new Arrival(function,new ConstantFunction(0), nw);
+			result = new Arrival(function,factory.constant(0), nw);
 			break;
 		
 		case DELAY:
@@ -223,18 +220,18 @@ public class SimpleAnalysis extends AbstractAnalysis {
 			if(!SetUtils.getIntersection(arrival.getServicedependencies(), service.getServicedependencies()).isEmpty() 
 					|| !SetUtils.getIntersection(service.getArrivaldependencies(), arrival.getArrivaldependencies()).isEmpty()){
 				Hoelder hoelder = nw.createHoelder();
-				SymbolicFunction prep1 = new AdditiveComposition(arrival.getSigma(), service.getSigma(), hoelder);
-				SymbolicFunction prep2 = new AdditiveComposition(arrival.getRho(), service.getRho(), hoelder);
+				SymbolicFunction prep1 = factory.add(arrival.getSigma(), service.getSigma(), hoelder);
+				SymbolicFunction prep2 = factory.add(arrival.getRho(), service.getRho(), hoelder);
 				
-				sigma = new AdditiveComposition(prep1, new BFunction(prep2));
-				rho = new ScaledFunction(service.getRho(), hoelder, false);
+				sigma = factory.add(prep1, factory.b(prep2));
+				rho = factory.scaled(service.getRho(), hoelder, false);
 				System.out.println("Dependent case");
 			}
 			
 			// Independent Case
 			else{
-				sigma = new AdditiveComposition(new AdditiveComposition(arrival.getSigma(), service.getSigma()),
-						new BFunction(new AdditiveComposition(arrival.getRho(), service.getRho())));
+				sigma = factory.add(factory.add(arrival.getSigma(), service.getSigma()),
+						factory.b(factory.add(arrival.getRho(), service.getRho())));
 				rho = service.getRho();
 				System.out.println("Independent Case");
 			} 
@@ -249,15 +246,15 @@ public class SimpleAnalysis extends AbstractAnalysis {
 			if(!SetUtils.getIntersection(arrival.getServicedependencies(), service.getServicedependencies()).isEmpty() 
 					|| !SetUtils.getIntersection(service.getArrivaldependencies(), arrival.getArrivaldependencies()).isEmpty()){
 				Hoelder hoelder = nw.createHoelder();
-				givensigma = new AdditiveComposition(new AdditiveComposition(arrival.getSigma(), service.getSigma(), hoelder), 
-						new BFunction(new AdditiveComposition(arrival.getRho(), service.getRho(), hoelder)));
-				givenrho = new ScaledFunction(arrival.getRho(), hoelder, false);
+				givensigma = factory.add(factory.add(arrival.getSigma(), service.getSigma(), hoelder), 
+						factory.b(factory.add(arrival.getRho(), service.getRho(), hoelder)));
+				givenrho = factory.scaled(arrival.getRho(), hoelder, false);
 			}
 			
 			// Independent Case
 			else{
-				givensigma = new AdditiveComposition(new AdditiveComposition(arrival.getSigma(), service.getSigma()), 
-						new BFunction(new AdditiveComposition(arrival.getRho(), service.getRho())));
+				givensigma = factory.add(factory.add(arrival.getSigma(), service.getSigma()), 
+						factory.b(factory.add(arrival.getRho(), service.getRho())));
 				givenrho = arrival.getRho();
 			}
 			result = new Arrival(givensigma, givenrho, nw);
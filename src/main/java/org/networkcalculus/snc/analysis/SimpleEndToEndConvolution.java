@@ -56,7 +56,8 @@ public class SimpleEndToEndConvolution {
 			StringBuffer results_str = new StringBuffer();
 		    for(int i = 0, j = 1;j < route.size() - 1;i++, j++) {
 		    	
-		        // Convolution
+		        // Convolution (on a snapshot, nw stays unchanged for the
+		        // subtraction below; ids of nw are valid in the snapshot)
 		        Network convNetwork = nw.deepCopy();
 		        
 		        int newID = convNetwork.convolve(route.get(i), route.get(j), flowOfInterest.getID());
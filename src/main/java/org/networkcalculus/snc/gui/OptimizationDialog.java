@@ -19,16 +19,23 @@
 
 package org.networkcalculus.snc.gui;
 
+import java.awt.BorderLayout;
 import java.awt.GridLayout;
+import java.util.concurrent.ExecutionException;
 
+import javax.swing.JButton;
 import javax.swing.JComboBox;
+import javax.swing.JDialog;
 import javax.swing.JLabel;
 import javax.swing.JOptionPane;
 import javax.swing.JPanel;
+import javax.swing.JProgressBar;
 import javax.swing.JSpinner;
 import javax.swing.JTextField;
 import javax.swing.SpinnerModel;
 import javax.swing.SpinnerNumberModel;
+import javax.swing.SwingUtilities;
+import javax.swing.SwingWorker;
 
 import org.networkcalculus.snc.SNC;
 import org.networkcalculus.snc.analysis.AnalysisException;
@@ -37,11 +44,16 @@ import org.networkcalculus.snc.analysis.BoundType;
 import org.networkcalculus.snc.network.Flow;
 import org.networkcalculus.snc.network.Network;
 import org.networkcalculus.snc.network.Vertex;
+import org.networkcalculus.snc.optimization.CancellationToken;
+import org.networkcalculus.snc.optimization.OptimizationResult;
 import org.networkcalculus.snc.optimization.OptimizationType;
+import org.networkcalculus.snc.optimization.ProgressListener;
 
 /**
  * A dialog that asks the user for the necessary input to perform an optimization
- * of a symbolic bound.
+ * of a symbolic bound. The optimization runs in the background, while a
+ * progress window shows the best bound found so far and allows to stop the
+ * optimization, which then reports this bound. A time limit stops it as well.
  * 
  * @author Sebastian Henningsen
  * @author Michael Beck
@@ -56,6 +68,7 @@ public class OptimizationDialog {
     private final JLabel thetaGranularity;
     private final JLabel optimizationAlgorithm;
     private final JLabel boundValue;
+    private final JLabel timeLimit;
     private final JComboBox<Displayable> vertexSelector;
     private final JComboBox<Displayable> flowSelector;
     private final JComboBox<AnalysisType> analysisSelector;
@@ -65,6 +78,7 @@ public class OptimizationDialog {
     private final JSpinner thetaGran;
     private final SpinnerModel hoelderModel;
     private final SpinnerModel thetaModel;
+    private final JSpinner limitSpinner;
     private final JTextField valueField;
     private final GridLayout layout;
 
@@ -82,6 +96,7 @@ public class OptimizationDialog {
         thetaGranularity = new JLabel("Theta Granularity: ");
         optimizationAlgorithm = new JLabel("Optimization Algorithm: ");
         boundValue = new JLabel("Bound Or Probability: ");
+        timeLimit = new JLabel("Time Limit In Seconds (0 = None): ");
 
         vertexSelector = new JComboBox<>(MainWindow.convertDisplayables(SNC.getInstance().getCurrentNetwork().getVertices()));
         flowSelector = new JComboBox<>(MainWindow.convertDisplayables(SNC.getInstance().getCurrentNetwork().getFlows()));
@@ -93,6 +108,7 @@ public class OptimizationDialog {
         thetaModel = new SpinnerNumberModel(0.01, 0.0, null, 0.001);
         hoelderGran = new JSpinner(hoelderModel);
         thetaGran = new JSpinner(thetaModel);
+        limitSpinner = new JSpinner(new SpinnerNumberModel(0.0, 0.0, null, 1.0));
 
         valueField = new JTextField(10);
 
@@ -115,6 +131,8 @@ public class OptimizationDialog {
         panel.add(thetaGran);
         panel.add(boundValue);
         panel.add(valueField);
+        panel.add(timeLimit);
+        panel.add(limitSpinner);
     }
 
     /**
@@ -143,20 +161,84 @@ public class OptimizationDialog {
                         + " " + (double) (hoelderGran.getModel().getValue())
                         + " " + (double) (thetaGran.getModel().getValue())
                         + " " + Double.parseDouble(valueField.getText()));
-                try {
-                System.out.println("The result of the optimization is: ");
-                System.out.println(SNC.getInstance().optimizeSymbolicFunction(flow, vertex,
-                        (double) (thetaGran.getModel().getValue()),
-                        (double) (hoelderGran.getModel().getValue()),
-                        (AnalysisType) analysisSelector.getSelectedItem(),
-                        (OptimizationType) optSelector.getSelectedItem(),
-                        (BoundType) boundSelector.getSelectedItem(),
-                        Double.parseDouble(valueField.getText()),
-                        nw));
-                } catch(AnalysisException ex) {
-                    System.out.println(ex.getMessage());
-                }
+                double thetaGranularity = (double) (thetaGran.getModel().getValue());
+                double hoelderGranularity = (double) (hoelderGran.getModel().getValue());
+                AnalysisType analysis = (AnalysisType) analysisSelector.getSelectedItem();
+                OptimizationType optimization = (OptimizationType) optSelector.getSelectedItem();
+                BoundType bound = (BoundType) boundSelector.getSelectedItem();
+                double value = Double.parseDouble(valueField.getText());
+                double limit = (double) (limitSpinner.getModel().getValue());
+                CancellationToken token = (limit > 0) ? CancellationToken.withTimeout((long) (limit*1000)) : new CancellationToken();
+
+                ProgressWindow window = new ProgressWindow(token);
+                SwingWorker<OptimizationResult, Void> worker = new SwingWorker<OptimizationResult, Void>() {
+                    @Override
+                    protected OptimizationResult doInBackground() {
+                        return SNC.getInstance().optimizeSymbolicFunction(flow, vertex, thetaGranularity, hoelderGranularity,
+                                analysis, optimization, bound, value, nw, window, token);
+                    }
+
+                    @Override
+                    protected void done() {
+                        window.dispose();
+                        try {
+                            System.out.println("The result of the optimization is: ");
+                            System.out.println(get());
+                        } catch(ExecutionException ex) {
+                            System.out.println(ex.getCause().getMessage());
+                        } catch(InterruptedException ex) {
+                            Thread.currentThread().interrupt();
+                        }
+                    }
+                };
+                worker.execute();
+                window.setVisible(true);
             }
         }
     }
+
+    /**
+     * Shows the progress of a running optimization and stops it on request.
+     */
+    private class ProgressWindow extends JDialog implements ProgressListener {
+        private static final long serialVersionUID = -3391567027403845826L;
+
+        private final JProgressBar progressBar;
+        private final JLabel status;
+
+        ProgressWindow(CancellationToken token) {
+            super(SwingUtilities.getWindowAncestor(panel), "Optimization");
+            progressBar = new JProgressBar(0, 1000);
+            progressBar.setIndeterminate(true);
+            status = new JLabel("Best bound: none");
+            JButton stop = new JButton("Stop");
+            stop.addActionListener(e -> {
+                token.cancel();
+                stop.setEnabled(false);
+            });
+
+            JPanel content = new JPanel(new BorderLayout(5, 5));
+            content.add(progressBar, BorderLayout.NORTH);
+            content.add(status, BorderLayout.CENTER);
+            content.add(stop, BorderLayout.SOUTH);
+            setContentPane(content);
+            setDefaultCloseOperation(JDialog.DO_NOTHING_ON_CLOSE);
+            pack();
+            setLocationRelativeTo(null);
+        }
+
+        @Override
+        public void progress(double bound, double explored, double evaluationRate) {
+            SwingUtilities.invokeLater(() -> {
+                if(Double.isNaN(explored)) {
+                    progressBar.setIndeterminate(true);
+                } else {
+                    progressBar.setIndeterminate(false);
+                    progressBar.setValue((int) Math.round(explored*1000));
+                }
+                status.setText(String.format("Best bound: %g, %.0f evaluations/s", bound, evaluationRate));
+                pack();
+            });
+        }
+    }
 }
\ No newline at end of file
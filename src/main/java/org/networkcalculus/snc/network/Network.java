@@ -21,10 +21,14 @@ package org.networkcalculus.snc.network;
 
 import java.io.BufferedReader;
 import java.io.BufferedWriter;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileReader;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
 
 import java.util.ArrayList;
@@ -41,6 +45,7 @@ import org.networkcalculus.snc.symbolic_math.Hoelder;
 import org.networkcalculus.snc.symbolic_math.Service;
 import org.networkcalculus.snc.symbolic_math.ServiceFactory;
 import org.networkcalculus.snc.symbolic_math.SymbolicFunction;
+import org.networkcalculus.snc.symbolic_math.SymbolicFunctionFactory;
 import org.networkcalculus.snc.symbolic_math.functions.ConstantFunction;
 import org.networkcalculus.snc.symbolic_math.functions.EBBSigma;
 import org.networkcalculus.snc.symbolic_math.functions.ExponentialSigma;
@@ -72,7 +77,9 @@ public class Network implements Serializable {
     private int VERTEX_ID;
     private int HOELDER_ID;
     
-    private List<NetworkListener> listeners;
+    private transient List<NetworkListener> listeners;
+
+    private transient SymbolicFunctionFactory functionFactory;
 
     public Network() {
         this(null, null, null);
@@ -110,6 +117,19 @@ public class Network implements Serializable {
         return hoelder;
     }
 
+    /**
+     * Returns the factory, by which the symbolic functions of this network
+     * are built, such that identical subexpressions are shared.
+     *
+     * @return the function factory of this network.
+     */
+    public SymbolicFunctionFactory getFunctionFactory() {
+        if (functionFactory == null) {
+            functionFactory = new SymbolicFunctionFactory();
+        }
+        return functionFactory;
+    }
+
     /**
      * Adds a new dummy vertex with alias
      *
@@ -506,26 +526,40 @@ public class Network implements Serializable {
         return vertices;
     }
 
+    /**
+     * Returns an independent snapshot of this network. The vertices, flows,
+     * their routes, arrivals and services, the symbolic functions and the
+     * Hoelder-parameters are all copied and refer to the new network, while
+     * objects shared within this network stay shared within the copy. The
+     * ids and id-counters are kept, hence ids of this network are valid in
+     * the copy. Unlike {@link #save(File)} this works for any state of the
+     * network, including networks with Hoelder-parameters. Listeners are
+     * not copied.
+     * The {@link SymbolicFunctionFactory} is not copied either: the copy
+     * starts with an empty factory, hence functions built for the copy are
+     * never shared with the copied functions, even if they are structurally
+     * identical.
+     *
+     * @return the copy
+     */
     public Network deepCopy() {
-        Map<Integer, Vertex> newVertices = new HashMap<Integer, Vertex>(this.vertices.size());
-        Map<Integer, Flow> newFlows = new HashMap<Integer, Flow>(this.flows.size());
-        Map<Integer, Hoelder> newHoelders = new HashMap<Integer, Hoelder>(this.hoelders.size());
-
-        for (Map.Entry<Integer, Vertex> entry : vertices.entrySet()) {
-            Vertex newVertex = entry.getValue().copy();
-            newVertices.put(entry.getKey(), newVertex);
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try (ObjectOutputStream output = new ObjectOutputStream(buffer)) {
+            output.writeObject(this);
+        } catch (IOException e) {
+            throw new NetworkActionException("Network could not be copied: " + e.getMessage());
         }
 
-        for (Map.Entry<Integer, Flow> entry : flows.entrySet()) {
-            Flow newFlow = entry.getValue().copy();
-            newFlows.put(entry.getKey(), newFlow);
+        try (ObjectInputStream input = new ObjectInputStream(new ByteArrayInputStream(buffer.toByteArray()))) {
+            return (Network) input.readObject();
+        } catch (IOException | ClassNotFoundException e) {
+            throw new NetworkActionException("Network could not be copied: " + e.getMessage());
         }
+    }
 
-        for (Map.Entry<Integer, Hoelder> entry : hoelders.entrySet()) {
-            Hoelder newHoelder = entry.getValue().copy();
-            newHoelders.put(entry.getKey(), newHoelder);
-        }
-        return new Network(newVertices, newFlows, newHoelders);
+    private void readObject(ObjectInputStream input) throws IOException, ClassNotFoundException {
+        input.defaultReadObject();
+        listeners = new ArrayList<NetworkListener>();
     }
 
     /**
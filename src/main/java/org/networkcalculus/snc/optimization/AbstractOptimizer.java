@@ -19,8 +19,14 @@
 
 package org.networkcalculus.snc.optimization;
 
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 import org.networkcalculus.snc.analysis.BoundType;
 import org.networkcalculus.snc.symbolic_math.Arrival;
+import org.networkcalculus.snc.symbolic_math.EvaluationStatus;
+import org.networkcalculus.snc.symbolic_math.Hoelder;
 import org.networkcalculus.snc.symbolic_math.ParameterMismatchException;
 import org.networkcalculus.snc.symbolic_math.ServerOverloadException;
 import org.networkcalculus.snc.symbolic_math.ThetaOutOfBoundException;
@@ -35,11 +41,23 @@ import org.networkcalculus.snc.symbolic_math.ThetaOutOfBoundException;
  * A calculation of output bounds is not needed.
  * This class should be used as a starting point when writing
  * own implementations of the @link Optimizer interface
+ * <p>
+ * The progress of an optimization is reported to an optional
+ * {@link ProgressListener}: the evaluation helpers of this class do so
+ * on their own, optimizers, which know how much of their search space
+ * they have explored, call {@link #reportProgress(double)}. Optimizers
+ * poll {@link #isCancelled()} between units of work and return their
+ * best value found so far, if it is true.
  * 
  * @author Michael Beck
  * @author Sebastian Henningsen
  */
 public abstract class AbstractOptimizer implements Optimizer {
+    /**
+     * The minimal time between two reports of the progress, in nanoseconds
+     */
+    private static final long PROGRESS_INTERVAL = 100000000L;
+
     /**
      * The bound-to-be-optimized
      */
@@ -55,6 +73,31 @@ public abstract class AbstractOptimizer implements Optimizer {
      */
     protected double maxTheta;
 
+    /**
+     * The theta of the best value found, set by {@link #recordOptimum(double)}
+     */
+    protected double optTheta = Double.NaN;
+
+    /**
+     * The number of evaluations of the bound, and of those at infeasible points
+     */
+    protected long evaluations;
+    protected long infeasibleEvaluations;
+
+    private Map<Integer, Double> optP;
+    private Map<Integer, Double> optQ;
+    private final Map<String, Long> phaseTimes = new LinkedHashMap<>();
+    private String phase;
+    private long phaseStart;
+    private ProgressListener listener;
+    private CancellationToken token;
+    private volatile boolean cancelled;
+    private volatile boolean thetaCapped;
+    private long start;
+    private long lastReport;
+    private double incumbent;
+    private double explored;
+
      /**
      * Sets the basic parameters
      * 
@@ -81,6 +124,265 @@ public abstract class AbstractOptimizer implements Optimizer {
      */
     @Override
     public abstract double minimize(double thetagranularity, double hoeldergranularity) throws ThetaOutOfBoundException, ParameterMismatchException, ServerOverloadException;
+
+    /**
+     * Runs {@link #minimize(double, double)} and collects the optimum and
+     * the statistics recorded by it. If no phases have been started, the
+     * whole computation is reported as phase "optimization"; if no optimum
+     * has been recorded, the current Hoelder-coefficients are reported.
+     */
+    @Override
+    public OptimizationResult optimize(double thetagranularity, double hoeldergranularity) throws ThetaOutOfBoundException, ParameterMismatchException, ServerOverloadException {
+        optTheta = Double.NaN;
+        optP = null;
+        optQ = null;
+        evaluations = 0;
+        infeasibleEvaluations = 0;
+        phaseTimes.clear();
+        phase = null;
+        cancelled = false;
+        thetaCapped = false;
+        incumbent = Double.POSITIVE_INFINITY;
+        explored = Double.NaN;
+
+        start = System.nanoTime();
+        lastReport = start;
+        double optValue = minimize(thetagranularity, hoeldergranularity);
+        endPhase();
+        if(phaseTimes.isEmpty()) {
+            phaseTimes.put("optimization", System.nanoTime() - start);
+        }
+        if(optP == null) {
+            recordOptimum(optTheta);
+        }
+        if(listener != null) {
+            listener.progress(optValue, cancelled ? explored : 1, getEvaluationRate(evaluations));
+        }
+        return new OptimizationResult(optValue, optTheta, optP, optQ, evaluations, infeasibleEvaluations, phaseTimes, cancelled, thetaCapped);
+    }
+
+    @Override
+    public OptimizationResult optimize(double thetagranularity, double hoeldergranularity, ProgressListener listener, CancellationToken token)
+            throws ThetaOutOfBoundException, ParameterMismatchException, ServerOverloadException {
+        this.listener = listener;
+        this.token = token;
+        try {
+            return optimize(thetagranularity, hoeldergranularity);
+        } finally {
+            this.listener = null;
+            this.token = null;
+        }
+    }
+
+    /**
+     * Checks the cancellation token of the running optimization. Once it
+     * has returned true, the result is marked as cancelled.
+     * 
+     * @return whether the optimization should stop
+     */
+    protected boolean isCancelled() {
+        if(!cancelled && token != null && token.isCancelled()) {
+            cancelled = true;
+        }
+        return cancelled;
+    }
+
+    /**
+     * Marks the result as cancelled without a cancelled token, e.g. if an
+     * optimizer run by this one has been stopped by a deadline of its own.
+     */
+    protected void markCancelled() {
+        cancelled = true;
+    }
+
+    /**
+     * Returns the listener of the running optimization, such that it can
+     * be passed on to optimizers, which are run by this one.
+     */
+    protected ProgressListener getProgressListener() {
+        return listener;
+    }
+
+    /**
+     * Returns the cancellation token of the running optimization, such that
+     * it can be passed on to optimizers, which are run by this one.
+     */
+    protected CancellationToken getCancellationToken() {
+        return token;
+    }
+
+    /**
+     * Reports the best value seen by the evaluation helpers together with
+     * the given fraction of the search space, if the last report is long
+     * enough ago.
+     * 
+     * @param explored the explored fraction of the search space
+     */
+    protected void reportProgress(double explored) {
+        this.explored = explored;
+        reportProgress(incumbent, explored, evaluations);
+    }
+
+    /**
+     * Reports the given state, if the last report is long enough ago. This
+     * may be called from several threads.
+     * 
+     * @param bound the best bound found so far
+     * @param explored the explored fraction of the search space, <code>NaN</code> if unknown
+     * @param evaluations the number of evaluations so far
+     */
+    protected synchronized void reportProgress(double bound, double explored, long evaluations) {
+        if(listener == null) {
+            return;
+        }
+        long now = System.nanoTime();
+        if(now - lastReport >= PROGRESS_INTERVAL) {
+            lastReport = now;
+            this.explored = explored;
+            listener.progress(bound, explored, getEvaluationRate(evaluations));
+        }
+    }
+
+    private double getEvaluationRate(long evaluations) {
+        long elapsed = System.nanoTime() - start;
+        return (elapsed > 0) ? evaluations / (elapsed / 1E9) : 0;
+    }
+
+    /**
+     * Returns the maximal theta of the bound for its current
+     * Hoelder-coefficients. If there is none, the end of a
+     * {@link ThetaBracket} is returned instead and its evaluations are
+     * counted, a capped bracket marks the result.
+     * 
+     * @param start the smallest theta of interest
+     * 
+     * @return a finite limit of theta
+     * 
+     * @throws ParameterMismatchException
+     */
+    protected double getThetaLimit(double start) throws ParameterMismatchException {
+        ThetaBracket bracket = new ThetaBracket(bound);
+        double limit = bracket.getLimit(start);
+        evaluations += bracket.getEvaluations();
+        infeasibleEvaluations += bracket.getInfeasibleEvaluations();
+        if(bracket.isCapped()) {
+            markThetaCapped();
+        }
+        return limit;
+    }
+
+    /**
+     * Marks the result as capped, see {@link OptimizationResult#isThetaCapped()}.
+     * This may be called from several threads.
+     */
+    protected void markThetaCapped() {
+        thetaCapped = true;
+    }
+
+    /**
+     * Ends the current phase, if any, and starts a new one.
+     * 
+     * @param name the name of the phase
+     */
+    protected void startPhase(String name) {
+        endPhase();
+        phase = name;
+        phaseStart = System.nanoTime();
+    }
+
+    /**
+     * Ends the current phase, if any. The times of phases with the same
+     * name are added up.
+     */
+    protected void endPhase() {
+        if(phase != null) {
+            phaseTimes.merge(phase, System.nanoTime() - phaseStart, Long::sum);
+            phase = null;
+        }
+    }
+
+    /**
+     * Stores theta and the current coefficients of the Hoelder-parameters
+     * of the bound as the optimum.
+     * 
+     * @param theta
+     */
+    protected void recordOptimum(double theta) {
+        recordOptimum(theta, bound.getHoelderParameters());
+    }
+
+    /**
+     * Stores theta and the current coefficients of the given
+     * Hoelder-parameters as the optimum.
+     * 
+     * @param theta
+     * @param parameters the Hoelder-parameters, keyed by their ids
+     */
+    protected void recordOptimum(double theta, Map<Integer, Hoelder> parameters) {
+        optTheta = theta;
+        optP = new HashMap<>();
+        optQ = new HashMap<>();
+        for(Map.Entry<Integer, Hoelder> entry : parameters.entrySet()) {
+            optP.put(entry.getKey(), entry.getValue().getPValue());
+            optQ.put(entry.getKey(), entry.getValue().getQValue());
+        }
+    }
+
+    /**
+     * Counts an evaluation of the bound.
+     * 
+     * @param value the value returned by an unchecked evaluation
+     */
+    protected void countEvaluation(double value) {
+        evaluations++;
+        if(!EvaluationStatus.isFeasible(value)) {
+            infeasibleEvaluations++;
+        }
+    }
+
+    /**
+     * Evaluates the bound by {@link Optimizable#evaluateUnchecked(double)}
+     * and counts the evaluation.
+     * 
+     * @param theta
+     * 
+     * @return the value or the status of an infeasible point
+     * 
+     * @throws ParameterMismatchException
+     */
+    protected double evaluateUnchecked(double theta) throws ParameterMismatchException {
+        double value = bound.evaluateUnchecked(theta);
+        countEvaluation(value);
+        if(value < incumbent) {
+            incumbent = value;
+        }
+        if(listener != null && evaluations % 64 == 0) {
+            reportProgress(explored);
+        }
+        return value;
+    }
+
+    /**
+     * Evaluates the bound by {@link Optimizable#evaluate(double[], double[])}
+     * and counts the evaluations.
+     * 
+     * @param thetas
+     * @param values
+     * 
+     * @throws ParameterMismatchException
+     */
+    protected void evaluate(double[] thetas, double[] values) throws ParameterMismatchException {
+        bound.evaluate(thetas, values);
+        for(double value : values) {
+            countEvaluation(value);
+            if(value < incumbent) {
+                incumbent = value;
+            }
+        }
+        if(listener != null) {
+            reportProgress(explored);
+        }
+    }
 	
 	/**
 	 * Computes a bound on the violation probability that a 
@@ -0,0 +1,132 @@
+/*
+ *  (c) 2017 Michael A. Beck, Sebastian Henningsen
+ *  		disco | Distributed Computer Systems Lab
+ *  		University of Kaiserslautern, Germany
+ *  All Rights Reserved.
+ *
+ * This software is work in progress and is released in the hope that it will
+ * be useful to the scientific community. It is provided "as is" without
+ * express or implied warranty, including but not limited to the correctness
+ * of the code or its suitability for any particular purpose.
+ *
+ * This software is provided under the MIT License, however, we would
+ * appreciate it if you contacted the respective authors prior to commercial use.
+ *
+ * If you find our software useful, we would appreciate if you mentioned it
+ * in any publication arising from the use of this software or acknowledge
+ * our work otherwise. We would also like to hear of any fixes or useful
+ */
+
+
+package org.networkcalculus.snc.optimization;
+
+import java.util.Map;
+
+import org.networkcalculus.snc.analysis.BoundType;
+import org.networkcalculus.snc.symbolic_math.Arrival;
+import org.networkcalculus.snc.symbolic_math.EvaluationStatus;
+import org.networkcalculus.snc.symbolic_math.Hoelder;
+import org.networkcalculus.snc.symbolic_math.ParameterMismatchException;
+import org.networkcalculus.snc.symbolic_math.ServerOverloadException;
+import org.networkcalculus.snc.symbolic_math.ThetaOutOfBoundException;
+
+/**
+ * Solves bounds of a known closed form, e.g. of a single FIFO hop with
+ * EBB or exponential arrivals at a constant rate server, by a few Newton
+ * steps on their first-order condition in theta (see {@link ClosedForm}).
+ * Theta is not restricted to the grid of the thetagranularity.
+ * All other bounds are optimized by the fallback optimizer.
+ * 
+ * @see OptimizationType#ANALYTIC_OPT
+ */
+public class AnalyticOptimizer extends AbstractOptimizer {
+    private final OptimizationType fallback;
+
+    /**
+     * Creates an optimizer, which falls back to {@link OptimizationType#SIMPLE_OPT}.
+     * 
+     * @param input
+     * @param boundtype
+     */
+    public AnalyticOptimizer(Optimizable input, BoundType boundtype) {
+        this(input, boundtype, OptimizationType.SIMPLE_OPT);
+    }
+
+    /**
+     * Creates an optimizer.
+     * 
+     * @param input
+     * @param boundtype
+     * @param fallback the optimizer of bounds, which are not of a known closed form
+     */
+    public AnalyticOptimizer(Optimizable input, BoundType boundtype, OptimizationType fallback) {
+        super(input, boundtype);
+        this.fallback = fallback;
+    }
+
+    @Override
+    public double minimize(double thetagranularity, double hoeldergranularity) throws ThetaOutOfBoundException, ParameterMismatchException, ServerOverloadException {
+        startPhase("recognition");
+        // The fallback prepares a bound of its own
+        Optimizable original = bound.copy();
+        bound.prepare();
+        ClosedForm form = ClosedForm.recognize(bound);
+
+        if(form != null) {
+            startPhase("newton");
+            maxTheta = bound.getMaximumTheta();
+            double theta = form.solve(maxTheta);
+            double optValue = Double.isNaN(theta) ? Double.NaN : evaluateUnchecked(theta);
+            if(EvaluationStatus.isFeasible(optValue)) {
+                System.out.println("Theta: " + theta + " Bound: " + optValue + " Newton steps: " + form.getIterations());
+                recordOptimum(theta);
+                return optValue;
+            }
+            System.out.println("No feasible root of the first-order condition found, falling back to " + fallback);
+        } else {
+            System.out.println("No closed form recognized, falling back to " + fallback);
+        }
+
+        startPhase("fallback");
+        OptimizationResult result = OptimizationFactory.getOptimizer(original, boundtype, fallback)
+                .optimize(thetagranularity, hoeldergranularity, getProgressListener(), getCancellationToken());
+        if(result.isCancelled()) {
+            // Marks this optimization as cancelled as well
+            isCancelled();
+        }
+        evaluations += result.getEvaluations();
+        infeasibleEvaluations += result.getInfeasibleEvaluations();
+        Map<Integer, Hoelder> parameters = bound.getHoelderParameters();
+        for(Map.Entry<Integer, Double> entry : result.getPValues().entrySet()) {
+            if(parameters.containsKey(entry.getKey())) {
+                parameters.get(entry.getKey()).setPValue(entry.getValue());
+            }
+        }
+        maxTheta = bound.getMaximumTheta();
+        recordOptimum(result.getTheta());
+        return result.getBound();
+    }
+
+    /**
+     * Repeats the optimization of {@link #minimize(double, double)} for the
+     * given arrival, such that both computations agree.
+     */
+    @Override
+    public double Bound(Arrival input, BoundType boundtype, double bound, double thetagranularity, double hoeldergranularity)
+            throws ThetaOutOfBoundException, ParameterMismatchException, ServerOverloadException {
+        return new AnalyticOptimizer(BoundFactory.createBound(input, boundtype, bound), boundtype, fallback)
+                .minimize(thetagranularity, hoeldergranularity);
+    }
+
+    /**
+     * Repeats the optimization of {@link #minimize(double, double)} for the
+     * given arrival, such that both computations agree.
+     */
+    @Override
+    public double ReverseBound(Arrival input, BoundType boundtype, double violation_probability, double thetagranularity, double hoeldergranularity)
+            throws ThetaOutOfBoundException, ParameterMismatchException, ServerOverloadException {
+        BoundType inverse = (boundtype == BoundType.BACKLOG) ? BoundType.INVERSE_BACKLOG : BoundType.INVERSE_DELAY;
+        return new AnalyticOptimizer(BoundFactory.createBound(input, inverse, violation_probability), boundtype, fallback)
+                .minimize(thetagranularity, hoeldergranularity);
+    }
+}
@@ -0,0 +1,251 @@
+/*
+ *  (c) 2017 Michael A. Beck, Sebastian Henningsen
+ *  		disco | Distributed Computer Systems Lab
+ *  		University of Kaiserslautern, Germany
+ *  All Rights Reserved.
+ *
+ * This software is work in progress and is released in the hope that it will
+ * be useful to the scientific community. It is provided "as is" without
+ * express or implied warranty, including but not limited to the correctness
+ * of the code or its suitability for any particular purpose.
+ *
+ * This software is provided under the MIT License, however, we would
+ * appreciate it if you contacted the respective authors prior to commercial use.
+ *
+ * If you find our software useful, we would appreciate if you mentioned it
+ * in any publication arising from the use of this software or acknowledge
+ * our work otherwise. We would also like to hear of any fixes or useful
+ */
+
+
+package org.networkcalculus.snc.optimization;
+
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+import org.networkcalculus.snc.analysis.BoundType;
+import org.networkcalculus.snc.symbolic_math.Arrival;
+import org.networkcalculus.snc.symbolic_math.Hoelder;
+import org.networkcalculus.snc.symbolic_math.ParameterMismatchException;
+import org.networkcalculus.snc.symbolic_math.ServerOverloadException;
+import org.networkcalculus.snc.symbolic_math.ThetaOutOfBoundException;
+
+/**
+ * Chooses the optimizer by the structure of the bound:
+ * <ol>
+ * <li>Bounds of a known closed form are solved by the {@link AnalyticOptimizer}.</li>
+ * <li>The {@link GridRefinementOptimizer} is used, if its estimated number
+ * of evaluations, which grows exponentially with the number of
+ * Hoelder-parameters, fits into the time budget. If the bound has no
+ * maximal theta, every configuration of the grid needs a
+ * {@link ThetaBracket}, whose evaluations are added to the estimate.</li>
+ * <li>Otherwise the {@link SobolOptimizer} samples as many points as fit
+ * into the time budget.</li>
+ * </ol>
+ * The time of an evaluation is measured on a batch of thetas before,
+ * which are bracketed by a {@link ThetaBracket} if there is no maximal theta.
+ * The time budget is converted into a number of evaluations, such that
+ * the result does not depend on the speed of the machine once the
+ * optimizer has been chosen. The choice and its reason are logged.
+ * As the estimate may be far off, the chosen optimizer is also stopped
+ * once the time budget has passed, its result is then marked as
+ * cancelled. The repetitions of {@link #Bound} and {@link #ReverseBound}
+ * run without this deadline, such that an optimization, which finished
+ * in time, is repeated exactly.
+ * 
+ * @see OptimizationType#AUTO_OPT
+ */
+public class AutoOptimizer extends AbstractOptimizer {
+    /**
+     * The default time budget in milliseconds
+     */
+    public static final long DEFAULT_TIME_BUDGET = 1000;
+
+    /**
+     * The number of thetas evaluated to measure the time of an evaluation
+     */
+    private static final int PROBE_POINTS = 64;
+
+    /**
+     * The bounds on the number of evaluations of the Sobol optimizer
+     */
+    private static final int MIN_SAMPLES = 256;
+    private static final int MAX_SAMPLES = 1 << 16;
+
+    private final long timeBudget;
+    private final boolean deadline;
+
+    private OptimizationType selected;
+    private int selectedEvaluations;
+    private String reason;
+
+    /**
+     * Creates an optimizer with the {@link #DEFAULT_TIME_BUDGET}.
+     * 
+     * @param input
+     * @param boundtype
+     */
+    public AutoOptimizer(Optimizable input, BoundType boundtype) {
+        this(input, boundtype, DEFAULT_TIME_BUDGET);
+    }
+
+    /**
+     * Creates an optimizer.
+     * 
+     * @param input
+     * @param boundtype
+     * @param timeBudget the time budget in milliseconds
+     */
+    public AutoOptimizer(Optimizable input, BoundType boundtype, long timeBudget) {
+        this(input, boundtype, timeBudget, true);
+    }
+
+    private AutoOptimizer(Optimizable input, BoundType boundtype, long timeBudget, boolean deadline) {
+        super(input, boundtype);
+        this.timeBudget = timeBudget;
+        this.deadline = deadline;
+    }
+
+    /**
+     * Creates an optimizer, which uses the given choice instead of choosing
+     * and runs it without a deadline.
+     */
+    private AutoOptimizer(Optimizable input, BoundType boundtype, long timeBudget, OptimizationType selected,
+            int selectedEvaluations, String reason) {
+        this(input, boundtype, timeBudget, false);
+        this.selected = selected;
+        this.selectedEvaluations = selectedEvaluations;
+        this.reason = reason;
+    }
+
+    @Override
+    public double minimize(double thetagranularity, double hoeldergranularity) throws ThetaOutOfBoundException, ParameterMismatchException, ServerOverloadException {
+        if(selected == null) {
+            startPhase("selection");
+            select(thetagranularity, hoeldergranularity);
+        }
+        System.out.println("Automatic optimization: " + selected + ", " + reason);
+
+        startPhase(selected.toString());
+        Optimizer optimizer;
+        if(selected == OptimizationType.SOBOL_OPT) {
+            optimizer = new SobolOptimizer(bound, boundtype, selectedEvaluations, 0, ForkJoinPool.commonPool());
+        } else {
+            optimizer = OptimizationFactory.getOptimizer(bound, boundtype, selected);
+        }
+        CancellationToken token = deadline ? CancellationToken.withTimeout(timeBudget, getCancellationToken()) : getCancellationToken();
+        OptimizationResult result = optimizer.optimize(thetagranularity, hoeldergranularity, getProgressListener(), token);
+        if(result.isCancelled()) {
+            // Marks this optimization as cancelled as well
+            markCancelled();
+        }
+        if(result.isThetaCapped()) {
+            markThetaCapped();
+        }
+        evaluations += result.getEvaluations();
+        infeasibleEvaluations += result.getInfeasibleEvaluations();
+        maxTheta = bound.getMaximumTheta();
+        recordOptimum(result.getTheta());
+        return result.getBound();
+    }
+
+    /**
+     * Inspects a prepared copy of the bound and chooses the optimizer.
+     */
+    private void select(double thetagranularity, double hoeldergranularity) throws ParameterMismatchException {
+        // The chosen optimizer prepares the bound itself
+        Optimizable probe = bound.copy();
+        probe.prepare();
+        Map<Integer, Hoelder> parameters = probe.getHoelderParameters();
+        for(Hoelder hoelder : parameters.values()) {
+            hoelder.setPValue(2);
+        }
+        int dimensions = parameters.size();
+        double limit = probe.getMaximumTheta();
+        String structure = dimensions + " Hoelder parameters, maximal theta " + limit;
+
+        if(ClosedForm.recognize(probe) != null) {
+            selected = OptimizationType.ANALYTIC_OPT;
+            reason = "the bound has a known closed form (" + structure + ")";
+            return;
+        }
+
+        // Without a maximal theta the bracket is repeated for every
+        // configuration of the grid, but only once by the Sobol optimizer
+        ThetaBracket bracket = new ThetaBracket(probe);
+        double cost = measure(probe, bracket.getLimit(thetagranularity));
+        double budget = timeBudget*1E6;
+        double gridEvaluations = GridRefinementOptimizer.estimateEvaluations(dimensions, hoeldergranularity,
+                bracket.getEvaluations());
+        if(gridEvaluations*cost <= budget) {
+            selected = OptimizationType.GRID_REFINEMENT_OPT;
+            reason = String.format("the grid of about %.0f evaluations takes about %.1f ms of %d ms (%s)",
+                    gridEvaluations, gridEvaluations*cost / 1E6, timeBudget, structure);
+        } else {
+            selected = OptimizationType.SOBOL_OPT;
+            selectedEvaluations = (int) Math.max(MIN_SAMPLES, Math.min(MAX_SAMPLES, budget / cost));
+            reason = String.format("the grid of about %.0f evaluations exceeds %d ms, %d samples fit (%s)",
+                    gridEvaluations, timeBudget, selectedEvaluations, structure);
+        }
+    }
+
+    /**
+     * Measures the time of an evaluation in nanoseconds, the faster of
+     * two batches is taken, as the first one may include the compilation.
+     */
+    private static double measure(Optimizable probe, double limit) throws ParameterMismatchException {
+        double[] thetas = new double[PROBE_POINTS];
+        double[] values = new double[PROBE_POINTS];
+        for(int i = 0; i < PROBE_POINTS; i++) {
+            thetas[i] = limit*(i + 1) / (PROBE_POINTS + 1);
+        }
+        long fastest = Long.MAX_VALUE;
+        for(int run = 0; run < 2; run++) {
+            long start = System.nanoTime();
+            probe.evaluate(thetas, values);
+            fastest = Math.min(fastest, System.nanoTime() - start);
+        }
+        return Math.max(1, fastest) / (double) PROBE_POINTS;
+    }
+
+    /**
+     * Returns the optimizer chosen by the last optimization.
+     * 
+     * @return the type of the optimizer or <code>null</code>
+     */
+    public OptimizationType getSelectedType() {
+        return selected;
+    }
+
+    /**
+     * Returns the reason of the last choice.
+     * 
+     * @return the reason or <code>null</code>
+     */
+    public String getReason() {
+        return reason;
+    }
+
+    /**
+     * Repeats the optimization of {@link #minimize(double, double)} for the
+     * given arrival with the same optimizer, such that both computations agree.
+     */
+    @Override
+    public double Bound(Arrival input, BoundType boundtype, double bound, double thetagranularity, double hoeldergranularity)
+            throws ThetaOutOfBoundException, ParameterMismatchException, ServerOverloadException {
+        return new AutoOptimizer(BoundFactory.createBound(input, boundtype, bound), boundtype, timeBudget, selected, selectedEvaluations, reason)
+                .minimize(thetagranularity, hoeldergranularity);
+    }
+
+    /**
+     * Repeats the optimization of {@link #minimize(double, double)} for the
+     * given arrival with the same optimizer, such that both computations agree.
+     */
+    @Override
+    public double ReverseBound(Arrival input, BoundType boundtype, double violation_probability, double thetagranularity, double hoeldergranularity)
+            throws ThetaOutOfBoundException, ParameterMismatchException, ServerOverloadException {
+        BoundType inverse = (boundtype == BoundType.BACKLOG) ? BoundType.INVERSE_BACKLOG : BoundType.INVERSE_DELAY;
+        return new AutoOptimizer(BoundFactory.createBound(input, inverse, violation_probability), boundtype, timeBudget, selected, selectedEvaluations, reason)
+                .minimize(thetagranularity, hoeldergranularity);
+    }
+}
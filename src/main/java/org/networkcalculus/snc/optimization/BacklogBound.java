@@ -23,9 +23,14 @@ import java.util.HashMap;
 import java.util.Map;
 
 import org.networkcalculus.snc.symbolic_math.Arrival;
+import org.networkcalculus.snc.symbolic_math.CompiledArrival;
+import org.networkcalculus.snc.symbolic_math.DualNumber;
 import org.networkcalculus.snc.symbolic_math.Hoelder;
+import org.networkcalculus.snc.symbolic_math.Interval;
 import org.networkcalculus.snc.symbolic_math.ParameterMismatchException;
+import org.networkcalculus.snc.symbolic_math.ParameterSlots;
 import org.networkcalculus.snc.symbolic_math.ServerOverloadException;
+import org.networkcalculus.snc.symbolic_math.SymbolicFunctionFactory;
 import org.networkcalculus.snc.symbolic_math.ThetaOutOfBoundException;
 
 /**
@@ -38,6 +43,9 @@ import org.networkcalculus.snc.symbolic_math.ThetaOutOfBoundException;
  */
 public class BacklogBound implements Optimizable {
     private Arrival input;
+    private CompiledArrival compiled;
+    private ParameterSlots slots;
+    private boolean slotsBound;
     private double bound;
     private Map<Integer, Hoelder> allHoelders;
     
@@ -49,15 +57,47 @@ public class BacklogBound implements Optimizable {
      */
     public BacklogBound(Arrival input, double bound) {
         this.input = input;
+        this.compiled = input.compile();
         this.bound = bound;
         this.allHoelders = new HashMap<>(0);
         allHoelders.putAll(input.getSigma().getParameters());
         allHoelders.putAll(input.getRho().getParameters());
+        this.slots = new ParameterSlots(allHoelders);
     }
 
     @Override
     public double evaluate(double theta) throws ThetaOutOfBoundException, ParameterMismatchException, ServerOverloadException {
-        return (input.evaluate(theta, 0, 0));
+        return (compiled.evaluate(theta, 0, 0));
+    }
+
+    @Override
+    public double evaluateUnchecked(double theta) throws ParameterMismatchException {
+        return compiled.evaluateUnchecked(theta, 0, 0);
+    }
+
+    @Override
+    public double evaluateUnchecked(double theta, double[] p) throws ParameterMismatchException {
+        return compiled.evaluateUnchecked(theta, p, 0, 0);
+    }
+
+    @Override
+    public void evaluate(double[] thetas, double[] out) throws ParameterMismatchException {
+        compiled.evaluate(thetas, 0, 0, out);
+    }
+
+    @Override
+    public double evaluate(double theta, double[] p) throws ThetaOutOfBoundException, ParameterMismatchException, ServerOverloadException {
+        return (compiled.evaluate(theta, p, 0, 0));
+    }
+
+    @Override
+    public DualNumber evaluateDual(double theta, double[] p) throws ThetaOutOfBoundException, ParameterMismatchException, ServerOverloadException {
+        return compiled.evaluate(DualNumber.theta(theta, p.length), p, 0, 0);
+    }
+
+    @Override
+    public Interval evaluateInterval(Interval theta, Interval[] p) throws ThetaOutOfBoundException, ParameterMismatchException, ServerOverloadException {
+        return compiled.evaluate(theta, p, 0, 0);
     }
 
     @Override
@@ -72,8 +112,34 @@ public class BacklogBound implements Optimizable {
         return allHoelders;
     }
 
+    @Override
+    public ParameterSlots getParameterSlots() throws ParameterMismatchException {
+        if (!slotsBound) {
+            compiled.bind(slots);
+            slotsBound = true;
+        }
+        return slots;
+    }
+
+    @Override
+    public Optimizable copy() {
+        return new BacklogBound(input.copy(), bound);
+    }
+
     @Override
     public double getMaximumTheta() {
         return input.getThetastar();
     }
+
+    @Override
+    public long getStructuralSignature() {
+        return 31*SymbolicFunctionFactory.getStructuralSignature(input.getSigma(), input.getRho()) + getClass().getName().hashCode();
+    }
+
+    /**
+     * Returns the arrival, which is bounded.
+     */
+    Arrival getInput() {
+        return input;
+    }
 }
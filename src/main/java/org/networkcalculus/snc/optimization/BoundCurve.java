@@ -0,0 +1,309 @@
+/*
+ *  (c) 2017 Michael A. Beck, Sebastian Henningsen
+ *  		disco | Distributed Computer Systems Lab
+ *  		University of Kaiserslautern, Germany
+ *  All Rights Reserved.
+ *
+ * This software is work in progress and is released in the hope that it will
+ * be useful to the scientific community. It is provided "as is" without
+ * express or implied warranty, including but not limited to the correctness
+ * of the code or its suitability for any particular purpose.
+ *
+ * This software is provided under the MIT License, however, we would
+ * appreciate it if you contacted the respective authors prior to commercial use.
+ *
+ * If you find our software useful, we would appreciate if you mentioned it
+ * in any publication arising from the use of this software or acknowledge
+ * our work otherwise. We would also like to hear of any fixes or useful
+ */
+
+
+package org.networkcalculus.snc.optimization;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.networkcalculus.snc.analysis.BoundType;
+import org.networkcalculus.snc.symbolic_math.Arrival;
+import org.networkcalculus.snc.symbolic_math.CompiledArrival;
+import org.networkcalculus.snc.symbolic_math.EvaluationStatus;
+import org.networkcalculus.snc.symbolic_math.Hoelder;
+import org.networkcalculus.snc.symbolic_math.ParameterMismatchException;
+import org.networkcalculus.snc.symbolic_math.ServerOverloadException;
+import org.networkcalculus.snc.symbolic_math.ThetaOutOfBoundException;
+
+/**
+ * Optimizes the bounds of one symbolic bound for a vector of values,
+ * i.e. a curve of bounds over violation probabilities (inverse bounds)
+ * or of violation probabilities over bound values.
+ * <p>
+ * The values share the rating of the coarse grid of the
+ * {@link GridRefinementOptimizer}: sigma and rho of the arrival are
+ * evaluated once per point of the coarse grid and the bounds of all
+ * values are computed from them, as a value enters its bound in closed
+ * form. For a delay <code>d</code> the bound is
+ * <code>exp(theta*sigma + theta*rho*d)</code>, for a violation
+ * probability <code>e</code> the inverse delay is
+ * <code>-(sigma - log(e)/theta)/rho</code> and the inverse backlog is
+ * <code>sigma - log(e)/theta</code>. For a backlog <code>b</code>,
+ * represented by a negative value, the bound is
+ * <code>exp(theta*(sigma + b))</code>, since the analysis adds the
+ * backlog to sigma as a parameter, which is 0 in the shared sweep.
+ * Afterwards each value refines its best configurations of the coarse
+ * grid by a {@link GridRefinementOptimizer} of its own, the values are
+ * refined in parallel on copies of the arrival.
+ * 
+ * @see GridRefinementOptimizer
+ */
+public class BoundCurve {
+    private final Arrival input;
+    private final BoundType boundtype;
+    private final double[] values;
+    private final int cells;
+    private final ForkJoinPool pool;
+
+    private long sweepEvaluations;
+
+    /**
+     * Creates a curve, whose values are refined on the common pool.
+     * 
+     * @param input the symbolic bound
+     * @param boundtype the type of the bounds, any of the four types
+     * @param values the bound values resp. violation probabilities
+     */
+    public BoundCurve(Arrival input, BoundType boundtype, double[] values) {
+        this(input, boundtype, values, GridRefinementOptimizer.DEFAULT_CELLS, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates a curve.
+     * 
+     * @param input the symbolic bound
+     * @param boundtype the type of the bounds, any of the four types
+     * @param values the bound values resp. violation probabilities
+     * @param cells the number of configurations refined for each value
+     * @param pool the pool refining the values
+     */
+    public BoundCurve(Arrival input, BoundType boundtype, double[] values, int cells, ForkJoinPool pool) {
+        this.input = input;
+        this.boundtype = boundtype;
+        this.values = values.clone();
+        this.cells = cells;
+        this.pool = pool;
+    }
+
+    /**
+     * Optimizes the bounds of all values.
+     * 
+     * @param thetagranularity
+     * @param hoeldergranularity
+     * 
+     * @return the optimized bounds in the order of the values. The time
+     * of the shared sweep is reported as phase "sweep" of each bound,
+     * its evaluations are not counted by the bounds.
+     * 
+     * @throws ThetaOutOfBoundException
+     * @throws ParameterMismatchException
+     * @throws ServerOverloadException
+     */
+    public OptimizationResult[] optimize(double thetagranularity, double hoeldergranularity)
+            throws ThetaOutOfBoundException, ParameterMismatchException, ServerOverloadException {
+        long start = System.nanoTime();
+        int step = GridRefinementOptimizer.getCoarseStep(hoeldergranularity);
+        List<List<int[]>> seeds = new ArrayList<>(values.length);
+        List<List<Map<Integer, Double>>> seedProfiles = new ArrayList<>(values.length);
+        sweep(thetagranularity, hoeldergranularity, step, seeds, seedProfiles);
+        long sweepTime = System.nanoTime() - start;
+
+        // The Hoelder-parameters of the bounds are changed concurrently
+        Optimizable[] bounds = new Optimizable[values.length];
+        for(int v = 0; v < values.length; v++) {
+            bounds[v] = BoundFactory.createBound(input.copy(), boundtype, values[v]);
+        }
+        BoundType analysisBound = (boundtype == BoundType.BACKLOG || boundtype == BoundType.INVERSE_BACKLOG)
+                ? BoundType.BACKLOG : BoundType.DELAY;
+
+        OptimizationResult[] results = new OptimizationResult[values.length];
+        try {
+            pool.submit(() -> IntStream.range(0, values.length).parallel().forEach(v -> {
+                try {
+                    results[v] = new GridRefinementOptimizer(bounds[v], analysisBound, cells, seeds.get(v), seedProfiles.get(v), step)
+                            .optimize(thetagranularity, hoeldergranularity);
+                } catch(ThetaOutOfBoundException | ParameterMismatchException | ServerOverloadException e) {
+                    throw new IllegalStateException(e);
+                }
+            })).get();
+        } catch(InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } catch(ExecutionException e) {
+            // The pool may wrap the exception of another thread once more
+            for(Throwable original = e.getCause(); original != null; original = original.getCause()) {
+                if(original instanceof ThetaOutOfBoundException) {
+                    throw (ThetaOutOfBoundException) original;
+                } else if(original instanceof ParameterMismatchException) {
+                    throw (ParameterMismatchException) original;
+                } else if(original instanceof ServerOverloadException) {
+                    throw (ServerOverloadException) original;
+                }
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+
+        for(int v = 0; v < values.length; v++) {
+            Map<String, Long> phaseTimes = new LinkedHashMap<>();
+            phaseTimes.put("sweep", sweepTime);
+            phaseTimes.putAll(results[v].getPhaseTimes());
+            results[v] = results[v].withPhaseTimes(phaseTimes);
+        }
+        return results;
+    }
+
+    /**
+     * Rates the coarse grid for all values and stores the best
+     * configurations of each value together with their coarse thetas.
+     */
+    private void sweep(double thetagranularity, double hoeldergranularity, int step,
+            List<List<int[]>> seeds, List<List<Map<Integer, Double>>> seedProfiles)
+            throws ThetaOutOfBoundException, ParameterMismatchException {
+        Arrival arrival = input.copy();
+        // A backlog of 0, such that sigma is the one of all backlogs
+        Optimizable template = BoundFactory.createBound(arrival, boundtype, 0);
+        template.prepare();
+        Hoelder[] hoelders = new TreeMap<>(template.getHoelderParameters()).values().toArray(new Hoelder[0]);
+        for(Hoelder hoelder : hoelders) {
+            hoelder.setPValue(2);
+        }
+        CompiledArrival compiled = arrival.compile();
+
+        int limit = GridRefinementOptimizer.getHoelderLimit(hoeldergranularity);
+        List<int[]> configurations = GridRefinementOptimizer.neighbourhood(new int[hoelders.length], limit / step, step, limit);
+        int[] thetaSteps = new int[configurations.size()];
+        double[][] sigmas = new double[configurations.size()][];
+        double[][] rhos = new double[configurations.size()][];
+        sweepEvaluations = 0;
+        for(int c = 0; c < configurations.size(); c++) {
+            GridRefinementOptimizer.apply(hoelders, configurations.get(c), hoeldergranularity);
+            int last = GridRefinementOptimizer.getLastTheta(getThetaLimit(template, compiled, thetagranularity), thetagranularity);
+            thetaSteps[c] = (last < 1) ? 1 : GridRefinementOptimizer.getCoarseThetaStep(last);
+            double[] thetas = new double[Math.max(0, last) / thetaSteps[c]];
+            for(int i = 0; i < thetas.length; i++) {
+                thetas[i] = (i + 1)*thetaSteps[c]*thetagranularity;
+            }
+            sigmas[c] = new double[thetas.length];
+            rhos[c] = new double[thetas.length];
+            compiled.getSigma().getValues(thetas, sigmas[c]);
+            compiled.getRho().getValues(thetas, rhos[c]);
+            sweepEvaluations += thetas.length;
+        }
+
+        for(int v = 0; v < values.length; v++) {
+            List<Map<Integer, Double>> profiles = new ArrayList<>(configurations.size());
+            double[] ratings = new double[configurations.size()];
+            for(int c = 0; c < configurations.size(); c++) {
+                Map<Integer, Double> profile = new HashMap<>();
+                ratings[c] = Double.POSITIVE_INFINITY;
+                for(int i = 0; i < sigmas[c].length; i++) {
+                    int t = (i + 1)*thetaSteps[c];
+                    double value = rate(t*thetagranularity, sigmas[c][i], rhos[c][i], values[v]);
+                    value = EvaluationStatus.isFeasible(value) ? value : Double.POSITIVE_INFINITY;
+                    profile.put(t, value);
+                    ratings[c] = Math.min(ratings[c], value);
+                }
+                profiles.add(profile);
+            }
+            List<Integer> best = IntStream.range(0, configurations.size())
+                    .filter(c -> ratings[c] < Double.POSITIVE_INFINITY)
+                    .boxed()
+                    .sorted(Comparator.comparingDouble((Integer c) -> ratings[c]).thenComparing(c -> c))
+                    .limit(cells)
+                    .collect(Collectors.toList());
+            seeds.add(best.stream().map(configurations::get).collect(Collectors.toList()));
+            seedProfiles.add(best.stream().map(profiles::get).collect(Collectors.toList()));
+        }
+        System.out.println("Sweep: " + configurations.size() + " configurations, " + sweepEvaluations
+                + " evaluations for " + values.length + " values");
+    }
+
+    /**
+     * Returns the maximal theta of the template for its current
+     * Hoelder-coefficients. Without one, theta is doubled like in a
+     * {@link ThetaBracket}, until the bound of no value improves by more
+     * than the tolerance anymore.
+     */
+    private double getThetaLimit(Optimizable template, CompiledArrival compiled, double start) throws ParameterMismatchException {
+        double limit = template.getMaximumTheta();
+        if(limit < Double.POSITIVE_INFINITY) {
+            return limit;
+        }
+
+        double[] theta = { start };
+        double[] sigma = new double[1];
+        double[] rho = new double[1];
+        double[] previous = new double[values.length];
+        double tolerance = ThetaBracket.getTolerance(start);
+        double floor = (boundtype == BoundType.DELAY || boundtype == BoundType.BACKLOG) ? 0 : 1;
+        boolean decreasing = true;
+        for(int i = 0; i <= ThetaBracket.MAX_EXPANSIONS && decreasing; i++) {
+            if(i > 0) {
+                theta[0] *= 2;
+            }
+            compiled.getSigma().getValues(theta, sigma);
+            compiled.getRho().getValues(theta, rho);
+            sweepEvaluations++;
+            decreasing = false;
+            for(int v = 0; v < values.length; v++) {
+                double value = rate(theta[0], sigma[0], rho[0], values[v]);
+                if(EvaluationStatus.isFeasible(value) && (i == 0 || ThetaBracket.improves(previous[v], value, tolerance, floor))) {
+                    decreasing = true;
+                }
+                previous[v] = value;
+            }
+        }
+        return theta[0];
+    }
+
+    /**
+     * Computes the bound for the given value from sigma and rho, in the
+     * same way as the {@link Optimizable} of the value does.
+     */
+    private double rate(double theta, double sigma, double rho, double value) {
+        if(!EvaluationStatus.isFeasible(sigma)) {
+            return sigma;
+        }
+        if(!EvaluationStatus.isFeasible(rho)) {
+            return rho;
+        }
+        switch(boundtype) {
+            case DELAY:
+                return Math.exp(theta*sigma + theta*rho*(int)Math.round(Math.ceil(value)));
+            case BACKLOG:
+                return Math.exp(theta*(sigma + value) + theta*rho*0);
+            case INVERSE_DELAY:
+                return -1/rho*(-Math.log(value)/theta + sigma);
+            case INVERSE_BACKLOG:
+                return (-Math.log(value)/theta) + 1/theta*Math.log(Math.exp(theta*sigma + theta*rho*0));
+            default:
+                throw new IllegalArgumentException("No such boundtype: " + boundtype);
+        }
+    }
+
+    /**
+     * Returns the number of points of the coarse grid evaluated by the
+     * last shared sweep.
+     * 
+     * @return the number of evaluations of sigma and rho
+     */
+    public long getSweepEvaluations() {
+        return sweepEvaluations;
+    }
+}
@@ -0,0 +1,208 @@
+/*
+ *  (c) 2017 Michael A. Beck, Sebastian Henningsen
+ *  		disco | Distributed Computer Systems Lab
+ *  		University of Kaiserslautern, Germany
+ *  All Rights Reserved.
+ *
+ * This software is work in progress and is released in the hope that it will
+ * be useful to the scientific community. It is provided "as is" without
+ * express or implied warranty, including but not limited to the correctness
+ * of the code or its suitability for any particular purpose.
+ *
+ * This software is provided under the MIT License, however, we would
+ * appreciate it if you contacted the respective authors prior to commercial use.
+ *
+ * If you find our software useful, we would appreciate if you mentioned it
+ * in any publication arising from the use of this software or acknowledge
+ * our work otherwise. We would also like to hear of any fixes or useful
+ */
+
+
+package org.networkcalculus.snc.optimization;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CancellationException;
+import java.util.function.BooleanSupplier;
+
+import org.apache.commons.math3.analysis.MultivariateFunction;
+import org.networkcalculus.snc.symbolic_math.EvaluationStatus;
+import org.networkcalculus.snc.symbolic_math.Hoelder;
+import org.networkcalculus.snc.symbolic_math.ParameterMismatchException;
+
+/**
+ * Presents a prepared {@link Optimizable} as an unconstrained function of
+ * <code>(s, u_1, ..., u_k)</code> for the optimizers of commons-math.
+ * The coordinates are mapped to
+ * <ul>
+ * <li><code>theta = maxTheta / (1 + exp(-s))</code>, where maxTheta is the
+ * maximum theta for the current Hoelder-coefficients or, if there is
+ * none, a fixed limit (see {@link ThetaBracket}),</li>
+ * <li><code>p_i = 1 + exp(u_i)</code> for the k Hoelder-parameters, in
+ * ascending order of their ids,</li>
+ * </ul>
+ * such that any point satisfies <code>0 &lt; theta &lt; maxTheta</code>
+ * and <code>p_i, q_i &gt; 1</code>. The origin corresponds to
+ * <code>theta = maxTheta/2</code> and all coefficients being 2.
+ * Violation probabilities are optimized on a logarithmic scale, as they
+ * span hundreds of orders of magnitude. Infeasible points are given a
+ * value worse than any feasible point seen so far, but of the same scale,
+ * as a huge constant would spoil the models built by BOBYQA.
+ * The smallest value seen is remembered, hence a search, which is
+ * stopped by its evaluation budget or by a
+ * {@link java.util.concurrent.CancellationException}, still has a result.
+ *
+ * @see ContinuousOptimizer
+ */
+class BoundFunction implements MultivariateFunction {
+    /**
+     * The value of infeasible points, as long as no feasible point has been seen
+     */
+    private static final double PENALTY = 1E300;
+
+    private final Optimizable bound;
+    private final double thetaLimit;
+    private final Hoelder[] hoelders;
+    private final boolean logarithmic;
+    private BooleanSupplier monitor = () -> false;
+
+    private long evaluations;
+    private long infeasibleEvaluations;
+    private double smallestObjective = Double.POSITIVE_INFINITY;
+    private double largestObjective = Double.NEGATIVE_INFINITY;
+    private double bestValue = Double.POSITIVE_INFINITY;
+    private double bestTheta = Double.NaN;
+    private double[] bestP;
+
+    /**
+     * @param bound a prepared bound
+     * @param thetaLimit the limit of theta, if the bound has no maximal theta
+     */
+    BoundFunction(Optimizable bound, double thetaLimit) {
+        this.bound = bound;
+        this.thetaLimit = thetaLimit;
+        Map<Integer, Hoelder> sorted = new TreeMap<>(bound.getHoelderParameters());
+        this.hoelders = sorted.values().toArray(new Hoelder[0]);
+        this.logarithmic = ThetaBracket.isViolationProbability(bound);
+        this.bestP = currentP();
+    }
+
+    /**
+     * Sets the monitor, which is asked before each evaluation, whether the
+     * search has been cancelled. If so, {@link #value(double[])} throws a
+     * {@link CancellationException} instead of evaluating the bound.
+     */
+    void setMonitor(BooleanSupplier monitor) {
+        this.monitor = monitor;
+    }
+
+    /**
+     * @return the number of coordinates, i.e. one plus the number of
+     * Hoelder-parameters
+     */
+    int getDimension() {
+        return hoelders.length + 1;
+    }
+
+    /**
+     * Sets the Hoelder-coefficients of the given point.
+     * 
+     * @param point the coordinates
+     * 
+     * @return the theta of the point
+     */
+    double apply(double[] point) {
+        for(int i = 0; i < hoelders.length; i++) {
+            hoelders[i].setPValue(1 + Math.exp(point[i + 1]));
+        }
+        double maxTheta = bound.getMaximumTheta();
+        return ((maxTheta < Double.POSITIVE_INFINITY) ? maxTheta : thetaLimit) / (1 + Math.exp(-point[0]));
+    }
+
+    /**
+     * Evaluates the bound at the given point, without any bookkeeping.
+     * 
+     * @param point the coordinates
+     * 
+     * @return the value of the bound, or the status of an infeasible point
+     * as defined by {@link Optimizable#evaluateUnchecked(double)}
+     * 
+     * @throws ParameterMismatchException
+     */
+    double evaluate(double[] point) throws ParameterMismatchException {
+        double theta = apply(point);
+        return (theta > 0) ? bound.evaluateUnchecked(theta) : Double.NaN;
+    }
+
+    @Override
+    public double value(double[] point) {
+        if(monitor.getAsBoolean()) {
+            throw new CancellationException("Optimization cancelled");
+        }
+        double theta = apply(point);
+
+        evaluations++;
+        double value;
+        try {
+            value = bound.evaluateUnchecked(theta);
+        } catch(ParameterMismatchException e) {
+            throw new IllegalStateException(e);
+        }
+        if(!EvaluationStatus.isFeasible(value) || theta <= 0) {
+            infeasibleEvaluations++;
+            if(largestObjective == Double.NEGATIVE_INFINITY) {
+                return PENALTY;
+            }
+            return largestObjective + (largestObjective - smallestObjective) + 1;
+        }
+        if(value < bestValue) {
+            bestValue = value;
+            bestTheta = theta;
+            bestP = currentP();
+        }
+        double objective = value;
+        if(logarithmic) {
+            objective = (value > 0) ? Math.log(value) : -PENALTY;
+        }
+        smallestObjective = Math.min(smallestObjective, objective);
+        largestObjective = Math.max(largestObjective, objective);
+        return objective;
+    }
+
+    private double[] currentP() {
+        double[] p = new double[hoelders.length];
+        for(int i = 0; i < hoelders.length; i++) {
+            p[i] = hoelders[i].getPValue();
+        }
+        return p;
+    }
+
+    /**
+     * Sets the Hoelder-parameters to the coefficients of the best point.
+     */
+    void applyBest() {
+        for(int i = 0; i < hoelders.length; i++) {
+            hoelders[i].setPValue(bestP[i]);
+        }
+    }
+
+    /**
+     * @return the smallest feasible value seen, <code>+Infinity</code> if
+     * there was none
+     */
+    double getBestValue() {
+        return bestValue;
+    }
+
+    double getBestTheta() {
+        return bestTheta;
+    }
+
+    long getEvaluations() {
+        return evaluations;
+    }
+
+    long getInfeasibleEvaluations() {
+        return infeasibleEvaluations;
+    }
+}
@@ -0,0 +1,328 @@
+/*
+ *  (c) 2017 Michael A. Beck, Sebastian Henningsen
+ *  		disco | Distributed Computer Systems Lab
+ *  		University of Kaiserslautern, Germany
+ *  All Rights Reserved.
+ *
+ * This software is work in progress and is released in the hope that it will
+ * be useful to the scientific community. It is provided "as is" without
+ * express or implied warranty, including but not limited to the correctness
+ * of the code or its suitability for any particular purpose.
+ *
+ * This software is provided under the MIT License, however, we would
+ * appreciate it if you contacted the respective authors prior to commercial use.
+ *
+ * If you find our software useful, we would appreciate if you mentioned it
+ * in any publication arising from the use of this software or acknowledge
+ * our work otherwise. We would also like to hear of any fixes or useful
+ */
+
+
+package org.networkcalculus.snc.optimization;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+
+import org.networkcalculus.snc.analysis.BoundType;
+import org.networkcalculus.snc.symbolic_math.Arrival;
+import org.networkcalculus.snc.symbolic_math.EvaluationStatus;
+import org.networkcalculus.snc.symbolic_math.Hoelder;
+import org.networkcalculus.snc.symbolic_math.Interval;
+import org.networkcalculus.snc.symbolic_math.ParameterMismatchException;
+import org.networkcalculus.snc.symbolic_math.ParameterSlots;
+import org.networkcalculus.snc.symbolic_math.ServerOverloadException;
+import org.networkcalculus.snc.symbolic_math.ThetaOutOfBoundException;
+
+/**
+ * A global optimizer, which searches the box of thetas and p-values by
+ * branch-and-bound. For each box a lower bound of the bound-to-be-optimized
+ * is obtained by interval arithmetic (see
+ * {@link Optimizable#evaluateInterval(Interval, Interval[])}) and the
+ * value at its centre serves as candidate for the minimum. Boxes are
+ * processed in ascending order of their lower bounds and bisected along
+ * their relatively widest side; a box is discarded, if its lower bound
+ * cannot improve the best value found by more than the relative tolerance,
+ * or if the bound is infeasible on the whole box.
+ * The search ends, when no box is left, or after a maximum number of
+ * boxes. The smallest lower bound of the remaining boxes is a certified
+ * lower bound of the minimum over the box searched (see {@link #getLowerBound()}).
+ * The box searched is the one of the grid searches: each p-value ranges
+ * from <code>1 + hoeldergranularity</code> to its conjugate and theta from
+ * the thetagranularity up to a theta, above which the bound is shown to
+ * be infeasible for all p-values by interval arithmetic. If the bound has
+ * no maximal theta, theta ranges up to the end of a {@link ThetaBracket}
+ * for p-values of 2 instead, and the lower bound is certified for this
+ * box only.
+ * 
+ * @see org.networkcalculus.snc.symbolic_math.Interval
+ */
+public class BranchAndBoundOptimizer extends AbstractOptimizer {
+    /**
+     * The default maximum number of boxes to be evaluated
+     */
+    public static final int DEFAULT_MAX_BOXES = 100000;
+
+    /**
+     * Improvements smaller than this fraction of the best value are not searched for
+     */
+    public static final double RELATIVE_TOLERANCE = 1E-6;
+
+    /**
+     * Boxes, whose sides are all smaller than this fraction of the searched box, are not split
+     */
+    private static final double MINIMAL_RELATIVE_WIDTH = 1E-9;
+
+    private final int maxBoxes;
+    private double lowerBound = Double.NEGATIVE_INFINITY;
+
+    /**
+     * Creates an optimizer, which evaluates at most {@link #DEFAULT_MAX_BOXES} boxes.
+     * 
+     * @param input
+     * @param boundtype
+     */
+    public BranchAndBoundOptimizer(Optimizable input, BoundType boundtype) {
+        this(input, boundtype, DEFAULT_MAX_BOXES);
+    }
+
+    /**
+     * Creates an optimizer.
+     * 
+     * @param input
+     * @param boundtype
+     * @param maxBoxes the maximum number of boxes to be evaluated
+     */
+    public BranchAndBoundOptimizer(Optimizable input, BoundType boundtype, int maxBoxes) {
+        super(input, boundtype);
+        this.maxBoxes = maxBoxes;
+    }
+
+    /**
+     * A box of thetas (index 0) and p-values of the optimized
+     * Hoelder-parameters, together with the lower bound of the values on it.
+     */
+    private static class Box {
+        private final double[] lower;
+        private final double[] upper;
+        private double lowerBound;
+
+        Box(double[] lower, double[] upper) {
+            this.lower = lower;
+            this.upper = upper;
+        }
+    }
+
+    @Override
+    public double minimize(double thetagranularity, double hoeldergranularity) throws ThetaOutOfBoundException, ParameterMismatchException, ServerOverloadException {
+        startPhase("preparation");
+        bound.prepare();
+        Map<Integer, Hoelder> allparameters = new TreeMap<>(bound.getHoelderParameters());
+        for(Hoelder hoelder : allparameters.values()) {
+            hoelder.setPValue(2);
+        }
+        maxTheta = bound.getMaximumTheta();
+        boolean bracketed = (maxTheta == Double.POSITIVE_INFINITY);
+        if(bracketed) {
+            maxTheta = getThetaLimit(thetagranularity);
+        }
+
+        ParameterSlots slots = bound.getParameterSlots();
+        double[] p = slots.read();
+        int[] freeSlots = new int[allparameters.size()];
+        int index = 0;
+        for(int id : allparameters.keySet()) {
+            freeSlots[index++] = slots.getSlot(id);
+        }
+
+        // The box searched
+        double pLower = 1 + hoeldergranularity;
+        double pUpper = Hoelder.conjugate(pLower);
+        if(!(pLower < pUpper)) {
+            pLower = 2;
+            pUpper = 2;
+        }
+        Interval[] box = new Interval[p.length];
+        for(int slot = 0; slot < p.length; slot++) {
+            box[slot] = Interval.point(p[slot]);
+        }
+        for(int slot : freeSlots) {
+            box[slot] = Interval.of(pLower, pUpper);
+        }
+        if(!bracketed) {
+            maxTheta = thetaLimit(maxTheta, box);
+        }
+        System.out.println("Max Theta: " + maxTheta);
+
+        int dimension = freeSlots.length + 1;
+        double[] domainLower = new double[dimension];
+        double[] domainUpper = new double[dimension];
+        domainLower[0] = Math.min(thetagranularity, maxTheta);
+        domainUpper[0] = maxTheta;
+        for(int i = 1; i < dimension; i++) {
+            domainLower[i] = pLower;
+            domainUpper[i] = pUpper;
+        }
+
+        startPhase("branch and bound");
+        double optValue = Double.POSITIVE_INFINITY;
+        double[] optimum = null;
+        int boxes = 0;
+        // The smallest lower bound of the boxes discarded or not split
+        double discarded = Double.POSITIVE_INFINITY;
+        PriorityQueue<Box> queue = new PriorityQueue<>(Comparator.comparingDouble((Box b) -> b.lowerBound));
+        queue.add(new Box(domainLower.clone(), domainUpper.clone()));
+        queue.peek().lowerBound = Double.NEGATIVE_INFINITY;
+
+        while(!queue.isEmpty() && boxes < maxBoxes && !isCancelled()) {
+            reportProgress(optValue, Double.NaN, evaluations);
+            Box current = queue.poll();
+            if(current.lowerBound >= threshold(optValue)) {
+                // All remaining boxes are at least as bad
+                discarded = Math.min(discarded, current.lowerBound);
+                queue.clear();
+                break;
+            }
+            for(Box child : split(current, domainLower, domainUpper)) {
+                boxes++;
+                for(int i = 0; i < freeSlots.length; i++) {
+                    box[freeSlots[i]] = Interval.of(child.lower[i + 1], child.upper[i + 1]);
+                }
+                try {
+                    child.lowerBound = bound.evaluateInterval(Interval.of(child.lower[0], child.upper[0]), box).getLower();
+                } catch(ThetaOutOfBoundException | ServerOverloadException e) {
+                    // Infeasible on the whole box
+                    continue;
+                }
+
+                // Evaluates the centre
+                double[] centre = new double[dimension];
+                for(int i = 0; i < dimension; i++) {
+                    centre[i] = 0.5*child.lower[i] + 0.5*child.upper[i];
+                }
+                for(int i = 0; i < freeSlots.length; i++) {
+                    p[freeSlots[i]] = centre[i + 1];
+                }
+                double value = bound.evaluateUnchecked(centre[0], p);
+                countEvaluation(value);
+                if(EvaluationStatus.isFeasible(value) && value < optValue) {
+                    optValue = value;
+                    optimum = centre;
+                }
+
+                if(child.lowerBound < threshold(optValue)
+                        && isSplittable(child, domainLower, domainUpper)) {
+                    queue.add(child);
+                } else {
+                    discarded = Math.min(discarded, child.lowerBound);
+                }
+            }
+        }
+
+        lowerBound = Math.min(optValue, discarded);
+        for(Box remaining : queue) {
+            lowerBound = Math.min(lowerBound, remaining.lowerBound);
+        }
+
+        double theta = Double.NaN;
+        if(optimum != null) {
+            theta = optimum[0];
+            for(int i = 0; i < freeSlots.length; i++) {
+                slots.getHoelder(freeSlots[i]).setPValue(optimum[i + 1]);
+            }
+        }
+        System.out.println("Theta: " + theta + " Hoelder: " + allparameters.toString() + " Bound: " + optValue
+                + " Lower bound: " + lowerBound + " Boxes: " + boxes);
+        recordOptimum(theta);
+        return optValue;
+    }
+
+    /**
+     * Returns the value, which a box must undercut to be searched.
+     */
+    private static double threshold(double optValue) {
+        return (optValue == Double.POSITIVE_INFINITY) ? optValue : optValue - RELATIVE_TOLERANCE*Math.abs(optValue);
+    }
+
+    /**
+     * Doubles <code>theta</code>, until the bound is infeasible for all
+     * thetas above it and all p-values of the box.
+     */
+    private double thetaLimit(double theta, Interval[] box) throws ParameterMismatchException {
+        for(int i = 0; i < 64; i++) {
+            try {
+                bound.evaluateInterval(Interval.of(theta, Double.POSITIVE_INFINITY), box);
+            } catch(ThetaOutOfBoundException | ServerOverloadException e) {
+                return theta;
+            }
+            theta = 2*theta;
+        }
+        return theta;
+    }
+
+    /**
+     * Bisects the box along its widest side relative to the searched box.
+     */
+    private static Box[] split(Box box, double[] domainLower, double[] domainUpper) {
+        int widest = 0;
+        double width = -1;
+        for(int i = 0; i < box.lower.length; i++) {
+            double relativeWidth = (domainUpper[i] > domainLower[i]) ? (box.upper[i] - box.lower[i]) / (domainUpper[i] - domainLower[i]) : 0;
+            if(relativeWidth > width) {
+                width = relativeWidth;
+                widest = i;
+            }
+        }
+        double middle = 0.5*box.lower[widest] + 0.5*box.upper[widest];
+        double[] firstUpper = box.upper.clone();
+        firstUpper[widest] = middle;
+        double[] secondLower = box.lower.clone();
+        secondLower[widest] = middle;
+        return new Box[] { new Box(box.lower, firstUpper), new Box(secondLower, box.upper) };
+    }
+
+    private static boolean isSplittable(Box box, double[] domainLower, double[] domainUpper) {
+        for(int i = 0; i < box.lower.length; i++) {
+            if(box.upper[i] - box.lower[i] > MINIMAL_RELATIVE_WIDTH*(domainUpper[i] - domainLower[i])) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the certified lower bound of the minimum found by the last
+     * call of {@link #minimize(double, double)}. It is smaller than the
+     * returned minimum by at most the relative tolerance, unless the
+     * search has been stopped by the maximum number of boxes.
+     * 
+     * @return the lower bound of the minimum over the searched box
+     */
+    public double getLowerBound() {
+        return lowerBound;
+    }
+
+    /**
+     * Repeats the optimization of {@link #minimize(double, double)} for the
+     * given arrival, such that both computations agree.
+     */
+    @Override
+    public double Bound(Arrival input, BoundType boundtype, double bound, double thetagranularity, double hoeldergranularity)
+            throws ThetaOutOfBoundException, ParameterMismatchException, ServerOverloadException {
+        return new BranchAndBoundOptimizer(BoundFactory.createBound(input, boundtype, bound), boundtype, maxBoxes)
+                .minimize(thetagranularity, hoeldergranularity);
+    }
+
+    /**
+     * Repeats the optimization of {@link #minimize(double, double)} for the
+     * given arrival, such that both computations agree.
+     */
+    @Override
+    public double ReverseBound(Arrival input, BoundType boundtype, double violation_probability, double thetagranularity, double hoeldergranularity)
+            throws ThetaOutOfBoundException, ParameterMismatchException, ServerOverloadException {
+        BoundType inverse = (boundtype == BoundType.BACKLOG) ? BoundType.INVERSE_BACKLOG : BoundType.INVERSE_DELAY;
+        return new BranchAndBoundOptimizer(BoundFactory.createBound(input, inverse, violation_probability), boundtype, maxBoxes)
+                .minimize(thetagranularity, hoeldergranularity);
+    }
+}
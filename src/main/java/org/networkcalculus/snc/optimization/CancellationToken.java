@@ -0,0 +1,91 @@
+/*
+ *  (c) 2017 Michael A. Beck, Sebastian Henningsen
+ *  		disco | Distributed Computer Systems Lab
+ *  		University of Kaiserslautern, Germany
+ *  All Rights Reserved.
+ *
+ * This software is work in progress and is released in the hope that it will
+ * be useful to the scientific community. It is provided "as is" without
+ * express or implied warranty, including but not limited to the correctness
+ * of the code or its suitability for any particular purpose.
+ *
+ * This software is provided under the MIT License, however, we would
+ * appreciate it if you contacted the respective authors prior to commercial use.
+ *
+ * If you find our software useful, we would appreciate if you mentioned it
+ * in any publication arising from the use of this software or acknowledge
+ * our work otherwise. We would also like to hear of any fixes or useful
+ */
+
+package org.networkcalculus.snc.optimization;
+
+/**
+ * Asks a running optimization to stop. A token is cancelled explicitly by
+ * {@link #cancel()} or implicitly, once its deadline has passed. The
+ * optimizers poll the token between units of work, e.g. sweeps or samples,
+ * and return the best result found so far, which is marked by
+ * {@link OptimizationResult#isCancelled()}. A token may be cancelled from
+ * any thread.
+ * 
+ * @see Optimizer#optimize(double, double, ProgressListener, CancellationToken)
+ */
+public class CancellationToken {
+    private volatile boolean cancelled;
+    private final boolean hasDeadline;
+    private final long deadline;
+    private final CancellationToken parent;
+
+    /**
+     * Creates a token without a deadline.
+     */
+    public CancellationToken() {
+        this.hasDeadline = false;
+        this.deadline = 0;
+        this.parent = null;
+    }
+
+    private CancellationToken(long deadline, CancellationToken parent) {
+        this.hasDeadline = true;
+        this.deadline = deadline;
+        this.parent = parent;
+    }
+
+    /**
+     * Creates a token, which is cancelled after the given time.
+     * 
+     * @param milliseconds the time from now on
+     * 
+     * @return the token
+     */
+    public static CancellationToken withTimeout(long milliseconds) {
+        return withTimeout(milliseconds, null);
+    }
+
+    /**
+     * Creates a token, which is cancelled after the given time or as soon
+     * as <code>parent</code> is cancelled.
+     * 
+     * @param milliseconds the time from now on
+     * @param parent the token to follow, <code>null</code> for none
+     * 
+     * @return the token
+     */
+    public static CancellationToken withTimeout(long milliseconds, CancellationToken parent) {
+        return new CancellationToken(System.nanoTime() + milliseconds*1000000L, parent);
+    }
+
+    /**
+     * Cancels the optimizations, which poll this token.
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    /**
+     * @return whether the token or its parent has been cancelled or its
+     * deadline has passed
+     */
+    public boolean isCancelled() {
+        return cancelled || (hasDeadline && System.nanoTime() - deadline >= 0) || (parent != null && parent.isCancelled());
+    }
+}
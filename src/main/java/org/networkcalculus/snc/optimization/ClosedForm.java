@@ -0,0 +1,396 @@
+/*
+ *  (c) 2017 Michael A. Beck, Sebastian Henningsen
+ *  		disco | Distributed Computer Systems Lab
+ *  		University of Kaiserslautern, Germany
+ *  All Rights Reserved.
+ *
+ * This software is work in progress and is released in the hope that it will
+ * be useful to the scientific community. It is provided "as is" without
+ * express or implied warranty, including but not limited to the correctness
+ * of the code or its suitability for any particular purpose.
+ *
+ * This software is provided under the MIT License, however, we would
+ * appreciate it if you contacted the respective authors prior to commercial use.
+ *
+ * If you find our software useful, we would appreciate if you mentioned it
+ * in any publication arising from the use of this software or acknowledge
+ * our work otherwise. We would also like to hear of any fixes or useful
+ */
+
+
+package org.networkcalculus.snc.optimization;
+
+import java.util.Map;
+
+import org.networkcalculus.snc.symbolic_math.AdditiveComposition;
+import org.networkcalculus.snc.symbolic_math.Arrival;
+import org.networkcalculus.snc.symbolic_math.Hoelder;
+import org.networkcalculus.snc.symbolic_math.NewParameter;
+import org.networkcalculus.snc.symbolic_math.SymbolicFunction;
+import org.networkcalculus.snc.symbolic_math.functions.BFunction;
+import org.networkcalculus.snc.symbolic_math.functions.ConstantFunction;
+import org.networkcalculus.snc.symbolic_math.functions.EBBSigma;
+import org.networkcalculus.snc.symbolic_math.functions.ExponentialSigma;
+
+/**
+ * The first-order condition of a bound without Hoelder-parameters, whose
+ * sigma and rho are sums of constants, EBB-sigmas, exponential
+ * sigmas, the parameter representing the backlog and B-functions of such
+ * sums. These are the bounds of a single FIFO hop at a constant rate
+ * server fed by EBB, exponential or constant rate arrivals.
+ * <p>
+ * For each of these terms <code>f</code> the function
+ * <code>F(theta) = theta*f(theta)</code> and its first two derivatives
+ * are known in closed form, and all of them are convex in theta, as is
+ * the B-function of a convex exponent. Hence the logarithm
+ * <code>K = theta*sigma + n*theta*rho</code> of a delay or backlog bound
+ * is convex and the optimal theta is the root of <code>K'</code>. An
+ * inverse bound is <code>(K - log(e))/theta</code>, up to the positive
+ * factor <code>-1/rho</code> for delays, which requires a constant rho;
+ * its optimal theta is the root of <code>theta*K' - K + log(e)</code>,
+ * which is increasing as its derivative is <code>theta*K''</code>.
+ * Either root is found by Newton's method, safeguarded by bisection.
+ * Beyond the root the function increases or becomes infeasible, so an
+ * infeasible point is treated as lying above the root.
+ */
+final class ClosedForm {
+    /**
+     * The maximal number of Newton or bisection steps
+     */
+    private static final int MAX_ITERATIONS = 100;
+
+    /**
+     * The maximal number of doublings of theta, if there is no maximal theta
+     */
+    private static final int MAX_EXPANSIONS = 64;
+
+    /**
+     * The relative accuracy of theta
+     */
+    private static final double TOLERANCE = 1E-12;
+
+    private final Term sigma;
+    private final Term rho;
+    private final int n;
+    private final boolean inverse;
+    private final double logViolation;
+    private int iterations;
+
+    private ClosedForm(Term sigma, Term rho, int n, boolean inverse, double logViolation) {
+        this.sigma = sigma;
+        this.rho = rho;
+        this.n = n;
+        this.inverse = inverse;
+        this.logViolation = logViolation;
+    }
+
+    /**
+     * Recognizes the first-order condition of a prepared bound.
+     * 
+     * @param bound the bound, {@link Optimizable#prepare()} must have been called
+     * 
+     * @return the first-order condition or <code>null</code>, if the bound
+     * does not have the required form
+     */
+    static ClosedForm recognize(Optimizable bound) {
+        Map<Integer, Hoelder> parameters = bound.getHoelderParameters();
+        if(!parameters.isEmpty() || bound instanceof ScreenedBound) {
+            return null;
+        }
+        Arrival input = getInput(bound);
+        int n = 0;
+        boolean inverse = false;
+        double logViolation = 0;
+        if(input == null) {
+            return null;
+        } else if(bound instanceof DelayBound) {
+            n = ((DelayBound) bound).getDelay();
+        } else if(bound instanceof InverseDelayBound) {
+            inverse = true;
+            logViolation = Math.log(((InverseDelayBound) bound).getViolationProbability());
+        } else if(bound instanceof InverseBacklogBound) {
+            inverse = true;
+            logViolation = Math.log(((InverseBacklogBound) bound).getViolationProbability());
+        }
+
+        Term sigma = recognize(input.getSigma(), parameters);
+        Term rho = recognize(input.getRho(), parameters);
+        if(sigma == null || rho == null || n < 0) {
+            return null;
+        }
+        if(bound instanceof InverseDelayBound && !(rho.isConstant() && rho.slope() < 0)) {
+            return null;
+        }
+        return new ClosedForm(sigma, rho, n, inverse, logViolation);
+    }
+
+    /**
+     * Returns the arrival of one of the four bounds, also if it is
+     * screened.
+     * 
+     * @param bound the bound
+     * 
+     * @return the arrival or <code>null</code> for other implementations
+     */
+    static Arrival getInput(Optimizable bound) {
+        bound = ScreenedBound.unwrap(bound);
+        if(bound instanceof DelayBound) {
+            return ((DelayBound) bound).getInput();
+        } else if(bound instanceof BacklogBound) {
+            return ((BacklogBound) bound).getInput();
+        } else if(bound instanceof InverseDelayBound) {
+            return ((InverseDelayBound) bound).getInput();
+        } else if(bound instanceof InverseBacklogBound) {
+            return ((InverseBacklogBound) bound).getInput();
+        }
+        return null;
+    }
+
+    private static Term recognize(SymbolicFunction function, Map<Integer, Hoelder> parameters) {
+        if(function instanceof AdditiveComposition && ((AdditiveComposition) function).getHoelder() == null) {
+            Term first = recognize(((AdditiveComposition) function).getFirst(), parameters);
+            Term second = recognize(((AdditiveComposition) function).getSecond(), parameters);
+            return (first == null || second == null) ? null : new Sum(first, second);
+        } else if(function instanceof ConstantFunction) {
+            return new Linear(((ConstantFunction) function).getRate(), null);
+        } else if(function instanceof NewParameter) {
+            // Only the parameter, which has been removed from the search space
+            Hoelder hoelder = ((NewParameter) function).getHoelder();
+            return parameters.containsKey(hoelder.getHoelderID()) ? null : new Linear(0, hoelder);
+        } else if(function instanceof EBBSigma) {
+            EBBSigma ebb = (EBBSigma) function;
+            return new Pole(ebb.getDecay(), Math.log(ebb.getPrefactor()) / ebb.getDecay());
+        } else if(function instanceof ExponentialSigma) {
+            return new Pole(((ExponentialSigma) function).getLambda(), 0);
+        } else if(function instanceof BFunction) {
+            Term exponent = recognize(((BFunction) function).getExponent(), parameters);
+            return (exponent == null) ? null : new B(exponent);
+        }
+        return null;
+    }
+
+    /**
+     * Solves the first-order condition.
+     * 
+     * @param maxTheta the supremum of the feasible thetas, may be infinite
+     * 
+     * @return the optimal theta, or NaN if none has been found
+     */
+    double solve(double maxTheta) {
+        double[] derivatives = new double[3];
+        iterations = 0;
+        double lo = 0;
+        double hi = maxTheta;
+        if(hi == Double.POSITIVE_INFINITY) {
+            double theta = 1;
+            for(int i = 0; i < MAX_EXPANSIONS && hi == Double.POSITIVE_INFINITY; i++) {
+                iterations++;
+                if(condition(theta, derivatives) < 0) {
+                    lo = theta;
+                    theta *= 2;
+                } else {
+                    hi = theta;
+                }
+            }
+            if(hi == Double.POSITIVE_INFINITY) {
+                return Double.NaN;
+            }
+        }
+
+        double theta = (lo + hi) / 2;
+        while(iterations < MAX_ITERATIONS) {
+            iterations++;
+            double value = condition(theta, derivatives);
+            if(Double.isNaN(value) || value >= 0) {
+                hi = theta;
+            } else {
+                lo = theta;
+            }
+            if(value == 0) {
+                break;
+            }
+            double next = (lo + hi) / 2;
+            if(!Double.isNaN(value) && derivatives[2] > 0) {
+                double newton = theta - value / (inverse ? theta*derivatives[2] : derivatives[2]);
+                if(Math.abs(newton - theta) <= TOLERANCE*theta) {
+                    break;
+                }
+                if(newton > lo && newton < hi) {
+                    next = newton;
+                }
+            }
+            if(hi - lo <= TOLERANCE*hi) {
+                theta = next;
+                break;
+            }
+            theta = next;
+        }
+        if(Double.isNaN(condition(theta, derivatives))) {
+            theta = lo;
+        }
+        return (theta > 0) ? theta : Double.NaN;
+    }
+
+    /**
+     * Returns the number of steps of the last {@link #solve(double)}.
+     * 
+     * @return the number of evaluations of the first-order condition
+     */
+    int getIterations() {
+        return iterations;
+    }
+
+    /**
+     * Computes K and its derivatives into <code>derivatives</code> and
+     * returns the first-order condition at theta, NaN if theta is infeasible.
+     */
+    private double condition(double theta, double[] derivatives) {
+        double[] rhoDerivatives = new double[3];
+        sigma.evaluate(theta, derivatives);
+        rho.evaluate(theta, rhoDerivatives);
+        for(int i = 0; i < 3; i++) {
+            derivatives[i] += n*rhoDerivatives[i];
+        }
+        if(Double.isNaN(derivatives[0]) || Double.isInfinite(derivatives[0])) {
+            return Double.NaN;
+        }
+        return inverse ? theta*derivatives[1] - derivatives[0] + logViolation : derivatives[1];
+    }
+
+    /**
+     * A term f of sigma or rho, evaluated as <code>theta*f(theta)</code>
+     * and its first two derivatives.
+     */
+    private abstract static class Term {
+        /**
+         * Computes <code>theta*f(theta)</code> and its derivatives into
+         * <code>out</code>, the value is NaN if theta is infeasible.
+         */
+        abstract void evaluate(double theta, double[] out);
+
+        boolean isConstant() {
+            return false;
+        }
+
+        /**
+         * The derivative of a linear term.
+         */
+        double slope() {
+            return Double.NaN;
+        }
+    }
+
+    /**
+     * A constant or the p-value of a parameter, which is constant during the optimization.
+     */
+    private static final class Linear extends Term {
+        private final double rate;
+        private final Hoelder parameter;
+
+        Linear(double rate, Hoelder parameter) {
+            this.rate = rate;
+            this.parameter = parameter;
+        }
+
+        @Override
+        void evaluate(double theta, double[] out) {
+            out[0] = theta*slope();
+            out[1] = slope();
+            out[2] = 0;
+        }
+
+        @Override
+        boolean isConstant() {
+            return parameter == null;
+        }
+
+        @Override
+        double slope() {
+            return (parameter == null) ? rate : parameter.getPValue();
+        }
+    }
+
+    private static final class Sum extends Term {
+        private final Term first;
+        private final Term second;
+
+        Sum(Term first, Term second) {
+            this.first = first;
+            this.second = second;
+        }
+
+        @Override
+        void evaluate(double theta, double[] out) {
+            double[] other = new double[3];
+            first.evaluate(theta, out);
+            second.evaluate(theta, other);
+            for(int i = 0; i < 3; i++) {
+                out[i] += other[i];
+            }
+        }
+
+        @Override
+        boolean isConstant() {
+            return first.isConstant() && second.isConstant();
+        }
+
+        @Override
+        double slope() {
+            return first.slope() + second.slope();
+        }
+    }
+
+    /**
+     * <code>theta*f(theta) = c*theta - log(1 - theta/pole)</code>, this is
+     * an EBB-sigma with <code>c = log(prefactor)/decay</code> and an
+     * exponential sigma with <code>c = 0</code>.
+     */
+    private static final class Pole extends Term {
+        private final double pole;
+        private final double rate;
+
+        Pole(double pole, double rate) {
+            this.pole = pole;
+            this.rate = rate;
+        }
+
+        @Override
+        void evaluate(double theta, double[] out) {
+            if(theta >= pole) {
+                out[0] = Double.NaN;
+                return;
+            }
+            double inverseDistance = 1 / (pole - theta);
+            out[0] = rate*theta - Math.log1p(-theta / pole);
+            out[1] = rate + inverseDistance;
+            out[2] = inverseDistance*inverseDistance;
+        }
+    }
+
+    /**
+     * <code>theta*B(e)(theta) = -log(1 - exp(E))</code> with
+     * <code>E = theta*e(theta)</code>, feasible for negative E only.
+     */
+    private static final class B extends Term {
+        private final Term exponent;
+
+        B(Term exponent) {
+            this.exponent = exponent;
+        }
+
+        @Override
+        void evaluate(double theta, double[] out) {
+            exponent.evaluate(theta, out);
+            if(!(out[0] < 0)) {
+                out[0] = Double.NaN;
+                return;
+            }
+            // r = exp(E)/(1 - exp(E))
+            double ratio = 1 / Math.expm1(-out[0]);
+            double first = out[1];
+            out[0] = -Math.log(-Math.expm1(out[0]));
+            out[1] = first*ratio;
+            out[2] = out[2]*ratio + first*first*ratio*(1 + ratio);
+        }
+    }
+}
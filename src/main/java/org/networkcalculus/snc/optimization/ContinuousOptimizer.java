@@ -0,0 +1,229 @@
+/*
+ *  (c) 2017 Michael A. Beck, Sebastian Henningsen
+ *  		disco | Distributed Computer Systems Lab
+ *  		University of Kaiserslautern, Germany
+ *  All Rights Reserved.
+ *
+ * This software is work in progress and is released in the hope that it will
+ * be useful to the scientific community. It is provided "as is" without
+ * express or implied warranty, including but not limited to the correctness
+ * of the code or its suitability for any particular purpose.
+ *
+ * This software is provided under the MIT License, however, we would
+ * appreciate it if you contacted the respective authors prior to commercial use.
+ *
+ * If you find our software useful, we would appreciate if you mentioned it
+ * in any publication arising from the use of this software or acknowledge
+ * our work otherwise. We would also like to hear of any fixes or useful
+ */
+
+
+package org.networkcalculus.snc.optimization;
+
+import java.util.Arrays;
+import java.util.concurrent.CancellationException;
+
+import org.apache.commons.math3.exception.TooManyEvaluationsException;
+import org.apache.commons.math3.optim.InitialGuess;
+import org.apache.commons.math3.optim.MaxEval;
+import org.apache.commons.math3.optim.MaxIter;
+import org.apache.commons.math3.optim.SimpleBounds;
+import org.apache.commons.math3.optim.SimpleValueChecker;
+import org.apache.commons.math3.optim.nonlinear.scalar.GoalType;
+import org.apache.commons.math3.optim.nonlinear.scalar.ObjectiveFunction;
+import org.apache.commons.math3.optim.nonlinear.scalar.noderiv.BOBYQAOptimizer;
+import org.apache.commons.math3.optim.nonlinear.scalar.noderiv.CMAESOptimizer;
+import org.apache.commons.math3.optim.nonlinear.scalar.noderiv.NelderMeadSimplex;
+import org.apache.commons.math3.optim.nonlinear.scalar.noderiv.SimplexOptimizer;
+import org.apache.commons.math3.random.MersenneTwister;
+import org.networkcalculus.snc.analysis.BoundType;
+import org.networkcalculus.snc.symbolic_math.Arrival;
+import org.networkcalculus.snc.symbolic_math.Hoelder;
+import org.networkcalculus.snc.symbolic_math.ParameterMismatchException;
+import org.networkcalculus.snc.symbolic_math.ServerOverloadException;
+import org.networkcalculus.snc.symbolic_math.ThetaOutOfBoundException;
+
+/**
+ * Optimizes theta and all Hoelder-coefficients jointly as continuous
+ * variables with one of the derivative-free optimizers of commons-math,
+ * see {@link BoundFunction} for the reparametrization, which makes the
+ * problem unconstrained. In contrast to the grid searches the effort
+ * does not grow exponentially with the number of Hoelder-parameters; it
+ * is limited by an evaluation budget and otherwise ends when the
+ * relative improvement drops below {@link #RELATIVE_THRESHOLD}. The
+ * granularities are not used, except for the thetagranularity as
+ * tolerance of the line search, which polishes theta at the end.
+ * Bounds without Hoelder-parameters are optimized by this line search
+ * alone.
+ * CMA-ES is randomized, its generator is seeded with a constant, such
+ * that results are reproducible.
+ * 
+ * @see OptimizationType#NELDER_MEAD_OPT
+ * @see OptimizationType#BOBYQA_OPT
+ * @see OptimizationType#CMAES_OPT
+ */
+public class ContinuousOptimizer extends AbstractOptimizer {
+    /**
+     * The available optimization methods
+     */
+    public enum Method {
+        NELDER_MEAD,
+        BOBYQA,
+        CMA_ES
+    }
+
+    /**
+     * The default evaluation budget
+     */
+    public static final int DEFAULT_MAX_EVALUATIONS = 2000;
+
+    public static final double RELATIVE_THRESHOLD = 1E-10;
+    public static final double ABSOLUTE_THRESHOLD = 1E-14;
+
+    /**
+     * The box searched by BOBYQA in the coordinates of {@link BoundFunction},
+     * i.e. <code>1 + exp(-12) &lt; p &lt; 1 + exp(6)</code>
+     */
+    private static final double THETA_COORDINATE_LIMIT = 30;
+    private static final double LOWER_P_COORDINATE = -12;
+    private static final double UPPER_P_COORDINATE = 6;
+
+    private static final long SEED = 3141592653L;
+
+    private final Method method;
+    private final int maxEvaluations;
+
+    /**
+     * Creates an optimizer with the default evaluation budget.
+     * 
+     * @param input
+     * @param boundtype
+     * @param method
+     */
+    public ContinuousOptimizer(Optimizable input, BoundType boundtype, Method method) {
+        this(input, boundtype, method, DEFAULT_MAX_EVALUATIONS);
+    }
+
+    /**
+     * Creates an optimizer.
+     * 
+     * @param input
+     * @param boundtype
+     * @param method
+     * @param maxEvaluations the evaluation budget of the multivariate search
+     */
+    public ContinuousOptimizer(Optimizable input, BoundType boundtype, Method method, int maxEvaluations) {
+        super(input, boundtype);
+        this.method = method;
+        this.maxEvaluations = maxEvaluations;
+    }
+
+    @Override
+    public double minimize(double thetagranularity, double hoeldergranularity) throws ThetaOutOfBoundException, ParameterMismatchException, ServerOverloadException {
+        startPhase("preparation");
+        bound.prepare();
+        for(Hoelder hoelder : bound.getHoelderParameters().values()) {
+            hoelder.setPValue(2);
+        }
+        BoundFunction function = new BoundFunction(bound, getThetaLimit(thetagranularity));
+        function.setMonitor(() -> {
+            reportProgress(function.getBestValue(), function.getEvaluations() / (double) maxEvaluations, function.getEvaluations());
+            return isCancelled();
+        });
+        int dimension = function.getDimension();
+        startPhase("search");
+        if(dimension > 1) {
+            double[] start = new double[dimension];
+            try {
+                // Evaluates the start point, such that the search has a result in any case
+                function.value(start);
+                search(function, start);
+            } catch(TooManyEvaluationsException e) {
+                System.out.println("Evaluation budget of " + maxEvaluations + " exhausted.");
+            } catch(CancellationException e) {
+                System.out.println("Optimization cancelled after " + function.getEvaluations() + " evaluations.");
+            } catch(IllegalStateException e) {
+                if(e.getCause() instanceof ParameterMismatchException) {
+                    throw (ParameterMismatchException) e.getCause();
+                }
+                throw e;
+            }
+        }
+
+        // Polishes theta for the best coefficients found
+        startPhase("line search");
+        function.applyBest();
+        maxTheta = getThetaLimit(thetagranularity);
+        ThetaLineSearch search = new ThetaLineSearch(bound, thetagranularity);
+        double optValue = search.minimize(0, maxTheta);
+        double theta = search.getTheta();
+        if(function.getBestValue() <= optValue) {
+            optValue = function.getBestValue();
+            theta = function.getBestTheta();
+        }
+
+        System.out.println("Theta: " + theta + " Hoelder: " + bound.getHoelderParameters().toString() + " Bound: " + optValue
+                + " Evaluations: " + (function.getEvaluations() + search.getEvaluations())
+                + " (infeasible: " + function.getInfeasibleEvaluations() + ")");
+        recordOptimum(theta);
+        evaluations += function.getEvaluations() + search.getEvaluations();
+        infeasibleEvaluations += function.getInfeasibleEvaluations() + search.getInfeasibleEvaluations();
+        return optValue;
+    }
+
+    private void search(BoundFunction function, double[] start) {
+        int dimension = start.length;
+        SimpleValueChecker checker = new SimpleValueChecker(RELATIVE_THRESHOLD, ABSOLUTE_THRESHOLD);
+        switch(method) {
+            case NELDER_MEAD:
+                new SimplexOptimizer(checker).optimize(new MaxEval(maxEvaluations), new ObjectiveFunction(function),
+                        GoalType.MINIMIZE, new InitialGuess(start), new NelderMeadSimplex(dimension));
+                break;
+            case BOBYQA:
+                double[] lower = new double[dimension];
+                double[] upper = new double[dimension];
+                Arrays.fill(lower, LOWER_P_COORDINATE);
+                Arrays.fill(upper, UPPER_P_COORDINATE);
+                lower[0] = -THETA_COORDINATE_LIMIT;
+                upper[0] = THETA_COORDINATE_LIMIT;
+                new BOBYQAOptimizer(2*dimension + 1, 1, 1E-6).optimize(new MaxEval(maxEvaluations),
+                        new ObjectiveFunction(function), GoalType.MINIMIZE, new InitialGuess(start),
+                        new SimpleBounds(lower, upper));
+                break;
+            case CMA_ES:
+                double[] sigma = new double[dimension];
+                Arrays.fill(sigma, 1);
+                int populationSize = 4 + (int) (3*Math.log(dimension));
+                new CMAESOptimizer(maxEvaluations, -Double.MAX_VALUE, true, 0, 0, new MersenneTwister(SEED), false, checker)
+                        .optimize(new MaxEval(maxEvaluations), new MaxIter(maxEvaluations), new ObjectiveFunction(function),
+                        GoalType.MINIMIZE, new InitialGuess(start), SimpleBounds.unbounded(dimension),
+                        new CMAESOptimizer.Sigma(sigma), new CMAESOptimizer.PopulationSize(populationSize));
+                break;
+            default:
+                throw new IllegalArgumentException("Method " + method + " not known.");
+        }
+    }
+
+    /**
+     * Repeats the optimization of {@link #minimize(double, double)} for the
+     * given arrival, such that both computations agree.
+     */
+    @Override
+    public double Bound(Arrival input, BoundType boundtype, double bound, double thetagranularity, double hoeldergranularity)
+            throws ThetaOutOfBoundException, ParameterMismatchException, ServerOverloadException {
+        return new ContinuousOptimizer(BoundFactory.createBound(input, boundtype, bound), boundtype, method, maxEvaluations)
+                .minimize(thetagranularity, hoeldergranularity);
+    }
+
+    /**
+     * Repeats the optimization of {@link #minimize(double, double)} for the
+     * given arrival, such that both computations agree.
+     */
+    @Override
+    public double ReverseBound(Arrival input, BoundType boundtype, double violation_probability, double thetagranularity, double hoeldergranularity)
+            throws ThetaOutOfBoundException, ParameterMismatchException, ServerOverloadException {
+        BoundType inverse = (boundtype == BoundType.BACKLOG) ? BoundType.INVERSE_BACKLOG : BoundType.INVERSE_DELAY;
+        return new ContinuousOptimizer(BoundFactory.createBound(input, inverse, violation_probability), boundtype, method, maxEvaluations)
+                .minimize(thetagranularity, hoeldergranularity);
+    }
+}
@@ -22,9 +22,14 @@ package org.networkcalculus.snc.optimization;
 import java.util.HashMap;
 
 import org.networkcalculus.snc.symbolic_math.Arrival;
+import org.networkcalculus.snc.symbolic_math.CompiledArrival;
+import org.networkcalculus.snc.symbolic_math.DualNumber;
 import org.networkcalculus.snc.symbolic_math.Hoelder;
+import org.networkcalculus.snc.symbolic_math.Interval;
 import org.networkcalculus.snc.symbolic_math.ParameterMismatchException;
+import org.networkcalculus.snc.symbolic_math.ParameterSlots;
 import org.networkcalculus.snc.symbolic_math.ServerOverloadException;
+import org.networkcalculus.snc.symbolic_math.SymbolicFunctionFactory;
 import org.networkcalculus.snc.symbolic_math.ThetaOutOfBoundException;
 
 /**
@@ -37,6 +42,9 @@ import org.networkcalculus.snc.symbolic_math.ThetaOutOfBoundException;
  */
 public class DelayBound implements Optimizable {
     private Arrival input;
+    private CompiledArrival compiled;
+    private ParameterSlots slots;
+    private boolean slotsBound;
     private int bound;
     private HashMap<Integer, Hoelder> allHoelders;
     
@@ -48,10 +56,12 @@ public class DelayBound implements Optimizable {
      */
     public DelayBound(Arrival input, double bound) {
         this.input = input;
+        this.compiled = input.compile();
         this.bound = (int)Math.round(Math.ceil(bound));
         this.allHoelders = new HashMap<>(0);
         allHoelders.putAll(input.getSigma().getParameters());
         allHoelders.putAll(input.getRho().getParameters());
+        this.slots = new ParameterSlots(allHoelders);
     }
 
     @Override
@@ -61,7 +71,37 @@ public class DelayBound implements Optimizable {
 
     @Override
     public double evaluate(double theta) throws ThetaOutOfBoundException, ParameterMismatchException, ServerOverloadException {
-        return input.evaluate(theta, bound, 0);
+        return compiled.evaluate(theta, bound, 0);
+    }
+
+    @Override
+    public double evaluateUnchecked(double theta) throws ParameterMismatchException {
+        return compiled.evaluateUnchecked(theta, bound, 0);
+    }
+
+    @Override
+    public double evaluateUnchecked(double theta, double[] p) throws ParameterMismatchException {
+        return compiled.evaluateUnchecked(theta, p, bound, 0);
+    }
+
+    @Override
+    public void evaluate(double[] thetas, double[] out) throws ParameterMismatchException {
+        compiled.evaluate(thetas, bound, 0, out);
+    }
+
+    @Override
+    public double evaluate(double theta, double[] p) throws ThetaOutOfBoundException, ParameterMismatchException, ServerOverloadException {
+        return compiled.evaluate(theta, p, bound, 0);
+    }
+
+    @Override
+    public DualNumber evaluateDual(double theta, double[] p) throws ThetaOutOfBoundException, ParameterMismatchException, ServerOverloadException {
+        return compiled.evaluate(DualNumber.theta(theta, p.length), p, bound, 0);
+    }
+
+    @Override
+    public Interval evaluateInterval(Interval theta, Interval[] p) throws ThetaOutOfBoundException, ParameterMismatchException, ServerOverloadException {
+        return compiled.evaluate(theta, p, bound, 0);
     }
 
     @Override
@@ -69,8 +109,41 @@ public class DelayBound implements Optimizable {
         return allHoelders;
     }
 
+    @Override
+    public ParameterSlots getParameterSlots() throws ParameterMismatchException {
+        if (!slotsBound) {
+            compiled.bind(slots);
+            slotsBound = true;
+        }
+        return slots;
+    }
+
+    @Override
+    public Optimizable copy() {
+        return new DelayBound(input.copy(), bound);
+    }
+
     @Override
     public double getMaximumTheta() {
         return input.getThetastar();
     }
+
+    @Override
+    public long getStructuralSignature() {
+        return 31*SymbolicFunctionFactory.getStructuralSignature(input.getSigma(), input.getRho()) + getClass().getName().hashCode();
+    }
+
+    /**
+     * Returns the arrival, which is bounded.
+     */
+    Arrival getInput() {
+        return input;
+    }
+
+    /**
+     * Returns the delay, rounded up to a whole number of time slots.
+     */
+    int getDelay() {
+        return bound;
+    }
 }
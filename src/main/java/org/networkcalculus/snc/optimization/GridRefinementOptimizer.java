@@ -0,0 +1,485 @@
+/*
+ *  (c) 2017 Michael A. Beck, Sebastian Henningsen
+ *  		disco | Distributed Computer Systems Lab
+ *  		University of Kaiserslautern, Germany
+ *  All Rights Reserved.
+ *
+ * This software is work in progress and is released in the hope that it will
+ * be useful to the scientific community. It is provided "as is" without
+ * express or implied warranty, including but not limited to the correctness
+ * of the code or its suitability for any particular purpose.
+ *
+ * This software is provided under the MIT License, however, we would
+ * appreciate it if you contacted the respective authors prior to commercial use.
+ *
+ * If you find our software useful, we would appreciate if you mentioned it
+ * in any publication arising from the use of this software or acknowledge
+ * our work otherwise. We would also like to hear of any fixes or useful
+ */
+
+
+package org.networkcalculus.snc.optimization;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.networkcalculus.snc.analysis.BoundType;
+import org.networkcalculus.snc.symbolic_math.Arrival;
+import org.networkcalculus.snc.symbolic_math.EvaluationStatus;
+import org.networkcalculus.snc.symbolic_math.Hoelder;
+import org.networkcalculus.snc.symbolic_math.ParameterMismatchException;
+import org.networkcalculus.snc.symbolic_math.ServerOverloadException;
+import org.networkcalculus.snc.symbolic_math.ThetaOutOfBoundException;
+
+/**
+ * Searches the grid of the {@link SimpleOptimizer} coarse-to-fine. The
+ * points of the grid are theta = <code>t*thetagranularity</code> and,
+ * for each Hoelder-parameter, a step <code>c</code>, which stands for
+ * <code>p = 2 + c*hoeldergranularity</code> if c is negative and for
+ * <code>q = 2 - c*hoeldergranularity</code> otherwise.
+ * As the range of theta depends on the Hoelder-coefficients (and is
+ * bracketed by a {@link ThetaBracket} without a maximal theta), each
+ * configuration of coefficients is rated by the best theta for it, which
+ * is found coarse-to-fine as well. Both searches start on a coarse
+ * subgrid, whose spacing is a power of two, keep the best points
+ * ({@link #DEFAULT_CELLS} configurations, resp. {@link #THETA_CELLS}
+ * thetas) and evaluate the cells around them at half the spacing, until
+ * the requested granularity is reached. On the finest grid the
+ * refinement is repeated until the best point does not change anymore.
+ * No point is evaluated twice.
+ * <p>
+ * Measured on inverse delay bounds (violation probability 1E-3,
+ * thetagranularity 0.01, hoeldergranularity 0.1): for a single hop it
+ * finds the optimum of the {@link SimpleOptimizer} with 71 instead of
+ * 501 evaluations, for the second hop of a tandem with one
+ * Hoelder-parameter it finds the optimum of the exhaustive search of
+ * the same grid with 656 instead of 2066 evaluations. On these small
+ * bounds the refinement is not faster, about 0.4 ms against 0.3 ms and
+ * 3 ms against 1 ms, as the sweeps of the brute-force search are
+ * evaluated in batches; the savings in time grow with the cost of an
+ * evaluation and the number of Hoelder-parameters. The numbers are
+ * produced by <code>GridRefinementBenchmark</code> in the test sources.
+ * 
+ * @see OptimizationType#GRID_REFINEMENT_OPT
+ */
+public class GridRefinementOptimizer extends AbstractOptimizer {
+    /**
+     * The default number of configurations refined on each level
+     */
+    public static final int DEFAULT_CELLS = 4;
+
+    /**
+     * The number of thetas refined on each level
+     */
+    private static final int THETA_CELLS = 2;
+
+    /**
+     * The coarse grid has at least this many thetas
+     */
+    private static final int COARSE_THETA_POINTS = 32;
+
+    /**
+     * The spacing of the coarse grid of Hoelder-coefficients
+     */
+    private static final double COARSE_HOELDER_STEP = 0.5;
+
+    /**
+     * The maximal number of refinements on the finest grid
+     */
+    private static final int MAX_FINE_ROUNDS = 1000;
+
+    private final int cells;
+    private final List<int[]> seeds;
+    private final List<Map<Integer, Double>> seedProfiles;
+    private final int seedStep;
+
+    private Hoelder[] hoelders;
+    private double thetagranularity;
+    private double hoeldergranularity;
+    private int hoelderLimit;
+    private Map<Configuration, double[]> profiles;
+
+    /**
+     * Creates an optimizer, which refines {@link #DEFAULT_CELLS} configurations.
+     * 
+     * @param input
+     * @param boundtype
+     */
+    public GridRefinementOptimizer(Optimizable input, BoundType boundtype) {
+        this(input, boundtype, DEFAULT_CELLS);
+    }
+
+    /**
+     * Creates an optimizer.
+     * 
+     * @param input
+     * @param boundtype
+     * @param cells the number of configurations refined on each level
+     */
+    public GridRefinementOptimizer(Optimizable input, BoundType boundtype, int cells) {
+        this(input, boundtype, cells, null, null, 0);
+    }
+
+    /**
+     * Creates an optimizer, which starts the refinement at the given
+     * configurations instead of rating the coarse grid, e.g. because the
+     * coarse grid has been rated for several bounds at once.
+     * 
+     * @param input
+     * @param boundtype
+     * @param cells the number of configurations refined on each level
+     * @param seeds the steps of the initial configurations, for the
+     * hoeldergranularity passed to {@link #minimize(double, double)}
+     * @param seedProfiles for each seed the values of the coarse grid of
+     * thetas, keyed by the multiple of the thetagranularity, infeasible
+     * values are positive infinity
+     * @param seedStep the spacing of the grid the seeds belong to
+     */
+    GridRefinementOptimizer(Optimizable input, BoundType boundtype, int cells, List<int[]> seeds,
+            List<Map<Integer, Double>> seedProfiles, int seedStep) {
+        super(input, boundtype);
+        this.cells = cells;
+        this.seeds = seeds;
+        this.seedProfiles = seedProfiles;
+        this.seedStep = seedStep;
+    }
+
+    @Override
+    public double minimize(double thetagranularity, double hoeldergranularity) throws ThetaOutOfBoundException, ParameterMismatchException, ServerOverloadException {
+        startPhase("coarse grid");
+        bound.prepare();
+        Map<Integer, Hoelder> allparameters = new TreeMap<>(bound.getHoelderParameters());
+        hoelders = allparameters.values().toArray(new Hoelder[0]);
+        for(Hoelder hoelder : hoelders) {
+            hoelder.setPValue(2);
+        }
+        maxTheta = getThetaLimit(thetagranularity);
+        System.out.println("Max Theta: " + maxTheta);
+
+        this.thetagranularity = thetagranularity;
+        this.hoeldergranularity = hoeldergranularity;
+        this.profiles = new HashMap<>();
+        hoelderLimit = getHoelderLimit(hoeldergranularity);
+
+        int step;
+        if(seeds == null) {
+            // Rates the coarse grid
+            step = getCoarseStep(hoeldergranularity);
+            for(int[] steps : neighbourhood(new int[hoelders.length], hoelderLimit / step, step, hoelderLimit)) {
+                if(isCancelled()) {
+                    break;
+                }
+                profile(steps, null);
+            }
+        } else {
+            step = seedStep;
+            for(int i = 0; i < seeds.size() && !isCancelled(); i++) {
+                profile(seeds.get(i), seedProfiles.get(i));
+            }
+        }
+
+        // Refines the best cells
+        startPhase("refinement");
+        Configuration best = null;
+        int levels = 0;
+        int fineRounds = 0;
+        while(fineRounds < MAX_FINE_ROUNDS && !isCancelled()) {
+            List<Configuration> top = top(cells);
+            if(top.isEmpty() || (step == 1 && top.get(0).equals(best))) {
+                break;
+            }
+            if(step == 1) {
+                fineRounds++;
+            }
+            best = top.get(0);
+            int newStep = Math.max(1, step / 2);
+            for(Configuration cell : top) {
+                for(int[] steps : neighbourhood(cell.steps, step / newStep, newStep, hoelderLimit)) {
+                    if(isCancelled()) {
+                        break;
+                    }
+                    profile(steps, null);
+                }
+            }
+            step = newStep;
+            levels++;
+        }
+
+        List<Configuration> top = top(1);
+        double optValue = Double.POSITIVE_INFINITY;
+        double theta = Double.NaN;
+        if(!top.isEmpty()) {
+            double[] profile = profiles.get(top.get(0));
+            optValue = profile[0];
+            theta = profile[1];
+            apply(hoelders, top.get(0).steps, hoeldergranularity);
+        }
+        maxTheta = bound.getMaximumTheta();
+        System.out.println("Theta: " + theta + " Hoelder: " + allparameters.toString() + " Bound: " + optValue
+                + " Evaluations: " + evaluations + " Configurations: " + profiles.size() + " Levels: " + levels);
+        recordOptimum(theta);
+        return optValue;
+    }
+
+    /**
+     * Returns the largest step, which keeps the coefficients above 1.
+     */
+    static int getHoelderLimit(double hoeldergranularity) {
+        return Math.max(0, (int) Math.ceil(1 / hoeldergranularity) - 1);
+    }
+
+    /**
+     * Returns the spacing of the coarse grid of Hoelder-coefficients in steps.
+     */
+    static int getCoarseStep(double hoeldergranularity) {
+        int limit = getHoelderLimit(hoeldergranularity);
+        int step = 1;
+        while(step*hoeldergranularity < COARSE_HOELDER_STEP && step*2 <= limit) {
+            step *= 2;
+        }
+        return step;
+    }
+
+    /**
+     * Returns the largest t with <code>t*thetagranularity &lt; limit</code>,
+     * or 0 if there is none.
+     */
+    static int getLastTheta(double limit, double thetagranularity) {
+        if(limit == Double.POSITIVE_INFINITY) {
+            return 0;
+        }
+        long largest = (long) Math.ceil(limit / thetagranularity) - 1;
+        while(largest > 0 && largest*thetagranularity >= limit) {
+            largest--;
+        }
+        return (int) Math.max(0, Math.min(largest, Integer.MAX_VALUE));
+    }
+
+    /**
+     * Returns the spacing of the coarse grid of thetas <code>1, ..., last</code>.
+     */
+    static int getCoarseThetaStep(int last) {
+        int step = 1;
+        while(last / (step*2) >= COARSE_THETA_POINTS) {
+            step *= 2;
+        }
+        return step;
+    }
+
+    /**
+     * Estimates the number of evaluations of an optimization with the
+     * given number of Hoelder-parameters: the configurations of the coarse
+     * grid, each profiled by about twice the thetas of the coarse grid of
+     * thetas, plus as many for the refinement. Without a maximal theta,
+     * each configuration is bracketed by a {@link ThetaBracket} first.
+     * 
+     * @param dimensions the number of Hoelder-parameters
+     * @param hoeldergranularity
+     * @param bracketEvaluations the evaluations of a bracket, 0 if the
+     * bound has a maximal theta
+     * 
+     * @return the estimated number of evaluations
+     */
+    static double estimateEvaluations(int dimensions, double hoeldergranularity, long bracketEvaluations) {
+        int step = getCoarseStep(hoeldergranularity);
+        int perDimension = 2*(getHoelderLimit(hoeldergranularity) / step) + 1;
+        return 2*Math.pow(perDimension, dimensions)*(2*COARSE_THETA_POINTS + bracketEvaluations);
+    }
+
+    /**
+     * Returns the configurations <code>centre + j*step</code> with
+     * <code>|j| &lt;= radius</code> in each coordinate, which are within
+     * the limit.
+     */
+    static List<int[]> neighbourhood(int[] centre, int radius, int step, int limit) {
+        List<int[]> configurations = new ArrayList<>();
+        enumerate(centre.clone(), 0, radius, step, limit, configurations);
+        return configurations;
+    }
+
+    private static void enumerate(int[] steps, int index, int radius, int step, int limit, List<int[]> configurations) {
+        if(index == steps.length) {
+            configurations.add(steps.clone());
+            return;
+        }
+        int centre = steps[index];
+        for(int j = -radius; j <= radius; j++) {
+            steps[index] = centre + j*step;
+            if(Math.abs(steps[index]) <= limit) {
+                enumerate(steps, index + 1, radius, step, limit, configurations);
+            }
+        }
+        steps[index] = centre;
+    }
+
+    /**
+     * Finds the best theta on the grid for the given configuration, unless
+     * this has been done before. The coarse grid of thetas is evaluated,
+     * unless its values are given.
+     */
+    private void profile(int[] steps, Map<Integer, Double> coarse) throws ParameterMismatchException {
+        Configuration configuration = new Configuration(steps);
+        if(profiles.containsKey(configuration)) {
+            return;
+        }
+        apply(hoelders, steps, hoeldergranularity);
+        int last = getLastTheta(getThetaLimit(thetagranularity), thetagranularity);
+        if(last < 1) {
+            profiles.put(configuration, new double[] { Double.POSITIVE_INFINITY, Double.NaN });
+            return;
+        }
+
+        int step = getCoarseThetaStep(last);
+        Map<Integer, Double> values = new HashMap<>();
+        List<Integer> candidates = new ArrayList<>();
+        if(coarse != null) {
+            values.putAll(coarse);
+        } else {
+            for(int t = step; t <= last && t > 0; t += step) {
+                candidates.add(t);
+            }
+            sweep(candidates, values);
+        }
+
+        int best = -1;
+        while(true) {
+            List<Integer> top = topThetas(values);
+            if(top.isEmpty() || (step == 1 && top.get(0) == best)) {
+                break;
+            }
+            best = top.get(0);
+            int newStep = Math.max(1, step / 2);
+            candidates.clear();
+            for(int t : top) {
+                for(int j = -step / newStep; j <= step / newStep; j++) {
+                    long candidate = (long) t + j*newStep;
+                    if(candidate >= 1 && candidate <= last && !values.containsKey((int) candidate)
+                            && !candidates.contains((int) candidate)) {
+                        candidates.add((int) candidate);
+                    }
+                }
+            }
+            sweep(candidates, values);
+            step = newStep;
+        }
+
+        List<Integer> top = topThetas(values);
+        if(top.isEmpty()) {
+            profiles.put(configuration, new double[] { Double.POSITIVE_INFINITY, Double.NaN });
+        } else {
+            profiles.put(configuration, new double[] { values.get(top.get(0)), top.get(0)*thetagranularity });
+        }
+    }
+
+    /**
+     * Evaluates the given multiples of the thetagranularity in one batch.
+     */
+    private void sweep(List<Integer> candidates, Map<Integer, Double> values) throws ParameterMismatchException {
+        double[] thetas = new double[candidates.size()];
+        for(int i = 0; i < thetas.length; i++) {
+            thetas[i] = candidates.get(i)*thetagranularity;
+        }
+        double[] results = new double[thetas.length];
+        evaluate(thetas, results);
+        for(int i = 0; i < results.length; i++) {
+            values.put(candidates.get(i), EvaluationStatus.isFeasible(results[i]) ? results[i] : Double.POSITIVE_INFINITY);
+        }
+    }
+
+    /**
+     * Returns the best {@link #THETA_CELLS} feasible thetas, smaller thetas first on ties.
+     */
+    private static List<Integer> topThetas(Map<Integer, Double> values) {
+        List<Integer> thetas = new ArrayList<>();
+        for(Map.Entry<Integer, Double> entry : values.entrySet()) {
+            if(entry.getValue() < Double.POSITIVE_INFINITY) {
+                thetas.add(entry.getKey());
+            }
+        }
+        thetas.sort(Comparator.comparingDouble((Integer t) -> values.get(t)).thenComparing(t -> t));
+        return thetas.subList(0, Math.min(THETA_CELLS, thetas.size()));
+    }
+
+    /**
+     * Returns the best feasible configurations rated so far, in ascending
+     * order of their values.
+     */
+    private List<Configuration> top(int count) {
+        List<Configuration> configurations = new ArrayList<>();
+        for(Map.Entry<Configuration, double[]> entry : profiles.entrySet()) {
+            if(entry.getValue()[0] < Double.POSITIVE_INFINITY) {
+                configurations.add(entry.getKey());
+            }
+        }
+        configurations.sort(Comparator.comparingDouble((Configuration c) -> profiles.get(c)[0])
+                .thenComparing(Configuration::toString));
+        return configurations.subList(0, Math.min(count, configurations.size()));
+    }
+
+    /**
+     * Sets the Hoelder-parameters to the coefficients of the given steps.
+     */
+    static void apply(Hoelder[] hoelders, int[] steps, double hoeldergranularity) {
+        for(int i = 0; i < hoelders.length; i++) {
+            if(steps[i] <= 0) {
+                hoelders[i].setPValue(2 + steps[i]*hoeldergranularity);
+            } else {
+                hoelders[i].setQValue(2 - steps[i]*hoeldergranularity);
+            }
+        }
+    }
+
+    /**
+     * The steps of the Hoelder-parameters, in ascending order of their ids.
+     */
+    private static final class Configuration {
+        private final int[] steps;
+
+        Configuration(int[] steps) {
+            this.steps = steps.clone();
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(steps);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof Configuration && Arrays.equals(steps, ((Configuration) obj).steps);
+        }
+
+        @Override
+        public String toString() {
+            return Arrays.toString(steps);
+        }
+    }
+
+    /**
+     * Repeats the optimization of {@link #minimize(double, double)} for the
+     * given arrival, such that both computations agree.
+     */
+    @Override
+    public double Bound(Arrival input, BoundType boundtype, double bound, double thetagranularity, double hoeldergranularity)
+            throws ThetaOutOfBoundException, ParameterMismatchException, ServerOverloadException {
+        return new GridRefinementOptimizer(BoundFactory.createBound(input, boundtype, bound), boundtype, cells, seeds, seedProfiles, seedStep)
+                .minimize(thetagranularity, hoeldergranularity);
+    }
+
+    /**
+     * Repeats the optimization of {@link #minimize(double, double)} for the
+     * given arrival, such that both computations agree.
+     */
+    @Override
+    public double ReverseBound(Arrival input, BoundType boundtype, double violation_probability, double thetagranularity, double hoeldergranularity)
+            throws ThetaOutOfBoundException, ParameterMismatchException, ServerOverloadException {
+        BoundType inverse = (boundtype == BoundType.BACKLOG) ? BoundType.INVERSE_BACKLOG : BoundType.INVERSE_DELAY;
+        return new GridRefinementOptimizer(BoundFactory.createBound(input, inverse, violation_probability), boundtype, cells, seeds, seedProfiles, seedStep)
+                .minimize(thetagranularity, hoeldergranularity);
+    }
+}
@@ -0,0 +1,211 @@
+/*
+ *  (c) 2017 Michael A. Beck, Sebastian Henningsen
+ *  		disco | Distributed Computer Systems Lab
+ *  		University of Kaiserslautern, Germany
+ *  All Rights Reserved.
+ *
+ * This software is work in progress and is released in the hope that it will
+ * be useful to the scientific community. It is provided "as is" without
+ * express or implied warranty, including but not limited to the correctness
+ * of the code or its suitability for any particular purpose.
+ *
+ * This software is provided under the MIT License, however, we would
+ * appreciate it if you contacted the respective authors prior to commercial use.
+ *
+ * If you find our software useful, we would appreciate if you mentioned it
+ * in any publication arising from the use of this software or acknowledge
+ * our work otherwise. We would also like to hear of any fixes or useful
+ */
+
+package org.networkcalculus.snc.optimization;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.networkcalculus.snc.symbolic_math.Arrival;
+import org.networkcalculus.snc.symbolic_math.Hoelder;
+import org.networkcalculus.snc.symbolic_math.ParameterMismatchException;
+import org.networkcalculus.snc.symbolic_math.SymbolicFunctionFactory;
+
+/**
+ * The Cartesian grid of Hoelder-coefficients searched exhaustively by the
+ * {@link SimpleOptimizer} and the {@link ParallelOptimizer}. Each
+ * Hoelder-parameter takes the steps <code>c = -limit, ..., limit</code>,
+ * which stand for the coefficients as in the
+ * {@link GridRefinementOptimizer}. The configurations are numbered in mixed
+ * radix, the parameter with the largest id running fastest, and are set
+ * one at a time while a range of numbers is walked. Hence the grid is never
+ * stored and disjoint ranges can be walked by different threads, each on
+ * its own copy of the bound.
+ * <p>
+ * A walk fixes the coefficients parameter by parameter. Before the
+ * sub-grid of a prefix of fixed coefficients is entered, the maximal theta
+ * of the bound is bounded from above over all coefficients of the remaining
+ * parameters (see {@link SymbolicFunctionFactory#getMaximumTheta}). If
+ * this bound does not exceed the thetagranularity, no configuration of the
+ * sub-grid has a theta to be swept and the sub-grid is skipped as a whole.
+ * Bounds, whose arrival is unknown, are not pruned.
+ * A grid must not be shared between threads.
+ */
+final class HoelderGrid {
+    /**
+     * Receives the configurations of a walk.
+     */
+    interface Visitor {
+        /**
+         * Called with the Hoelder-coefficients of the bound set to the
+         * configuration with the given number.
+         * 
+         * @return false to stop the walk
+         */
+        boolean visit(long configuration) throws ParameterMismatchException;
+    }
+
+    private final Hoelder[] hoelders;
+    private final Arrival input;
+    private final double thetagranularity;
+    private final double hoeldergranularity;
+    private final int limit;
+    private final double minimum;
+    private final long[] blocks;
+    private final long size;
+    private final Set<Hoelder> free = Collections.newSetFromMap(new IdentityHashMap<>());
+    private boolean stopped;
+
+    /**
+     * Creates the grid of the Hoelder-parameters of the given bound.
+     * 
+     * @param bound the prepared bound
+     * @param thetagranularity
+     * @param hoeldergranularity
+     * 
+     * @throws IllegalArgumentException if the grid has more than
+     * {@link Long#MAX_VALUE} configurations
+     */
+    HoelderGrid(Optimizable bound, double thetagranularity, double hoeldergranularity) {
+        Map<Integer, Hoelder> sorted = new TreeMap<>(bound.getHoelderParameters());
+        this.hoelders = sorted.values().toArray(new Hoelder[0]);
+        this.input = ClosedForm.getInput(bound);
+        this.thetagranularity = thetagranularity;
+        this.hoeldergranularity = hoeldergranularity;
+        this.limit = GridRefinementOptimizer.getHoelderLimit(hoeldergranularity);
+        this.minimum = 2 - limit*hoeldergranularity;
+
+        blocks = new long[hoelders.length];
+        long block = 1;
+        try {
+            for(int i = hoelders.length - 1; i >= 0; i--) {
+                blocks[i] = block;
+                block = Math.multiplyExact(block, 2*limit + 1);
+            }
+        } catch(ArithmeticException e) {
+            throw new IllegalArgumentException("Too many Hoelder-parameters for an exhaustive search: " + hoelders.length);
+        }
+        size = block;
+    }
+
+    /**
+     * Returns the number of configurations.
+     */
+    long size() {
+        return size;
+    }
+
+    /**
+     * Returns the Hoelder-parameters, in ascending order of their ids.
+     */
+    Hoelder[] getHoelders() {
+        return hoelders;
+    }
+
+    /**
+     * Sets the Hoelder-coefficients to the configuration with the given number.
+     */
+    void apply(long configuration) {
+        int[] steps = new int[hoelders.length];
+        for(int i = 0; i < hoelders.length; i++) {
+            steps[i] = (int) (configuration / blocks[i]) - limit;
+            configuration %= blocks[i];
+        }
+        GridRefinementOptimizer.apply(hoelders, steps, hoeldergranularity);
+    }
+
+    /**
+     * Returns an upper bound of the maximal theta of all configurations.
+     */
+    double getMaximumTheta() {
+        if(input == null) {
+            return Double.POSITIVE_INFINITY;
+        }
+        Collections.addAll(free, hoelders);
+        double maximum = getMaximumThetaOfSubGrid();
+        free.clear();
+        return maximum;
+    }
+
+    /**
+     * Visits the configurations <code>[from, to)</code> in ascending order,
+     * except for the ones of pruned sub-grids, until the visitor stops the
+     * walk.
+     * 
+     * @param from the first configuration
+     * @param to the end of the range
+     * @param visitor
+     * 
+     * @return the number of configurations, which have been pruned
+     * 
+     * @throws ParameterMismatchException
+     */
+    long walk(long from, long to, Visitor visitor) throws ParameterMismatchException {
+        stopped = false;
+        Collections.addAll(free, hoelders);
+        try {
+            return walk(0, 0, from, to, visitor);
+        } finally {
+            free.clear();
+        }
+    }
+
+    private long walk(int index, long base, long from, long to, Visitor visitor) throws ParameterMismatchException {
+        if(index == hoelders.length) {
+            stopped = !visitor.visit(base);
+            return 0;
+        }
+        long pruned = 0;
+        free.remove(hoelders[index]);
+        for(int c = -limit; c <= limit && !stopped; c++) {
+            long start = base + (c + limit)*blocks[index];
+            long end = start + blocks[index];
+            if(end <= from || start >= to) {
+                continue;
+            }
+            if(c <= 0) {
+                hoelders[index].setPValue(2 + c*hoeldergranularity);
+            } else {
+                hoelders[index].setQValue(2 - c*hoeldergranularity);
+            }
+            if(getMaximumThetaOfSubGrid() <= thetagranularity) {
+                pruned += Math.min(end, to) - Math.max(start, from);
+            } else {
+                pruned += walk(index + 1, start, from, to, visitor);
+            }
+        }
+        free.add(hoelders[index]);
+        return pruned;
+    }
+
+    /**
+     * Bounds the maximal theta of the configurations, which share the
+     * current coefficients of the parameters, which are not free.
+     */
+    private double getMaximumThetaOfSubGrid() {
+        if(input == null) {
+            return Double.POSITIVE_INFINITY;
+        }
+        return Math.min(SymbolicFunctionFactory.getMaximumTheta(input.getSigma(), free, minimum),
+                SymbolicFunctionFactory.getMaximumTheta(input.getRho(), free, minimum));
+    }
+}
@@ -22,9 +22,15 @@ package org.networkcalculus.snc.optimization;
 import java.util.HashMap;
 
 import org.networkcalculus.snc.symbolic_math.Arrival;
+import org.networkcalculus.snc.symbolic_math.CompiledArrival;
+import org.networkcalculus.snc.symbolic_math.DualNumber;
+import org.networkcalculus.snc.symbolic_math.EvaluationStatus;
 import org.networkcalculus.snc.symbolic_math.Hoelder;
+import org.networkcalculus.snc.symbolic_math.Interval;
 import org.networkcalculus.snc.symbolic_math.ParameterMismatchException;
+import org.networkcalculus.snc.symbolic_math.ParameterSlots;
 import org.networkcalculus.snc.symbolic_math.ServerOverloadException;
+import org.networkcalculus.snc.symbolic_math.SymbolicFunctionFactory;
 import org.networkcalculus.snc.symbolic_math.ThetaOutOfBoundException;
 
 /**
@@ -37,6 +43,9 @@ import org.networkcalculus.snc.symbolic_math.ThetaOutOfBoundException;
  */
 public class InverseBacklogBound implements Optimizable {
     private Arrival input;
+    private CompiledArrival compiled;
+    private ParameterSlots slots;
+    private boolean slotsBound;
     private double violationProb;
     private HashMap<Integer, Hoelder> allHoelders;
     
@@ -48,10 +57,12 @@ public class InverseBacklogBound implements Optimizable {
      */
     public InverseBacklogBound(Arrival input, double violationProb) {
         this.input = input;
+        this.compiled = input.compile();
         this.violationProb = violationProb;
         this.allHoelders = new HashMap<>(0);
         allHoelders.putAll(input.getSigma().getParameters());
         allHoelders.putAll(input.getRho().getParameters());
+        this.slots = new ParameterSlots(allHoelders);
     }
         
     @Override
@@ -64,7 +75,52 @@ public class InverseBacklogBound implements Optimizable {
 
     @Override
     public double evaluate(double theta) throws ThetaOutOfBoundException, ParameterMismatchException, ServerOverloadException {
-        return ( (-Math.log(violationProb)/theta) + 1/theta*Math.log(input.evaluate(theta, 0, 0)) );
+        return ( (-Math.log(violationProb)/theta) + 1/theta*Math.log(compiled.evaluate(theta, 0, 0)) );
+    }
+
+    @Override
+    public double evaluateUnchecked(double theta) throws ParameterMismatchException {
+        return transform(theta, compiled.evaluateUnchecked(theta, 0, 0));
+    }
+
+    @Override
+    public double evaluateUnchecked(double theta, double[] p) throws ParameterMismatchException {
+        return transform(theta, compiled.evaluateUnchecked(theta, p, 0, 0));
+    }
+
+    /**
+     * Computes the backlog from the value of the MGF, keeps the status
+     * of an infeasible one.
+     */
+    private double transform(double theta, double mgf) {
+        if (!EvaluationStatus.isFeasible(mgf)) {
+            return mgf;
+        }
+        return (-Math.log(violationProb)/theta) + 1/theta*Math.log(mgf);
+    }
+
+    @Override
+    public void evaluate(double[] thetas, double[] out) throws ParameterMismatchException {
+        compiled.evaluate(thetas, 0, 0, out);
+        for (int i = 0; i < thetas.length; i++) {
+            out[i] = transform(thetas[i], out[i]);
+        }
+    }
+
+    @Override
+    public double evaluate(double theta, double[] p) throws ThetaOutOfBoundException, ParameterMismatchException, ServerOverloadException {
+        return ( (-Math.log(violationProb)/theta) + 1/theta*Math.log(compiled.evaluate(theta, p, 0, 0)) );
+    }
+
+    @Override
+    public DualNumber evaluateDual(double theta, double[] p) throws ThetaOutOfBoundException, ParameterMismatchException, ServerOverloadException {
+        DualNumber dualTheta = DualNumber.theta(theta, p.length);
+        return dualTheta.reciprocal(-Math.log(violationProb)).add(dualTheta.reciprocal(1).multiply(compiled.evaluate(dualTheta, p, 0, 0).log()));
+    }
+
+    @Override
+    public Interval evaluateInterval(Interval theta, Interval[] p) throws ThetaOutOfBoundException, ParameterMismatchException, ServerOverloadException {
+        return theta.reciprocal(-Math.log(violationProb)).add(theta.reciprocal(1).multiply(compiled.evaluate(theta, p, 0, 0).log()));
     }
 
     @Override
@@ -72,8 +128,38 @@ public class InverseBacklogBound implements Optimizable {
         return allHoelders;
     }
 
+    @Override
+    public ParameterSlots getParameterSlots() throws ParameterMismatchException {
+        if (!slotsBound) {
+            compiled.bind(slots);
+            slotsBound = true;
+        }
+        return slots;
+    }
+
+    @Override
+    public Optimizable copy() {
+        return new InverseBacklogBound(input.copy(), violationProb);
+    }
+
     @Override
     public double getMaximumTheta() {
         return input.getThetastar();
     }
+
+    @Override
+    public long getStructuralSignature() {
+        return 31*SymbolicFunctionFactory.getStructuralSignature(input.getSigma(), input.getRho()) + getClass().getName().hashCode();
+    }
+
+    /**
+     * Returns the arrival, which is bounded.
+     */
+    Arrival getInput() {
+        return input;
+    }
+
+    double getViolationProbability() {
+        return violationProb;
+    }
 }
@@ -22,9 +22,15 @@ package org.networkcalculus.snc.optimization;
 import java.util.HashMap;
 
 import org.networkcalculus.snc.symbolic_math.Arrival;
+import org.networkcalculus.snc.symbolic_math.CompiledArrival;
+import org.networkcalculus.snc.symbolic_math.DualNumber;
+import org.networkcalculus.snc.symbolic_math.EvaluationStatus;
 import org.networkcalculus.snc.symbolic_math.Hoelder;
+import org.networkcalculus.snc.symbolic_math.Interval;
 import org.networkcalculus.snc.symbolic_math.ParameterMismatchException;
+import org.networkcalculus.snc.symbolic_math.ParameterSlots;
 import org.networkcalculus.snc.symbolic_math.ServerOverloadException;
+import org.networkcalculus.snc.symbolic_math.SymbolicFunctionFactory;
 import org.networkcalculus.snc.symbolic_math.ThetaOutOfBoundException;
 
 /**
@@ -37,6 +43,9 @@ import org.networkcalculus.snc.symbolic_math.ThetaOutOfBoundException;
  */
 public class InverseDelayBound implements Optimizable {
     private Arrival input;
+    private CompiledArrival compiled;
+    private ParameterSlots slots;
+    private boolean slotsBound;
     private double violationProb;
     private HashMap<Integer, Hoelder> allHoelders;
     
@@ -48,10 +57,12 @@ public class InverseDelayBound implements Optimizable {
      */
     public InverseDelayBound(Arrival input, double violationProb) {
         this.input = input;
+        this.compiled = input.compile();
         this.violationProb = violationProb;
         this.allHoelders = new HashMap<>(0);
         allHoelders.putAll(input.getSigma().getParameters());
         allHoelders.putAll(input.getRho().getParameters());
+        this.slots = new ParameterSlots(allHoelders);
     }
     
     @Override
@@ -61,18 +72,112 @@ public class InverseDelayBound implements Optimizable {
 
     @Override
     public double evaluate(double theta) throws ThetaOutOfBoundException, ParameterMismatchException, ServerOverloadException {
-        double sigmapart = input.getSigma().getValue(theta, input.getSigma().getParameters());
-        double rhopart = input.getRho().getValue(theta, input.getRho().getParameters());
+        double sigmapart = compiled.getSigma().getValue(theta);
+        double rhopart = compiled.getRho().getValue(theta);
         return -1/rhopart*(-Math.log(violationProb)/theta + sigmapart);
     }
 
+    @Override
+    public double evaluateUnchecked(double theta) throws ParameterMismatchException {
+        double sigmapart = compiled.getSigma().getUncheckedValue(theta);
+        if (!EvaluationStatus.isFeasible(sigmapart)) {
+            return sigmapart;
+        }
+        return combine(theta, sigmapart, compiled.getRho().getUncheckedValue(theta));
+    }
+
+    @Override
+    public double evaluateUnchecked(double theta, double[] p) throws ParameterMismatchException {
+        double sigmapart = compiled.getSigma().getUncheckedValue(theta, p);
+        if (!EvaluationStatus.isFeasible(sigmapart)) {
+            return sigmapart;
+        }
+        return combine(theta, sigmapart, compiled.getRho().getUncheckedValue(theta, p));
+    }
+
+    /**
+     * Computes the delay from sigma and rho, keeps the status of an 
+     * infeasible one.
+     */
+    private double combine(double theta, double sigmapart, double rhopart) {
+        if (!EvaluationStatus.isFeasible(sigmapart)) {
+            return sigmapart;
+        }
+        if (!EvaluationStatus.isFeasible(rhopart)) {
+            return rhopart;
+        }
+        return -1/rhopart*(-Math.log(violationProb)/theta + sigmapart);
+    }
+
+    @Override
+    public void evaluate(double[] thetas, double[] out) throws ParameterMismatchException {
+        double[] rhopart = new double[thetas.length];
+        compiled.getSigma().getValues(thetas, out);
+        compiled.getRho().getValues(thetas, rhopart);
+        for (int i = 0; i < thetas.length; i++) {
+            out[i] = combine(thetas[i], out[i], rhopart[i]);
+        }
+    }
+
+    @Override
+    public double evaluate(double theta, double[] p) throws ThetaOutOfBoundException, ParameterMismatchException, ServerOverloadException {
+        double sigmapart = compiled.getSigma().getValue(theta, p);
+        double rhopart = compiled.getRho().getValue(theta, p);
+        return -1/rhopart*(-Math.log(violationProb)/theta + sigmapart);
+    }
+
+    @Override
+    public DualNumber evaluateDual(double theta, double[] p) throws ThetaOutOfBoundException, ParameterMismatchException, ServerOverloadException {
+        DualNumber dualTheta = DualNumber.theta(theta, p.length);
+        DualNumber sigmapart = compiled.getSigma().getDualValue(dualTheta, p);
+        DualNumber rhopart = compiled.getRho().getDualValue(dualTheta, p);
+        return rhopart.reciprocal(-1).multiply(dualTheta.reciprocal(-Math.log(violationProb)).add(sigmapart));
+    }
+
+    @Override
+    public Interval evaluateInterval(Interval theta, Interval[] p) throws ThetaOutOfBoundException, ParameterMismatchException, ServerOverloadException {
+        Interval sigmapart = compiled.getSigma().getInterval(theta, p);
+        Interval rhopart = compiled.getRho().getInterval(theta, p);
+        return rhopart.reciprocal(-1).multiply(theta.reciprocal(-Math.log(violationProb)).add(sigmapart));
+    }
+
     @Override
     public HashMap<Integer, Hoelder> getHoelderParameters() {
         return allHoelders;
     }
 
+    @Override
+    public ParameterSlots getParameterSlots() throws ParameterMismatchException {
+        if (!slotsBound) {
+            compiled.bind(slots);
+            slotsBound = true;
+        }
+        return slots;
+    }
+
+    @Override
+    public Optimizable copy() {
+        return new InverseDelayBound(input.copy(), violationProb);
+    }
+
     @Override
     public double getMaximumTheta() {
         return input.getThetastar();
     }
+
+    @Override
+    public long getStructuralSignature() {
+        return 31*SymbolicFunctionFactory.getStructuralSignature(input.getSigma(), input.getRho()) + getClass().getName().hashCode();
+    }
+
+    /**
+     * Returns the arrival, which is bounded.
+     */
+    Arrival getInput() {
+        return input;
+    }
+
+    double getViolationProbability() {
+        return violationProb;
+    }
 }
@@ -0,0 +1,159 @@
+/*
+ *  (c) 2017 Michael A. Beck, Sebastian Henningsen
+ *  		disco | Distributed Computer Systems Lab
+ *  		University of Kaiserslautern, Germany
+ *  All Rights Reserved.
+ *
+ * This software is work in progress and is released in the hope that it will
+ * be useful to the scientific community. It is provided "as is" without
+ * express or implied warranty, including but not limited to the correctness
+ * of the code or its suitability for any particular purpose.
+ *
+ * This software is provided under the MIT License, however, we would
+ * appreciate it if you contacted the respective authors prior to commercial use.
+ *
+ * If you find our software useful, we would appreciate if you mentioned it
+ * in any publication arising from the use of this software or acknowledge
+ * our work otherwise. We would also like to hear of any fixes or useful
+ */
+
+
+package org.networkcalculus.snc.optimization;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.networkcalculus.snc.analysis.BoundType;
+import org.networkcalculus.snc.symbolic_math.Arrival;
+import org.networkcalculus.snc.symbolic_math.Hoelder;
+import org.networkcalculus.snc.symbolic_math.ParameterMismatchException;
+import org.networkcalculus.snc.symbolic_math.ServerOverloadException;
+import org.networkcalculus.snc.symbolic_math.ThetaOutOfBoundException;
+
+/**
+ * An optimizer, which does not step through theta, but locates the
+ * minimum over theta by a line search (see {@link ThetaLineSearch}) in
+ * <code>(0, maxTheta)</code>, or in the interval of a {@link ThetaBracket}
+ * if there is no maximal theta. The thetagranularity is used as the
+ * tolerance of the line search, hence the result is at least as exact
+ * in theta as the one of a grid search, but takes tens instead of
+ * <code>maxTheta/thetagranularity</code> evaluations.
+ * The Hoelder-coefficients are searched as by a gradient search: starting
+ * with all coefficients equal to 2, each neighbour obtained by decreasing
+ * a single p- or q-value by the hoeldergranularity is optimized over theta
+ * and the best neighbour is moved to, as long as this improves the bound.
+ * 
+ * @see SimpleGradient
+ */
+public class LineSearchOptimizer extends AbstractOptimizer {
+
+    /**
+     * Creates an instance of this class, delegates the construction to @link AbstractOptimizer.
+     * 
+     * @param input
+     * @param boundtype
+     */
+    public LineSearchOptimizer(Optimizable input, BoundType boundtype) {
+        super(input, boundtype);
+    }
+
+    @Override
+    public double minimize(double thetagranularity, double hoeldergranularity) throws ThetaOutOfBoundException, ParameterMismatchException, ServerOverloadException {
+        bound.prepare();
+
+        Map<Integer, Hoelder> allparameters = new TreeMap<>(bound.getHoelderParameters());
+        Hoelder[] hoelders = allparameters.values().toArray(new Hoelder[0]);
+        for(Hoelder hoelder : hoelders) {
+            hoelder.setPValue(2);
+        }
+        maxTheta = getThetaLimit(thetagranularity);
+        System.out.println("Max Theta: " + maxTheta);
+
+        ThetaLineSearch search = new ThetaLineSearch(bound, thetagranularity);
+        double optValue = search.minimize(0, maxTheta);
+        double theta = search.getTheta();
+
+        boolean improved = true;
+        while(improved && !isCancelled()) {
+            reportProgress(optValue, Double.NaN, search.getEvaluations());
+            improved = false;
+            int changedHoelder = -1;
+            boolean pChanged = false;
+            double bestValue = optValue;
+            double bestTheta = theta;
+
+            for(int i = 0; i < hoelders.length; i++) {
+                double old_p_value = hoelders[i].getPValue();
+                double old_q_value = hoelders[i].getQValue();
+                for(boolean decrementP : new boolean[] { true, false }) {
+                    if(!decrement(hoelders[i], decrementP, hoeldergranularity)) {
+                        continue;
+                    }
+                    double newValue = search.minimize(0, getThetaLimit(thetagranularity));
+                    if(newValue < bestValue) {
+                        bestValue = newValue;
+                        bestTheta = search.getTheta();
+                        changedHoelder = i;
+                        pChanged = decrementP;
+                    }
+                    // Resets the change
+                    hoelders[i].setValues(old_p_value, old_q_value);
+                }
+            }
+
+            if(changedHoelder >= 0) {
+                decrement(hoelders[changedHoelder], pChanged, hoeldergranularity);
+                optValue = bestValue;
+                theta = bestTheta;
+                improved = true;
+            }
+        }
+        maxTheta = bound.getMaximumTheta();
+        System.out.println("Theta: " + theta + " Hoelder: " + allparameters.toString() + " Bound: " + optValue
+                + " Evaluations: " + search.getEvaluations());
+        recordOptimum(theta);
+        evaluations += search.getEvaluations();
+        infeasibleEvaluations += search.getInfeasibleEvaluations();
+
+        return optValue;
+    }
+
+    /**
+     * Decreases the p- or q-value of the given Hoelder-parameter by one step.
+     * 
+     * @return false, if this would lead to a value smaller or equal to 1
+     * and the parameter has not been changed
+     */
+    private static boolean decrement(Hoelder hoelder, boolean pValue, double hoeldergranularity) {
+        if(pValue && hoelder.getPValue() - hoeldergranularity > 1) {
+            hoelder.setPValue(hoelder.getPValue() - hoeldergranularity);
+            return true;
+        }
+        if(!pValue && hoelder.getQValue() - hoeldergranularity > 1) {
+            hoelder.setQValue(hoelder.getQValue() - hoeldergranularity);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Repeats the optimization of {@link #minimize(double, double)} for the
+     * given arrival, such that both computations agree.
+     */
+    @Override
+    public double Bound(Arrival input, BoundType boundtype, double bound, double thetagranularity, double hoeldergranularity)
+            throws ThetaOutOfBoundException, ParameterMismatchException, ServerOverloadException {
+        return new LineSearchOptimizer(BoundFactory.createBound(input, boundtype, bound), boundtype).minimize(thetagranularity, hoeldergranularity);
+    }
+
+    /**
+     * Repeats the optimization of {@link #minimize(double, double)} for the
+     * given arrival, such that both computations agree.
+     */
+    @Override
+    public double ReverseBound(Arrival input, BoundType boundtype, double violation_probability, double thetagranularity, double hoeldergranularity)
+            throws ThetaOutOfBoundException, ParameterMismatchException, ServerOverloadException {
+        BoundType inverse = (boundtype == BoundType.BACKLOG) ? BoundType.INVERSE_BACKLOG : BoundType.INVERSE_DELAY;
+        return new LineSearchOptimizer(BoundFactory.createBound(input, inverse, violation_probability), boundtype).minimize(thetagranularity, hoeldergranularity);
+    }
+}
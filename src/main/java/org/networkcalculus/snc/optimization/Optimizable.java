@@ -21,8 +21,12 @@ package org.networkcalculus.snc.optimization;
 
 import java.util.Map;
 
+import org.networkcalculus.snc.symbolic_math.DualNumber;
+import org.networkcalculus.snc.symbolic_math.EvaluationStatus;
 import org.networkcalculus.snc.symbolic_math.Hoelder;
+import org.networkcalculus.snc.symbolic_math.Interval;
 import org.networkcalculus.snc.symbolic_math.ParameterMismatchException;
+import org.networkcalculus.snc.symbolic_math.ParameterSlots;
 import org.networkcalculus.snc.symbolic_math.ServerOverloadException;
 import org.networkcalculus.snc.symbolic_math.ThetaOutOfBoundException;
 
@@ -52,6 +56,47 @@ public interface Optimizable {
      */
     public double evaluate(double theta) throws ThetaOutOfBoundException, ParameterMismatchException, ServerOverloadException;
 
+    /**
+     * Evaluates the function at value theta like {@link #evaluate(double)},
+     * but without exceptions for infeasible values of theta: Instead of a
+     * {@link ThetaOutOfBoundException} <code>NaN</code> is returned, instead 
+     * of a {@link ServerOverloadException} <code>+Infinity</code>, see
+     * {@link EvaluationStatus}. By default the exceptions of 
+     * {@link #evaluate(double)} are translated.
+     * 
+     * @param theta
+     * 
+     * @return the value or the encoded status
+     * 
+     * @throws ParameterMismatchException
+     */
+    public default double evaluateUnchecked(double theta) throws ParameterMismatchException {
+        try {
+            return evaluate(theta);
+        } catch (ThetaOutOfBoundException e) {
+            return Double.NaN;
+        } catch (ServerOverloadException e) {
+            return Double.POSITIVE_INFINITY;
+        }
+    }
+
+    /**
+     * Evaluates the function at all values of <code>thetas</code> for the
+     * current hoelder parameters. Infeasible values of theta get the value
+     * returned by {@link #evaluateUnchecked(double)}. By default the thetas 
+     * are evaluated one after the other.
+     * 
+     * @param thetas
+     * @param out receives the values, must be at least as long as <code>thetas</code>
+     * 
+     * @throws ParameterMismatchException
+     */
+    public default void evaluate(double[] thetas, double[] out) throws ParameterMismatchException {
+        for (int i = 0; i < thetas.length; i++) {
+            out[i] = evaluateUnchecked(thetas[i]);
+        }
+    }
+
     /**
      * Returns all hoelder parameters (if any)
      * 
@@ -59,6 +104,108 @@ public interface Optimizable {
      */
     public Map<Integer, Hoelder> getHoelderParameters();
 
+    /**
+     * Returns the slots of all hoelder parameters the function depends on,
+     * including those fixed by {@link #prepare()}. The function is bound to
+     * these slots on the first call, so parameter mismatches are reported
+     * here and not during the evaluation.
+     * 
+     * @return the slots of the p-vector taken by {@link #evaluate(double, double[])}
+     * 
+     * @throws ParameterMismatchException
+     */
+    public ParameterSlots getParameterSlots() throws ParameterMismatchException;
+
+    /**
+     * Evaluates the function at value theta, with the p-values of the
+     * hoelder parameters given by their slot in <code>p</code>.
+     * 
+     * @param theta
+     * @param p the p-values, see {@link #getParameterSlots()}
+     * 
+     * @return 
+     * 
+     * @throws ThetaOutOfBoundException
+     * @throws ParameterMismatchException
+     * @throws ServerOverloadException
+     */
+    public double evaluate(double theta, double[] p) throws ThetaOutOfBoundException, ParameterMismatchException, ServerOverloadException;
+
+    /**
+     * Evaluates the function like {@link #evaluate(double, double[])}, but
+     * returns the encoded {@link EvaluationStatus} for infeasible values of
+     * theta like {@link #evaluateUnchecked(double)}.
+     * 
+     * @param theta
+     * @param p the p-values, see {@link #getParameterSlots()}
+     * 
+     * @return the value or the encoded status
+     * 
+     * @throws ParameterMismatchException
+     */
+    public default double evaluateUnchecked(double theta, double[] p) throws ParameterMismatchException {
+        try {
+            return evaluate(theta, p);
+        } catch (ThetaOutOfBoundException e) {
+            return Double.NaN;
+        } catch (ServerOverloadException e) {
+            return Double.POSITIVE_INFINITY;
+        }
+    }
+
+    /**
+     * Evaluates the function like {@link #evaluate(double, double[])} and
+     * additionally computes its exact partial derivatives with respect to
+     * theta and the p-value of each hoelder parameter.
+     * 
+     * @param theta
+     * @param p the p-values, see {@link #getParameterSlots()}
+     * 
+     * @return the value together with its gradient
+     * 
+     * @throws ThetaOutOfBoundException
+     * @throws ParameterMismatchException
+     * @throws ServerOverloadException
+     */
+    public DualNumber evaluateDual(double theta, double[] p) throws ThetaOutOfBoundException, ParameterMismatchException, ServerOverloadException;
+
+    /**
+     * Encloses the values of the function for all thetas and p-values in
+     * the given ranges by interval arithmetic. A p-value, which is not
+     * to be varied, is given as a point interval.
+     * 
+     * @param theta the range of theta
+     * @param p the ranges of the p-values, see {@link #getParameterSlots()}
+     * 
+     * @return an interval containing all feasible values on the box
+     * 
+     * @throws ThetaOutOfBoundException if the function is infeasible on the whole box
+     * @throws ParameterMismatchException
+     * @throws ServerOverloadException if the function is infeasible on the whole box
+     */
+    public Interval evaluateInterval(Interval theta, Interval[] p) throws ThetaOutOfBoundException, ParameterMismatchException, ServerOverloadException;
+
+    /**
+     * Returns an independent copy of this function, which owns copies of
+     * the hoelder parameters. The copy is not prepared, even if this function
+     * is, and its hoelder parameters can be changed concurrently to the ones
+     * of this function.
+     * 
+     * @return the copy
+     */
+    public Optimizable copy();
+
+    /**
+     * Returns a signature of the structure of this bound, which ignores
+     * the constants of the symbolic function and the bounded value (see
+     * {@link org.networkcalculus.snc.symbolic_math.SymbolicFunctionFactory#getStructuralSignature(org.networkcalculus.snc.symbolic_math.SymbolicFunction...)}).
+     * Bounds of the same type on networks, which differ only in the
+     * parameters of their arrivals and services, have the same signature.
+     * 
+     * @return the signature
+     */
+    public long getStructuralSignature();
+
     /**
      * Returns the maximum value for theta
      * 
@@ -39,11 +39,50 @@ public class OptimizationFactory {
      * @return A concrete instance of an optimizer, which is chosen w.r.t. the passed OptimizationType enum.
      */
     public static Optimizer getOptimizer(Optimizable bound, BoundType boundtype, OptimizationType type) {
+        return getOptimizer(bound, boundtype, type, null);
+    }
+
+    /**
+     * Creates an instance of the chosen @link OptimizationType, which shares
+     * the optima of earlier bounds through the given cache. Only the
+     * @link SimpleGradient makes use of the cache, all other optimizers
+     * ignore it (see @link WarmStartCache).
+     *  
+     * @param bound The bound-to-be-optimized
+     * @param boundtype A leftover, will be removed in future versions
+     * @param type The desired OptimizationType
+     * @param cache The cache of optima, <code>null</code> for none
+     * 
+     * @return A concrete instance of an optimizer, which is chosen w.r.t. the passed OptimizationType enum.
+     */
+    public static Optimizer getOptimizer(Optimizable bound, BoundType boundtype, OptimizationType type, WarmStartCache cache) {
         switch(type) {
             case SIMPLE_OPT:
                 return new SimpleOptimizer(bound, boundtype);
             case GRADIENT_OPT:
-                return new SimpleGradient(bound, boundtype);
+                return new SimpleGradient(bound, boundtype, cache);
+            case PARALLEL_OPT:
+                return new ParallelOptimizer(bound, boundtype);
+            case LINE_SEARCH_OPT:
+                return new LineSearchOptimizer(bound, boundtype);
+            case NELDER_MEAD_OPT:
+                return new ContinuousOptimizer(bound, boundtype, ContinuousOptimizer.Method.NELDER_MEAD);
+            case BOBYQA_OPT:
+                return new ContinuousOptimizer(bound, boundtype, ContinuousOptimizer.Method.BOBYQA);
+            case CMAES_OPT:
+                return new ContinuousOptimizer(bound, boundtype, ContinuousOptimizer.Method.CMA_ES);
+            case BRANCH_AND_BOUND_OPT:
+                return new BranchAndBoundOptimizer(bound, boundtype);
+            case SOBOL_OPT:
+                return new SobolOptimizer(bound, boundtype);
+            case GRID_REFINEMENT_OPT:
+                return new GridRefinementOptimizer(bound, boundtype);
+            case ANALYTIC_OPT:
+                return new AnalyticOptimizer(bound, boundtype);
+            case AUTO_OPT:
+                return new AutoOptimizer(bound, boundtype);
+            case SCREENING_OPT:
+                return new ScreeningOptimizer(bound, boundtype);
             default:
                 throw new AnalysisException("Optimization Type: " + type.toString() + " not known.");
         }
@@ -0,0 +1,226 @@
+/*
+ *  (c) 2017 Michael A. Beck, Sebastian Henningsen
+ *  		disco | Distributed Computer Systems Lab
+ *  		University of Kaiserslautern, Germany
+ *  All Rights Reserved.
+ *
+ * This software is work in progress and is released in the hope that it will
+ * be useful to the scientific community. It is provided "as is" without
+ * express or implied warranty, including but not limited to the correctness
+ * of the code or its suitability for any particular purpose.
+ *
+ * This software is provided under the MIT License, however, we would
+ * appreciate it if you contacted the respective authors prior to commercial use.
+ *
+ * If you find our software useful, we would appreciate if you mentioned it
+ * in any publication arising from the use of this software or acknowledge
+ * our work otherwise. We would also like to hear of any fixes or useful
+ */
+
+
+package org.networkcalculus.snc.optimization;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import org.networkcalculus.snc.symbolic_math.Hoelder;
+
+/**
+ * The outcome of an optimization: the optimal bound together with the
+ * theta and the Hoelder-coefficients it was found at, the number of
+ * evaluations of the bound and the time spent in the phases of the
+ * computation. The Hoelder-coefficients are copied, hence the result is
+ * not affected by later changes of the {@link Hoelder}-objects, and can
+ * be written back to them by {@link #applyHoelderValues(Map)}.
+ * The result of a cancelled optimization is the best one found until
+ * the cancellation. A result, whose theta has been searched only up to
+ * the cap of a {@link ThetaBracket}, is marked as capped; the bound may
+ * get smaller beyond.
+ * 
+ * @see Optimizer#optimize(double, double)
+ */
+public class OptimizationResult {
+    private final double bound;
+    private final double theta;
+    private final SortedMap<Integer, Double> pValues;
+    private final SortedMap<Integer, Double> qValues;
+    private final long evaluations;
+    private final long infeasibleEvaluations;
+    private final Map<String, Long> phaseTimes;
+    private final boolean cancelled;
+    private final boolean thetaCapped;
+
+    /**
+     * Creates a result.
+     * 
+     * @param bound the optimal value
+     * @param theta the theta of the optimal value, <code>NaN</code> if unknown
+     * @param pValues the p-values of the Hoelder-parameters, keyed by their ids
+     * @param qValues the q-values of the Hoelder-parameters, keyed by their ids
+     * @param evaluations the number of evaluations of the bound
+     * @param infeasibleEvaluations the number of evaluations at infeasible points
+     * @param phaseTimes the elapsed time of each phase in nanoseconds, in
+     * the order of the phases
+     */
+    public OptimizationResult(double bound, double theta, Map<Integer, Double> pValues, Map<Integer, Double> qValues,
+            long evaluations, long infeasibleEvaluations, Map<String, Long> phaseTimes) {
+        this(bound, theta, pValues, qValues, evaluations, infeasibleEvaluations, phaseTimes, false);
+    }
+
+    /**
+     * Creates a result, which may be the one of a cancelled optimization.
+     * 
+     * @param bound the best value found
+     * @param theta the theta of the best value, <code>NaN</code> if unknown
+     * @param pValues the p-values of the Hoelder-parameters, keyed by their ids
+     * @param qValues the q-values of the Hoelder-parameters, keyed by their ids
+     * @param evaluations the number of evaluations of the bound
+     * @param infeasibleEvaluations the number of evaluations at infeasible points
+     * @param phaseTimes the elapsed time of each phase in nanoseconds, in
+     * the order of the phases
+     * @param cancelled whether the optimization has been stopped early
+     */
+    public OptimizationResult(double bound, double theta, Map<Integer, Double> pValues, Map<Integer, Double> qValues,
+            long evaluations, long infeasibleEvaluations, Map<String, Long> phaseTimes, boolean cancelled) {
+        this(bound, theta, pValues, qValues, evaluations, infeasibleEvaluations, phaseTimes, cancelled, false);
+    }
+
+    /**
+     * Creates a result, which may be the one of a cancelled optimization or
+     * of one, whose theta has been capped.
+     * 
+     * @param bound the best value found
+     * @param theta the theta of the best value, <code>NaN</code> if unknown
+     * @param pValues the p-values of the Hoelder-parameters, keyed by their ids
+     * @param qValues the q-values of the Hoelder-parameters, keyed by their ids
+     * @param evaluations the number of evaluations of the bound
+     * @param infeasibleEvaluations the number of evaluations at infeasible points
+     * @param phaseTimes the elapsed time of each phase in nanoseconds, in
+     * the order of the phases
+     * @param cancelled whether the optimization has been stopped early
+     * @param thetaCapped whether a bracket of theta has been cut off at its cap
+     */
+    public OptimizationResult(double bound, double theta, Map<Integer, Double> pValues, Map<Integer, Double> qValues,
+            long evaluations, long infeasibleEvaluations, Map<String, Long> phaseTimes, boolean cancelled, boolean thetaCapped) {
+        this.bound = bound;
+        this.theta = theta;
+        this.pValues = Collections.unmodifiableSortedMap(new TreeMap<>(pValues));
+        this.qValues = Collections.unmodifiableSortedMap(new TreeMap<>(qValues));
+        this.evaluations = evaluations;
+        this.infeasibleEvaluations = infeasibleEvaluations;
+        this.phaseTimes = Collections.unmodifiableMap(new LinkedHashMap<>(phaseTimes));
+        this.cancelled = cancelled;
+        this.thetaCapped = thetaCapped;
+    }
+
+    /**
+     * Returns a copy of this result with other phase times.
+     * 
+     * @param phaseTimes the elapsed time of each phase in nanoseconds
+     * 
+     * @return the new result
+     */
+    public OptimizationResult withPhaseTimes(Map<String, Long> phaseTimes) {
+        return new OptimizationResult(bound, theta, pValues, qValues, evaluations, infeasibleEvaluations, phaseTimes, cancelled, thetaCapped);
+    }
+
+    /**
+     * Sets the Hoelder-parameters, which are contained in this result, to
+     * the values of this result. Other parameters are not changed.
+     * 
+     * @param parameters the Hoelder-parameters, keyed by their ids
+     */
+    public void applyHoelderValues(Map<Integer, Hoelder> parameters) {
+        for(Map.Entry<Integer, Hoelder> entry : parameters.entrySet()) {
+            Double p = pValues.get(entry.getKey());
+            if(p != null) {
+                entry.getValue().setValues(p, qValues.get(entry.getKey()));
+            }
+        }
+    }
+
+    public double getBound() {
+        return bound;
+    }
+
+    public double getTheta() {
+        return theta;
+    }
+
+    public SortedMap<Integer, Double> getPValues() {
+        return pValues;
+    }
+
+    public SortedMap<Integer, Double> getQValues() {
+        return qValues;
+    }
+
+    public long getEvaluations() {
+        return evaluations;
+    }
+
+    public long getInfeasibleEvaluations() {
+        return infeasibleEvaluations;
+    }
+
+    /**
+     * @return whether the optimization has been stopped early by a
+     * {@link CancellationToken}
+     */
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * @return whether theta has only been searched up to the cap of a
+     * {@link ThetaBracket}, while the bound still decreased
+     */
+    public boolean isThetaCapped() {
+        return thetaCapped;
+    }
+
+    /**
+     * @return the elapsed time of each phase in nanoseconds, in the
+     * order of the phases
+     */
+    public Map<String, Long> getPhaseTimes() {
+        return phaseTimes;
+    }
+
+    /**
+     * @return the elapsed time of all phases in nanoseconds
+     */
+    public long getTotalTime() {
+        long total = 0;
+        for(long time : phaseTimes.values()) {
+            total += time;
+        }
+        return total;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        builder.append("Bound: ").append(bound).append(" Theta: ").append(theta).append(" Hoelder: {");
+        String separator = "";
+        for(Map.Entry<Integer, Double> entry : pValues.entrySet()) {
+            builder.append(separator).append(entry.getKey()).append("=(").append(entry.getValue())
+                    .append(", ").append(qValues.get(entry.getKey())).append(")");
+            separator = ", ";
+        }
+        builder.append("} Evaluations: ").append(evaluations).append(" (infeasible: ").append(infeasibleEvaluations).append(")");
+        if(cancelled) {
+            builder.append(" cancelled");
+        }
+        if(thetaCapped) {
+            builder.append(" theta capped");
+        }
+        for(Map.Entry<String, Long> entry : phaseTimes.entrySet()) {
+            builder.append(" ").append(entry.getKey()).append(": ").append(entry.getValue() / 1E6).append(" ms");
+        }
+        return builder.toString();
+    }
+}
@@ -43,5 +43,123 @@ public enum OptimizationType {
 		public String toString() {
 	            return "Brute Force Optimization";
 		}
+    },
+
+    /**
+     * The exhaustive search of SIMPLE_OPT, executed in parallel.
+     */
+    PARALLEL_OPT {
+        @Override
+        public String toString() {
+            return "Parallel Brute Force Optimization";
+        }
+    },
+
+    /**
+     * Brent's line search over theta, combined with a gradient search over
+     * the Hoelder-coefficients.
+     */
+    LINE_SEARCH_OPT {
+        @Override
+        public String toString() {
+            return "Theta Line Search Optimization";
+        }
+    },
+
+    /**
+     * The Nelder-Mead simplex method over theta and all Hoelder-coefficients.
+     */
+    NELDER_MEAD_OPT {
+        @Override
+        public String toString() {
+            return "Nelder-Mead Optimization";
+        }
+    },
+
+    /**
+     * Powell's BOBYQA trust-region method over theta and all Hoelder-coefficients.
+     */
+    BOBYQA_OPT {
+        @Override
+        public String toString() {
+            return "BOBYQA Optimization";
+        }
+    },
+
+    /**
+     * The CMA evolution strategy over theta and all Hoelder-coefficients.
+     */
+    CMAES_OPT {
+        @Override
+        public String toString() {
+            return "CMA-ES Optimization";
+        }
+    },
+
+    /**
+     * Branch-and-bound over theta and all Hoelder-coefficients with
+     * interval-arithmetic lower bounds, yields a certified minimum.
+     */
+    BRANCH_AND_BOUND_OPT {
+        @Override
+        public String toString() {
+            return "Branch and Bound Optimization";
+        }
+    },
+
+    /**
+     * Quasi-Monte-Carlo sampling of theta and all Hoelder-coefficients,
+     * the best samples are polished by local searches.
+     */
+    SOBOL_OPT {
+        @Override
+        public String toString() {
+            return "Sobol Sampling Optimization";
+        }
+    },
+
+    /**
+     * The grid of SIMPLE_OPT, searched coarse-to-fine around the best
+     * points only.
+     */
+    GRID_REFINEMENT_OPT {
+        @Override
+        public String toString() {
+            return "Grid Refinement Optimization";
+        }
+    },
+
+    /**
+     * Newton's method on the first-order condition of bounds of a known
+     * closed form, e.g. of a single hop at a constant rate server, with
+     * SIMPLE_OPT as fallback.
+     */
+    ANALYTIC_OPT {
+        @Override
+        public String toString() {
+            return "Analytic Optimization";
+        }
+    },
+
+    /**
+     * Chooses one of the other optimizers by the structure of the bound
+     * and a time budget.
+     */
+    AUTO_OPT {
+        @Override
+        public String toString() {
+            return "Automatic Optimization";
+        }
+    },
+
+    /**
+     * Freezes the Hoelder-parameters, which barely influence the bound,
+     * and searches the remaining ones by GRID_REFINEMENT_OPT.
+     */
+    SCREENING_OPT {
+        @Override
+        public String toString() {
+            return "Screened Grid Refinement Optimization";
+        }
     }
 }
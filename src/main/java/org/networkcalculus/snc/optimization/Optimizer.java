@@ -46,6 +46,44 @@ public interface Optimizer {
     public double minimize(double thetagranularity, double hoeldergranularity) 
             throws ThetaOutOfBoundException, ParameterMismatchException, ServerOverloadException;
 
+    /**
+     * Minimizes the bound like {@link #minimize(double, double)}, but
+     * returns the theta and Hoelder-coefficients of the minimum as well
+     * as the number of evaluations and the time needed.
+     * 
+     * @param thetagranularity
+     * @param hoeldergranularity
+     * 
+     * @return the result of the optimization
+     * 
+     * @throws ThetaOutOfBoundException
+     * @throws ParameterMismatchException
+     * @throws ServerOverloadException
+     */
+    public OptimizationResult optimize(double thetagranularity, double hoeldergranularity) 
+            throws ThetaOutOfBoundException, ParameterMismatchException, ServerOverloadException;
+
+    /**
+     * Optimizes the bound like {@link #optimize(double, double)}, while
+     * reporting the progress to the given listener. If the given token is
+     * cancelled, the optimization stops early and returns the best result
+     * found so far, which is marked as cancelled.
+     * 
+     * @param thetagranularity
+     * @param hoeldergranularity
+     * @param listener the listener, or <code>null</code>
+     * @param token the token, or <code>null</code>
+     * 
+     * @return the result of the optimization
+     * 
+     * @throws ThetaOutOfBoundException
+     * @throws ParameterMismatchException
+     * @throws ServerOverloadException
+     */
+    public OptimizationResult optimize(double thetagranularity, double hoeldergranularity,
+            ProgressListener listener, CancellationToken token) 
+            throws ThetaOutOfBoundException, ParameterMismatchException, ServerOverloadException;
+
     @Deprecated
     public double Bound(Arrival input, BoundType boundtype, 
             double bound, double thetagranularity, double hoeldergranularity) 
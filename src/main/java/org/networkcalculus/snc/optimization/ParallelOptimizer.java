@@ -0,0 +1,445 @@
+/*
+ *  (c) 2017 Michael A. Beck, Sebastian Henningsen
+ *  		disco | Distributed Computer Systems Lab
+ *  		University of Kaiserslautern, Germany
+ *  All Rights Reserved.
+ *
+ * This software is work in progress and is released in the hope that it will
+ * be useful to the scientific community. It is provided "as is" without
+ * express or implied warranty, including but not limited to the correctness
+ * of the code or its suitability for any particular purpose.
+ *
+ * This software is provided under the MIT License, however, we would
+ * appreciate it if you contacted the respective authors prior to commercial use.
+ *
+ * If you find our software useful, we would appreciate if you mentioned it
+ * in any publication arising from the use of this software or acknowledge
+ * our work otherwise. We would also like to hear of any fixes or useful
+ */
+
+package org.networkcalculus.snc.optimization;
+
+import java.util.Arrays;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.DoubleAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.networkcalculus.snc.analysis.BoundType;
+import org.networkcalculus.snc.symbolic_math.Arrival;
+import org.networkcalculus.snc.symbolic_math.EvaluationStatus;
+import org.networkcalculus.snc.symbolic_math.Hoelder;
+import org.networkcalculus.snc.symbolic_math.ParameterMismatchException;
+import org.networkcalculus.snc.symbolic_math.ServerOverloadException;
+import org.networkcalculus.snc.symbolic_math.ThetaOutOfBoundException;
+
+/**
+ * The brute-force search of the {@link SimpleOptimizer} executed on a
+ * {@link ForkJoinPool}. The numbers of the configurations of the
+ * {@link HoelderGrid} are split into chunks, each of which is walked by
+ * one task, and the sweep of a single configuration is split into ranges
+ * of theta, if it is long. Each worker thread evaluates its own copy of
+ * the bound (see {@link Optimizable#copy()}) and walks its own grid, hence
+ * the Hoelder-objects of the given bound are not changed and sub-grids are
+ * pruned within the chunks. As the same points are evaluated in the same
+ * way and ties are resolved in the order of the grid, the result is
+ * identical to the one of the {@link SimpleOptimizer}.
+ * The progress is reported by the workers, as they finish configurations.
+ * 
+ * @see SimpleOptimizer
+ */
+public class ParallelOptimizer extends AbstractOptimizer {
+    /**
+     * The maximal number of thetas evaluated by one task
+     */
+    private static final int THETA_CHUNK = 1024;
+
+    /**
+     * The number of chunks of configurations per worker of the pool
+     */
+    private static final int CHUNKS_PER_WORKER = 8;
+
+    private final ForkJoinPool pool;
+
+    /**
+     * Creates an optimizer, which runs on the common pool.
+     * 
+     * @param input
+     * @param boundtype
+     */
+    public ParallelOptimizer(Optimizable input, BoundType boundtype) {
+        this(input, boundtype, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates an optimizer, which runs on the given pool.
+     * 
+     * @param input
+     * @param boundtype
+     * @param pool
+     */
+    public ParallelOptimizer(Optimizable input, BoundType boundtype, ForkJoinPool pool) {
+        super(input, boundtype);
+        this.pool = pool;
+    }
+
+    @Override
+    public double minimize(double thetagranularity, double hoeldergranularity) throws ThetaOutOfBoundException, ParameterMismatchException, ServerOverloadException {
+        Worker enumerator = new Worker(bound.copy(), thetagranularity, hoeldergranularity);
+        Optimizable copy = enumerator.bound;
+        HoelderGrid grid = enumerator.grid;
+        for(Hoelder hoelder : grid.getHoelders()) {
+            hoelder.setPValue(2);
+        }
+        SweepResult bracket = enumerator.bracket();
+        if(enumerator.bracket.isCapped()) {
+            markThetaCapped();
+        }
+        maxTheta = enumerator.limit;
+        evaluations += bracket.evaluations;
+        infeasibleEvaluations += bracket.infeasible;
+        System.out.println("Max Theta: " + maxTheta);
+
+        double optValue = copy.evaluateUnchecked(thetagranularity);
+        countEvaluation(optValue);
+        if(!EvaluationStatus.isFeasible(optValue)) {
+            optValue = Double.POSITIVE_INFINITY;
+        } else {
+            recordOptimum(thetagranularity, copy.getHoelderParameters());
+        }
+
+        // All sweeps are prefixes of the same sequence of thetas, without
+        // a maximal theta the workers extend it as far as their brackets
+        double largestTheta = grid.getMaximumTheta();
+        double[] thetas = thetaGrid(thetagranularity, (largestTheta < Double.POSITIVE_INFINITY) ? largestTheta : 0.0);
+        long chunk = Math.max(1, grid.size() / ((long) CHUNKS_PER_WORKER*pool.getParallelism()));
+
+        ThreadLocal<Worker> workers = ThreadLocal.withInitial(() -> new Worker(bound.copy(), thetagranularity, hoeldergranularity));
+        Search search = new Search(this, workers, thetas, chunk, grid.size(), optValue);
+        SweepResult sweepResult;
+        try {
+            sweepResult = pool.invoke(new Sweep(search, 0, grid.size(), 0, -1));
+        } catch(CompletionException e) {
+            // A task failing on another thread is rethrown wrapped once more
+            for(Throwable cause = e.getCause(); cause != null; cause = cause.getCause()) {
+                if(cause instanceof ParameterMismatchException) {
+                    throw (ParameterMismatchException) cause;
+                }
+            }
+            throw e;
+        }
+        evaluations += sweepResult.evaluations;
+        infeasibleEvaluations += sweepResult.infeasible;
+        if(sweepResult.value < optValue) {
+            optValue = sweepResult.value;
+            grid.apply(sweepResult.configuration);
+            recordOptimum(sweepResult.theta, copy.getHoelderParameters());
+        }
+        System.out.println("Configurations: " + grid.size() + " Pruned: " + sweepResult.pruned + " Bound: " + optValue);
+        return optValue;
+    }
+
+    /**
+     * Computes the thetas below <code>limit</code> in the same way as the
+     * sweeps of the {@link SimpleOptimizer} do.
+     */
+    private static double[] thetaGrid(double thetagranularity, double limit) {
+        int size = 0;
+        for(double theta = thetagranularity; theta < limit; theta += thetagranularity) {
+            size++;
+        }
+        return thetaGridOfSize(thetagranularity, size);
+    }
+
+    /**
+     * Computes the first <code>size</code> thetas of the sweeps.
+     */
+    private static double[] thetaGridOfSize(double thetagranularity, int size) {
+        double[] thetas = new double[size];
+        double theta = thetagranularity;
+        for(int i = 0; i < size; i++) {
+            thetas[i] = theta;
+            theta += thetagranularity;
+        }
+        return thetas;
+    }
+
+    /**
+     * Returns the number of (ascending) thetas below <code>limit</code>.
+     */
+    private static int sweepLength(double[] thetas, double limit) {
+        int low = 0;
+        int high = thetas.length;
+        while(low < high) {
+            int middle = (low + high) >>> 1;
+            if(thetas[middle] < limit) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * A prepared copy of the bound together with the grid of its
+     * Hoelder-parameters and the bracket of its thetas. The thetas of the
+     * sweeps are shared, until a bracket reaches beyond them.
+     */
+    private static class Worker {
+        private final Optimizable bound;
+        private final HoelderGrid grid;
+        private final ThetaBracket bracket;
+        private final double thetagranularity;
+        private double[] thetas;
+        private double limit;
+
+        Worker(Optimizable bound, double thetagranularity, double hoeldergranularity) {
+            this.bound = bound;
+            bound.prepare();
+            this.grid = new HoelderGrid(bound, thetagranularity, hoeldergranularity);
+            this.bracket = new ThetaBracket(bound);
+            this.thetagranularity = thetagranularity;
+        }
+
+        /**
+         * Brackets the thetas of the current configuration, see
+         * {@link ThetaBracket#getLimit(double)}.
+         *
+         * @return the evaluations of the bracket as a result without a value
+         */
+        SweepResult bracket() throws ParameterMismatchException {
+            long evaluations = bracket.getEvaluations();
+            long infeasible = bracket.getInfeasibleEvaluations();
+            limit = bracket.getLimit(thetagranularity);
+            return new SweepResult(Double.POSITIVE_INFINITY, -1, Double.NaN, bracket.getEvaluations() - evaluations,
+                    bracket.getInfeasibleEvaluations() - infeasible, 0);
+        }
+
+        /**
+         * Returns the thetas of the sweeps, at least <code>length</code> of them.
+         */
+        double[] getThetas(double[] shared, int length) {
+            if(thetas == null || thetas.length < shared.length) {
+                thetas = shared;
+            }
+            if(thetas.length < length) {
+                thetas = thetaGridOfSize(thetagranularity, Math.max(length, 2*thetas.length));
+            }
+            return thetas;
+        }
+
+        /**
+         * Returns the number of thetas of the sweeps below the limit of the
+         * last bracket.
+         */
+        int getSweepLength(double[] shared) {
+            double[] thetas = getThetas(shared, 0);
+            int length = sweepLength(thetas, limit);
+            while(length == thetas.length && (length == 0 ? thetagranularity : thetas[length - 1] + thetagranularity) < limit) {
+                thetas = getThetas(shared, length + 1);
+                length = sweepLength(thetas, limit);
+            }
+            return length;
+        }
+
+        /**
+         * Minimizes over the thetas <code>[from, to)</code> of the current
+         * configuration.
+         */
+        SweepResult sweep(long configuration, double[] shared, int from, int to) throws ParameterMismatchException {
+            double[] range = Arrays.copyOfRange(getThetas(shared, to), from, to);
+            double[] values = new double[range.length];
+            bound.evaluate(range, values);
+
+            double optValue = Double.POSITIVE_INFINITY;
+            double optTheta = Double.NaN;
+            long infeasible = 0;
+            for(int i = 0; i < values.length; i++) {
+                if(!EvaluationStatus.isFeasible(values[i])) {
+                    infeasible++;
+                } else if(values[i] < optValue) {
+                    optValue = values[i];
+                    optTheta = range[i];
+                }
+            }
+            return new SweepResult(optValue, configuration, optTheta, range.length, infeasible, 0);
+        }
+    }
+
+    /**
+     * The minimum of a sweep, its location and the numbers of evaluated
+     * and infeasible points and of pruned configurations.
+     */
+    private static class SweepResult {
+        private static final SweepResult EMPTY = new SweepResult(Double.POSITIVE_INFINITY, -1, Double.NaN, 0, 0, 0);
+
+        private final double value;
+        private final long configuration;
+        private final double theta;
+        private final long evaluations;
+        private final long infeasible;
+        private final long pruned;
+
+        SweepResult(double value, long configuration, double theta, long evaluations, long infeasible, long pruned) {
+            this.value = value;
+            this.configuration = configuration;
+            this.theta = theta;
+            this.evaluations = evaluations;
+            this.infeasible = infeasible;
+            this.pruned = pruned;
+        }
+
+        /**
+         * Combines two results, preferring the first one on ties as the
+         * sequential search does.
+         */
+        static SweepResult minimum(SweepResult first, SweepResult second) {
+            SweepResult minimum = (second.value < first.value) ? second : first;
+            return new SweepResult(minimum.value, minimum.configuration, minimum.theta, first.evaluations + second.evaluations,
+                    first.infeasible + second.infeasible, first.pruned + second.pruned);
+        }
+    }
+
+    /**
+     * The state shared by the tasks of one search, including its progress.
+     */
+    private static class Search {
+        private final ParallelOptimizer optimizer;
+        private final ThreadLocal<Worker> workers;
+        private final double[] thetas;
+        private final long chunk;
+        private final long size;
+        private final LongAdder finished = new LongAdder();
+        private final LongAdder evaluated = new LongAdder();
+        private final DoubleAccumulator best;
+
+        Search(ParallelOptimizer optimizer, ThreadLocal<Worker> workers, double[] thetas, long chunk, long size, double optValue) {
+            this.optimizer = optimizer;
+            this.workers = workers;
+            this.thetas = thetas;
+            this.chunk = chunk;
+            this.size = size;
+            this.best = new DoubleAccumulator(Math::min, optValue);
+        }
+
+        /**
+         * Brackets the thetas of the current configuration of the worker
+         * and marks the result, if the bracket has been capped.
+         */
+        SweepResult bracket(Worker worker) throws ParameterMismatchException {
+            SweepResult bracket = worker.bracket();
+            if(worker.bracket.isCapped()) {
+                optimizer.markThetaCapped();
+            }
+            return bracket;
+        }
+
+        /**
+         * Counts finished configurations and evaluations and reports the progress.
+         */
+        void finish(long configurations, long evaluations, double value) {
+            finished.add(configurations);
+            evaluated.add(evaluations);
+            best.accumulate(value);
+            optimizer.reportProgress(best.get(), finished.sum() / (double) size, evaluated.sum());
+        }
+    }
+
+    /**
+     * Minimizes over the configurations <code>[from, to)</code>, or over the
+     * thetas <code>[thetaFrom, thetaTo)</code> of a single configuration.
+     * A negative <code>thetaTo</code> stands for the whole sweep.
+     */
+    private static class Sweep extends RecursiveTask<SweepResult> {
+        private static final long serialVersionUID = -5121570931469420163L;
+
+        private final Search search;
+        private final long from;
+        private final long to;
+        private final int thetaFrom;
+        private final int thetaTo;
+
+        Sweep(Search search, long from, long to, int thetaFrom, int thetaTo) {
+            this.search = search;
+            this.from = from;
+            this.to = to;
+            this.thetaFrom = thetaFrom;
+            this.thetaTo = thetaTo;
+        }
+
+        @Override
+        protected SweepResult compute() {
+            if(search.optimizer.isCancelled()) {
+                return SweepResult.EMPTY;
+            }
+            if(to - from > search.chunk) {
+                long middle = (from + to) >>> 1;
+                Sweep first = new Sweep(search, from, middle, 0, -1);
+                first.fork();
+                SweepResult second = new Sweep(search, middle, to, 0, -1).compute();
+                return SweepResult.minimum(first.join(), second);
+            }
+
+            Worker worker = search.workers.get();
+            try {
+                if(to - from > 1) {
+                    SweepResult[] result = { SweepResult.EMPTY };
+                    long pruned = worker.grid.walk(from, to, configuration -> {
+                        if(search.optimizer.isCancelled()) {
+                            return false;
+                        }
+                        SweepResult bracket = search.bracket(worker);
+                        SweepResult sweep = SweepResult.minimum(bracket, worker.sweep(configuration, search.thetas, 0, worker.getSweepLength(search.thetas)));
+                        result[0] = SweepResult.minimum(result[0], sweep);
+                        search.finish(1, sweep.evaluations, sweep.value);
+                        return true;
+                    });
+                    search.finish(pruned, 0, Double.POSITIVE_INFINITY);
+                    return SweepResult.minimum(result[0], new SweepResult(Double.POSITIVE_INFINITY, -1, Double.NaN, 0, 0, pruned));
+                }
+
+                worker.grid.apply(from);
+                SweepResult bracket = SweepResult.EMPTY;
+                int end = thetaTo;
+                if(thetaTo < 0) {
+                    bracket = search.bracket(worker);
+                    end = worker.getSweepLength(search.thetas);
+                    if(end == 0) {
+                        search.finish(1, bracket.evaluations, Double.POSITIVE_INFINITY);
+                        return new SweepResult(Double.POSITIVE_INFINITY, -1, Double.NaN, bracket.evaluations, bracket.infeasible, 1);
+                    }
+                }
+                if(end - thetaFrom > THETA_CHUNK) {
+                    int middle = (thetaFrom + end) >>> 1;
+                    Sweep first = new Sweep(search, from, to, thetaFrom, middle);
+                    first.fork();
+                    SweepResult second = new Sweep(search, from, to, middle, end).compute();
+                    SweepResult result = SweepResult.minimum(bracket, SweepResult.minimum(first.join(), second));
+                    if(thetaTo < 0) {
+                        search.finish(1, bracket.evaluations, Double.POSITIVE_INFINITY);
+                    }
+                    return result;
+                }
+                SweepResult result = SweepResult.minimum(bracket, worker.sweep(from, search.thetas, thetaFrom, end));
+                search.finish((thetaTo < 0) ? 1 : 0, result.evaluations, result.value);
+                return result;
+            } catch(ParameterMismatchException e) {
+                throw new CompletionException(e);
+            }
+        }
+    }
+
+    @Override
+    public double Bound(Arrival input, BoundType boundtype, double bound, double thetagranularity, double hoeldergranularity)
+            throws ThetaOutOfBoundException, ParameterMismatchException, ServerOverloadException {
+        return new SimpleOptimizer(this.bound, boundtype).Bound(input, boundtype, bound, thetagranularity, hoeldergranularity);
+    }
+
+    @Override
+    public double ReverseBound(Arrival input, BoundType boundtype, double violation_probability, double thetagranularity, double hoeldergranularity)
+            throws ThetaOutOfBoundException, ParameterMismatchException, ServerOverloadException {
+        return new SimpleOptimizer(this.bound, boundtype).ReverseBound(input, boundtype, violation_probability, thetagranularity, hoeldergranularity);
+    }
+}
@@ -0,0 +1,41 @@
+/*
+ *  (c) 2017 Michael A. Beck, Sebastian Henningsen
+ *  		disco | Distributed Computer Systems Lab
+ *  		University of Kaiserslautern, Germany
+ *  All Rights Reserved.
+ *
+ * This software is work in progress and is released in the hope that it will
+ * be useful to the scientific community. It is provided "as is" without
+ * express or implied warranty, including but not limited to the correctness
+ * of the code or its suitability for any particular purpose.
+ *
+ * This software is provided under the MIT License, however, we would
+ * appreciate it if you contacted the respective authors prior to commercial use.
+ *
+ * If you find our software useful, we would appreciate if you mentioned it
+ * in any publication arising from the use of this software or acknowledge
+ * our work otherwise. We would also like to hear of any fixes or useful
+ */
+
+package org.networkcalculus.snc.optimization;
+
+/**
+ * Receives the progress of a running optimization. The reports are
+ * throttled by the optimizer to a few per second. Parallel optimizers may
+ * report from their worker threads, hence a listener, which updates a user
+ * interface, must hand the values over to the thread of the interface.
+ * 
+ * @see Optimizer#optimize(double, double, ProgressListener, CancellationToken)
+ */
+@FunctionalInterface
+public interface ProgressListener {
+    /**
+     * Reports the state of the optimization.
+     * 
+     * @param bound the best bound found so far, positive infinity if none
+     * @param explored the explored fraction of the search space, between 0
+     * and 1, or <code>NaN</code> if the optimizer cannot estimate it
+     * @param evaluationRate the number of evaluations of the bound per second
+     */
+    public void progress(double bound, double explored, double evaluationRate);
+}
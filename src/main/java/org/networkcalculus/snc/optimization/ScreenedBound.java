@@ -0,0 +1,143 @@
+/*
+ *  (c) 2017 Michael A. Beck, Sebastian Henningsen
+ *  		disco | Distributed Computer Systems Lab
+ *  		University of Kaiserslautern, Germany
+ *  All Rights Reserved.
+ *
+ * This software is work in progress and is released in the hope that it will
+ * be useful to the scientific community. It is provided "as is" without
+ * express or implied warranty, including but not limited to the correctness
+ * of the code or its suitability for any particular purpose.
+ *
+ * This software is provided under the MIT License, however, we would
+ * appreciate it if you contacted the respective authors prior to commercial use.
+ *
+ * If you find our software useful, we would appreciate if you mentioned it
+ * in any publication arising from the use of this software or acknowledge
+ * our work otherwise. We would also like to hear of any fixes or useful
+ */
+
+
+package org.networkcalculus.snc.optimization;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import org.networkcalculus.snc.symbolic_math.DualNumber;
+import org.networkcalculus.snc.symbolic_math.Hoelder;
+import org.networkcalculus.snc.symbolic_math.Interval;
+import org.networkcalculus.snc.symbolic_math.ParameterMismatchException;
+import org.networkcalculus.snc.symbolic_math.ParameterSlots;
+import org.networkcalculus.snc.symbolic_math.ServerOverloadException;
+import org.networkcalculus.snc.symbolic_math.ThetaOutOfBoundException;
+
+/**
+ * A bound, of which some Hoelder-parameters are frozen at fixed
+ * p-values. {@link #prepare()} sets the frozen parameters and removes
+ * them from {@link #getHoelderParameters()}, just as a
+ * {@link BacklogBound} removes the parameter of the backlog, such that
+ * the optimizers only search the remaining ones.
+ * All evaluations are delegated to the original bound.
+ *
+ * @see ScreeningOptimizer
+ */
+final class ScreenedBound implements Optimizable {
+    private final Optimizable original;
+    private final SortedMap<Integer, Double> frozen;
+    private Map<Integer, Hoelder> parameters;
+
+    /**
+     * @param original the bound, not yet prepared
+     * @param frozen the p-values of the frozen parameters, keyed by their ids
+     */
+    ScreenedBound(Optimizable original, Map<Integer, Double> frozen) {
+        this.original = original;
+        this.frozen = new TreeMap<>(frozen);
+    }
+
+    /**
+     * Returns the original bound, if the given one is screened.
+     */
+    static Optimizable unwrap(Optimizable bound) {
+        return (bound instanceof ScreenedBound) ? ((ScreenedBound) bound).original : bound;
+    }
+
+    @Override
+    public void prepare() {
+        original.prepare();
+        parameters = new HashMap<>(original.getHoelderParameters());
+        for(Map.Entry<Integer, Double> entry : frozen.entrySet()) {
+            Hoelder hoelder = parameters.remove(entry.getKey());
+            if(hoelder != null) {
+                hoelder.setPValue(entry.getValue());
+            }
+        }
+    }
+
+    @Override
+    public Map<Integer, Hoelder> getHoelderParameters() {
+        if(parameters == null) {
+            Map<Integer, Hoelder> unprepared = new HashMap<>(original.getHoelderParameters());
+            unprepared.keySet().removeAll(frozen.keySet());
+            return unprepared;
+        }
+        return parameters;
+    }
+
+    @Override
+    public double evaluate(double theta) throws ThetaOutOfBoundException, ParameterMismatchException, ServerOverloadException {
+        return original.evaluate(theta);
+    }
+
+    @Override
+    public double evaluateUnchecked(double theta) throws ParameterMismatchException {
+        return original.evaluateUnchecked(theta);
+    }
+
+    @Override
+    public void evaluate(double[] thetas, double[] out) throws ParameterMismatchException {
+        original.evaluate(thetas, out);
+    }
+
+    @Override
+    public ParameterSlots getParameterSlots() throws ParameterMismatchException {
+        return original.getParameterSlots();
+    }
+
+    @Override
+    public double evaluate(double theta, double[] p) throws ThetaOutOfBoundException, ParameterMismatchException, ServerOverloadException {
+        return original.evaluate(theta, p);
+    }
+
+    @Override
+    public double evaluateUnchecked(double theta, double[] p) throws ParameterMismatchException {
+        return original.evaluateUnchecked(theta, p);
+    }
+
+    @Override
+    public DualNumber evaluateDual(double theta, double[] p) throws ThetaOutOfBoundException, ParameterMismatchException, ServerOverloadException {
+        return original.evaluateDual(theta, p);
+    }
+
+    @Override
+    public Interval evaluateInterval(Interval theta, Interval[] p) throws ThetaOutOfBoundException, ParameterMismatchException, ServerOverloadException {
+        return original.evaluateInterval(theta, p);
+    }
+
+    @Override
+    public Optimizable copy() {
+        return new ScreenedBound(original.copy(), frozen);
+    }
+
+    @Override
+    public long getStructuralSignature() {
+        return 31*original.getStructuralSignature() + frozen.keySet().hashCode();
+    }
+
+    @Override
+    public double getMaximumTheta() {
+        return original.getMaximumTheta();
+    }
+}
@@ -0,0 +1,290 @@
+/*
+ *  (c) 2017 Michael A. Beck, Sebastian Henningsen
+ *  		disco | Distributed Computer Systems Lab
+ *  		University of Kaiserslautern, Germany
+ *  All Rights Reserved.
+ *
+ * This software is work in progress and is released in the hope that it will
+ * be useful to the scientific community. It is provided "as is" without
+ * express or implied warranty, including but not limited to the correctness
+ * of the code or its suitability for any particular purpose.
+ *
+ * This software is provided under the MIT License, however, we would
+ * appreciate it if you contacted the respective authors prior to commercial use.
+ *
+ * If you find our software useful, we would appreciate if you mentioned it
+ * in any publication arising from the use of this software or acknowledge
+ * our work otherwise. We would also like to hear of any fixes or useful
+ */
+
+
+package org.networkcalculus.snc.optimization;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import org.networkcalculus.snc.analysis.BoundType;
+import org.networkcalculus.snc.exceptions.NotImplementedException;
+import org.networkcalculus.snc.symbolic_math.Arrival;
+import org.networkcalculus.snc.symbolic_math.DualNumber;
+import org.networkcalculus.snc.symbolic_math.EvaluationStatus;
+import org.networkcalculus.snc.symbolic_math.Hoelder;
+import org.networkcalculus.snc.symbolic_math.ParameterMismatchException;
+import org.networkcalculus.snc.symbolic_math.ParameterSlots;
+import org.networkcalculus.snc.symbolic_math.ServerOverloadException;
+import org.networkcalculus.snc.symbolic_math.ThetaOutOfBoundException;
+
+/**
+ * Screens the Hoelder-parameters of a bound before it is optimized, such
+ * that the optimizer only searches the parameters, which matter.
+ * <p>
+ * Starting from all coefficients at 2, the coefficients of each parameter
+ * are moved to the probes {@link #PROBES} one at a time, with theta
+ * minimized by a {@link ThetaLineSearch} for each probe. The influence of
+ * a parameter is the largest relative change of the minimal bound caused
+ * by its probes, a parameter is infeasible at a probe has an infinite
+ * influence. Parameters with an influence of at most the threshold are
+ * frozen at the best of their probed p-values, the other ones are searched
+ * by the inner optimizer on a {@link ScreenedBound}. The frozen parameters
+ * and the influences are logged and can be queried afterwards.
+ * <p>
+ * Before probing, the partial derivatives of the bound with respect to
+ * the p-values are computed at the starting point by
+ * {@link Optimizable#evaluateDual}. As theta minimizes the bound there,
+ * they are the first-order changes of the minimal bound. A parameter,
+ * whose derivative predicts a relative change of more than
+ * {@link #DERIVATIVE_MARGIN} times the threshold for the smaller probe
+ * step, is searched without probing, its influence is the predicted one.
+ * This can only keep a parameter, which the probes would have frozen,
+ * but never freezes one.
+ * <p>
+ * Without a maximal theta, theta is searched in the interval of a
+ * {@link ThetaBracket}. If the bound is infeasible at the starting point,
+ * no parameter is frozen. The inner
+ * optimizer must be deterministic, as {@link #Bound} and
+ * {@link #ReverseBound} repeat its optimization with the same frozen
+ * parameters.
+ *
+ * @see OptimizationType#SCREENING_OPT
+ */
+public class ScreeningOptimizer extends AbstractOptimizer {
+    /**
+     * The default largest relative change of the bound, up to which a
+     * parameter is frozen
+     */
+    public static final double DEFAULT_THRESHOLD = 1E-3;
+
+    /**
+     * The p-values probed besides 2, i.e. the p- and q-value of 1.5
+     */
+    private static final double[] PROBES = { 1.5, 3 };
+
+    /**
+     * The factor, by which the change predicted by the derivative must
+     * exceed the threshold, such that a parameter is not probed
+     */
+    public static final double DERIVATIVE_MARGIN = 10;
+
+    /**
+     * The smaller step of the p-value to a probe
+     */
+    private static final double PROBE_STEP = 0.5;
+
+    private final OptimizationType inner;
+    private final double threshold;
+
+    private SortedMap<Integer, Double> frozen;
+    private SortedMap<Integer, Double> influences;
+
+    /**
+     * Creates an optimizer, which searches the remaining parameters by the
+     * {@link GridRefinementOptimizer}, with the {@link #DEFAULT_THRESHOLD}.
+     *
+     * @param input
+     * @param boundtype
+     */
+    public ScreeningOptimizer(Optimizable input, BoundType boundtype) {
+        this(input, boundtype, OptimizationType.GRID_REFINEMENT_OPT, DEFAULT_THRESHOLD);
+    }
+
+    /**
+     * Creates an optimizer.
+     *
+     * @param input
+     * @param boundtype
+     * @param inner the optimizer of the remaining parameters
+     * @param threshold the largest relative change of the bound, up to
+     * which a parameter is frozen
+     */
+    public ScreeningOptimizer(Optimizable input, BoundType boundtype, OptimizationType inner, double threshold) {
+        super(input, boundtype);
+        this.inner = inner;
+        this.threshold = threshold;
+    }
+
+    /**
+     * Creates an optimizer, which uses the given frozen parameters instead
+     * of screening.
+     */
+    private ScreeningOptimizer(Optimizable input, BoundType boundtype, OptimizationType inner, double threshold,
+            SortedMap<Integer, Double> frozen, SortedMap<Integer, Double> influences) {
+        this(input, boundtype, inner, threshold);
+        this.frozen = frozen;
+        this.influences = influences;
+    }
+
+    @Override
+    public double minimize(double thetagranularity, double hoeldergranularity) throws ThetaOutOfBoundException, ParameterMismatchException, ServerOverloadException {
+        if(frozen == null) {
+            startPhase("screening");
+            screen(thetagranularity);
+        }
+        System.out.println("Screening: frozen " + frozen + " influences " + influences);
+
+        startPhase(inner.toString());
+        Optimizer optimizer = OptimizationFactory.getOptimizer(new ScreenedBound(bound, frozen), boundtype, inner);
+        OptimizationResult result = optimizer.optimize(thetagranularity, hoeldergranularity, getProgressListener(), getCancellationToken());
+        if(result.isCancelled()) {
+            // Marks this optimization as cancelled as well
+            isCancelled();
+        }
+        if(result.isThetaCapped()) {
+            markThetaCapped();
+        }
+        evaluations += result.getEvaluations();
+        infeasibleEvaluations += result.getInfeasibleEvaluations();
+        // The inner optimizer may have worked on copies of the bound
+        Map<Integer, Hoelder> parameters = bound.getHoelderParameters();
+        result.applyHoelderValues(parameters);
+        for(Map.Entry<Integer, Double> entry : frozen.entrySet()) {
+            parameters.get(entry.getKey()).setPValue(entry.getValue());
+        }
+        maxTheta = bound.getMaximumTheta();
+        recordOptimum(result.getTheta());
+        return result.getBound();
+    }
+
+    /**
+     * Probes the parameters of a prepared copy of the bound and chooses
+     * the ones to be frozen.
+     */
+    private void screen(double thetagranularity) throws ParameterMismatchException {
+        frozen = new TreeMap<>();
+        influences = new TreeMap<>();
+
+        // The inner optimizer prepares the bound itself
+        Optimizable probe = bound.copy();
+        probe.prepare();
+        Map<Integer, Hoelder> parameters = new TreeMap<>(probe.getHoelderParameters());
+        for(Hoelder hoelder : parameters.values()) {
+            hoelder.setPValue(2);
+        }
+        ThetaLineSearch search = new ThetaLineSearch(probe, thetagranularity);
+        ThetaBracket bracket = new ThetaBracket(probe);
+        double start = search.minimize(0, bracket.getLimit(thetagranularity));
+
+        if(EvaluationStatus.isFeasible(start)) {
+            ParameterSlots slots = probe.getParameterSlots();
+            DualNumber derivatives = differentiate(probe, slots, search.getTheta());
+            for(Map.Entry<Integer, Hoelder> entry : parameters.entrySet()) {
+                if(isCancelled()) {
+                    break;
+                }
+                if(derivatives != null) {
+                    double predicted = Math.abs(derivatives.getPDerivative(slots.getSlot(entry.getKey()))) * PROBE_STEP / Math.abs(start);
+                    if(predicted > DERIVATIVE_MARGIN * threshold) {
+                        influences.put(entry.getKey(), predicted);
+                        continue;
+                    }
+                }
+                Hoelder hoelder = entry.getValue();
+                double influence = 0;
+                double best = 2;
+                double bestValue = start;
+                for(double p : PROBES) {
+                    hoelder.setPValue(p);
+                    double value = search.minimize(0, bracket.getLimit(thetagranularity));
+                    if(!EvaluationStatus.isFeasible(value)) {
+                        influence = Double.POSITIVE_INFINITY;
+                    } else {
+                        influence = Math.max(influence, Math.abs(value - start) / Math.abs(start));
+                        if(value < bestValue) {
+                            best = p;
+                            bestValue = value;
+                        }
+                    }
+                }
+                hoelder.setPValue(2);
+
+                influences.put(entry.getKey(), influence);
+                if(influence <= threshold) {
+                    frozen.put(entry.getKey(), best);
+                }
+            }
+        }
+        evaluations += search.getEvaluations() + bracket.getEvaluations();
+        infeasibleEvaluations += search.getInfeasibleEvaluations() + bracket.getInfeasibleEvaluations();
+    }
+
+    /**
+     * Evaluates the derivatives of the bound at theta for the current
+     * Hoelder-coefficients.
+     *
+     * @return the value and derivatives, <code>null</code> if the bound
+     * cannot be differentiated there
+     */
+    private DualNumber differentiate(Optimizable probe, ParameterSlots slots, double theta) throws ParameterMismatchException {
+        evaluations++;
+        try {
+            return probe.evaluateDual(theta, slots.read());
+        } catch(ThetaOutOfBoundException | ServerOverloadException | NotImplementedException e) {
+            infeasibleEvaluations++;
+            return null;
+        }
+    }
+
+    /**
+     * Returns the parameters frozen by the last optimization.
+     *
+     * @return their p-values keyed by their ids, or <code>null</code>
+     */
+    public Map<Integer, Double> getFrozenParameters() {
+        return (frozen == null) ? null : Collections.unmodifiableMap(frozen);
+    }
+
+    /**
+     * Returns the influences of the parameters measured by the last
+     * optimization.
+     *
+     * @return the relative changes of the bound keyed by the ids of the
+     * parameters, or <code>null</code>
+     */
+    public Map<Integer, Double> getInfluences() {
+        return (influences == null) ? null : Collections.unmodifiableMap(influences);
+    }
+
+    /**
+     * Repeats the optimization of {@link #minimize(double, double)} for the
+     * given arrival with the same frozen parameters.
+     */
+    @Override
+    public double Bound(Arrival input, BoundType boundtype, double bound, double thetagranularity, double hoeldergranularity)
+            throws ThetaOutOfBoundException, ParameterMismatchException, ServerOverloadException {
+        return new ScreeningOptimizer(BoundFactory.createBound(input, boundtype, bound), boundtype, inner, threshold, frozen, influences)
+                .minimize(thetagranularity, hoeldergranularity);
+    }
+
+    /**
+     * Repeats the optimization of {@link #minimize(double, double)} for the
+     * given arrival with the same frozen parameters.
+     */
+    @Override
+    public double ReverseBound(Arrival input, BoundType boundtype, double violation_probability, double thetagranularity, double hoeldergranularity)
+            throws ThetaOutOfBoundException, ParameterMismatchException, ServerOverloadException {
+        BoundType inverse = (boundtype == BoundType.BACKLOG) ? BoundType.INVERSE_BACKLOG : BoundType.INVERSE_DELAY;
+        return new ScreeningOptimizer(BoundFactory.createBound(input, inverse, violation_probability), boundtype, inner, threshold, frozen, influences)
+                .minimize(thetagranularity, hoeldergranularity);
+    }
+}
@@ -19,11 +19,13 @@
 
 package org.networkcalculus.snc.optimization;
 
-import java.util.HashMap;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 import org.networkcalculus.snc.analysis.BoundType;
 import org.networkcalculus.snc.symbolic_math.Arrival;
+import org.networkcalculus.snc.symbolic_math.EvaluationStatus;
 import org.networkcalculus.snc.symbolic_math.Hoelder;
 import org.networkcalculus.snc.symbolic_math.ParameterMismatchException;
 import org.networkcalculus.snc.symbolic_math.ServerOverloadException;
@@ -41,6 +43,14 @@ import org.networkcalculus.snc.symbolic_math.ThetaOutOfBoundException;
  * these values and repeat the process. If no neighbour can
  * deliver a better result than the current bound, we will 
  * not move and give the current bound as result instead.
+ * If the bound has no maximal theta, theta is limited by a
+ * {@link ThetaBracket}, whose best theta is the starting point.
+ * If a {@link WarmStartCache} is given, the search starts at the
+ * optimum of the last bound of the same structure instead, and
+ * stores its own optimum there.
+ * As a move makes most neighbours of the previous point neighbours
+ * of the new one, the values of the last {@link #MEMO_CAPACITY}
+ * points are memorized and not evaluated again.
  * 
  * @author Michael Beck
  * @author Sebastian Henningsen
@@ -54,6 +64,18 @@ public class SimpleGradient extends AbstractOptimizer {
 		NOTHING
 	};
 
+	/**
+	 * The maximal number of points, whose values are memorized
+	 */
+	public static final int MEMO_CAPACITY = 1 << 14;
+
+	private final WarmStartCache cache;
+	private WarmStartCache replay;
+	private Map<Point, Double> memo;
+	private Hoelder[] hoelders;
+	private long memoHits;
+	private long memoLookups;
+
     /**
      * Creates an instance of this class, delegates the construction to @link AbstractOptimizer.
      * 
@@ -61,7 +83,20 @@ public class SimpleGradient extends AbstractOptimizer {
      * @param boundtype
      */
     public SimpleGradient(Optimizable bound, BoundType boundtype) {
+		this(bound, boundtype, null);
+	}
+
+    /**
+     * Creates an instance of this class, which starts at the optima stored
+     * in the given cache.
+     * 
+     * @param bound
+     * @param boundtype
+     * @param cache the cache of optima, <code>null</code> for none
+     */
+    public SimpleGradient(Optimizable bound, BoundType boundtype, WarmStartCache cache) {
 		super(bound, boundtype);
+		this.cache = cache;
 	}
         
     @Override
@@ -70,15 +105,61 @@ public class SimpleGradient extends AbstractOptimizer {
     	
     	// Initializes the list of Hoelder-Parameters
     	Map<Integer, Hoelder> allparameters = bound.getHoelderParameters();
+    	hoelders = allparameters.values().toArray(new Hoelder[0]);
+    	memo = new LinkedHashMap<Point, Double>(16, 0.75f, true) {
+    		private static final long serialVersionUID = -2791606416313787521L;
+
+    		@Override
+    		protected boolean removeEldestEntry(Map.Entry<Point, Double> eldest) {
+    			return size() > MEMO_CAPACITY;
+    		}
+    	};
+    	memoHits = 0;
+    	memoLookups = 0;
 	        
         for(Map.Entry<Integer, Hoelder> entry : allparameters.entrySet()) {
             entry.getValue().setPValue(2);
         }
         
-        // Initializes parameters
+        // Starts at a previous optimum, if there is one
+        long signature = 0;
+        double seed = Double.NaN;
+        replay = null;
+        if(cache != null) {
+            signature = bound.getStructuralSignature();
+            seed = cache.seed(signature, allparameters);
+            if(!Double.isNaN(seed)) {
+                // Keeps the start, so Bound and ReverseBound can repeat this search
+                replay = new WarmStartCache(1);
+                replay.store(signature, seed, allparameters);
+            }
+        }
+
+        // Initializes parameters, without a maximal theta the search starts
+        // at the best theta of a bracket instead of walking there step by step
         maxTheta = bound.getMaximumTheta();
-        System.out.println("Max Theta: " + maxTheta);
         double theta = thetagranularity;
+        if(maxTheta == Double.POSITIVE_INFINITY) {
+            ThetaBracket bracket = new ThetaBracket(bound);
+            maxTheta = bracket.getLimit(thetagranularity);
+            evaluations += bracket.getEvaluations();
+            infeasibleEvaluations += bracket.getInfeasibleEvaluations();
+            if(bracket.isCapped()) {
+                markThetaCapped();
+            }
+            if(!Double.isNaN(bracket.getBestTheta())) {
+                theta = bracket.getBestTheta();
+            }
+        }
+        System.out.println("Max Theta: " + maxTheta);
+        if(!Double.isNaN(seed)) {
+            // Moves the seed onto the grid of thetas below maxTheta
+            theta = Math.max(1, Math.round(seed / thetagranularity)) * thetagranularity;
+            if(theta >= maxTheta) {
+                theta = Math.max(1, Math.ceil(maxTheta / thetagranularity) - 1) * thetagranularity;
+            }
+            System.out.println("Warm start: Theta: " + theta + " Hoelder: " + allparameters.toString() + " " + cache.toString());
+        }
         int changedHoelder = Integer.MAX_VALUE;
         boolean improved = true;
         Change change = SimpleGradient.Change.NOTHING;
@@ -87,23 +168,18 @@ public class SimpleGradient extends AbstractOptimizer {
         double optValue;
         double newOptValue;
         
-        try {
-        	optValue = bound.evaluate(theta);
-        } catch(ServerOverloadException e) {
+        optValue = evaluateMemoized(theta);
+        if(!EvaluationStatus.isFeasible(optValue)) {
             optValue = Double.POSITIVE_INFINITY;
         }
         
-        while(improved) {
+        while(improved && !isCancelled()) {
             improved = false;
             change = SimpleGradient.Change.NOTHING;
             // Check if decreasing theta leads to a better result
             if(theta > thetagranularity) {
                 theta = theta - thetagranularity;
-                try {
-                    newOptValue = bound.evaluate(theta);
-                } catch(ServerOverloadException | ThetaOutOfBoundException e) {
-                    newOptValue = Double.POSITIVE_INFINITY;
-                }
+                newOptValue = evaluateMemoized(theta);
                 if(optValue > newOptValue) {
                         optValue = newOptValue;
                         change = SimpleGradient.Change.THETA_DEC;
@@ -116,11 +192,7 @@ public class SimpleGradient extends AbstractOptimizer {
             // Check if increasing theta leads to a better result
             if(theta < this.maxTheta - thetagranularity){
                 theta = theta + thetagranularity;
-                try {
-                    newOptValue = bound.evaluate(theta);
-                } catch(             ServerOverloadException | ThetaOutOfBoundException e) {
-                    newOptValue = Double.POSITIVE_INFINITY;
-                }
+                newOptValue = evaluateMemoized(theta);
                 if(optValue > newOptValue) {
                     optValue = newOptValue;
                     change = SimpleGradient.Change.THETA_INC;
@@ -139,11 +211,7 @@ public class SimpleGradient extends AbstractOptimizer {
                 } else {
                     entry.getValue().setQValue(hoeldergranularity + entry.getValue().getQValue());
                 }
-                try {
-                    newOptValue = bound.evaluate(theta);
-                } catch(ServerOverloadException | ThetaOutOfBoundException e){
-                    newOptValue = Double.POSITIVE_INFINITY;
-                }
+                newOptValue = evaluateMemoized(theta);
                 if(optValue > newOptValue) {
                     optValue = newOptValue; 
                     changedHoelder = entry.getKey();
@@ -163,11 +231,7 @@ public class SimpleGradient extends AbstractOptimizer {
                     entry.getValue().setQValue(-hoeldergranularity + entry.getValue().getQValue());
                 }
                 entry.getValue().setQValue(-hoeldergranularity + entry.getValue().getQValue());
-                try {
-                    newOptValue = bound.evaluate(theta);
-                } catch(             ServerOverloadException | ThetaOutOfBoundException e) {
-                    newOptValue = Double.POSITIVE_INFINITY;
-                }
+                newOptValue = evaluateMemoized(theta);
                 if(optValue > newOptValue){
                         optValue = newOptValue; 
                         changedHoelder = entry.getKey();
@@ -202,639 +266,92 @@ public class SimpleGradient extends AbstractOptimizer {
                     break;
             }
         }
-	    System.out.println("Theta: "+theta+" Hoelder: "+allparameters.toString()+" Bound: "+optValue);
+	    System.out.println("Theta: "+theta+" Hoelder: "+allparameters.toString()+" Bound: "+optValue
+	            +" Evaluations: "+evaluations+" Memo hits: "+memoHits+" of "+memoLookups+" ("+getMemoHitRate()+")");
+	    recordOptimum(theta);
+	    if(cache != null && optValue < Double.POSITIVE_INFINITY) {
+	        cache.store(signature, theta, allparameters);
+	    }
 	
 	    return optValue; 
 	}
         
+    /**
+     * Evaluates the bound at theta for the current Hoelder coefficients,
+     * if the point has not been evaluated recently.
+     */
+    private double evaluateMemoized(double theta) throws ParameterMismatchException {
+        double[] coordinates = new double[2*hoelders.length + 1];
+        coordinates[0] = theta;
+        for(int i = 0; i < hoelders.length; i++) {
+            coordinates[2*i + 1] = hoelders[i].getPValue();
+            coordinates[2*i + 2] = hoelders[i].getQValue();
+        }
+        Point point = new Point(coordinates);
+        memoLookups++;
+        Double value = memo.get(point);
+        if(value != null) {
+            memoHits++;
+            return value;
+        }
+        double result = evaluateUnchecked(theta);
+        memo.put(point, result);
+        return result;
+    }
+
+    /**
+     * @return the share of the points of the last search, whose value was
+     * memorized, <code>NaN</code> before the first search
+     */
+    public double getMemoHitRate() {
+        return (double) memoHits / memoLookups;
+    }
+
+    /**
+     * Theta and the p- and q-values of the Hoelder-parameters, compared
+     * exactly.
+     */
+    private static final class Point {
+        private final double[] coordinates;
+        private final int hash;
+
+        Point(double[] coordinates) {
+            this.coordinates = coordinates;
+            this.hash = Arrays.hashCode(coordinates);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof Point && Arrays.equals(coordinates, ((Point) obj).coordinates);
+        }
+    }
+
+    /**
+     * Repeats the search of {@link #minimize(double, double)} for the
+     * given arrival, starting where the last search started, such that
+     * both computations agree.
+     */
 	@Override
 	public double Bound(Arrival input, BoundType boundtype, double bound, double thetagranularity, double hoeldergranularity)
 			throws ThetaOutOfBoundException, ParameterMismatchException, ServerOverloadException {
-		
-		double result;
-		
-		// Initializes the list of Hoelder-Parameters...
-		Map<Integer, Hoelder> allparameters = new HashMap<>(0);
-		allparameters.putAll(input.getSigma().getParameters());
-		allparameters.putAll(input.getRho().getParameters());
-			
-		// If needed, the parameter, which represents the backlog, must be separated from the other Hoelder parameters
-		if(boundtype == BoundType.BACKLOG){
-                    allparameters.get(allparameters.size()).setPValue(bound);
-                    allparameters.remove(allparameters.size());
-		}
-		for(Map.Entry<Integer, Hoelder> entry : allparameters.entrySet()){
-			entry.getValue().setPValue(2);
-		}
-		
-		// Initializes theta
-		double max_theta = input.getThetastar();
-		double theta = thetagranularity;
-		int changed_hoelder = Integer.MAX_VALUE;
-		boolean improved = true;
-		
-		Change change = SimpleGradient.Change.NOTHING;
-		
-		switch(boundtype){
-			case BACKLOG:
-				// Computes initial value
-				double backlogprob;
-				double new_backlogprob;
-				try{
-					backlogprob = input.evaluate(theta, 0, 0);
-				}
-				catch(ServerOverloadException e){
-					backlogprob = Double.POSITIVE_INFINITY;
-				}
-				while(improved){
-					improved = false;
-					change = SimpleGradient.Change.NOTHING;
-					// Check if decreasing theta leads to a better result
-					if(theta > thetagranularity){
-						
-						theta = theta - thetagranularity;
-						try{
-							new_backlogprob = input.evaluate(theta, 0, 0);
-						}
-						catch(ServerOverloadException e){
-							new_backlogprob = Double.POSITIVE_INFINITY;
-						}
-						catch(ThetaOutOfBoundException e){
-							new_backlogprob = Double.POSITIVE_INFINITY;
-						}
-						if(backlogprob > new_backlogprob){
-							backlogprob = new_backlogprob;
-							change = SimpleGradient.Change.THETA_DEC;
-						}
-						
-						theta = theta + thetagranularity;
-					}
-					
-					// Check if increasing theta leads to a better result
-					if(theta < max_theta - thetagranularity){
-						theta = theta + thetagranularity;
-						try{
-							new_backlogprob = input.evaluate(theta, 0 , 0);
-						}
-						catch(ServerOverloadException e){
-							new_backlogprob = Double.POSITIVE_INFINITY;
-						}
-						catch(ThetaOutOfBoundException e){
-							new_backlogprob = Double.POSITIVE_INFINITY;
-						}
-						if(backlogprob > new_backlogprob){
-							backlogprob = new_backlogprob;
-							change = SimpleGradient.Change.THETA_INC;
-						}
-						
-						theta = theta - thetagranularity;
-					}
-					
-					// Check each neighbors resulting from decreasing the P-Value of Hoelder parameters
-					for(Map.Entry<Integer, Hoelder> entry : allparameters.entrySet()){
-						double old_p_value = entry.getValue().getPValue();
-						if(entry.getValue().getPValue() < 2){
-							entry.getValue().setPValue(-hoeldergranularity + entry.getValue().getPValue());
-						}
-						else{
-							entry.getValue().setQValue(hoeldergranularity + entry.getValue().getQValue());
-						}
-						try{
-							new_backlogprob = input.evaluate(theta, 0, 0);
-						}
-						catch(ServerOverloadException e){
-							new_backlogprob = Double.POSITIVE_INFINITY;
-						}
-						catch(ThetaOutOfBoundException e){
-							new_backlogprob = Double.POSITIVE_INFINITY;
-						}
-						if(backlogprob > new_backlogprob){
-							backlogprob = new_backlogprob; 
-							changed_hoelder = entry.getKey();
-							change = SimpleGradient.Change.HOELDER_P;
-						}
-						
-						entry.getValue().setPValue(old_p_value);
-					}
-					
-					// Check each neighbor by decreasing the Q-Value of Hoelder parameters
-					for(Map.Entry<Integer, Hoelder> entry : allparameters.entrySet()){
-						double old_q_value = entry.getValue().getQValue();
-						if(entry.getValue().getPValue() < 2){
-							entry.getValue().setPValue(hoeldergranularity + entry.getValue().getPValue());
-						}
-						else{
-							entry.getValue().setQValue(-hoeldergranularity + entry.getValue().getQValue());
-						}
-						entry.getValue().setQValue(-hoeldergranularity + entry.getValue().getQValue());
-						try{
-							new_backlogprob = input.evaluate(theta, 0 , 0);
-						}
-						catch(ServerOverloadException e){
-							new_backlogprob = Double.POSITIVE_INFINITY;
-						}
-						catch(ThetaOutOfBoundException e){
-							new_backlogprob = Double.POSITIVE_INFINITY;
-						}
-						if(backlogprob > new_backlogprob){
-							backlogprob = new_backlogprob; 
-							changed_hoelder = entry.getKey();
-							change = SimpleGradient.Change.HOELDER_Q;
-						}
-						
-						entry.getValue().setQValue(old_q_value);
-					}
-					
-					switch(change){
-					case THETA_INC:
-						theta = theta + thetagranularity;
-						improved = true;
-						break;
-					case THETA_DEC:
-						theta = theta - thetagranularity;
-						improved = true;
-						break;
-					case HOELDER_P:
-						allparameters.get(changed_hoelder).setPValue(allparameters.get(changed_hoelder).getPValue() - hoeldergranularity);
-						improved = true;
-						break;
-					case HOELDER_Q:
-						allparameters.get(changed_hoelder).setQValue(allparameters.get(changed_hoelder).getQValue() - hoeldergranularity);
-						improved = true;
-						break;
-					case NOTHING:
-						improved = false;
-						break;
-					default:
-						improved = false;
-						break;
-					}
-					// System.out.println("Theta: "+theta+" Hoelder: "+allparameters.toString()+" Bound: "+backlogprob);
-				}
-				
-				result = backlogprob;
-				
-				break;
-				
-			case DELAY:
-				//Computes initial value
-                int delay = (int)Math.round(Math.ceil(bound));
-				double delayprob;
-				double new_delayprob;
-				try{
-					delayprob = input.evaluate(theta, delay, 0);
-				}
-				catch(ServerOverloadException e){
-					delayprob = Double.POSITIVE_INFINITY;
-				}
-					
-				while(improved){
-					improved = false;
-					change = SimpleGradient.Change.NOTHING;
-					// Check if decreasing theta leads to a better result
-					if(theta > thetagranularity){
-						theta = theta - thetagranularity;
-						try{
-                                                    new_delayprob = input.evaluate(theta, delay, 0);
-						}
-						catch(ServerOverloadException e){
-							new_delayprob = Double.POSITIVE_INFINITY;
-						}
-						if(delayprob > new_delayprob){
-							delayprob = new_delayprob;
-							change = SimpleGradient.Change.THETA_DEC;
-						}
-						theta = theta + thetagranularity;
-					}
-					
-					// Check if increasing theta leads to a better result
-					if(theta < max_theta - thetagranularity){
-						theta = theta + thetagranularity;
-						try{
-							new_delayprob = input.evaluate(theta, delay, 0);
-						}
-						catch(ServerOverloadException e){
-							new_delayprob = Double.POSITIVE_INFINITY;
-						}
-						if(delayprob > new_delayprob){
-							delayprob = new_delayprob;
-							change = SimpleGradient.Change.THETA_INC;
-						}
-						theta = theta - thetagranularity;
-					}
-					
-					// Check each neighbor by decreasing the P-Value of Hoelder parameters
-					for(Map.Entry<Integer, Hoelder> entry : allparameters.entrySet()){
-						double old_p_value = entry.getValue().getPValue();
-						if(entry.getValue().getPValue() < 2){
-							entry.getValue().setPValue(-hoeldergranularity + entry.getValue().getPValue());
-						}
-						else{
-							entry.getValue().setQValue(hoeldergranularity + entry.getValue().getQValue());
-						}
-						try{
-							new_delayprob = input.evaluate(theta, delay, 0);
-						}
-						catch(ServerOverloadException e){
-							new_delayprob = Double.POSITIVE_INFINITY;
-						}
-						catch(ThetaOutOfBoundException e){
-							new_delayprob = Double.POSITIVE_INFINITY;
-						}
-						if(delayprob > new_delayprob){
-							delayprob = new_delayprob;
-							changed_hoelder = entry.getKey();
-							change = SimpleGradient.Change.HOELDER_P;
-						}
-						entry.getValue().setPValue(old_p_value);
-					}
-					
-					// Check each neighbor by decreasing the Q-Value of Hoelder parameters
-					for(Map.Entry<Integer, Hoelder> entry : allparameters.entrySet()){
-						double old_q_value = entry.getValue().getQValue();
-						if(entry.getValue().getPValue() < 2){
-							entry.getValue().setPValue(hoeldergranularity + entry.getValue().getPValue());
-						}
-						else{
-							entry.getValue().setQValue(-hoeldergranularity + entry.getValue().getQValue());
-						}
-						try{
-							new_delayprob = input.evaluate(theta, delay, 0);
-						}
-						catch(ServerOverloadException e){
-							new_delayprob = Double.POSITIVE_INFINITY;
-						}
-						catch(ThetaOutOfBoundException e){
-							new_delayprob = Double.POSITIVE_INFINITY;
-						}
-						if(delayprob > new_delayprob){
-							delayprob = new_delayprob;
-							changed_hoelder = entry.getKey();
-							change = SimpleGradient.Change.HOELDER_Q;
-						}
-						entry.getValue().setQValue(old_q_value);
-					}
-					
-					switch(change){
-					case THETA_INC:
-						theta = theta + thetagranularity;
-						improved = true;
-						break;
-					case THETA_DEC:
-						theta = theta - thetagranularity;
-						improved = true;
-						break;
-					case HOELDER_P:
-						allparameters.get(changed_hoelder).setPValue(allparameters.get(changed_hoelder).getPValue() + hoeldergranularity);
-						improved = true;
-						break;
-					case HOELDER_Q:
-						allparameters.get(changed_hoelder).setQValue(allparameters.get(changed_hoelder).getQValue() + hoeldergranularity);
-						improved = true;
-						break;
-					case NOTHING:
-						improved = false;
-						break;
-					default:
-						improved = false;
-						break;
-					}
-					// System.out.println("Theta: "+theta+" Hoelder: "+allparameters.toString()+" Bound: "+delayprob);
-				}
-				result = delayprob;
-				break;
-				
-			case OUTPUT:
-				//In case of an output-bound no result is needed
-				result = Double.NaN;
-				break;
-				
-			default:
-				result = 0;
-				break;
-		}
-		return result;
+		return new SimpleGradient(BoundFactory.createBound(input, boundtype, bound), boundtype, replay)
+				.minimize(thetagranularity, hoeldergranularity);
 	}
 
+    /**
+     * Repeats the search of {@link #minimize(double, double)} for the
+     * given arrival, starting where the last search started, such that
+     * both computations agree.
+     */
 	@Override
 	public double ReverseBound(Arrival input, BoundType boundtype, double violation_probability, double thetagranularity, double hoeldergranularity) throws ThetaOutOfBoundException, ParameterMismatchException, ServerOverloadException {
-		double result;
-		
-		// Initializes the list of Hoelder-Parameters...
-		HashMap<Integer, Hoelder> allparameters = new HashMap<Integer, Hoelder>(0);
-		allparameters.putAll(input.getSigma().getParameters());
-		allparameters.putAll(input.getRho().getParameters());
-			
-		// If needed, the parameter, which represents the backlog, must be separated from the other Hoelder parameters
-		if(boundtype == BoundType.BACKLOG){
-			allparameters.get(allparameters.size()).setPValue(0);
-			allparameters.remove(allparameters.size());
-		}
-		System.out.println("allparameters:"+ allparameters.toString());
-		for(Map.Entry<Integer, Hoelder> entry : allparameters.entrySet()){
-			entry.getValue().setPValue(2);
-		}
-		
-		// Initializes theta
-		double max_theta = input.getThetastar();
-		double sigmapart;
-		double rhopart;
-		double theta = thetagranularity;
-		int changed_hoelder = Integer.MAX_VALUE;
-		boolean improved = true;
-		
-		Change change = SimpleGradient.Change.NOTHING;
-		
-		switch(boundtype){
-			case BACKLOG:
-				// Computes initial value
-				double backlogvalue;
-				double new_backlog;
-				try{
-					sigmapart = 1/theta*Math.log(input.evaluate(theta, 0, 0));
-					backlogvalue = -Math.log(violation_probability)/theta + sigmapart;
-				}
-				catch(ServerOverloadException e){
-					backlogvalue = Double.POSITIVE_INFINITY;
-				}
-				while(improved){
-					improved = false;
-					change = SimpleGradient.Change.NOTHING;
-					// Check if decreasing theta leads to a better result
-					if(theta > thetagranularity){
-						
-						theta = theta - thetagranularity;
-						try{
-							sigmapart = 1/theta*Math.log(input.evaluate(theta, 0, 0));
-							new_backlog = -Math.log(violation_probability)/theta + sigmapart;
-						}
-						catch(ServerOverloadException e){
-							new_backlog = Double.POSITIVE_INFINITY;
-						}
-						catch(ThetaOutOfBoundException e){
-							new_backlog = Double.POSITIVE_INFINITY;
-						}
-						if(backlogvalue > new_backlog){
-							backlogvalue = new_backlog;
-							change = SimpleGradient.Change.THETA_DEC;
-						}
-						
-						theta = theta + thetagranularity;
-					}
-					
-					// Check if increasing theta leads to a better result
-					if(theta < max_theta - thetagranularity){
-						theta = theta + thetagranularity;
-						try{
-							sigmapart = 1/theta*Math.log(input.evaluate(theta, 0, 0));
-							new_backlog = -Math.log(violation_probability)/theta + sigmapart;
-						}
-						catch(ServerOverloadException e){
-							new_backlog = Double.POSITIVE_INFINITY;
-						}
-						catch(ThetaOutOfBoundException e){
-							new_backlog = Double.POSITIVE_INFINITY;
-						}
-						if(backlogvalue > new_backlog){
-							backlogvalue = new_backlog;
-							change = SimpleGradient.Change.THETA_INC;
-						}
-						
-						theta = theta - thetagranularity;
-					}
-					
-					// Check each neighbors resulting from decreasing the P-Value of Hoelder parameters
-					for(Map.Entry<Integer, Hoelder> entry : allparameters.entrySet()){
-						double old_p_value = entry.getValue().getPValue();
-						if(entry.getValue().getPValue() < 2){
-							entry.getValue().setPValue(-hoeldergranularity + entry.getValue().getPValue());
-						}
-						else{
-							entry.getValue().setQValue(hoeldergranularity + entry.getValue().getQValue());
-						}
-						try{
-							sigmapart = 1/theta*Math.log(input.evaluate(theta, 0, 0));
-							new_backlog = -Math.log(violation_probability)/theta + sigmapart;
-						}
-						catch(ServerOverloadException e){
-							new_backlog = Double.POSITIVE_INFINITY;
-						}
-						catch(ThetaOutOfBoundException e){
-							new_backlog = Double.POSITIVE_INFINITY;
-						}
-						if(backlogvalue > new_backlog){
-							backlogvalue = new_backlog; 
-							changed_hoelder = entry.getKey();
-							change = SimpleGradient.Change.HOELDER_P;
-						}
-						
-						entry.getValue().setPValue(old_p_value);
-					}
-					
-					// Check each neighbor by decreasing the Q-Value of Hoelder parameters
-					for(Map.Entry<Integer, Hoelder> entry : allparameters.entrySet()){
-						double old_q_value = entry.getValue().getQValue();
-						if(entry.getValue().getPValue() < 2){
-							entry.getValue().setPValue(hoeldergranularity + entry.getValue().getPValue());
-						}
-						else{
-							entry.getValue().setQValue(-hoeldergranularity + entry.getValue().getQValue());
-						}
-						entry.getValue().setQValue(-hoeldergranularity + entry.getValue().getQValue());
-						try{
-							sigmapart = 1/theta*Math.log(input.evaluate(theta, 0, 0));
-							new_backlog = -Math.log(violation_probability)/theta + sigmapart;
-						}
-						catch(ServerOverloadException e){
-							new_backlog = Double.POSITIVE_INFINITY;
-						}
-						catch(ThetaOutOfBoundException e){
-							new_backlog = Double.POSITIVE_INFINITY;
-						}
-						if(backlogvalue > new_backlog){
-							backlogvalue = new_backlog; 
-							changed_hoelder = entry.getKey();
-							change = SimpleGradient.Change.HOELDER_Q;
-						}
-						
-						entry.getValue().setQValue(old_q_value);
-					}
-					
-					switch(change){
-					case THETA_INC:
-						theta = theta + thetagranularity;
-						improved = true;
-						break;
-					case THETA_DEC:
-						theta = theta - thetagranularity;
-						improved = true;
-						break;
-					case HOELDER_P:
-						allparameters.get(changed_hoelder).setPValue(allparameters.get(changed_hoelder).getPValue() - hoeldergranularity);
-						improved = true;
-						break;
-					case HOELDER_Q:
-						allparameters.get(changed_hoelder).setQValue(allparameters.get(changed_hoelder).getQValue() - hoeldergranularity);
-						improved = true;
-						break;
-					case NOTHING:
-						improved = false;
-						break;
-					default:
-						improved = false;
-						break;
-					}
-					System.out.println("Theta: "+theta+" Hoelder: "+allparameters.toString()+" Bound: "+backlogvalue);
-				}
-				result = backlogvalue;
-				break;
-				
-			case DELAY:
-				// Computes initial value
-				double delayvalue;
-				double new_delay;
-				try{
-					sigmapart = input.getSigma().getValue(theta, input.getSigma().getParameters());
-					rhopart = input.getRho().getValue(theta, input.getRho().getParameters());
-					delayvalue = -1/rhopart*(-Math.log(violation_probability)/theta + sigmapart);
-				}
-				catch(ServerOverloadException e){
-					delayvalue = Double.POSITIVE_INFINITY;
-				}
-					
-				while(improved){
-					improved = false;
-					change = SimpleGradient.Change.NOTHING;
-					// Check if decreasing theta leads to a better result
-					if(theta > thetagranularity){
-						theta = theta - thetagranularity;
-						try{
-							sigmapart = input.getSigma().getValue(theta, input.getSigma().getParameters());
-							rhopart = input.getRho().getValue(theta, input.getRho().getParameters());
-							new_delay = -1/rhopart*(-Math.log(violation_probability)/theta + sigmapart);
-						}
-						catch(ServerOverloadException e){
-							new_delay = Double.POSITIVE_INFINITY;
-						}
-						if(delayvalue > new_delay){
-							delayvalue = new_delay;
-							change = SimpleGradient.Change.THETA_DEC;
-						}
-						theta = theta + thetagranularity;
-					}
-					
-					// Check if increasing theta leads to a better result
-					if(theta < max_theta - thetagranularity){
-						theta = theta + thetagranularity;
-						try{
-							sigmapart = input.getSigma().getValue(theta, input.getSigma().getParameters());
-							rhopart = input.getRho().getValue(theta, input.getRho().getParameters());
-							new_delay = -1/rhopart*(-Math.log(violation_probability)/theta + sigmapart);
-						}
-						catch(ServerOverloadException e){
-							new_delay = Double.POSITIVE_INFINITY;
-						}
-						if(delayvalue > new_delay){
-							delayvalue = new_delay;
-							change = SimpleGradient.Change.THETA_INC;
-						}
-						theta = theta - thetagranularity;
-					}
-					
-					// Check each neighbor by decreasing the P-Value of Hoelder parameters
-					for(Map.Entry<Integer, Hoelder> entry : allparameters.entrySet()){
-						double old_p_value = entry.getValue().getPValue();
-						if(entry.getValue().getPValue() < 2){
-							entry.getValue().setPValue(-hoeldergranularity + entry.getValue().getPValue());
-						}
-						else{
-							entry.getValue().setQValue(hoeldergranularity + entry.getValue().getQValue());
-						}
-						try{
-							sigmapart = input.getSigma().getValue(theta, input.getSigma().getParameters());
-							rhopart = input.getRho().getValue(theta, input.getRho().getParameters());
-							new_delay = -1/rhopart*(-Math.log(violation_probability)/theta + sigmapart);
-						}
-						catch(ServerOverloadException e){
-							new_delay = Double.POSITIVE_INFINITY;
-						}
-						catch(ThetaOutOfBoundException e){
-							new_delay = Double.POSITIVE_INFINITY;
-						}
-						if(delayvalue > new_delay){
-							delayvalue = new_delay;
-							changed_hoelder = entry.getKey();
-							change = SimpleGradient.Change.HOELDER_P;
-						}
-						entry.getValue().setPValue(old_p_value);
-					}
-					
-					// Check each neighbor by decreasing the Q-Value of Hoelder parameters
-					for(Map.Entry<Integer, Hoelder> entry : allparameters.entrySet()){
-						double old_q_value = entry.getValue().getQValue();
-						if(entry.getValue().getPValue() < 2){
-							entry.getValue().setPValue(hoeldergranularity + entry.getValue().getPValue());
-						}
-						else{
-							entry.getValue().setQValue(-hoeldergranularity + entry.getValue().getQValue());
-						}
-						try{
-							sigmapart = input.getSigma().getValue(theta, input.getSigma().getParameters());
-							rhopart = input.getRho().getValue(theta, input.getRho().getParameters());
-							new_delay = -1/rhopart*(-Math.log(violation_probability)/theta + sigmapart);
-						}
-						catch(ServerOverloadException e){
-							new_delay = Double.POSITIVE_INFINITY;
-						}
-						catch(ThetaOutOfBoundException e){
-							new_delay = Double.POSITIVE_INFINITY;
-						}
-						if(delayvalue > new_delay){
-							delayvalue = new_delay;
-							changed_hoelder = entry.getKey();
-							change = SimpleGradient.Change.HOELDER_Q;
-						}
-						entry.getValue().setQValue(old_q_value);
-					}
-					
-					switch(change){
-					case THETA_INC:
-						theta = theta + thetagranularity;
-						improved = true;
-						break;
-					case THETA_DEC:
-						theta = theta - thetagranularity;
-						improved = true;
-						break;
-					case HOELDER_P:
-						allparameters.get(changed_hoelder).setPValue(allparameters.get(changed_hoelder).getPValue() + hoeldergranularity);
-						improved = true;
-						break;
-					case HOELDER_Q:
-						allparameters.get(changed_hoelder).setQValue(allparameters.get(changed_hoelder).getQValue() + hoeldergranularity);
-						improved = true;
-						break;
-					case NOTHING:
-						improved = false;
-						break;
-					default:
-						improved = false;
-						break;
-					}
-					System.out.println("Theta: "+theta+" Hoelder: "+allparameters.toString()+" Bound: "+delayvalue);
-				}
-				result = delayvalue;
-				break;
-				
-			case OUTPUT:
-				// In case of an output-bound no result is needed
-				result = Double.NaN;
-				break;
-				
-			default:
-				result = 0;
-				break;
-		}
-		return result;
+		BoundType inverse = (boundtype == BoundType.BACKLOG) ? BoundType.INVERSE_BACKLOG : BoundType.INVERSE_DELAY;
+		return new SimpleGradient(BoundFactory.createBound(input, inverse, violation_probability), boundtype, replay)
+				.minimize(thetagranularity, hoeldergranularity);
 	}
 }
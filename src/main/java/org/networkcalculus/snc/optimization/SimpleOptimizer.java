@@ -9,7 +9,7 @@
  * express or implied warranty, including but not limited to the correctness
  * of the code or its suitability for any particular purpose.
  *
- * This software is provided under the MIT License, however, we would 
+ * This software is provided under the MIT License, however, we would
  * appreciate it if you contacted the respective authors prior to commercial use.
  *
  * If you find our software useful, we would appreciate if you mentioned it
@@ -19,12 +19,9 @@
 
 package org.networkcalculus.snc.optimization;
 
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.Map;
-
 import org.networkcalculus.snc.analysis.BoundType;
 import org.networkcalculus.snc.symbolic_math.Arrival;
+import org.networkcalculus.snc.symbolic_math.EvaluationStatus;
 import org.networkcalculus.snc.symbolic_math.Hoelder;
 import org.networkcalculus.snc.symbolic_math.ParameterMismatchException;
 import org.networkcalculus.snc.symbolic_math.ServerOverloadException;
@@ -35,9 +32,11 @@ import org.networkcalculus.snc.symbolic_math.ThetaOutOfBoundException;
  * all possible values for every involved Hoelder coefficient
  * and theta. During runtime the current best found bound is
  * given out, as well as information about the progress. To
- * test all possible values for an arbitrary number of 
- * parameters the helper class {@link IncrementList} is used,
- * which extends {@link ArrayList}.
+ * test all combinations of values for an arbitrary number of 
+ * parameters the helper class {@link HoelderGrid} is used,
+ * which skips the combinations without any theta to test.
+ * If the bound has no maximal theta, the thetas of each
+ * combination are limited by a {@link ThetaBracket}.
  * 
  * @author Michael Beck
  * @author Sebastian Henningsen
@@ -56,562 +55,100 @@ public class SimpleOptimizer extends AbstractOptimizer {
 	
     @Override
     public double minimize(double thetagranularity, double hoeldergranularity) throws ThetaOutOfBoundException, ParameterMismatchException, ServerOverloadException {
-    	if(bound.getMaximumTheta() == Double.POSITIVE_INFINITY){
-    		throw new ThetaOutOfBoundException("DEADLOCK: There is no maximal theta given for this optimization (check arrival models). Try Gradient Heuristic.");
-	    } else {
-		    	bound.prepare();
-		        // Initializes the list of Hoelder-Parameters
-		        Map<Integer, Hoelder> allparameters = bound.getHoelderParameters();
-		        IncrementList hoelderlist = new IncrementList(hoeldergranularity);
-		        for(Map.Entry<Integer, Hoelder> entry : allparameters.entrySet()){
-		            hoelderlist.add(entry.getValue());
-		        }
-	        
-		        for(int i=0; i < hoelderlist.size(); i++){
-		            hoelderlist.get(i).setPValue(2);
-		        }
-	        
-	        // Initializes further values
-	        maxTheta = bound.getMaximumTheta();
-	        System.out.println("Max Theta: " + maxTheta);
-	        double theta = thetagranularity;
-	
-	        boolean breakCondition = false;
-	        
-	        // Computes initial value
-	        double optValue;
-	        try {
-	            optValue = bound.evaluate(theta);
-	        } catch(ServerOverloadException e) {
-	            optValue = Double.POSITIVE_INFINITY;
-	        }
-	
-	        while(theta < maxTheta) {
-	            try {
-	                optValue = Math.min(bound.evaluate(theta), optValue);
-	                theta += thetagranularity;
-	            } catch(ServerOverloadException e) {
-	                theta += thetagranularity;
-	            }
-	        }
-	
-	        // Resets
-	        theta = thetagranularity;
-	        breakCondition = false;
-	
-	        // Tests Hoelder coefficients in one direction
-	
-	        while(!breakCondition) {
-	            breakCondition = !hoelderlist.PDecrement();
-	            maxTheta = bound.getMaximumTheta();			
-	
-	            while(theta < maxTheta) {
-	                try {
-	                    optValue = Math.min(optValue, bound.evaluate(theta));
-	                    theta = theta+thetagranularity;
-	                } catch(ServerOverloadException | ThetaOutOfBoundException e) {
-	                    theta = theta+thetagranularity;
-	                }
-	            }
-	            theta = thetagranularity;
-	        }
-	
-	        // Resets
-	        breakCondition = false;
-	
-	        // Tests Hoelder coefficients in other direction
-	
-	        while(!breakCondition) {
-	            breakCondition = !hoelderlist.QDecrement();
-	            maxTheta = bound.getMaximumTheta();
-	
-	            while(theta < maxTheta) {
-	                try {
-	                	optValue = Math.min(optValue, bound.evaluate(theta));
-	                    theta = theta+thetagranularity;
-	                } catch(ServerOverloadException | ThetaOutOfBoundException e) {
-	                    theta = theta+thetagranularity;
-	                }
-	            }
-	            theta = thetagranularity;
-	        }
-	        return optValue;
-    	}
+    	bound.prepare();
+        // Initializes the grid of Hoelder-Parameters
+        HoelderGrid grid = new HoelderGrid(bound, thetagranularity, hoeldergranularity);
+        for(Hoelder hoelder : grid.getHoelders()){
+            hoelder.setPValue(2);
+        }
+
+        // Initializes further values, the maximal theta is only known
+        // once the Hoelder-coefficients are set
+        maxTheta = getThetaLimit(thetagranularity);
+        System.out.println("Max Theta: " + maxTheta);
+        double theta = thetagranularity;
+
+        // Computes initial value
+        double[] optValue = new double[1];
+        optValue[0] = evaluateUnchecked(theta);
+        if(!EvaluationStatus.isFeasible(optValue[0])) {
+            optValue[0] = Double.POSITIVE_INFINITY;
+        } else {
+            recordOptimum(theta);
+        }
+
+        // Tests all combinations of Hoelder coefficients
+        long pruned = grid.walk(0, grid.size(), configuration -> {
+            if(isCancelled()) {
+                return false;
+            }
+            maxTheta = getThetaLimit(thetagranularity);
+            optValue[0] = sweep(thetagranularity, optValue[0]);
+            reportProgress((configuration + 1) / (double) grid.size());
+            return true;
+        });
+        System.out.println("Configurations: " + grid.size() + " Pruned: " + pruned + " Bound: " + optValue[0]);
+        return optValue[0];
+    }
+
+    /**
+     * Evaluates the bound at theta = thetagranularity, 2*thetagranularity, ...
+     * below <code>maxTheta</code> for the current Hoelder coefficients in one
+     * batch. Thetas at which the bound is infeasible are skipped. An
+     * improvement is recorded as optimum.
+     * 
+     * @param thetagranularity
+     * @param optValue the best value found so far
+     * 
+     * @return the minimum of <code>optValue</code> and the values on the grid
+     * 
+     * @throws ParameterMismatchException
+     */
+    private double sweep(double thetagranularity, double optValue) throws ParameterMismatchException {
+        int size = 0;
+        for(double theta = thetagranularity; theta < maxTheta; theta += thetagranularity) {
+            size++;
+        }
+        double[] thetas = new double[size];
+        double theta = thetagranularity;
+        for(int i = 0; i < size; i++) {
+            thetas[i] = theta;
+            theta += thetagranularity;
+        }
+
+        double[] values = new double[size];
+        evaluate(thetas, values);
+        int optIndex = -1;
+        for(int i = 0; i < size; i++) {
+            if(values[i] < optValue) {
+                optValue = values[i];
+                optIndex = i;
+            }
+        }
+        if(optIndex >= 0) {
+            recordOptimum(thetas[optIndex]);
+        }
+        return optValue;
     }
-        
+
+    /**
+     * Repeats the optimization of {@link #minimize(double, double)} for the
+     * given arrival, such that both computations agree.
+     */
 	@Override
 	public double ReverseBound(Arrival input, BoundType boundtype, double violation_probability, double thetagranularity, double hoeldergranularity) throws ThetaOutOfBoundException, ParameterMismatchException, ServerOverloadException {
-		double result;
-		
-		// Initializes the IncrementList of Hoelder-Parameters...
-		HashMap<Integer, Hoelder> allparameters = new HashMap<Integer, Hoelder>(0);
-		allparameters.putAll(input.getSigma().getParameters());
-		allparameters.putAll(input.getRho().getParameters());
-		
-		// If needed, the parameter, which represents the backlog, must be separated from the other Hoelder parameters
-		if(boundtype == BoundType.BACKLOG){
-			allparameters.get(allparameters.size()).setPValue(0);
-			allparameters.remove(allparameters.size());
-		}
-		
-		IncrementList hoelderlist = new IncrementList(hoeldergranularity);
-		for(Map.Entry<Integer, Hoelder> entry : allparameters.entrySet()){
-			hoelderlist.add(entry.getValue());
-		}
-		
-		for(int i=0; i < hoelderlist.size(); i++){
-			hoelderlist.get(i).setPValue(2);
-		}
-		
-		// Initializes further values
-		double max_theta = input.getThetastar();
-		double sigmapart;
-		double theta = thetagranularity;
-		
-		boolean break_condition = false;
-		
-		switch(boundtype){
-			case BACKLOG:
-				// Computes initial value
-				double backlogvalue;
-				try{
-					sigmapart = 1/theta*Math.log(input.evaluate(theta, 0, 0));
-					backlogvalue = -Math.log(violation_probability)/theta + sigmapart;
-				}
-				catch(ServerOverloadException e){
-					backlogvalue = Double.MAX_VALUE;
-				}
-				
-				while(theta < max_theta){
-					try{
-						sigmapart = 1/theta*Math.log(input.evaluate(theta, 0, 0));
-						backlogvalue = Math.min(backlogvalue, -Math.log(violation_probability)/theta + sigmapart);
-						theta = theta+thetagranularity;
-					}
-					catch(ServerOverloadException e){
-						theta = theta+thetagranularity;
-					}
-				}
-				
-				// Resets
-				theta = thetagranularity;
-				break_condition = false;
-				
-				// Tests Hoelder coefficients in one direction
-				
-				while(!break_condition){
-					break_condition = !hoelderlist.PDecrement();
-					max_theta = input.getThetastar();			
-					
-					while(theta < max_theta){
-						try{
-							sigmapart = 1/theta*Math.log(input.evaluate(theta, 0, 0));
-							backlogvalue = Math.min(backlogvalue, -Math.log(violation_probability)/theta + sigmapart);
-							theta = theta+thetagranularity;
-						}
-						catch(ServerOverloadException e){
-							theta = theta+thetagranularity;
-						}
-						catch(ThetaOutOfBoundException e){
-							theta = theta+thetagranularity;
-						}
-					}
-					theta = thetagranularity;
-				}
-				
-				// Resets
-				break_condition = false;
-				
-				// Tests Hoelder coefficients in other direction
-				
-				while(!break_condition){
-					break_condition = !hoelderlist.QDecrement();
-					max_theta = input.getThetastar();
-					
-					while(theta < max_theta){
-						try{
-							sigmapart = 1/theta*Math.log(input.evaluate(theta, 0, 0));
-							backlogvalue = Math.min(backlogvalue, -Math.log(violation_probability)/theta + sigmapart);
-							theta = theta+thetagranularity;
-						}
-						catch(ServerOverloadException e){
-							theta = theta+thetagranularity;
-						}
-						catch(ThetaOutOfBoundException e){
-							theta = theta+thetagranularity;
-						}
-					}
-					theta = thetagranularity;
-				}
-				result = backlogvalue;
-				break;
-				
-			case DELAY:
-				// Computes initial value
-				double delayvalue;
-				double rhopart;
-				try{
-					sigmapart = input.getSigma().getValue(theta, input.getSigma().getParameters());
-					rhopart = input.getRho().getValue(theta, input.getRho().getParameters());
-					delayvalue = -1/rhopart*(-Math.log(violation_probability)/theta + sigmapart);
-				}
-				catch(ServerOverloadException e){
-					delayvalue = Double.MAX_VALUE;
-				}
-				
-				while(theta < max_theta){
-					double newvalue;
-					try{
-						sigmapart = input.getSigma().getValue(theta, input.getSigma().getParameters());
-						rhopart = input.getRho().getValue(theta, input.getRho().getParameters());
-						newvalue = -1/rhopart*(-Math.log(violation_probability)/theta + sigmapart);
-						delayvalue = Math.min(delayvalue, newvalue);
-						theta = theta+thetagranularity;
-					}
-					catch(ServerOverloadException e){
-						theta = theta+thetagranularity;
-					}
-				}
-				
-				// Resets
-				theta = thetagranularity;
-				break_condition = false;
-				
-				// Tests Hoelder coefficients in one direction
-				while(!break_condition){
-					break_condition = !hoelderlist.PDecrement();
-					max_theta = input.getThetastar();
-					while(theta < max_theta){
-						double newvalue;
-						try{
-							sigmapart = input.getSigma().getValue(theta, input.getSigma().getParameters());
-							rhopart = input.getRho().getValue(theta, input.getRho().getParameters());
-							newvalue = -1/rhopart*(-Math.log(violation_probability)/theta + sigmapart);
-							delayvalue = Math.min(delayvalue, newvalue);
-							theta = theta+thetagranularity;
-						}
-						catch(ServerOverloadException e){
-							theta = theta+thetagranularity;
-						}
-						catch(ThetaOutOfBoundException e){
-							theta = theta+thetagranularity;
-						}
-					}
-					theta = thetagranularity;
-				}
-				
-				// Resets
-				break_condition = false;
-				
-				// Tests Hoelder coefficients in other direction
-				while(!break_condition){
-					break_condition = !hoelderlist.QDecrement();
-					max_theta = input.getThetastar();
-					while(theta < max_theta){
-						double newvalue;
-						try{
-							sigmapart = input.getSigma().getValue(theta, input.getSigma().getParameters());
-							rhopart = input.getRho().getValue(theta, input.getRho().getParameters());
-							newvalue = -1/rhopart*(-Math.log(violation_probability)/theta + sigmapart);
-							delayvalue = Math.min(delayvalue, newvalue);
-							theta = theta+thetagranularity;
-						}
-						catch(ServerOverloadException e){
-							theta = theta+thetagranularity;
-						}
-						catch(ThetaOutOfBoundException e){
-							theta = theta+thetagranularity;
-						}
-					}
-					theta = thetagranularity;
-				}
-				result = delayvalue;
-				break;
-				
-			case OUTPUT:
-				// In case of an output-bound no result is needed
-				result = Double.NaN;
-				break;
-				
-			default:
-				result = 0;
-				break;
-		}
-		return result;
+		BoundType inverse = (boundtype == BoundType.BACKLOG) ? BoundType.INVERSE_BACKLOG : BoundType.INVERSE_DELAY;
+		return new SimpleOptimizer(BoundFactory.createBound(input, inverse, violation_probability), boundtype)
+				.minimize(thetagranularity, hoeldergranularity);
 	}
-	
+
+    /**
+     * Repeats the optimization of {@link #minimize(double, double)} for the
+     * given arrival, such that both computations agree.
+     */
 	@Override
 	public double Bound(Arrival input, BoundType boundtype, double bound, double thetagranularity, double hoeldergranularity) throws ThetaOutOfBoundException, ParameterMismatchException, ServerOverloadException {
-		double result;
-		
-		// Initializes the IncrementList of Hoelder-Parameters...
-		double thetastar = thetagranularity;
-		HashMap<Integer, Hoelder> allparameters = new HashMap<Integer, Hoelder>(0);
-		allparameters.putAll(input.getSigma().getParameters());
-		allparameters.putAll(input.getRho().getParameters());
-		
-		// If needed, the parameter, which represents the backlog, must be separated from the other Hoelder parameters
-		if(boundtype == BoundType.BACKLOG){
-			allparameters.get(allparameters.size()).setPValue(bound);
-			allparameters.remove(allparameters.size());
-		}
-		
-		IncrementList hoelderlist = new IncrementList(hoeldergranularity);
-		for(Map.Entry<Integer, Hoelder> entry : allparameters.entrySet()){
-			hoelderlist.add(entry.getValue());
-		}
-		
-		for(int i=0; i < hoelderlist.size(); i++){
-			hoelderlist.get(i).setPValue(2);
-		}
-		
-		// Initializes further values
-		double max_theta = input.getThetastar();
-		
-		System.out.println("max-theta: "+max_theta);
-		
-		boolean break_condition = false;
-		
-		switch(boundtype){
-			case BACKLOG:
-				// Computes initial value
-				double backlogvalue;
-				try{
-					backlogvalue = input.evaluate(thetastar, 0, 0);
-				}
-				catch(ServerOverloadException e){
-					backlogvalue = Double.MAX_VALUE;
-				}
-				
-				while(thetastar < max_theta){
-					try{
-						double newvalue = input.evaluate(thetastar, 0, 0);
-						
-						if(newvalue < backlogvalue) System.out.println(" theta: "+thetastar+" max-theta: "+ max_theta +" bound: "+newvalue);
-						
-						backlogvalue = Math.min(backlogvalue, newvalue);
-						thetastar = thetastar+thetagranularity;
-					}
-					catch(ServerOverloadException e){
-						thetastar = thetastar+thetagranularity;
-					}
-				}
-				
-				// Resets
-				thetastar = thetagranularity;
-				break_condition = false;
-				
-				// Tests Hoelder coefficients in one direction
-				
-				while(!break_condition){
-					break_condition = !hoelderlist.PDecrement();
-					max_theta = input.getThetastar();			
-					
-					while(thetastar < max_theta){
-						try{
-							double newvalue = input.evaluate(thetastar, 0, 0);
-
-							
-							if(newvalue < backlogvalue) System.out.println("Hoelder: "+hoelderlist.toString()+" theta: "+thetastar+" max-theta: "+ max_theta +" bound: "+newvalue);
-							
-							
-							backlogvalue = Math.min(backlogvalue, newvalue);
-							thetastar = thetastar+thetagranularity;
-						}
-						catch(ServerOverloadException e){
-							thetastar = thetastar+thetagranularity;
-						}
-					}
-					
-					thetastar = thetagranularity;
-					
-				}
-				
-				// Resets
-				break_condition = false;
-				
-				// Tests Hoelder coefficients in other direction
-				
-				while(!break_condition){
-					break_condition = !hoelderlist.QDecrement();
-					max_theta = input.getThetastar();
-					
-					while(thetastar < max_theta){
-						try{
-							double newvalue = input.evaluate(thetastar, 0, 0);
-							
-							
-							if(newvalue < backlogvalue) System.out.println("Hoelder: "+hoelderlist.toString()+" theta: "+thetastar+" max-theta: "+ max_theta +" bound: "+newvalue);
-							
-							
-							backlogvalue = Math.min(backlogvalue, newvalue);
-							thetastar = thetastar+thetagranularity;
-						}
-						catch(ServerOverloadException e){
-							thetastar = thetastar+thetagranularity;
-						}
-					}
-					
-					thetastar = thetagranularity;
-					
-				}
-				
-				result = backlogvalue;
-				
-				break;
-				
-			case DELAY:
-				// Computes initial value
-				int delay = (int) Math.round(Math.ceil(bound));
-				double delayvalue;
-				try{
-					delayvalue = input.evaluate(thetastar, delay, 0);
-				}
-				catch(ServerOverloadException e){
-					delayvalue = Double.MAX_VALUE;
-				}
-				
-				while(thetastar < max_theta){
-					try{
-						double newvalue = input.evaluate(thetastar, delay, 0);
-						delayvalue = Math.min(delayvalue, newvalue);
-						thetastar = thetastar+thetagranularity;
-					}
-					catch(ServerOverloadException e){
-						thetastar = thetastar+thetagranularity;
-					}
-				}
-				
-				// Resets
-				thetastar = thetagranularity;
-				break_condition = false;
-				
-				// Tests Hoelder coefficients in one direction
-				
-				while(!break_condition){
-					break_condition = !hoelderlist.PDecrement();
-					max_theta = input.getThetastar();
-					while(thetastar < max_theta){
-						try{
-							double newvalue = input.evaluate(thetastar, delay, 0);
-							delayvalue = Math.min(delayvalue, newvalue);
-							thetastar = thetastar+thetagranularity;
-						}
-						catch(ServerOverloadException e){
-							thetastar = thetastar+thetagranularity;
-						}
-					}
-					
-					thetastar = thetagranularity;
-					
-				}
-				
-				// Resets
-				break_condition = false;
-				
-				// Tests Hoelder coefficients in other direction
-				
-				while(!break_condition){
-					break_condition = !hoelderlist.QDecrement();
-					max_theta = input.getThetastar();
-					while(thetastar < max_theta){
-						try{
-							double newvalue = input.evaluate(thetastar, delay, 0);
-							delayvalue = Math.min(delayvalue, newvalue);
-							thetastar = thetastar+thetagranularity;
-						}
-						catch(ServerOverloadException e){
-							thetastar = thetastar+thetagranularity;
-						}
-					}
-					
-					thetastar = thetagranularity;
-					
-				}
-				
-				result = delayvalue;
-				
-				break;
-			case OUTPUT:
-				//In case of an output-bound no result is needed
-				result = Double.NaN;
-				break;
-			default:
-				result = 0;
-				break;
-		}
-		return result;
-	}
-	
-	/**
-	 * A helper class, which gives a method to rotate through all
-	 * possible Hoelder configurations. The granularity should be 
-	 * equal to the step-size of testing Hoelder coefficients. The
-	 * two methods <code>PDecrement</code> and <code>QDecrement</code>
-	 * add one step-size to the first Hoelder coefficient in the 
-	 * array. If this would lead to a value smaller or equal to 1
-	 * instead the next Hoelder coefficient is decreased and the 
-	 * current coefficient is reset to 2, and so on.
-	 * If a decreasing of the last Hoelder coefficient would lead
-	 * to value smaller or equal to 1 instead all Hoelder 
-	 * coefficients are reset to 2. Further the methods return 
-	 * false to inform the calling procedure, that all coefficients
-	 * have been gone through.
-	 * 
-	 * @author Michael Beck
-	 */
-	private class IncrementList extends ArrayList<Hoelder>{
-		private static final long serialVersionUID = 1024843637504465612L;
-		
-		private double granularity;
-		
-		public IncrementList(double granularity){
-			super();
-			this.granularity = granularity;
-		}
-		
-		public boolean PDecrement(){
-			boolean stop_it = false;
-			for(int i = 0; i<this.size(); i++){
-				if(!stop_it && this.get(i).getPValue() - granularity > 1){
-					this.get(i).setPValue(this.get(i).getPValue()-granularity);
-					stop_it = true;
-				}
-				else if(!stop_it){
-					this.get(i).setPValue(2);
-				}
-			}
-			// If all Hoelder-coefficients are reset stop_it is false!
-			// In all other cases stop_it is true and a new Hoelder configuration was established.
-			return stop_it;
-		}
-		
-		public boolean QDecrement(){
-			boolean stop_it = false;
-			for(int i = 0; i<this.size(); i++){
-				if(!stop_it && this.get(i).getQValue() - granularity > 1){
-					this.get(i).setQValue(this.get(i).getQValue()-granularity);
-					stop_it = true;
-				}
-				else if(!stop_it){
-					this.get(i).setQValue(2);
-				}
-			}
-			// If all Hoelder-coefficients are reset stop_it is false!
-			// In all other cases stop_it is true and a new Hoelder configuration was established.
-			return stop_it;
-		}
-		
-		@Override
-		public String toString(){
-			String output = "[ " + this.get(0).toString();
-			if(this.size() > 1){
-				for(int i = 1; i<this.size();i++){
-					output = output + ", " + this.get(i).toString();
-				}
-			}
-			output = output + "]";
-			return output;
-		}
+		return new SimpleOptimizer(BoundFactory.createBound(input, boundtype, bound), boundtype)
+				.minimize(thetagranularity, hoeldergranularity);
 	}
 }
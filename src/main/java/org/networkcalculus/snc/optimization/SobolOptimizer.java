@@ -0,0 +1,322 @@
+/*
+ *  (c) 2017 Michael A. Beck, Sebastian Henningsen
+ *  		disco | Distributed Computer Systems Lab
+ *  		University of Kaiserslautern, Germany
+ *  All Rights Reserved.
+ *
+ * This software is work in progress and is released in the hope that it will
+ * be useful to the scientific community. It is provided "as is" without
+ * express or implied warranty, including but not limited to the correctness
+ * of the code or its suitability for any particular purpose.
+ *
+ * This software is provided under the MIT License, however, we would
+ * appreciate it if you contacted the respective authors prior to commercial use.
+ *
+ * If you find our software useful, we would appreciate if you mentioned it
+ * in any publication arising from the use of this software or acknowledge
+ * our work otherwise. We would also like to hear of any fixes or useful
+ */
+
+
+package org.networkcalculus.snc.optimization;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+import org.apache.commons.math3.exception.TooManyEvaluationsException;
+import org.apache.commons.math3.optim.InitialGuess;
+import org.apache.commons.math3.optim.MaxEval;
+import org.apache.commons.math3.optim.SimpleValueChecker;
+import org.apache.commons.math3.optim.nonlinear.scalar.GoalType;
+import org.apache.commons.math3.optim.nonlinear.scalar.ObjectiveFunction;
+import org.apache.commons.math3.optim.nonlinear.scalar.noderiv.NelderMeadSimplex;
+import org.apache.commons.math3.optim.nonlinear.scalar.noderiv.SimplexOptimizer;
+import org.networkcalculus.snc.analysis.BoundType;
+import org.networkcalculus.snc.symbolic_math.Arrival;
+import org.networkcalculus.snc.symbolic_math.EvaluationStatus;
+import org.networkcalculus.snc.symbolic_math.Hoelder;
+import org.networkcalculus.snc.symbolic_math.ParameterMismatchException;
+import org.networkcalculus.snc.symbolic_math.ServerOverloadException;
+import org.networkcalculus.snc.symbolic_math.ThetaOutOfBoundException;
+
+/**
+ * Samples theta and all Hoelder-coefficients at the points of a
+ * {@link SobolSequence} and polishes the best samples by local searches.
+ * The unit cube is mapped to <code>0 &lt; theta &lt; maxTheta</code> and
+ * <code>1 + hoeldergranularity &lt;= p &lt;= 1 + 1/hoeldergranularity</code>,
+ * where p is uniform on a logarithmic scale of <code>p - 1</code>, such
+ * that p and q are treated alike. The samples are drawn in batches, each
+ * batch is evaluated in parallel on copies of the bound (see
+ * {@link Optimizable#copy()}). The best {@link #POLISHED_SAMPLES} samples
+ * are then taken as starting points of a Nelder-Mead search in the
+ * coordinates of {@link BoundFunction}, and theta is polished by a line
+ * search at the end.
+ * The search is limited by an evaluation budget, of which
+ * {@link #SAMPLE_SHARE} is spent on sampling, and optionally by a time
+ * limit. Without a time limit the result is reproducible. The
+ * repetitions of {@link #Bound} and {@link #ReverseBound} run without
+ * the time limit, but stop after as many samples and local searches as
+ * the last {@link #minimize(double, double)}, such that they repeat it
+ * exactly.
+ * 
+ * @see OptimizationType#SOBOL_OPT
+ */
+public class SobolOptimizer extends AbstractOptimizer {
+    /**
+     * The default evaluation budget
+     */
+    public static final int DEFAULT_MAX_EVALUATIONS = 4096;
+
+    /**
+     * The share of the evaluation budget spent on sampling
+     */
+    public static final double SAMPLE_SHARE = 0.75;
+
+    /**
+     * The number of samples evaluated in parallel
+     */
+    private static final int BATCH_SIZE = 256;
+
+    /**
+     * The number of samples used as starting points of local searches
+     */
+    private static final int POLISHED_SAMPLES = 4;
+
+    /**
+     * The size of the initial simplex of a local search
+     */
+    private static final double POLISH_STEP = 0.5;
+
+    private final int maxEvaluations;
+    private final long timeLimit;
+    private final ForkJoinPool pool;
+    private final int sampleLimit;
+    private final int polishLimit;
+
+    private int samplesTaken = Integer.MAX_VALUE;
+    private int polishesTaken = Integer.MAX_VALUE;
+
+    /**
+     * Creates an optimizer with the default evaluation budget and without
+     * time limit, which runs on the common pool.
+     * 
+     * @param input
+     * @param boundtype
+     */
+    public SobolOptimizer(Optimizable input, BoundType boundtype) {
+        this(input, boundtype, DEFAULT_MAX_EVALUATIONS, 0, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates an optimizer.
+     * 
+     * @param input
+     * @param boundtype
+     * @param maxEvaluations the evaluation budget
+     * @param timeLimit the time limit in milliseconds, no limit if not positive
+     * @param pool the pool evaluating the samples
+     */
+    public SobolOptimizer(Optimizable input, BoundType boundtype, int maxEvaluations, long timeLimit, ForkJoinPool pool) {
+        this(input, boundtype, maxEvaluations, timeLimit, pool, Integer.MAX_VALUE, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Creates an optimizer, which takes at most the given numbers of
+     * samples and local searches, e.g. to repeat a search, which has been
+     * cut short by its time limit.
+     */
+    private SobolOptimizer(Optimizable input, BoundType boundtype, int maxEvaluations, long timeLimit, ForkJoinPool pool,
+            int sampleLimit, int polishLimit) {
+        super(input, boundtype);
+        this.maxEvaluations = maxEvaluations;
+        this.timeLimit = timeLimit;
+        this.pool = pool;
+        this.sampleLimit = sampleLimit;
+        this.polishLimit = polishLimit;
+    }
+
+    @Override
+    public double minimize(double thetagranularity, double hoeldergranularity) throws ThetaOutOfBoundException, ParameterMismatchException, ServerOverloadException {
+        long deadline = (timeLimit > 0) ? System.currentTimeMillis() + timeLimit : Long.MAX_VALUE;
+        startPhase("preparation");
+        bound.prepare();
+        for(Hoelder hoelder : bound.getHoelderParameters().values()) {
+            hoelder.setPValue(2);
+        }
+        double thetaLimit = getThetaLimit(thetagranularity);
+        BoundFunction function = new BoundFunction(bound, thetaLimit);
+        function.setMonitor(this::isCancelled);
+        int dimension = function.getDimension();
+        double range = Math.max(0, -Math.log(hoeldergranularity));
+        SobolSequence sequence = new SobolSequence(dimension);
+
+        // Samples in batches
+        startPhase("sampling");
+        int maxSamples = Math.min(sampleLimit, (dimension > 1) ? (int) (SAMPLE_SHARE*maxEvaluations) : maxEvaluations);
+        double[][] points = new double[maxSamples][];
+        double[] values = new double[maxSamples];
+        ThreadLocal<BoundFunction> workers = ThreadLocal.withInitial(() -> {
+            Optimizable copy = bound.copy();
+            copy.prepare();
+            return new BoundFunction(copy, thetaLimit);
+        });
+        int samples = 0;
+        long infeasibleSamples = 0;
+        double optValue = Double.POSITIVE_INFINITY;
+        while(samples < maxSamples && System.currentTimeMillis() < deadline && !isCancelled()) {
+            int from = samples;
+            int to = Math.min(samples + BATCH_SIZE, maxSamples);
+            for(int i = from; i < to; i++) {
+                points[i] = toCoordinates(sequence.next(), range);
+            }
+            evaluate(workers, points, values, from, to);
+            samples = to;
+
+            double batchValue = Double.POSITIVE_INFINITY;
+            for(int i = from; i < to; i++) {
+                if(!EvaluationStatus.isFeasible(values[i])) {
+                    values[i] = Double.POSITIVE_INFINITY;
+                    infeasibleSamples++;
+                } else if(values[i] < batchValue) {
+                    batchValue = values[i];
+                }
+            }
+            if(batchValue < optValue) {
+                optValue = batchValue;
+                System.out.println("Samples: " + samples + " Bound: " + optValue);
+            }
+            reportProgress(optValue, samples / (double) maxEvaluations, samples);
+        }
+
+        // Polishes the best samples
+        startPhase("polishing");
+        Integer[] order = new Integer[samples];
+        for(int i = 0; i < samples; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparingDouble(i -> values[i]));
+        int polishEvaluations = maxEvaluations - samples;
+        int polished = 0;
+        while(dimension > 1 && polished < Math.min(POLISHED_SAMPLES, samples) && polished < polishLimit
+                && values[order[polished]] < Double.POSITIVE_INFINITY
+                && polishEvaluations > 0 && System.currentTimeMillis() < deadline && !isCancelled()) {
+            int budget = polishEvaluations / (POLISHED_SAMPLES - polished);
+            long before = function.getEvaluations();
+            try {
+                new SimplexOptimizer(new SimpleValueChecker(ContinuousOptimizer.RELATIVE_THRESHOLD, ContinuousOptimizer.ABSOLUTE_THRESHOLD))
+                        .optimize(new MaxEval(budget), new ObjectiveFunction(function), GoalType.MINIMIZE,
+                        new InitialGuess(points[order[polished]]), new NelderMeadSimplex(dimension, POLISH_STEP));
+            } catch(TooManyEvaluationsException | CancellationException e) {
+                // The best point seen is kept by the function
+            } catch(IllegalStateException e) {
+                if(e.getCause() instanceof ParameterMismatchException) {
+                    throw (ParameterMismatchException) e.getCause();
+                }
+                throw e;
+            }
+            polishEvaluations -= function.getEvaluations() - before;
+            polished++;
+            reportProgress(Math.min(optValue, function.getBestValue()), (maxEvaluations - polishEvaluations) / (double) maxEvaluations,
+                    samples + function.getEvaluations());
+        }
+
+        // Takes the best point and polishes theta
+        startPhase("line search");
+        double theta = Double.NaN;
+        if(function.getBestValue() <= optValue) {
+            optValue = function.getBestValue();
+            function.applyBest();
+            theta = function.getBestTheta();
+        } else if(samples > 0) {
+            theta = function.apply(points[order[0]]);
+        }
+        maxTheta = getThetaLimit(thetagranularity);
+        ThetaLineSearch search = new ThetaLineSearch(bound, thetagranularity);
+        double searchValue = search.minimize(0, maxTheta);
+        if(searchValue < optValue) {
+            optValue = searchValue;
+            theta = search.getTheta();
+        }
+
+        System.out.println("Theta: " + theta + " Hoelder: " + bound.getHoelderParameters().toString() + " Bound: " + optValue
+                + " Evaluations: " + (samples + function.getEvaluations() + search.getEvaluations())
+                + " (infeasible samples: " + infeasibleSamples + ")");
+        recordOptimum(theta);
+        samplesTaken = samples;
+        polishesTaken = polished;
+        evaluations += samples + function.getEvaluations() + search.getEvaluations();
+        infeasibleEvaluations += infeasibleSamples + function.getInfeasibleEvaluations() + search.getInfeasibleEvaluations();
+        return optValue;
+    }
+
+    /**
+     * Maps a point of the unit cube to the coordinates of {@link BoundFunction}.
+     */
+    private static double[] toCoordinates(double[] unit, double range) {
+        double[] point = new double[unit.length];
+        // The Sobol points are never 0 in the first coordinate
+        point[0] = Math.log(unit[0] / (1 - unit[0]));
+        for(int i = 1; i < unit.length; i++) {
+            point[i] = range*(2*unit[i] - 1);
+        }
+        return point;
+    }
+
+    /**
+     * Evaluates the points <code>[from, to)</code> in parallel.
+     */
+    private void evaluate(ThreadLocal<BoundFunction> workers, double[][] points, double[] values, int from, int to)
+            throws ParameterMismatchException {
+        try {
+            pool.submit(() -> IntStream.range(from, to).parallel().forEach(i -> {
+                try {
+                    values[i] = workers.get().evaluate(points[i]);
+                } catch(ParameterMismatchException e) {
+                    throw new IllegalStateException(e);
+                }
+            })).get();
+        } catch(InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } catch(ExecutionException e) {
+            // The pool may wrap the exception of another thread once more
+            for(Throwable cause = e.getCause(); cause != null; cause = cause.getCause()) {
+                if(cause instanceof ParameterMismatchException) {
+                    throw (ParameterMismatchException) cause;
+                }
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * Repeats the optimization of {@link #minimize(double, double)} for the
+     * given arrival without time limit, but with the samples and local
+     * searches of the last minimization, such that both computations agree.
+     */
+    @Override
+    public double Bound(Arrival input, BoundType boundtype, double bound, double thetagranularity, double hoeldergranularity)
+            throws ThetaOutOfBoundException, ParameterMismatchException, ServerOverloadException {
+        return new SobolOptimizer(BoundFactory.createBound(input, boundtype, bound), boundtype, maxEvaluations, 0, pool,
+                samplesTaken, polishesTaken)
+                .minimize(thetagranularity, hoeldergranularity);
+    }
+
+    /**
+     * Repeats the optimization of {@link #minimize(double, double)} for the
+     * given arrival without time limit, but with the samples and local
+     * searches of the last minimization, such that both computations agree.
+     */
+    @Override
+    public double ReverseBound(Arrival input, BoundType boundtype, double violation_probability, double thetagranularity, double hoeldergranularity)
+            throws ThetaOutOfBoundException, ParameterMismatchException, ServerOverloadException {
+        BoundType inverse = (boundtype == BoundType.BACKLOG) ? BoundType.INVERSE_BACKLOG : BoundType.INVERSE_DELAY;
+        return new SobolOptimizer(BoundFactory.createBound(input, inverse, violation_probability), boundtype, maxEvaluations, 0, pool,
+                samplesTaken, polishesTaken)
+                .minimize(thetagranularity, hoeldergranularity);
+    }
+}
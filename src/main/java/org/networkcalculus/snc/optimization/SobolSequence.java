@@ -0,0 +1,175 @@
+/*
+ *  (c) 2017 Michael A. Beck, Sebastian Henningsen
+ *  		disco | Distributed Computer Systems Lab
+ *  		University of Kaiserslautern, Germany
+ *  All Rights Reserved.
+ *
+ * This software is work in progress and is released in the hope that it will
+ * be useful to the scientific community. It is provided "as is" without
+ * express or implied warranty, including but not limited to the correctness
+ * of the code or its suitability for any particular purpose.
+ *
+ * This software is provided under the MIT License, however, we would
+ * appreciate it if you contacted the respective authors prior to commercial use.
+ *
+ * If you find our software useful, we would appreciate if you mentioned it
+ * in any publication arising from the use of this software or acknowledge
+ * our work otherwise. We would also like to hear of any fixes or useful
+ */
+
+
+package org.networkcalculus.snc.optimization;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Generates the points of a Sobol sequence, a low-discrepancy sequence in
+ * the unit cube <code>[0,1)^d</code>, in Gray-code order (Antonov-Saleev).
+ * The first coordinate is the van der Corput sequence. The primitive
+ * polynomials and initial direction numbers of the next 20 coordinates are
+ * the ones tabulated by Joe and Kuo; for further coordinates the primitive
+ * polynomials are searched in the same order and the initial direction
+ * numbers are set to <code>m_k = 2k-1</code>, which gives a valid, but
+ * less uniform sequence.
+ * The point <code>(0, ..., 0)</code> is skipped.
+ */
+class SobolSequence {
+    private static final int BITS = 52;
+    private static final double SCALE = Math.pow(2, -BITS);
+
+    /**
+     * Degree, coefficients and initial direction numbers of coordinates 2, 3, ...
+     */
+    private static final int[][] TABLE = {
+        {1, 0, 1},
+        {2, 1, 1, 3},
+        {3, 1, 1, 3, 1},
+        {3, 2, 1, 1, 1},
+        {4, 1, 1, 1, 3, 3},
+        {4, 4, 1, 3, 5, 13},
+        {5, 2, 1, 1, 5, 5, 17},
+        {5, 4, 1, 1, 5, 5, 5},
+        {5, 7, 1, 1, 7, 11, 19},
+        {5, 11, 1, 1, 5, 1, 1},
+        {5, 13, 1, 1, 1, 3, 11},
+        {5, 14, 1, 3, 5, 5, 31},
+        {6, 1, 1, 3, 3, 9, 7, 49},
+        {6, 13, 1, 1, 1, 15, 21, 21},
+        {6, 16, 1, 3, 1, 13, 27, 49},
+        {6, 19, 1, 1, 1, 15, 7, 5},
+        {6, 22, 1, 3, 1, 15, 13, 25},
+        {6, 25, 1, 1, 5, 5, 19, 61},
+        {7, 1, 1, 3, 7, 11, 23, 15, 103},
+        {7, 4, 1, 3, 7, 13, 13, 15, 69}
+    };
+
+    private final int dimension;
+    private final long[][] directions;
+    private final long[] x;
+    private long index;
+
+    /**
+     * @param dimension the number of coordinates of the points
+     */
+    SobolSequence(int dimension) {
+        this.dimension = dimension;
+        this.directions = new long[dimension][BITS + 1];
+        this.x = new long[dimension];
+
+        for(int k = 1; k <= BITS; k++) {
+            directions[0][k] = 1L << (BITS - k);
+        }
+        List<int[]> polynomials = polynomials(dimension - 1);
+        for(int j = 1; j < dimension; j++) {
+            int[] polynomial = polynomials.get(j - 1);
+            int degree = polynomial[0];
+            int coefficients = polynomial[1];
+            long[] v = directions[j];
+            for(int k = 1; k <= Math.min(degree, BITS); k++) {
+                v[k] = ((long) polynomial[k + 1]) << (BITS - k);
+            }
+            for(int k = degree + 1; k <= BITS; k++) {
+                v[k] = v[k - degree] ^ (v[k - degree] >> degree);
+                for(int i = 1; i < degree; i++) {
+                    if(((coefficients >> (degree - 1 - i)) & 1) != 0) {
+                        v[k] ^= v[k - i];
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the tabulated polynomials followed by further ones, each
+     * as degree, coefficients and initial direction numbers.
+     */
+    private static List<int[]> polynomials(int count) {
+        List<int[]> polynomials = new ArrayList<>();
+        for(int i = 0; i < Math.min(count, TABLE.length); i++) {
+            polynomials.add(TABLE[i]);
+        }
+        int degree = TABLE[TABLE.length - 1][0];
+        int coefficients = TABLE[TABLE.length - 1][1];
+        while(polynomials.size() < count) {
+            coefficients++;
+            if(coefficients >= (1 << (degree - 1))) {
+                degree++;
+                coefficients = 0;
+            }
+            if(isPrimitive(degree, coefficients)) {
+                int[] polynomial = new int[degree + 2];
+                polynomial[0] = degree;
+                polynomial[1] = coefficients;
+                for(int k = 1; k <= degree; k++) {
+                    polynomial[k + 1] = 2*k - 1;
+                }
+                polynomials.add(polynomial);
+            }
+        }
+        return polynomials;
+    }
+
+    /**
+     * Checks, whether <code>x^degree + a_1 x^(degree-1) + ... + 1</code>, the
+     * inner coefficients given by the bits of <code>coefficients</code>, is
+     * primitive over GF(2), i.e. whether x has the order
+     * <code>2^degree - 1</code> modulo the polynomial.
+     */
+    private static boolean isPrimitive(int degree, int coefficients) {
+        long modulus = (1L << degree) | ((long) coefficients << 1) | 1;
+        long order = (1L << degree) - 1;
+        long power = 1;
+        for(long i = 1; i <= order; i++) {
+            power <<= 1;
+            if((power & (1L << degree)) != 0) {
+                power ^= modulus;
+            }
+            if(power == 1) {
+                return i == order;
+            }
+        }
+        return false;
+    }
+
+    int getDimension() {
+        return dimension;
+    }
+
+    /**
+     * Returns the next point of the sequence.
+     * 
+     * @return the point in <code>[0,1)^d</code>
+     */
+    double[] next() {
+        // The position of the lowest zero bit of the index
+        int c = Long.numberOfTrailingZeros(~index) + 1;
+        index++;
+        double[] point = new double[dimension];
+        for(int j = 0; j < dimension; j++) {
+            x[j] ^= directions[j][c];
+            point[j] = x[j] * SCALE;
+        }
+        return point;
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ *  (c) 2017 Michael A. Beck, Sebastian Henningsen
+ *  		disco | Distributed Computer Systems Lab
+ *  		University of Kaiserslautern, Germany
+ *  All Rights Reserved.
+ *
+ * This software is work in progress and is released in the hope that it will
+ * be useful to the scientific community. It is provided "as is" without
+ * express or implied warranty, including but not limited to the correctness
+ * of the code or its suitability for any particular purpose.
+ *
+ * This software is provided under the MIT License, however, we would
+ * appreciate it if you contacted the respective authors prior to commercial use.
+ *
+ * If you find our software useful, we would appreciate if you mentioned it
+ * in any publication arising from the use of this software or acknowledge
+ * our work otherwise. We would also like to hear of any fixes or useful
+ */
+
+
+package org.networkcalculus.snc.optimization;
+
+import org.networkcalculus.snc.symbolic_math.EvaluationStatus;
+import org.networkcalculus.snc.symbolic_math.ParameterMismatchException;
+
+/**
+ * Finds a finite interval <code>(0, limit)</code> of theta for a bound
+ * without a maximal theta, e.g. of a network with constant rate arrivals
+ * only. Starting at <code>start</code>, theta is doubled until the bound
+ * stops decreasing, becomes infeasible or improves by less than a
+ * tolerance; the first such theta is the limit. If the bound is unimodal
+ * in theta, its minimum over theta lies between a quarter of the limit
+ * and the limit, or the bound does not get noticeably smaller beyond the
+ * limit, as the inverse bounds of constant rate networks, which decrease
+ * in theta forever. The tolerance is the granularity <code>start</code>
+ * of theta, but at most {@link #MAX_TOLERANCE}. It is relative for
+ * violation probabilities, which span many orders of magnitude, while
+ * delays and backlogs below 1 are resolved absolutely, as their bounds
+ * may tend to 0.
+ * A bound, which still improves at <code>start*2^MAX_EXPANSIONS</code>,
+ * is cut off there and the bracket is marked as capped.
+ * Bounds with a maximal theta are not expanded, their maximal theta is
+ * the limit.
+ *
+ * @see AbstractOptimizer#getThetaLimit(double)
+ */
+final class ThetaBracket {
+    static final int MAX_EXPANSIONS = 20;
+
+    /**
+     * The largest relative improvement, which ends the expansion
+     */
+    static final double MAX_TOLERANCE = 0.01;
+
+    private final Optimizable bound;
+    private final double floor;
+    private long evaluations;
+    private long infeasibleEvaluations;
+    private double bestTheta = Double.NaN;
+    private boolean capped;
+
+    /**
+     * @param bound a prepared bound
+     */
+    ThetaBracket(Optimizable bound) {
+        this.bound = bound;
+        this.floor = isViolationProbability(bound) ? 0 : 1;
+    }
+
+    /**
+     * Returns the limit of theta for the current Hoelder-coefficients.
+     *
+     * @param start the smallest theta of interest, must be positive
+     *
+     * @return the maximal theta of the bound, if it is finite, the end of
+     * the bracket otherwise
+     *
+     * @throws ParameterMismatchException
+     */
+    double getLimit(double start) throws ParameterMismatchException {
+        bestTheta = Double.NaN;
+        capped = false;
+        double limit = bound.getMaximumTheta();
+        if(limit < Double.POSITIVE_INFINITY) {
+            return limit;
+        }
+
+        double tolerance = getTolerance(start);
+        double theta = start;
+        double previous = evaluate(theta);
+        if(EvaluationStatus.isFeasible(previous)) {
+            bestTheta = theta;
+        }
+        for(int i = 0; EvaluationStatus.isFeasible(previous); i++) {
+            if(i == MAX_EXPANSIONS) {
+                capped = true;
+                System.out.println("Theta bracket capped at " + theta + ", the bound still decreases.");
+                break;
+            }
+            theta *= 2;
+            double value = evaluate(theta);
+            if(!(value < previous)) {
+                break;
+            }
+            bestTheta = theta;
+            if(!improves(previous, value, tolerance, floor)) {
+                break;
+            }
+            previous = value;
+        }
+        return theta;
+    }
+
+    /**
+     * @param start the granularity of theta
+     *
+     * @return the relative tolerance of a bracket starting at <code>start</code>
+     */
+    static double getTolerance(double start) {
+        return Math.min(start, MAX_TOLERANCE);
+    }
+
+    /**
+     * Decides whether <code>value</code> is smaller than <code>previous</code>
+     * by more than the tolerance relative to <code>previous</code>, but at
+     * least to <code>floor</code>.
+     */
+    static boolean improves(double previous, double value, double tolerance, double floor) {
+        return previous - value > tolerance*Math.max(Math.abs(previous), floor);
+    }
+
+    /**
+     * @return whether the bound is a violation probability rather than a
+     * delay or backlog, also if it is screened
+     */
+    static boolean isViolationProbability(Optimizable bound) {
+        Optimizable original = ScreenedBound.unwrap(bound);
+        return original instanceof DelayBound || original instanceof BacklogBound;
+    }
+
+    /**
+     * @return whether the last bracket has been cut off at the largest
+     * theta, while the bound still improved
+     */
+    boolean isCapped() {
+        return capped;
+    }
+
+    /**
+     * @return the theta of the smallest value seen by the last bracket,
+     * <code>NaN</code> if none was feasible or the bound has a maximal theta
+     */
+    double getBestTheta() {
+        return bestTheta;
+    }
+
+    private double evaluate(double theta) throws ParameterMismatchException {
+        double value = bound.evaluateUnchecked(theta);
+        evaluations++;
+        if(!EvaluationStatus.isFeasible(value)) {
+            infeasibleEvaluations++;
+        }
+        return value;
+    }
+
+    /**
+     * @return the number of evaluations of the bound over all brackets
+     */
+    long getEvaluations() {
+        return evaluations;
+    }
+
+    long getInfeasibleEvaluations() {
+        return infeasibleEvaluations;
+    }
+}
@@ -0,0 +1,197 @@
+/*
+ *  (c) 2017 Michael A. Beck, Sebastian Henningsen
+ *  		disco | Distributed Computer Systems Lab
+ *  		University of Kaiserslautern, Germany
+ *  All Rights Reserved.
+ *
+ * This software is work in progress and is released in the hope that it will
+ * be useful to the scientific community. It is provided "as is" without
+ * express or implied warranty, including but not limited to the correctness
+ * of the code or its suitability for any particular purpose.
+ *
+ * This software is provided under the MIT License, however, we would
+ * appreciate it if you contacted the respective authors prior to commercial use.
+ *
+ * If you find our software useful, we would appreciate if you mentioned it
+ * in any publication arising from the use of this software or acknowledge
+ * our work otherwise. We would also like to hear of any fixes or useful
+ */
+
+
+package org.networkcalculus.snc.optimization;
+
+import org.networkcalculus.snc.symbolic_math.EvaluationStatus;
+import org.networkcalculus.snc.symbolic_math.ParameterMismatchException;
+
+/**
+ * Minimizes a bound over theta for fixed Hoelder-coefficients by Brent's
+ * method, i.e. golden-section search accelerated by parabolic
+ * interpolation. The bound is assumed to be unimodal in theta on the
+ * interval searched; if it is not, a local minimum is found.
+ * Thetas at which the bound is infeasible count as
+ * <code>+Infinity</code>. As infeasibility is caused by large thetas,
+ * the upper end of the interval is first moved down until the
+ * golden-section point is feasible.
+ * The search stops as soon as the minimum is located up to
+ * <code>tolerance</code>, which takes about
+ * <code>log(width/tolerance)/log(1.618)</code> evaluations at most.
+ *
+ * @see LineSearchOptimizer
+ */
+class ThetaLineSearch {
+    private static final double GOLDEN = 0.5*(3 - Math.sqrt(5));
+    private static final double RELATIVE_TOLERANCE = 1E-10;
+
+    private final Optimizable bound;
+    private final double tolerance;
+
+    private double theta;
+    private double value;
+    private long evaluations;
+    private long infeasibleEvaluations;
+
+    /**
+     * @param bound a prepared bound
+     * @param tolerance the absolute tolerance in theta
+     */
+    ThetaLineSearch(Optimizable bound, double tolerance) {
+        this.bound = bound;
+        this.tolerance = tolerance;
+    }
+
+    /**
+     * Searches the minimum of the bound for theta in the open interval
+     * <code>(lower, upper)</code> with the current Hoelder-coefficients.
+     *
+     * @param lower
+     * @param upper must be finite
+     *
+     * @return the smallest value found, <code>+Infinity</code> if the bound
+     * was infeasible at all thetas tried
+     *
+     * @throws ParameterMismatchException
+     */
+    double minimize(double lower, double upper) throws ParameterMismatchException {
+        value = Double.POSITIVE_INFINITY;
+        theta = Double.NaN;
+
+        double a = lower;
+        double b = upper;
+
+        double x = a + GOLDEN*(b - a);
+        double fx = evaluate(x);
+        while(fx == Double.POSITIVE_INFINITY && b - a > tolerance) {
+            b = x;
+            x = a + GOLDEN*(b - a);
+            fx = evaluate(x);
+        }
+        double w = x;
+        double fw = fx;
+        double v = x;
+        double fv = fx;
+        double d = 0;
+        double e = 0;
+
+        while(true) {
+            double middle = 0.5*(a + b);
+            double tol1 = RELATIVE_TOLERANCE*Math.abs(x) + tolerance/3;
+            double tol2 = 2*tol1;
+            if(Math.abs(x - middle) <= tol2 - 0.5*(b - a)) {
+                break;
+            }
+
+            boolean goldenStep = true;
+            if(Math.abs(e) > tol1 && fx != Double.POSITIVE_INFINITY
+                    && fw != Double.POSITIVE_INFINITY && fv != Double.POSITIVE_INFINITY) {
+                // Tries a parabola through x, w and v
+                double r = (x - w)*(fx - fv);
+                double q = (x - v)*(fx - fw);
+                double p = (x - v)*q - (x - w)*r;
+                q = 2*(q - r);
+                if(q > 0) {
+                    p = -p;
+                } else {
+                    q = -q;
+                }
+                if(Math.abs(p) < Math.abs(0.5*q*e) && p > q*(a - x) && p < q*(b - x)) {
+                    e = d;
+                    d = p/q;
+                    double u = x + d;
+                    if(u - a < tol2 || b - u < tol2) {
+                        d = (x < middle) ? tol1 : -tol1;
+                    }
+                    goldenStep = false;
+                }
+            }
+            if(goldenStep) {
+                e = (x < middle) ? b - x : a - x;
+                d = GOLDEN*e;
+            }
+
+            double u = (Math.abs(d) >= tol1) ? x + d : x + Math.copySign(tol1, d);
+            double fu = evaluate(u);
+            if(fu <= fx) {
+                if(u < x) {
+                    b = x;
+                } else {
+                    a = x;
+                }
+                v = w;
+                fv = fw;
+                w = x;
+                fw = fx;
+                x = u;
+                fx = fu;
+            } else {
+                if(u < x) {
+                    a = u;
+                } else {
+                    b = u;
+                }
+                if(fu <= fw || w == x) {
+                    v = w;
+                    fv = fw;
+                    w = u;
+                    fw = fu;
+                } else if(fu <= fv || v == x || v == w) {
+                    v = u;
+                    fv = fu;
+                }
+            }
+        }
+        return value;
+    }
+
+    private double evaluate(double theta) throws ParameterMismatchException {
+        evaluations++;
+        double result = bound.evaluateUnchecked(theta);
+        if(!EvaluationStatus.isFeasible(result)) {
+            infeasibleEvaluations++;
+            result = Double.POSITIVE_INFINITY;
+        }
+        if(result < value) {
+            this.value = result;
+            this.theta = theta;
+        }
+        return result;
+    }
+
+    /**
+     * @return the theta of the smallest value found by the last search,
+     * <code>NaN</code> if none was feasible
+     */
+    double getTheta() {
+        return theta;
+    }
+
+    /**
+     * @return the number of evaluations of the bound over all searches
+     */
+    long getEvaluations() {
+        return evaluations;
+    }
+
+    long getInfeasibleEvaluations() {
+        return infeasibleEvaluations;
+    }
+}
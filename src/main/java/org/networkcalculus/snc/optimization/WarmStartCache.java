@@ -0,0 +1,165 @@
+/*
+ *  (c) 2017 Michael A. Beck, Sebastian Henningsen
+ *  		disco | Distributed Computer Systems Lab
+ *  		University of Kaiserslautern, Germany
+ *  All Rights Reserved.
+ *
+ * This software is work in progress and is released in the hope that it will
+ * be useful to the scientific community. It is provided "as is" without
+ * express or implied warranty, including but not limited to the correctness
+ * of the code or its suitability for any particular purpose.
+ *
+ * This software is provided under the MIT License, however, we would
+ * appreciate it if you contacted the respective authors prior to commercial use.
+ *
+ * If you find our software useful, we would appreciate if you mentioned it
+ * in any publication arising from the use of this software or acknowledge
+ * our work otherwise. We would also like to hear of any fixes or useful
+ */
+
+
+package org.networkcalculus.snc.optimization;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.networkcalculus.snc.symbolic_math.Hoelder;
+
+/**
+ * Remembers the optimum (theta and Hoelder-coefficients) of optimized
+ * bounds, keyed by their {@link Optimizable#getStructuralSignature()},
+ * such that the optimization of a bound of the same structure, e.g. of
+ * the same network with a slightly changed arrival rate, can start at
+ * the previous optimum instead of the default starting point. At most
+ * <code>capacity</code> optima are kept, the least recently used one
+ * is dropped first. The numbers of hits and misses are counted.
+ * A cache may be shared by several optimizers, also concurrently.
+ * <p>
+ * Only the {@link SimpleGradient} starts at a cached optimum, as it is
+ * the only optimizer, whose work depends on its starting point. The
+ * {@link SimpleOptimizer} and the {@link ParallelOptimizer} test every
+ * point of the grid anyway, and the {@link GridRefinementOptimizer}
+ * chooses the cells it refines by rating a coarse grid, which would
+ * still be rated with a known optimum.
+ * 
+ * @see SimpleGradient
+ */
+public class WarmStartCache {
+    /**
+     * The default number of optima kept
+     */
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    private final Map<Long, Entry> entries;
+    private long hits;
+    private long misses;
+
+    /**
+     * Creates a cache with the default capacity.
+     */
+    public WarmStartCache() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a cache.
+     * 
+     * @param capacity the maximal number of optima kept
+     */
+    public WarmStartCache(int capacity) {
+        this.entries = new LinkedHashMap<Long, Entry>(16, 0.75f, true) {
+            private static final long serialVersionUID = 4629351184069457710L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * Sets the given Hoelder-parameters to the coefficients of the optimum
+     * stored for the signature. Parameters, which are not part of the
+     * stored optimum, are not changed.
+     * 
+     * @param signature the structural signature of the bound
+     * @param parameters the Hoelder-parameters of the bound, keyed by their ids
+     * 
+     * @return the theta of the stored optimum, <code>NaN</code> if there
+     * is none
+     */
+    public synchronized double seed(long signature, Map<Integer, Hoelder> parameters) {
+        Entry entry = entries.get(signature);
+        if(entry == null) {
+            misses++;
+            return Double.NaN;
+        }
+        hits++;
+        for(Map.Entry<Integer, Hoelder> parameter : parameters.entrySet()) {
+            double[] values = entry.values.get(parameter.getKey());
+            if(values != null) {
+                parameter.getValue().setValues(values[0], values[1]);
+            }
+        }
+        return entry.theta;
+    }
+
+    /**
+     * Stores theta and the current coefficients of the given
+     * Hoelder-parameters as the optimum for the signature.
+     * 
+     * @param signature the structural signature of the bound
+     * @param theta
+     * @param parameters the Hoelder-parameters of the bound, keyed by their ids
+     */
+    public synchronized void store(long signature, double theta, Map<Integer, Hoelder> parameters) {
+        Map<Integer, double[]> values = new HashMap<>();
+        for(Map.Entry<Integer, Hoelder> parameter : parameters.entrySet()) {
+            values.put(parameter.getKey(), new double[] { parameter.getValue().getPValue(), parameter.getValue().getQValue() });
+        }
+        entries.put(signature, new Entry(theta, values));
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    /**
+     * @return the share of lookups, which found an optimum, <code>NaN</code>
+     * if there were none
+     */
+    public synchronized double getHitRate() {
+        return (double) hits / (hits + misses);
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Forgets all optima, the counters are kept.
+     */
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "WarmStartCache(size: " + entries.size() + ", hits: " + hits + ", misses: " + misses + ")";
+    }
+
+    private static final class Entry {
+        private final double theta;
+        private final Map<Integer, double[]> values;
+
+        Entry(double theta, Map<Integer, double[]> values) {
+            this.theta = theta;
+            this.values = values;
+        }
+    }
+}
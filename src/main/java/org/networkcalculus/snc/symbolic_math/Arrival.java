@@ -19,6 +19,11 @@
 
 package org.networkcalculus.snc.symbolic_math;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
 
 import java.util.HashSet;
@@ -26,9 +31,7 @@ import java.util.Map;
 import java.util.Set;
 
 import org.networkcalculus.snc.network.Network;
-import org.networkcalculus.snc.symbolic_math.functions.BFunction;
 import org.networkcalculus.snc.symbolic_math.functions.ConstantFunction;
-import org.networkcalculus.snc.symbolic_math.functions.ScaledFunction;
 import org.networkcalculus.snc.utils.SetUtils;
 
 /**
@@ -212,6 +215,82 @@ public class Arrival implements Serializable {
 		double value = evaluate(theta, sigma.getParameters(), rho.getParameters(), n, m);
 		return value;
 	}
+
+	/**
+	 * Evaluates the MGF-bound like {@link #evaluate(double, int, int)},
+	 * but with the p-values of the Hoelder-parameters given in a 
+	 * p-vector and with <code>sigma</code> and <code>rho</code> 
+	 * evaluated through the given context. Each subexpression shared 
+	 * between (or within) sigma and rho is computed only once.
+	 * The context is cleared before the evaluation, such that its 
+	 * hit- and miss-counters accumulate over several calls.
+	 * 
+	 * @param theta the point at which the MGF is evaluated
+	 * @param p the p-values indexed by slot, sigma and rho must be
+	 * bound to the slots by {@link SymbolicFunction#bind(ParameterSlots)}
+	 * @param slots the slots of <code>p</code>
+	 * @param n the end of the time interval (m,n]
+	 * @param m the beginning of the time interval (m,n]
+	 * @param context the memory of this evaluation
+	 * 
+	 * @return the value of the MGF at the given point
+	 * @throws ThetaOutOfBoundException
+	 * @throws ParameterMismatchException
+	 * @throws ServerOverloadException 
+	 */
+	public double evaluate(double theta, double[] p, ParameterSlots slots, int n, int m, EvaluationContext context)
+			throws ThetaOutOfBoundException, ParameterMismatchException, ServerOverloadException {
+		context.clear();
+		return Math.exp(theta*context.getValue(sigma, theta, p, slots) + theta*context.getValue(rho, theta, p, slots)*(n-m));
+	}
+
+	/**
+	 * Compiles <code>sigma</code> and <code>rho</code> of this arrival
+	 * into flat programs, which can be evaluated repeatedly without
+	 * walking the function-trees. Changes to this arrival after the
+	 * compilation are not reflected in the result, changes to the
+	 * values of its Hoelder-coefficients are.
+	 * 
+	 * @return the compiled arrival
+	 * 
+	 * @see CompiledArrival
+	 */
+	public CompiledArrival compile(){
+		return new CompiledArrival(this);
+	}
+	
+	/**
+	 * Returns a copy of this arrival, whose <code>sigma</code> and 
+	 * <code>rho</code> are deep copies with their own Hoelder-objects.
+	 * Shared subexpressions and Hoelder-parameters shared between sigma
+	 * and rho stay shared within the copy. Hence the coefficients of the
+	 * copy can be changed without affecting this arrival, e.g. by
+	 * concurrent optimizations. The network is not copied.
+	 * 
+	 * @return the copy
+	 */
+	public Arrival copy(){
+		ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+		try(ObjectOutputStream output = new ObjectOutputStream(buffer)){
+			output.writeObject(sigma);
+			output.writeObject(rho);
+		}
+		catch(IOException e){
+			throw new IllegalStateException("Arrival could not be copied: " + e.getMessage(), e);
+		}
+		
+		try(ObjectInputStream input = new ObjectInputStream(new ByteArrayInputStream(buffer.toByteArray()))){
+			SymbolicFunction sigmaCopy = (SymbolicFunction) input.readObject();
+			SymbolicFunction rhoCopy = (SymbolicFunction) input.readObject();
+			Arrival copy = new Arrival(sigmaCopy, rhoCopy, nw);
+			copy.addArrivalDependency(Arrivaldependencies);
+			copy.addServiceDependency(Servicedependencies);
+			return copy;
+		}
+		catch(IOException | ClassNotFoundException e){
+			throw new IllegalStateException("Arrival could not be copied: " + e.getMessage(), e);
+		}
+	}
 	
 	/**
 	 * Returns a flow {@link arrrival}, which is the result
@@ -227,19 +306,20 @@ public class Arrival implements Serializable {
 	 */
 	public Arrival multiplex(Arrival arrival1, Arrival arrival2){
 		Arrival arrival;
+		SymbolicFunctionFactory factory = nw.getFunctionFactory();
 		
 		//Dependent case
 		if(!SetUtils.getIntersection(arrival1.getServicedependencies(),arrival2.getServicedependencies()).isEmpty() || !SetUtils.getIntersection(arrival1.getArrivaldependencies(), arrival2.getArrivaldependencies()).isEmpty()){
 			Hoelder hoelder = nw.createHoelder();
-			SymbolicFunction givensigma = new AdditiveComposition(arrival1.getSigma(),arrival2.getSigma(),hoelder);
-			SymbolicFunction givenrho = new AdditiveComposition(arrival1.getRho(), arrival2.getRho(), hoelder);
+			SymbolicFunction givensigma = factory.add(arrival1.getSigma(),arrival2.getSigma(),hoelder);
+			SymbolicFunction givenrho = factory.add(arrival1.getRho(), arrival2.getRho(), hoelder);
 			arrival = new Arrival(givensigma, givenrho, nw);
 		}
 		
 		//Independent case
 		else{
-			SymbolicFunction givensigma = new AdditiveComposition(arrival1.getSigma(),arrival2.getSigma());
-			SymbolicFunction givenrho = new AdditiveComposition(arrival1.getRho(), arrival2.getRho());
+			SymbolicFunction givensigma = factory.add(arrival1.getSigma(),arrival2.getSigma());
+			SymbolicFunction givenrho = factory.add(arrival1.getRho(), arrival2.getRho());
 			arrival = new Arrival(givensigma, givenrho, nw);
 		}
 		
@@ -266,19 +346,20 @@ public class Arrival implements Serializable {
 	 */
 	public Arrival output(Arrival arrival, Service service){
 		Arrival output;
+		SymbolicFunctionFactory factory = nw.getFunctionFactory();
 
 		//Dependent case
 		if(!SetUtils.getIntersection(arrival.getServicedependencies(),service.getServicedependencies()).isEmpty() || !SetUtils.getIntersection(service.getArrivaldependencies(), arrival.getArrivaldependencies()).isEmpty()){
 			Hoelder hoelder = nw.createHoelder();
-			SymbolicFunction givensigma = new AdditiveComposition(new AdditiveComposition(arrival.getSigma(),service.getSigma(),hoelder),new BFunction(new AdditiveComposition(arrival.getRho(),service.getRho(),hoelder)));
-			SymbolicFunction givenrho = new ScaledFunction(arrival.getRho(),hoelder, false);
+			SymbolicFunction givensigma = factory.add(factory.add(arrival.getSigma(),service.getSigma(),hoelder),factory.b(factory.add(arrival.getRho(),service.getRho(),hoelder)));
+			SymbolicFunction givenrho = factory.scaled(arrival.getRho(),hoelder, false);
 			output = new Arrival(givensigma, givenrho, nw);
 			//System.out.println("Dependent Case Output calculated");
 		}
 		
 		//Independent case
 		else{
-			SymbolicFunction givensigma = new AdditiveComposition(new AdditiveComposition(arrival.getSigma(),service.getSigma()),new BFunction(new AdditiveComposition(arrival.getRho(),service.getRho())));
+			SymbolicFunction givensigma = factory.add(factory.add(arrival.getSigma(),service.getSigma()),factory.b(factory.add(arrival.getRho(),service.getRho())));
 			SymbolicFunction givenrho = arrival.getRho();
 			output = new Arrival(givensigma, givenrho, nw);
 			//System.out.println("Independent Case Output calculated");
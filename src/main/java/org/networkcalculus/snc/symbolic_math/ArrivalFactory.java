@@ -19,11 +19,6 @@
 package org.networkcalculus.snc.symbolic_math;
 
 import org.networkcalculus.snc.SNC;
-import org.networkcalculus.snc.symbolic_math.functions.ConstantFunction;
-import org.networkcalculus.snc.symbolic_math.functions.EBBSigma;
-import org.networkcalculus.snc.symbolic_math.functions.ExponentialSigma;
-import org.networkcalculus.snc.symbolic_math.functions.PoissonRho;
-import org.networkcalculus.snc.symbolic_math.functions.StationaryTBSigma;
 
 /**
  * A class which builds appropriate (sigma, rho) representations based on the
@@ -35,26 +30,30 @@ import org.networkcalculus.snc.symbolic_math.functions.StationaryTBSigma;
  */
 public class ArrivalFactory {
     public static Arrival buildConstantRate(double rate) {
-        SymbolicFunction sigma = new ConstantFunction(0);
-        SymbolicFunction rho = new ConstantFunction(rate);
+        SymbolicFunctionFactory factory = SNC.getInstance().getCurrentNetwork().getFunctionFactory();
+        SymbolicFunction sigma = factory.constant(0);
+        SymbolicFunction rho = factory.constant(rate);
         return new Arrival(sigma, rho, SNC.getInstance().getCurrentNetwork());
     }
 
     public static Arrival buildExponentialRate(double rate) throws BadInitializationException {
-        SymbolicFunction sigma = new ConstantFunction(0);
-        SymbolicFunction rho = new ExponentialSigma(rate);
+        SymbolicFunctionFactory factory = SNC.getInstance().getCurrentNetwork().getFunctionFactory();
+        SymbolicFunction sigma = factory.constant(0);
+        SymbolicFunction rho = factory.exponentialSigma(rate);
         return new Arrival(sigma, rho, SNC.getInstance().getCurrentNetwork());
     }
 
     public static Arrival buildPoissonRate(SymbolicFunction increment_rho, double mu) {
-        SymbolicFunction sigma = new ConstantFunction(0);
-        SymbolicFunction rho = new PoissonRho(increment_rho, mu);
+        SymbolicFunctionFactory factory = SNC.getInstance().getCurrentNetwork().getFunctionFactory();
+        SymbolicFunction sigma = factory.constant(0);
+        SymbolicFunction rho = factory.poissonRho(increment_rho, mu);
         return new Arrival(sigma, rho, SNC.getInstance().getCurrentNetwork());
     }
 
     public static Arrival buildEBB(double rate, double decay, double prefactor) throws BadInitializationException {
-        SymbolicFunction sigma = new EBBSigma(decay, prefactor);
-        SymbolicFunction rho = new ConstantFunction(rate);
+        SymbolicFunctionFactory factory = SNC.getInstance().getCurrentNetwork().getFunctionFactory();
+        SymbolicFunction sigma = factory.ebbSigma(decay, prefactor);
+        SymbolicFunction rho = factory.constant(rate);
         return new Arrival(sigma, rho, SNC.getInstance().getCurrentNetwork());
     }
 
@@ -75,14 +74,16 @@ public class ArrivalFactory {
      * @throws BadInitializationException
      */
     public static Arrival buildStationaryTB(double rate, double bucket) throws BadInitializationException {
-        SymbolicFunction rho = new ConstantFunction(rate);
-        SymbolicFunction sigma = new StationaryTBSigma(bucket);
+        SymbolicFunctionFactory factory = SNC.getInstance().getCurrentNetwork().getFunctionFactory();
+        SymbolicFunction rho = factory.constant(rate);
+        SymbolicFunction sigma = factory.stationaryTBSigma(bucket, Double.POSITIVE_INFINITY);
         return new Arrival(sigma, rho, SNC.getInstance().getCurrentNetwork());
     }
 
     public static Arrival buildStationaryTB(double rate, double bucket, double maxTheta) throws BadInitializationException {
-        SymbolicFunction rho = new ConstantFunction(rate);
-        SymbolicFunction sigma = new StationaryTBSigma(bucket, maxTheta);
+        SymbolicFunctionFactory factory = SNC.getInstance().getCurrentNetwork().getFunctionFactory();
+        SymbolicFunction rho = factory.constant(rate);
+        SymbolicFunction sigma = factory.stationaryTBSigma(bucket, maxTheta);
         return new Arrival(sigma, rho, SNC.getInstance().getCurrentNetwork());
     }
 }
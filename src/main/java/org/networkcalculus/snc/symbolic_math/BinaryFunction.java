@@ -75,6 +75,74 @@ public abstract class BinaryFunction implements SymbolicFunction {
 		return output;
     }
 
+    /**
+     * Evaluates the first (<code>functionNo</code> = 1) or second atom
+     * function at its, possibly Hoelder-scaled, theta.
+     */
+    double getValueOfFunction(double theta, double[] p, ParameterSlots slots, int functionNo) throws ParameterMismatchException, ThetaOutOfBoundException, ServerOverloadException {
+		if (functionNo == 1) {
+		    return first.getValue((hoelder == null) ? theta : theta * p[slots.getSlot(hoelder)], p, slots);
+		} else {
+		    return second.getValue((hoelder == null) ? theta : theta * Hoelder.conjugate(p[slots.getSlot(hoelder)]), p, slots);
+		}
+    }
+
+    /**
+     * Evaluates the first (<code>functionNo</code> = 1) or second atom
+     * function at all, possibly Hoelder-scaled, thetas.
+     */
+    void getValuesOfFunction(double[] thetas, double[] p, ParameterSlots slots, int functionNo, double[] out) throws ParameterMismatchException {
+		double[] scaled = thetas;
+		if (hoelder != null) {
+		    double factor = (functionNo == 1) ? p[slots.getSlot(hoelder)] : Hoelder.conjugate(p[slots.getSlot(hoelder)]);
+		    scaled = new double[thetas.length];
+		    for (int i = 0; i < thetas.length; i++) {
+		    	scaled[i] = thetas[i] * factor;
+		    }
+		}
+		if (functionNo == 1) {
+		    first.getValues(scaled, p, slots, out);
+		} else {
+		    second.getValues(scaled, p, slots, out);
+		}
+    }
+
+    /**
+     * Evaluates the first (<code>functionNo</code> = 1) or second atom
+     * function as dual number, the Hoelder-scaling of theta is
+     * differentiated with respect to the p-value.
+     */
+    DualNumber getDualValueOfFunction(DualNumber theta, double[] p, ParameterSlots slots, int functionNo) throws ParameterMismatchException, ThetaOutOfBoundException, ServerOverloadException {
+		DualNumber scaled = theta;
+		if (hoelder != null) {
+		    DualNumber pValue = DualNumber.parameter(p, slots.getSlot(hoelder));
+		    scaled = theta.multiply((functionNo == 1) ? pValue : pValue.conjugate());
+		}
+		return (functionNo == 1) ? first.getDualValue(scaled, p, slots) : second.getDualValue(scaled, p, slots);
+    }
+
+    /**
+     * Encloses the values of the first (<code>functionNo</code> = 1) or
+     * second atom function over the box, theta being scaled by the range
+     * of the p- or q-value.
+     */
+    Interval getIntervalOfFunction(Interval theta, Interval[] p, ParameterSlots slots, int functionNo) throws ParameterMismatchException, ThetaOutOfBoundException, ServerOverloadException {
+		Interval scaled = theta;
+		if (hoelder != null) {
+		    Interval pValue = p[slots.getSlot(hoelder)];
+		    scaled = theta.multiply((functionNo == 1) ? pValue : pValue.conjugate());
+		}
+		return (functionNo == 1) ? first.getInterval(scaled, p, slots) : second.getInterval(scaled, p, slots);
+    }
+
+    double getValueOfFunction(double theta, double[] p, ParameterSlots slots, EvaluationContext context, int functionNo) throws ParameterMismatchException, ThetaOutOfBoundException, ServerOverloadException {
+		if (functionNo == 1) {
+		    return context.getValue(first, (hoelder == null) ? theta : theta * p[slots.getSlot(hoelder)], p, slots);
+		} else {
+		    return context.getValue(second, (hoelder == null) ? theta : theta * Hoelder.conjugate(p[slots.getSlot(hoelder)]), p, slots);
+		}
+    }
+
     double getValueOfFunction(double theta, Map<Integer, Hoelder> inputParameters, int functionNo) throws ParameterMismatchException, ThetaOutOfBoundException, ServerOverloadException {
 		Map<Integer, Hoelder> parametersForFunction = new HashMap<>();
 		Set<Entry<Integer, Hoelder>> entrySet;
@@ -114,4 +182,16 @@ public abstract class BinaryFunction implements SymbolicFunction {
 		    return Math.min(first.getmaxTheta() / hoelder.getPValue(), second.getmaxTheta() / hoelder.getQValue());
 		}
     }
+
+    public SymbolicFunction getFirst() {
+		return first;
+    }
+
+    public SymbolicFunction getSecond() {
+		return second;
+    }
+
+    public Hoelder getHoelder() {
+		return hoelder;
+    }
 }
@@ -0,0 +1,247 @@
+/*
+ *  (c) 2017 Michael A. Beck, Sebastian Henningsen
+ *  		disco | Distributed Computer Systems Lab
+ *  		University of Kaiserslautern, Germany
+ *  All Rights Reserved.
+ *
+ * This software is work in progress and is released in the hope that it will
+ * be useful to the scientific community. It is provided "as is" without
+ * express or implied warranty, including but not limited to the correctness
+ * of the code or its suitability for any particular purpose.
+ *
+ * This software is provided under the MIT License, however, we would
+ * appreciate it if you contacted the respective authors prior to commercial use.
+ *
+ * If you find our software useful, we would appreciate if you mentioned it
+ * in any publication arising from the use of this software or acknowledge
+ * our work otherwise. We would also like to hear of any fixes or useful
+ */
+
+package org.networkcalculus.snc.symbolic_math;
+
+/**
+ * The MGF-bound of an {@link Arrival} with its sigma- and rho-function
+ * compiled into {@link CompiledFunction}s. Meant to be created once,
+ * before an arrival is evaluated repeatedly, e.g. during an optimization.
+ * <p>
+ * Measured on delay bounds (n = 4, all Hoelder-coefficients 2, 1000
+ * feasible thetas, after warm-up): for the second hop of tandems of two
+ * to four nodes, {@link Arrival#evaluate(double, int, int)} takes about
+ * 1000 ns and allocates 2 to 3 KB per point, the compiled arrival about
+ * 300 ns without any allocation, with or without a p-vector. For the
+ * second hop of stationary token buckets it is about 800 ns against
+ * 400 ns. For a single hop both take about 100 ns, as the time is
+ * spent in <code>exp</code> and <code>log</code>. The numbers are
+ * produced by <code>CompiledArrivalBenchmark</code> in the test sources.
+ *
+ * @see Arrival#compile()
+ */
+public class CompiledArrival {
+	private final Arrival arrival;
+	private final CompiledFunction sigma;
+	private final CompiledFunction rho;
+
+	/**
+	 * Compiles the sigma- and rho-function of the given arrival.
+	 *
+	 * @param arrival the arrival to be compiled
+	 */
+	public CompiledArrival(Arrival arrival) {
+		this.arrival = arrival;
+		this.sigma = FunctionCompiler.compile(arrival.getSigma());
+		this.rho = FunctionCompiler.compile(arrival.getRho());
+	}
+
+	/**
+	 * Evaluates the MGF-bound of the arrival in the interval (m,n].
+	 * Same as {@link Arrival#evaluate(double, int, int)}.
+	 *
+	 * @param theta the point at which the MGF is evaluated
+	 * @param n the end of the time interval (m,n]
+	 * @param m the beginning of the time interval (m,n]
+	 *
+	 * @return the value of the MGF at the given point
+	 * @throws ThetaOutOfBoundException
+	 * @throws ParameterMismatchException
+	 * @throws ServerOverloadException
+	 */
+	public double evaluate(double theta, int n, int m) throws ThetaOutOfBoundException, ParameterMismatchException, ServerOverloadException {
+		double value;
+
+		try{
+			value = Math.exp(theta*sigma.getValue(theta) + theta*rho.getValue(theta)*(n-m));
+		}
+		catch (ParameterMismatchException e){
+			value = Double.NaN;
+			System.out.println("Parameter Mismatch Error: "+e.getMessage());
+			System.out.println("Possible reasons: The network is not stable, " + "\n" +
+					"i.e. at least one node has not enough capacity to serve its arrivals.");
+		}
+		return value;
+	}
+
+	/**
+	 * Evaluates the MGF-bound of the arrival in the interval (m,n],
+	 * without throwing on infeasible points. If sigma or rho is 
+	 * infeasible, the value encoding its {@link EvaluationStatus} is
+	 * returned.
+	 *
+	 * @param theta the point at which the MGF is evaluated
+	 * @param n the end of the time interval (m,n]
+	 * @param m the beginning of the time interval (m,n]
+	 *
+	 * @return the value of the MGF or the encoded status
+	 * @throws ParameterMismatchException
+	 *
+	 * @see CompiledFunction#getUncheckedValue(double)
+	 */
+	public double evaluateUnchecked(double theta, int n, int m) throws ParameterMismatchException {
+		double sigmaValue = sigma.getUncheckedValue(theta);
+		if(!EvaluationStatus.isFeasible(sigmaValue)) {
+			return sigmaValue;
+		}
+		double rhoValue = rho.getUncheckedValue(theta);
+		if(!EvaluationStatus.isFeasible(rhoValue)) {
+			return rhoValue;
+		}
+		return Math.exp(theta*sigmaValue + theta*rhoValue*(n-m));
+	}
+
+	/**
+	 * Evaluates the MGF-bound of the arrival in the interval (m,n],
+	 * with the p-values of the Hoelder-parameters taken from the
+	 * p-vector. The arrival must be bound before.
+	 *
+	 * @param theta the point at which the MGF is evaluated
+	 * @param p the p-values indexed by slot
+	 * @param n the end of the time interval (m,n]
+	 * @param m the beginning of the time interval (m,n]
+	 *
+	 * @return the value of the MGF at the given point
+	 * @throws ThetaOutOfBoundException
+	 * @throws ParameterMismatchException
+	 * @throws ServerOverloadException
+	 *
+	 * @see #bind(ParameterSlots)
+	 */
+	public double evaluate(double theta, double[] p, int n, int m) throws ThetaOutOfBoundException, ParameterMismatchException, ServerOverloadException {
+		return Math.exp(theta*sigma.getValue(theta, p) + theta*rho.getValue(theta, p)*(n-m));
+	}
+
+	/**
+	 * Like {@link #evaluateUnchecked(double, int, int)}, but with the
+	 * p-values taken from the p-vector. The arrival must be bound before.
+	 *
+	 * @param theta the point at which the MGF is evaluated
+	 * @param p the p-values indexed by slot
+	 * @param n the end of the time interval (m,n]
+	 * @param m the beginning of the time interval (m,n]
+	 *
+	 * @return the value of the MGF or the encoded status
+	 * @throws ParameterMismatchException
+	 */
+	public double evaluateUnchecked(double theta, double[] p, int n, int m) throws ParameterMismatchException {
+		double sigmaValue = sigma.getUncheckedValue(theta, p);
+		if(!EvaluationStatus.isFeasible(sigmaValue)) {
+			return sigmaValue;
+		}
+		double rhoValue = rho.getUncheckedValue(theta, p);
+		if(!EvaluationStatus.isFeasible(rhoValue)) {
+			return rhoValue;
+		}
+		return Math.exp(theta*sigmaValue + theta*rhoValue*(n-m));
+	}
+
+	/**
+	 * Evaluates the MGF-bound of the arrival in the interval (m,n]
+	 * together with its partial derivatives with respect to theta and
+	 * the p-values. The arrival must be bound before.
+	 *
+	 * @param theta theta and its derivatives
+	 * @param p the p-values indexed by slot
+	 * @param n the end of the time interval (m,n]
+	 * @param m the beginning of the time interval (m,n]
+	 *
+	 * @return the value of the MGF and its derivatives
+	 * @throws ThetaOutOfBoundException
+	 * @throws ParameterMismatchException
+	 * @throws ServerOverloadException
+	 *
+	 * @see CompiledFunction#getDualValue(DualNumber, double[])
+	 */
+	public DualNumber evaluate(DualNumber theta, double[] p, int n, int m) throws ThetaOutOfBoundException, ParameterMismatchException, ServerOverloadException {
+		return theta.multiply(sigma.getDualValue(theta, p)).add(theta.multiply(rho.getDualValue(theta, p)).multiply(n-m)).exp();
+	}
+
+	/**
+	 * Encloses the MGF-bound of the arrival in the interval (m,n] over a
+	 * box of thetas and p-values.
+	 *
+	 * @param theta the range of theta
+	 * @param p the ranges of the p-values indexed by slot
+	 * @param n the end of the time interval (m,n]
+	 * @param m the beginning of the time interval (m,n]
+	 *
+	 * @return an interval containing the MGF on the box
+	 * @throws ThetaOutOfBoundException
+	 * @throws ParameterMismatchException
+	 * @throws ServerOverloadException
+	 *
+	 * @see CompiledFunction#getInterval(Interval, Interval[])
+	 */
+	public Interval evaluate(Interval theta, Interval[] p, int n, int m) throws ThetaOutOfBoundException, ParameterMismatchException, ServerOverloadException {
+		return theta.multiply(sigma.getInterval(theta, p)).add(theta.multiply(rho.getInterval(theta, p)).multiply(n-m)).exp();
+	}
+
+	/**
+	 * Evaluates the MGF-bound of the arrival in the interval (m,n] at
+	 * all thetas of <code>thetas</code>. Infeasible points get the
+	 * value encoding their {@link EvaluationStatus}.
+	 *
+	 * @param thetas the points at which the MGF is evaluated
+	 * @param n the end of the time interval (m,n]
+	 * @param m the beginning of the time interval (m,n]
+	 * @param out receives the values of the MGF
+	 *
+	 * @throws ParameterMismatchException
+	 *
+	 * @see CompiledFunction#getValues(double[], double[])
+	 */
+	public void evaluate(double[] thetas, int n, int m, double[] out) throws ParameterMismatchException {
+		double[] rhos = new double[thetas.length];
+		sigma.getValues(thetas, out);
+		rho.getValues(thetas, rhos);
+		for(int i = 0; i < thetas.length; i++) {
+			if(!EvaluationStatus.isFeasible(out[i])) {
+				continue;
+			}
+			out[i] = EvaluationStatus.isFeasible(rhos[i]) ? Math.exp(thetas[i]*out[i] + thetas[i]*rhos[i]*(n-m)) : rhos[i];
+		}
+	}
+
+	/**
+	 * Binds sigma and rho to the given slots.
+	 *
+	 * @param slots the slots of the p-vector
+	 *
+	 * @throws ParameterMismatchException if a parameter has no slot
+	 */
+	public void bind(ParameterSlots slots) throws ParameterMismatchException {
+		arrival.getSigma().bind(slots);
+		arrival.getRho().bind(slots);
+		sigma.bind(slots);
+		rho.bind(slots);
+	}
+
+	public CompiledFunction getSigma() {
+		return sigma;
+	}
+
+	public CompiledFunction getRho() {
+		return rho;
+	}
+
+	public Arrival getArrival() {
+		return arrival;
+	}
+}
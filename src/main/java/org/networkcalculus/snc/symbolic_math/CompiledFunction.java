@@ -0,0 +1,679 @@
+/*
+ *  (c) 2017 Michael A. Beck, Sebastian Henningsen
+ *  		disco | Distributed Computer Systems Lab
+ *  		University of Kaiserslautern, Germany
+ *  All Rights Reserved.
+ *
+ * This software is work in progress and is released in the hope that it will
+ * be useful to the scientific community. It is provided "as is" without
+ * express or implied warranty, including but not limited to the correctness
+ * of the code or its suitability for any particular purpose.
+ *
+ * This software is provided under the MIT License, however, we would
+ * appreciate it if you contacted the respective authors prior to commercial use.
+ *
+ * If you find our software useful, we would appreciate if you mentioned it
+ * in any publication arising from the use of this software or acknowledge
+ * our work otherwise. We would also like to hear of any fixes or useful
+ */
+
+package org.networkcalculus.snc.symbolic_math;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A {@link SymbolicFunction} lowered by the {@link FunctionCompiler} into
+ * a flat list of instructions. Each instruction reads its operands from
+ * and writes its result into a register file of primitive doubles.
+ * Register <code>0</code> always holds theta, the scaled thetas of the
+ * atom-functions as well as all intermediate values are stored in the
+ * registers following it.
+ * Evaluating a compiled function does neither walk the object tree nor
+ * build any parameter maps, hence no objects are allocated per
+ * evaluation of {@link #getValue}, {@link #getUncheckedValue} and
+ * {@link #getValues} (except for the exceptions signalling an infeasible
+ * theta). {@link #getDualValue} and {@link #getInterval} compute with
+ * immutable numbers and allocate one per instruction.
+ * The register file is kept per thread, so the same compiled function
+ * can be evaluated concurrently.
+ * The Hoelder-coefficients are read from the {@link Hoelder}-objects
+ * of the original function at the time of evaluation.
+ * Nodes the {@link FunctionCompiler} cannot lower are called as trees;
+ * with a p-vector they are evaluated through one
+ * {@link EvaluationContext} per thread and evaluation, such that
+ * subexpressions shared between them are computed only once.
+ *
+ * @see FunctionCompiler
+ * @see SymbolicFunction
+ */
+public class CompiledFunction {
+	static final int SCALE_P = 0;
+	static final int SCALE_Q = 1;
+	static final int CONSTANT = 2;
+	static final int PARAMETER = 3;
+	static final int EBB_SIGMA = 4;
+	static final int EXPONENTIAL_SIGMA = 5;
+	static final int STATIONARY_TB_SIGMA = 6;
+	static final int POISSON_RHO = 7;
+	static final int ADD = 8;
+	static final int MAXIMUM = 9;
+	static final int NEGATIVE_ABSOLUTE_DIFFERENCE = 10;
+	static final int UNITARY_MINUS = 11;
+	static final int B_FUNCTION = 12;
+	static final int CALL = 13;
+
+	private final SymbolicFunction function;
+
+	private final int[] opcodes;
+	private final int[] targets;
+	private final int[] firstOperands;
+	private final int[] secondOperands;
+	private final double[] firstConstants;
+	private final double[] secondConstants;
+	private final int result;
+	private final int numberOfRegisters;
+
+	private final Hoelder[] hoelders;
+	private final SymbolicFunction[] calls;
+	private final List<Map<Integer, Hoelder>> callParameters;
+
+	private final ThreadLocal<double[]> registers;
+	private final ThreadLocal<double[][]> batchRegisters;
+	private final ThreadLocal<EvaluationContext> callContexts;
+	private ParameterSlots parameterSlots;
+	private int[] slots;
+
+	CompiledFunction(SymbolicFunction function, int[] opcodes, int[] targets, int[] firstOperands, int[] secondOperands,
+			double[] firstConstants, double[] secondConstants, int result, int numberOfRegisters,
+			Hoelder[] hoelders, SymbolicFunction[] calls, List<Map<Integer, Hoelder>> callParameters) {
+		this.function = function;
+		this.opcodes = opcodes;
+		this.targets = targets;
+		this.firstOperands = firstOperands;
+		this.secondOperands = secondOperands;
+		this.firstConstants = firstConstants;
+		this.secondConstants = secondConstants;
+		this.result = result;
+		this.numberOfRegisters = numberOfRegisters;
+		this.hoelders = hoelders;
+		this.calls = calls;
+		this.callParameters = callParameters;
+		this.registers = ThreadLocal.withInitial(() -> new double[this.numberOfRegisters]);
+		this.batchRegisters = ThreadLocal.withInitial(() -> new double[this.numberOfRegisters][0]);
+		this.callContexts = ThreadLocal.withInitial(EvaluationContext::new);
+	}
+
+	/**
+	 * Calculates the value of the compiled function at theta. The
+	 * result is the same as the one of {@link SymbolicFunction#getValue}
+	 * of the original function, called with its own parameters.
+	 *
+	 * @param theta
+	 *
+	 * @return the value of the function at theta
+	 *
+	 * @throws ThetaOutOfBoundException
+	 * @throws ParameterMismatchException only if a non-compilable
+	 * function is part of the program
+	 * @throws ServerOverloadException
+	 */
+	public double getValue(double theta) throws ThetaOutOfBoundException, ParameterMismatchException, ServerOverloadException {
+		return run(theta, null, true);
+	}
+
+	/**
+	 * Calculates the value of the compiled function at theta, like
+	 * {@link #getValue(double)}, but returns instead of throwing: 
+	 * <code>NaN</code> if theta is out of bound and 
+	 * <code>+Infinity</code> if a server is overloaded. The evaluation
+	 * stops at the first infeasible instruction.
+	 *
+	 * @param theta
+	 *
+	 * @return the value of the function at theta or the value encoding
+	 * its {@link EvaluationStatus}
+	 *
+	 * @throws ParameterMismatchException only if a non-compilable
+	 * function is part of the program
+	 */
+	public double getUncheckedValue(double theta) throws ParameterMismatchException {
+		return runUnchecked(theta, null);
+	}
+
+	/**
+	 * Calculates the value of the compiled function at theta, with the
+	 * p-values of the Hoelder-parameters taken from <code>p</code>. The
+	 * program must have been bound to the slots of <code>p</code> by
+	 * {@link #bind(ParameterSlots)} before.
+	 *
+	 * @param theta
+	 * @param p the p-values indexed by slot
+	 *
+	 * @return the value of the function at theta
+	 *
+	 * @throws ThetaOutOfBoundException
+	 * @throws ParameterMismatchException
+	 * @throws ServerOverloadException
+	 */
+	public double getValue(double theta, double[] p) throws ThetaOutOfBoundException, ParameterMismatchException, ServerOverloadException {
+		if(slots == null) {
+			throw new IllegalStateException("The compiled function is not bound to any parameter slots.");
+		}
+		return run(theta, p, true);
+	}
+
+	/**
+	 * Like {@link #getUncheckedValue(double)}, but with the p-values of
+	 * the Hoelder-parameters taken from <code>p</code>. The program must
+	 * have been bound by {@link #bind(ParameterSlots)} before.
+	 *
+	 * @param theta
+	 * @param p the p-values indexed by slot
+	 *
+	 * @return the value of the function at theta or the value encoding
+	 * its {@link EvaluationStatus}
+	 *
+	 * @throws ParameterMismatchException
+	 */
+	public double getUncheckedValue(double theta, double[] p) throws ParameterMismatchException {
+		if(slots == null) {
+			throw new IllegalStateException("The compiled function is not bound to any parameter slots.");
+		}
+		return runUnchecked(theta, p);
+	}
+
+	/**
+	 * Checks the Hoelder-parameters of the program against the given
+	 * slots and resolves their positions in the p-vector.
+	 *
+	 * @param parameterSlots the slots of the p-vector
+	 *
+	 * @throws ParameterMismatchException if a parameter has no slot
+	 */
+	public void bind(ParameterSlots parameterSlots) throws ParameterMismatchException {
+		int[] resolved = new int[hoelders.length];
+		for(int i = 0; i < hoelders.length; i++) {
+			parameterSlots.check(hoelders[i]);
+			resolved[i] = parameterSlots.getSlot(hoelders[i]);
+		}
+		for(SymbolicFunction call : calls) {
+			call.bind(parameterSlots);
+		}
+		this.parameterSlots = parameterSlots;
+		slots = resolved;
+	}
+
+	private double runUnchecked(double theta, double[] p) throws ParameterMismatchException {
+		try {
+			return run(theta, p, false);
+		} catch(ThetaOutOfBoundException e) {
+			// Only thrown by non-compilable functions
+			return Double.NaN;
+		} catch(ServerOverloadException e) {
+			return Double.POSITIVE_INFINITY;
+		}
+	}
+
+	/**
+	 * Executes the program. If <code>checked</code> is false, an infeasible
+	 * instruction returns the value of its status instead of throwing.
+	 */
+	private double run(double theta, double[] p, boolean checked) throws ThetaOutOfBoundException, ParameterMismatchException, ServerOverloadException {
+		double[] r = registers.get();
+		r[0] = theta;
+		EvaluationContext context = callContext(p);
+
+		for(int i = 0; i < opcodes.length; i++) {
+			int a = firstOperands[i];
+			int b = secondOperands[i];
+			double t;
+
+			switch(opcodes[i]) {
+			case SCALE_P:
+				r[targets[i]] = r[a] * (p == null ? hoelders[b].getPValue() : p[slots[b]]);
+				break;
+			case SCALE_Q:
+				r[targets[i]] = r[a] * (p == null ? hoelders[b].getQValue() : Hoelder.conjugate(p[slots[b]]));
+				break;
+			case CONSTANT:
+				r[targets[i]] = firstConstants[i];
+				break;
+			case PARAMETER:
+				r[targets[i]] = (p == null ? hoelders[b].getPValue() : p[slots[b]]);
+				break;
+			case EBB_SIGMA:
+				t = r[a];
+				if(t > firstConstants[i]) {
+					if(!checked) return Double.NaN;
+					throw new ThetaOutOfBoundException("The given theta exceeds the decay-rate of this EBB-arrival. theta: "+t+". decay-rate: "+firstConstants[i]);
+				}
+				r[targets[i]] = secondConstants[i] - 1/t*Math.log(1 - t/firstConstants[i]);
+				break;
+			case EXPONENTIAL_SIGMA:
+				t = r[a];
+				if(t >= firstConstants[i]) {
+					if(!checked) return Double.NaN;
+					throw new ThetaOutOfBoundException("theta ("+t+") larger lambda ("+firstConstants[i]+") in exponential distribution");
+				}
+				r[targets[i]] = 1/t * Math.log(firstConstants[i]/(firstConstants[i]-t));
+				break;
+			case STATIONARY_TB_SIGMA:
+				t = r[a];
+				if(t > secondConstants[i]) {
+					if(!checked) return Double.NaN;
+					throw new ThetaOutOfBoundException("The given theta exceeds the maximal theta given here. theta: "+t+". maxTheta: "+secondConstants[i]);
+				}
+				r[targets[i]] = 1/t*Math.log(0.5* Math.exp(t*firstConstants[i]) + 0.5* Math.exp(-t*firstConstants[i]));
+				break;
+			case POISSON_RHO:
+				t = r[a];
+				r[targets[i]] = firstConstants[i]/t*(Math.exp(r[b]*t) - 1);
+				break;
+			case ADD:
+				r[targets[i]] = r[a] + r[b];
+				break;
+			case MAXIMUM:
+				r[targets[i]] = Math.max(r[a], r[b]);
+				break;
+			case NEGATIVE_ABSOLUTE_DIFFERENCE:
+				r[targets[i]] = (r[a] > r[b] ? r[b] - r[a] : r[a] - r[b]);
+				break;
+			case UNITARY_MINUS:
+				r[targets[i]] = -r[a];
+				break;
+			case B_FUNCTION:
+				t = r[a];
+				if(r[b] >= 0) {
+					if(!checked) return Double.POSITIVE_INFINITY;
+					throw new ServerOverloadException("Usage of non-positive argument in log(). Argument:"+Double.toString(1-Math.exp(r[b])));
+				}
+				r[targets[i]] = -1/t*Math.log(1-Math.exp(t*r[b]));
+				break;
+			case CALL:
+				r[targets[i]] = (p == null ? calls[b].getValue(r[a], callParameters.get(b)) : context.getValue(calls[b], r[a], p, parameterSlots));
+				break;
+			default:
+				throw new IllegalStateException("Unknown opcode " + opcodes[i]);
+			}
+		}
+		return r[result];
+	}
+
+	/**
+	 * Calculates the value of the compiled function together with its
+	 * partial derivatives with respect to theta and the p-values, like
+	 * {@link SymbolicFunction#getDualValue(DualNumber, double[], ParameterSlots)} of the
+	 * original function. A shared subexpression is differentiated only
+	 * once. The program must have been bound by
+	 * {@link #bind(ParameterSlots)} before.
+	 *
+	 * @param theta theta and its derivatives
+	 * @param p the p-values indexed by slot
+	 *
+	 * @return the value of the function and its derivatives
+	 *
+	 * @throws ThetaOutOfBoundException
+	 * @throws ParameterMismatchException
+	 * @throws ServerOverloadException
+	 */
+	public DualNumber getDualValue(DualNumber theta, double[] p) throws ThetaOutOfBoundException, ParameterMismatchException, ServerOverloadException {
+		if(slots == null) {
+			throw new IllegalStateException("The compiled function is not bound to any parameter slots.");
+		}
+		DualNumber[] r = new DualNumber[numberOfRegisters];
+		r[0] = theta;
+
+		for(int i = 0; i < opcodes.length; i++) {
+			int a = firstOperands[i];
+			int b = secondOperands[i];
+			double c1 = firstConstants[i];
+			double c2 = secondConstants[i];
+			DualNumber t = r[a];
+
+			switch(opcodes[i]) {
+			case SCALE_P:
+				r[targets[i]] = t.multiply(DualNumber.parameter(p, slots[b]));
+				break;
+			case SCALE_Q:
+				r[targets[i]] = t.multiply(DualNumber.parameter(p, slots[b]).conjugate());
+				break;
+			case CONSTANT:
+				r[targets[i]] = theta.constant(c1);
+				break;
+			case PARAMETER:
+				r[targets[i]] = DualNumber.parameter(p, slots[b]);
+				break;
+			case EBB_SIGMA:
+				if(t.getValue() > c1) {
+					throw new ThetaOutOfBoundException("The given theta exceeds the decay-rate of this EBB-arrival. theta: "+t.getValue()+". decay-rate: "+c1);
+				}
+				r[targets[i]] = t.reciprocal(1).multiply(t.divide(c1).negate().add(1).log()).negate().add(c2);
+				break;
+			case EXPONENTIAL_SIGMA:
+				if(t.getValue() >= c1) {
+					throw new ThetaOutOfBoundException("theta ("+t.getValue()+") larger lambda ("+c1+") in exponential distribution");
+				}
+				r[targets[i]] = t.reciprocal(1).multiply(t.negate().add(c1).reciprocal(c1).log());
+				break;
+			case STATIONARY_TB_SIGMA:
+				if(t.getValue() > c2) {
+					throw new ThetaOutOfBoundException("The given theta exceeds the maximal theta given here. theta: "+t.getValue()+". maxTheta: "+c2);
+				}
+				r[targets[i]] = t.reciprocal(1).multiply(t.multiply(c1).exp().multiply(0.5).add(t.negate().multiply(c1).exp().multiply(0.5)).log());
+				break;
+			case POISSON_RHO:
+				r[targets[i]] = t.reciprocal(c1).multiply(r[b].multiply(t).exp().add(-1));
+				break;
+			case ADD:
+				r[targets[i]] = t.add(r[b]);
+				break;
+			case MAXIMUM:
+				r[targets[i]] = t.max(r[b]);
+				break;
+			case NEGATIVE_ABSOLUTE_DIFFERENCE:
+				r[targets[i]] = (t.getValue() > r[b].getValue() ? r[b].subtract(t) : t.subtract(r[b]));
+				break;
+			case UNITARY_MINUS:
+				r[targets[i]] = t.negate();
+				break;
+			case B_FUNCTION:
+				if(r[b].getValue() >= 0) {
+					throw new ServerOverloadException("Usage of non-positive argument in log(). Argument:"+Double.toString(1-Math.exp(r[b].getValue())));
+				}
+				r[targets[i]] = t.reciprocal(-1).multiply(t.multiply(r[b]).exp().negate().add(1).log());
+				break;
+			case CALL:
+				r[targets[i]] = calls[b].getDualValue(t, p, parameterSlots);
+				break;
+			default:
+				throw new IllegalStateException("Unknown opcode " + opcodes[i]);
+			}
+		}
+		return r[result];
+	}
+
+	/**
+	 * Encloses the values of the compiled function over a box of thetas
+	 * and p-values, like {@link SymbolicFunction#getInterval(Interval, Interval[], ParameterSlots)}
+	 * of the original function. The program must have been bound by
+	 * {@link #bind(ParameterSlots)} before.
+	 *
+	 * @param theta the range of theta
+	 * @param p the ranges of the p-values indexed by slot
+	 *
+	 * @return an interval containing all values of the function on the box
+	 *
+	 * @throws ThetaOutOfBoundException
+	 * @throws ParameterMismatchException
+	 * @throws ServerOverloadException
+	 */
+	public Interval getInterval(Interval theta, Interval[] p) throws ThetaOutOfBoundException, ParameterMismatchException, ServerOverloadException {
+		if(slots == null) {
+			throw new IllegalStateException("The compiled function is not bound to any parameter slots.");
+		}
+		Interval[] r = new Interval[numberOfRegisters];
+		r[0] = theta;
+
+		for(int i = 0; i < opcodes.length; i++) {
+			int a = firstOperands[i];
+			int b = secondOperands[i];
+			double c1 = firstConstants[i];
+			double c2 = secondConstants[i];
+			Interval t = r[a];
+
+			switch(opcodes[i]) {
+			case SCALE_P:
+				r[targets[i]] = t.multiply(p[slots[b]]);
+				break;
+			case SCALE_Q:
+				r[targets[i]] = t.multiply(p[slots[b]].conjugate());
+				break;
+			case CONSTANT:
+				r[targets[i]] = Interval.point(c1);
+				break;
+			case PARAMETER:
+				r[targets[i]] = p[slots[b]];
+				break;
+			case EBB_SIGMA:
+				if(t.getLower() > c1) {
+					throw new ThetaOutOfBoundException("The given theta exceeds the decay-rate of this EBB-arrival. theta: "+t.getLower()+". decay-rate: "+c1);
+				}
+				r[targets[i]] = t.increasing(x -> (x > c1) ? Double.POSITIVE_INFINITY : c2 - 1/x*Math.log(1 - x/c1));
+				break;
+			case EXPONENTIAL_SIGMA:
+				if(t.getLower() >= c1) {
+					throw new ThetaOutOfBoundException("theta ("+t.getLower()+") larger lambda ("+c1+") in exponential distribution");
+				}
+				r[targets[i]] = t.increasing(x -> (x >= c1) ? Double.POSITIVE_INFINITY : 1/x * Math.log(c1/(c1-x)));
+				break;
+			case STATIONARY_TB_SIGMA:
+				if(t.getLower() > c2) {
+					throw new ThetaOutOfBoundException("The given theta exceeds the maximal theta given here. theta: "+t.getLower()+". maxTheta: "+c2);
+				}
+				r[targets[i]] = t.increasing(x -> (x > c2) ? Double.POSITIVE_INFINITY : 1/x*Math.log(0.5* Math.exp(x*c1) + 0.5* Math.exp(-x*c1)));
+				break;
+			case POISSON_RHO:
+				r[targets[i]] = t.reciprocal(c1).multiply(r[b].multiply(t).exp().add(-1));
+				break;
+			case ADD:
+				r[targets[i]] = t.add(r[b]);
+				break;
+			case MAXIMUM:
+				r[targets[i]] = t.max(r[b]);
+				break;
+			case NEGATIVE_ABSOLUTE_DIFFERENCE:
+				r[targets[i]] = t.negativeAbsoluteDifference(r[b]);
+				break;
+			case UNITARY_MINUS:
+				r[targets[i]] = t.negate();
+				break;
+			case B_FUNCTION:
+				if(r[b].getLower() >= 0) {
+					throw new ServerOverloadException("Usage of non-positive argument in log(). Argument:"+Double.toString(1-Math.exp(r[b].getLower())));
+				}
+				r[targets[i]] = t.reciprocal(-1).multiply(t.multiply(r[b]).exp().negate().add(1).log());
+				break;
+			case CALL:
+				r[targets[i]] = calls[b].getInterval(t, p, parameterSlots);
+				break;
+			default:
+				throw new IllegalStateException("Unknown opcode " + opcodes[i]);
+			}
+		}
+		return r[result];
+	}
+
+	/**
+	 * Calculates the values of the compiled function at all thetas of
+	 * <code>thetas</code>. Each instruction is executed for all points
+	 * before the next one, hence the program runs as a sequence of 
+	 * tight loops over primitive arrays. Points at which 
+	 * {@link #getValue(double)} would throw get the value encoding the
+	 * first failure, as returned by {@link #getUncheckedValue(double)}.
+	 *
+	 * @param thetas the points of evaluation
+	 * @param out receives the values, must be at least as long as
+	 * <code>thetas</code>
+	 *
+	 * @throws ParameterMismatchException only if a non-compilable
+	 * function is part of the program
+	 */
+	public void getValues(double[] thetas, double[] out) throws ParameterMismatchException {
+		runBatch(thetas, null, out);
+	}
+
+	/**
+	 * Like {@link #getValues(double[], double[])}, but with the p-values
+	 * of the Hoelder-parameters taken from <code>p</code>. The program
+	 * must have been bound by {@link #bind(ParameterSlots)} before.
+	 *
+	 * @param thetas the points of evaluation
+	 * @param p the p-values indexed by slot
+	 * @param out receives the values, must be at least as long as
+	 * <code>thetas</code>
+	 *
+	 * @throws ParameterMismatchException
+	 */
+	public void getValues(double[] thetas, double[] p, double[] out) throws ParameterMismatchException {
+		if(slots == null) {
+			throw new IllegalStateException("The compiled function is not bound to any parameter slots.");
+		}
+		runBatch(thetas, p, out);
+	}
+
+	private void runBatch(double[] thetas, double[] p, double[] out) throws ParameterMismatchException {
+		int n = thetas.length;
+		double[][] r = batchRegisters.get();
+		if(r[0].length < n) {
+			for(int j = 0; j < r.length; j++) {
+				r[j] = new double[n];
+			}
+		}
+		System.arraycopy(thetas, 0, r[0], 0, n);
+		// The p-vector is the same for all thetas, hence one context serves the batch
+		EvaluationContext context = callContext(p);
+		// The status of each point, the first infeasible instruction sets it
+		EvaluationStatus[] status = new EvaluationStatus[n];
+
+		for(int i = 0; i < opcodes.length; i++) {
+			double[] target = r[targets[i]];
+			double[] x = r[firstOperands[i]];
+			int b = secondOperands[i];
+			double c1 = firstConstants[i];
+			double c2 = secondConstants[i];
+			double factor;
+
+			switch(opcodes[i]) {
+			case SCALE_P:
+				factor = (p == null ? hoelders[b].getPValue() : p[slots[b]]);
+				for(int k = 0; k < n; k++) target[k] = x[k] * factor;
+				break;
+			case SCALE_Q:
+				factor = (p == null ? hoelders[b].getQValue() : Hoelder.conjugate(p[slots[b]]));
+				for(int k = 0; k < n; k++) target[k] = x[k] * factor;
+				break;
+			case CONSTANT:
+				Arrays.fill(target, 0, n, c1);
+				break;
+			case PARAMETER:
+				Arrays.fill(target, 0, n, (p == null ? hoelders[b].getPValue() : p[slots[b]]));
+				break;
+			case EBB_SIGMA:
+				for(int k = 0; k < n; k++) target[k] = (x[k] > c1) ? fail(status, k, EvaluationStatus.THETA_OUT_OF_BOUND) : c2 - 1/x[k]*Math.log(1 - x[k]/c1);
+				break;
+			case EXPONENTIAL_SIGMA:
+				for(int k = 0; k < n; k++) target[k] = (x[k] >= c1) ? fail(status, k, EvaluationStatus.THETA_OUT_OF_BOUND) : 1/x[k] * Math.log(c1/(c1-x[k]));
+				break;
+			case STATIONARY_TB_SIGMA:
+				for(int k = 0; k < n; k++) target[k] = (x[k] > c2) ? fail(status, k, EvaluationStatus.THETA_OUT_OF_BOUND) : 1/x[k]*Math.log(0.5* Math.exp(x[k]*c1) + 0.5* Math.exp(-x[k]*c1));
+				break;
+			case POISSON_RHO:
+				for(int k = 0; k < n; k++) target[k] = c1/x[k]*(Math.exp(r[b][k]*x[k]) - 1);
+				break;
+			case ADD:
+				for(int k = 0; k < n; k++) target[k] = x[k] + r[b][k];
+				break;
+			case MAXIMUM:
+				for(int k = 0; k < n; k++) target[k] = Math.max(x[k], r[b][k]);
+				break;
+			case NEGATIVE_ABSOLUTE_DIFFERENCE:
+				for(int k = 0; k < n; k++) target[k] = (x[k] > r[b][k] ? r[b][k] - x[k] : x[k] - r[b][k]);
+				break;
+			case UNITARY_MINUS:
+				for(int k = 0; k < n; k++) target[k] = -x[k];
+				break;
+			case B_FUNCTION:
+				for(int k = 0; k < n; k++) target[k] = (r[b][k] >= 0) ? fail(status, k, EvaluationStatus.SERVER_OVERLOAD) : -1/x[k]*Math.log(1-Math.exp(x[k]*r[b][k]));
+				break;
+			case CALL:
+				for(int k = 0; k < n; k++) {
+					try {
+						target[k] = (p == null ? calls[b].getValue(x[k], callParameters.get(b)) : context.getValue(calls[b], x[k], p, parameterSlots));
+					} catch(ThetaOutOfBoundException e) {
+						target[k] = fail(status, k, EvaluationStatus.THETA_OUT_OF_BOUND);
+					} catch(ServerOverloadException e) {
+						target[k] = fail(status, k, EvaluationStatus.SERVER_OVERLOAD);
+					}
+				}
+				break;
+			default:
+				throw new IllegalStateException("Unknown opcode " + opcodes[i]);
+			}
+		}
+		System.arraycopy(r[result], 0, out, 0, n);
+		for(int k = 0; k < n; k++) {
+			if(status[k] == EvaluationStatus.THETA_OUT_OF_BOUND) out[k] = Double.NaN;
+			else if(status[k] == EvaluationStatus.SERVER_OVERLOAD) out[k] = Double.POSITIVE_INFINITY;
+		}
+	}
+
+	/**
+	 * Records the failure of point <code>k</code>, unless an earlier
+	 * instruction failed there already, and returns the NaN which 
+	 * is propagated through the remaining instructions.
+	 */
+	private static double fail(EvaluationStatus[] status, int k, EvaluationStatus failure) {
+		if(status[k] == null) {
+			status[k] = failure;
+		}
+		return Double.NaN;
+	}
+
+	/**
+	 * @return the cleared context of the calling thread for an evaluation
+	 * with the p-vector <code>p</code>, <code>null</code> if there is no
+	 * p-vector or nothing to call
+	 */
+	private EvaluationContext callContext(double[] p) {
+		if(p == null || calls.length == 0) {
+			return null;
+		}
+		EvaluationContext context = callContexts.get();
+		context.clear();
+		return context;
+	}
+
+	/**
+	 * Returns the context, through which the calling thread evaluates the
+	 * non-compilable nodes of this program with a p-vector. Its counters
+	 * accumulate over all evaluations of the thread.
+	 *
+	 * @return the context of the calling thread
+	 */
+	public EvaluationContext getCallContext() {
+		return callContexts.get();
+	}
+
+	/**
+	 * Returns the function this program was compiled from.
+	 *
+	 * @return the original function
+	 */
+	public SymbolicFunction getFunction() {
+		return function;
+	}
+
+	/**
+	 * Returns the number of instructions of the compiled program.
+	 *
+	 * @return the program length
+	 */
+	public int getNumberOfInstructions() {
+		return opcodes.length;
+	}
+
+	public int getNumberOfRegisters() {
+		return numberOfRegisters;
+	}
+
+	public double getmaxTheta() {
+		return function.getmaxTheta();
+	}
+
+	@Override
+	public String toString() {
+		return "compiled(" + function.toString() + ")";
+	}
+}
@@ -0,0 +1,228 @@
+/*
+ *  (c) 2017 Michael A. Beck, Sebastian Henningsen
+ *  		disco | Distributed Computer Systems Lab
+ *  		University of Kaiserslautern, Germany
+ *  All Rights Reserved.
+ *
+ * This software is work in progress and is released in the hope that it will
+ * be useful to the scientific community. It is provided "as is" without
+ * express or implied warranty, including but not limited to the correctness
+ * of the code or its suitability for any particular purpose.
+ *
+ * This software is provided under the MIT License, however, we would
+ * appreciate it if you contacted the respective authors prior to commercial use.
+ *
+ * If you find our software useful, we would appreciate if you mentioned it
+ * in any publication arising from the use of this software or acknowledge
+ * our work otherwise. We would also like to hear of any fixes or useful
+ */
+
+package org.networkcalculus.snc.symbolic_math;
+
+import java.util.Arrays;
+
+/**
+ * A value together with its partial derivatives with respect to theta
+ * and the p-values of the Hoelder-parameters, used for forward-mode
+ * automatic differentiation of a {@link SymbolicFunction}.
+ * The derivative with respect to theta is stored at index <code>0</code>,
+ * the one with respect to the p-value of the Hoelder-parameter in slot
+ * <code>s</code> (see {@link ParameterSlots}) at index <code>s+1</code>.
+ * The arithmetic operations compute the value in the same order as
+ * the scalar evaluation of the functions does, hence the value of a
+ * dual evaluation is the same as the one of 
+ * {@link SymbolicFunction#getValue(double, double[], ParameterSlots)}.
+ * Instances are immutable.
+ *
+ * @see SymbolicFunction#getDualValue(DualNumber, double[], ParameterSlots)
+ */
+public final class DualNumber {
+	private final double value;
+	private final double[] derivatives;
+
+	private DualNumber(double value, double[] derivatives) {
+		this.value = value;
+		this.derivatives = derivatives;
+	}
+
+	/**
+	 * Creates theta as the first variable of the differentiation.
+	 *
+	 * @param theta the value of theta
+	 * @param numberOfSlots the length of the p-vector
+	 *
+	 * @return theta with derivative <code>1</code> with respect to itself
+	 */
+	public static DualNumber theta(double theta, int numberOfSlots) {
+		double[] derivatives = new double[numberOfSlots + 1];
+		derivatives[0] = 1;
+		return new DualNumber(theta, derivatives);
+	}
+
+	/**
+	 * Creates the p-value of the Hoelder-parameter in the given slot
+	 * as a variable of the differentiation.
+	 *
+	 * @param p the p-values indexed by slot
+	 * @param slot the slot of the parameter
+	 *
+	 * @return the p-value with derivative <code>1</code> with respect to itself
+	 */
+	public static DualNumber parameter(double[] p, int slot) {
+		double[] derivatives = new double[p.length + 1];
+		derivatives[slot + 1] = 1;
+		return new DualNumber(p[slot], derivatives);
+	}
+
+	/**
+	 * Returns a constant with the same number of derivatives as this.
+	 *
+	 * @param value the value of the constant
+	 *
+	 * @return the constant
+	 */
+	public DualNumber constant(double value) {
+		return new DualNumber(value, new double[derivatives.length]);
+	}
+
+	public double getValue() {
+		return value;
+	}
+
+	public double getThetaDerivative() {
+		return derivatives[0];
+	}
+
+	/**
+	 * Returns the derivative with respect to the p-value of the
+	 * Hoelder-parameter in the given slot.
+	 *
+	 * @param slot the slot of the parameter
+	 *
+	 * @return the partial derivative
+	 */
+	public double getPDerivative(int slot) {
+		return derivatives[slot + 1];
+	}
+
+	/**
+	 * Returns the gradient, i.e. the derivative with respect to theta
+	 * followed by the derivatives with respect to the p-values in the
+	 * order of their slots.
+	 *
+	 * @return a copy of the gradient
+	 */
+	public double[] getGradient() {
+		return derivatives.clone();
+	}
+
+	public DualNumber add(DualNumber other) {
+		double[] d = new double[derivatives.length];
+		for(int i = 0; i < d.length; i++) {
+			d[i] = derivatives[i] + other.derivatives[i];
+		}
+		return new DualNumber(value + other.value, d);
+	}
+
+	public DualNumber add(double constant) {
+		return new DualNumber(value + constant, derivatives);
+	}
+
+	public DualNumber subtract(DualNumber other) {
+		double[] d = new double[derivatives.length];
+		for(int i = 0; i < d.length; i++) {
+			d[i] = derivatives[i] - other.derivatives[i];
+		}
+		return new DualNumber(value - other.value, d);
+	}
+
+	public DualNumber negate() {
+		return chain(-1, -value);
+	}
+
+	public DualNumber multiply(DualNumber other) {
+		double[] d = new double[derivatives.length];
+		for(int i = 0; i < d.length; i++) {
+			d[i] = derivatives[i]*other.value + value*other.derivatives[i];
+		}
+		return new DualNumber(value * other.value, d);
+	}
+
+	public DualNumber multiply(double constant) {
+		return chain(constant, value * constant);
+	}
+
+	public DualNumber divide(DualNumber other) {
+		double[] d = new double[derivatives.length];
+		double square = other.value*other.value;
+		for(int i = 0; i < d.length; i++) {
+			d[i] = derivatives[i]/other.value - value*other.derivatives[i]/square;
+		}
+		return new DualNumber(value / other.value, d);
+	}
+
+	public DualNumber divide(double constant) {
+		return chain(1/constant, value / constant);
+	}
+
+	/**
+	 * Returns <code>numerator/this</code>.
+	 *
+	 * @param numerator a constant
+	 *
+	 * @return the quotient
+	 */
+	public DualNumber reciprocal(double numerator) {
+		return chain(-numerator/(value*value), numerator / value);
+	}
+
+	public DualNumber exp() {
+		double result = Math.exp(value);
+		return chain(result, result);
+	}
+
+	public DualNumber log() {
+		return chain(1/value, Math.log(value));
+	}
+
+	/**
+	 * Returns the larger of this and <code>other</code> like
+	 * {@link Math#max(double, double)}. At a tie the derivatives of
+	 * this are taken, which is one of the one-sided derivatives.
+	 *
+	 * @param other
+	 *
+	 * @return the maximum
+	 */
+	public DualNumber max(DualNumber other) {
+		return (value >= other.value || Double.isNaN(value)) ? this : other;
+	}
+
+	/**
+	 * Returns the conjugated Hoelder-coefficient <code>1/(1-1/this)</code>
+	 * computed as by {@link Hoelder#conjugate(double)}.
+	 *
+	 * @return the conjugate
+	 */
+	public DualNumber conjugate() {
+		double q = Hoelder.conjugate(value);
+		return chain(-q*q/(value*value), q);
+	}
+
+	/**
+	 * Applies the chain rule for a function of this with the given
+	 * derivative.
+	 */
+	private DualNumber chain(double derivative, double result) {
+		double[] d = new double[derivatives.length];
+		for(int i = 0; i < d.length; i++) {
+			d[i] = derivative*derivatives[i];
+		}
+		return new DualNumber(result, d);
+	}
+
+	@Override
+	public String toString() {
+		return value + " " + Arrays.toString(derivatives);
+	}
+}
@@ -0,0 +1,124 @@
+/*
+ *  (c) 2017 Michael A. Beck, Sebastian Henningsen
+ *  		disco | Distributed Computer Systems Lab
+ *  		University of Kaiserslautern, Germany
+ *  All Rights Reserved.
+ *
+ * This software is work in progress and is released in the hope that it will
+ * be useful to the scientific community. It is provided "as is" without
+ * express or implied warranty, including but not limited to the correctness
+ * of the code or its suitability for any particular purpose.
+ *
+ * This software is provided under the MIT License, however, we would
+ * appreciate it if you contacted the respective authors prior to commercial use.
+ *
+ * If you find our software useful, we would appreciate if you mentioned it
+ * in any publication arising from the use of this software or acknowledge
+ * our work otherwise. We would also like to hear of any fixes or useful
+ */
+
+package org.networkcalculus.snc.symbolic_math;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Memorizes the values of the nodes of a {@link SymbolicFunction} during
+ * one top-level evaluation. A value is keyed by the node and the
+ * (possibly Hoelder-scaled) theta it was evaluated at, such that a
+ * subexpression shared between several parts of a function is only
+ * computed once per point. The p-vector is fixed for the duration of
+ * one evaluation and hence not part of the key; the cache must be
+ * cleared by {@link #clear()} before the next evaluation.
+ * The numbers of cache hits and misses are counted over the whole
+ * lifetime of the context.
+ * A context must not be shared between threads.
+ *
+ * @see SymbolicFunction#getValue(double, double[], ParameterSlots, EvaluationContext)
+ */
+public class EvaluationContext {
+	private final Map<Key, Double> values = new HashMap<>();
+	private long hits;
+	private long misses;
+
+	/**
+	 * Returns the value of <code>function</code> at theta, computing it
+	 * only if it has not been computed before during this evaluation.
+	 *
+	 * @param function the (sub-)function to be evaluated
+	 * @param theta
+	 * @param p the p-values of the Hoelder-parameters indexed by slot
+	 * @param slots the slots of <code>p</code>
+	 *
+	 * @return the value of the function at theta
+	 *
+	 * @throws ThetaOutOfBoundException
+	 * @throws ParameterMismatchException
+	 * @throws ServerOverloadException
+	 */
+	public double getValue(SymbolicFunction function, double theta, double[] p, ParameterSlots slots)
+			throws ThetaOutOfBoundException, ParameterMismatchException, ServerOverloadException {
+		Key key = new Key(function, theta);
+		Double value = values.get(key);
+		if(value != null) {
+			hits++;
+			return value;
+		}
+		misses++;
+		double result = function.getValue(theta, p, slots, this);
+		values.put(key, result);
+		return result;
+	}
+
+	/**
+	 * Forgets all memorized values, the counters are kept.
+	 */
+	public void clear() {
+		values.clear();
+	}
+
+	public long getHits() {
+		return hits;
+	}
+
+	public long getMisses() {
+		return misses;
+	}
+
+	/**
+	 * Resets the hit- and miss-counters.
+	 */
+	public void resetCounters() {
+		hits = 0;
+		misses = 0;
+	}
+
+	@Override
+	public String toString() {
+		return "EvaluationContext(hits: " + hits + ", misses: " + misses + ")";
+	}
+
+	private static final class Key {
+		private final SymbolicFunction function;
+		private final double theta;
+
+		Key(SymbolicFunction function, double theta) {
+			this.function = function;
+			this.theta = theta;
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * System.identityHashCode(function) + Double.hashCode(theta);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if(!(obj instanceof Key)) {
+				return false;
+			}
+			Key other = (Key) obj;
+			return function == other.function && Double.compare(theta, other.theta) == 0;
+		}
+	}
+}
@@ -0,0 +1,67 @@
+/*
+ *  (c) 2017 Michael A. Beck, Sebastian Henningsen
+ *  		disco | Distributed Computer Systems Lab
+ *  		University of Kaiserslautern, Germany
+ *  All Rights Reserved.
+ *
+ * This software is work in progress and is released in the hope that it will
+ * be useful to the scientific community. It is provided "as is" without
+ * express or implied warranty, including but not limited to the correctness
+ * of the code or its suitability for any particular purpose.
+ *
+ * This software is provided under the MIT License, however, we would
+ * appreciate it if you contacted the respective authors prior to commercial use.
+ *
+ * If you find our software useful, we would appreciate if you mentioned it
+ * in any publication arising from the use of this software or acknowledge
+ * our work otherwise. We would also like to hear of any fixes or useful
+ */
+
+package org.networkcalculus.snc.symbolic_math;
+
+/**
+ * The outcome of an evaluation, which does not throw on infeasible
+ * points. Instead of a {@link ThetaOutOfBoundException} such an
+ * evaluation returns <code>NaN</code>, instead of a 
+ * {@link ServerOverloadException} it returns 
+ * <code>+Infinity</code>. The status is decoded from the returned 
+ * value by {@link #of(double)}, hence a bound, which is infinite at
+ * a feasible point, is reported as an overload as well.
+ *
+ * @see CompiledFunction#getUncheckedValue(double)
+ */
+public enum EvaluationStatus {
+	FEASIBLE,
+	THETA_OUT_OF_BOUND,
+	SERVER_OVERLOAD;
+
+	/**
+	 * Returns the status of a value returned by an unchecked evaluation.
+	 *
+	 * @param value the value
+	 *
+	 * @return the status
+	 */
+	public static EvaluationStatus of(double value) {
+		if(Double.isNaN(value)) {
+			return THETA_OUT_OF_BOUND;
+		}
+		if(value == Double.POSITIVE_INFINITY) {
+			return SERVER_OVERLOAD;
+		}
+		return FEASIBLE;
+	}
+
+	/**
+	 * Checks whether a value returned by an unchecked evaluation is a
+	 * feasible one.
+	 *
+	 * @param value the value
+	 *
+	 * @return <code>true</code> if it is neither <code>NaN</code> nor
+	 * <code>+Infinity</code>
+	 */
+	public static boolean isFeasible(double value) {
+		return !Double.isNaN(value) && value != Double.POSITIVE_INFINITY;
+	}
+}
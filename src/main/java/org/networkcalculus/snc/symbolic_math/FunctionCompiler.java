@@ -0,0 +1,205 @@
+/*
+ *  (c) 2017 Michael A. Beck, Sebastian Henningsen
+ *  		disco | Distributed Computer Systems Lab
+ *  		University of Kaiserslautern, Germany
+ *  All Rights Reserved.
+ *
+ * This software is work in progress and is released in the hope that it will
+ * be useful to the scientific community. It is provided "as is" without
+ * express or implied warranty, including but not limited to the correctness
+ * of the code or its suitability for any particular purpose.
+ *
+ * This software is provided under the MIT License, however, we would
+ * appreciate it if you contacted the respective authors prior to commercial use.
+ *
+ * If you find our software useful, we would appreciate if you mentioned it
+ * in any publication arising from the use of this software or acknowledge
+ * our work otherwise. We would also like to hear of any fixes or useful
+ */
+
+package org.networkcalculus.snc.symbolic_math;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.networkcalculus.snc.symbolic_math.functions.BFunction;
+import org.networkcalculus.snc.symbolic_math.functions.ConstantFunction;
+import org.networkcalculus.snc.symbolic_math.functions.EBBSigma;
+import org.networkcalculus.snc.symbolic_math.functions.ExponentialSigma;
+import org.networkcalculus.snc.symbolic_math.functions.PoissonRho;
+import org.networkcalculus.snc.symbolic_math.functions.ScaledFunction;
+import org.networkcalculus.snc.symbolic_math.functions.StationaryTBSigma;
+
+/**
+ * Lowers a {@link SymbolicFunction}-tree into a {@link CompiledFunction}.
+ * The tree is traversed once in post-order and each node is translated
+ * into one instruction. The theta each node is evaluated at is tracked
+ * as a register, such that a subtree, which appears several times under
+ * the same scaled theta, and a theta, which is scaled several times by
+ * the same Hoelder-coefficient, are computed only once.
+ * Nodes of unknown type are not lowered, but called via their own
+ * {@link SymbolicFunction#getValue} with precomputed parameters, or
+ * through an {@link EvaluationContext} if a p-vector is given.
+ *
+ * @see CompiledFunction
+ */
+public final class FunctionCompiler {
+
+	private final List<int[]> instructions = new ArrayList<>();
+	private final List<double[]> constants = new ArrayList<>();
+	private final Map<Hoelder, Integer> hoelderIndices = new IdentityHashMap<>();
+	private final List<Hoelder> hoelders = new ArrayList<>();
+	private final List<SymbolicFunction> calls = new ArrayList<>();
+	private final Map<SymbolicFunction, Map<Integer, Integer>> computed = new IdentityHashMap<>();
+	private final Map<Long, Integer> scaledThetas = new HashMap<>();
+	private int numberOfRegisters = 1;
+
+	private FunctionCompiler() {
+	}
+
+	/**
+	 * Compiles the given function.
+	 *
+	 * @param function the function to be compiled
+	 *
+	 * @return the compiled program of the function
+	 */
+	public static CompiledFunction compile(SymbolicFunction function) {
+		FunctionCompiler compiler = new FunctionCompiler();
+		int result = compiler.emit(function, 0);
+		return compiler.build(function, result);
+	}
+
+	private CompiledFunction build(SymbolicFunction function, int result) {
+		int length = instructions.size();
+		int[] opcodes = new int[length];
+		int[] targets = new int[length];
+		int[] firstOperands = new int[length];
+		int[] secondOperands = new int[length];
+		double[] firstConstants = new double[length];
+		double[] secondConstants = new double[length];
+
+		for(int i = 0; i < length; i++) {
+			int[] instruction = instructions.get(i);
+			opcodes[i] = instruction[0];
+			targets[i] = instruction[1];
+			firstOperands[i] = instruction[2];
+			secondOperands[i] = instruction[3];
+			firstConstants[i] = constants.get(i)[0];
+			secondConstants[i] = constants.get(i)[1];
+		}
+
+		List<Map<Integer, Hoelder>> callParameters = new ArrayList<>(calls.size());
+		for(SymbolicFunction call : calls) {
+			callParameters.add(call.getParameters());
+		}
+
+		return new CompiledFunction(function, opcodes, targets, firstOperands, secondOperands,
+				firstConstants, secondConstants, result, numberOfRegisters,
+				hoelders.toArray(new Hoelder[0]), calls.toArray(new SymbolicFunction[0]), callParameters);
+	}
+
+	private int emit(SymbolicFunction function, int theta) {
+		Map<Integer, Integer> byTheta = computed.get(function);
+		if(byTheta != null && byTheta.containsKey(theta)) {
+			return byTheta.get(theta);
+		}
+
+		int target;
+		if(function instanceof AdditiveComposition || function instanceof MaximumFunction
+				|| function instanceof NegativeAbsoluteDifference) {
+			BinaryFunction binary = (BinaryFunction) function;
+			int theta1 = theta;
+			int theta2 = theta;
+			if(binary.getHoelder() != null) {
+				theta1 = scale(theta, binary.getHoelder(), true);
+				theta2 = scale(theta, binary.getHoelder(), false);
+			}
+			int first = emit(binary.getFirst(), theta1);
+			int second = emit(binary.getSecond(), theta2);
+
+			int opcode;
+			if(function instanceof AdditiveComposition) opcode = CompiledFunction.ADD;
+			else if(function instanceof MaximumFunction) opcode = CompiledFunction.MAXIMUM;
+			else opcode = CompiledFunction.NEGATIVE_ABSOLUTE_DIFFERENCE;
+			target = instruction(opcode, first, second, 0, 0);
+		}
+		else if(function instanceof ScaledFunction) {
+			ScaledFunction scaled = (ScaledFunction) function;
+			target = emit(scaled.getOriginal(), scale(theta, scaled.getHoelder(), scaled.isPScaled()));
+		}
+		else if(function instanceof UnitaryMinus) {
+			target = instruction(CompiledFunction.UNITARY_MINUS, emit(((UnitaryMinus) function).getAtom(), theta), 0, 0, 0);
+		}
+		else if(function instanceof BFunction) {
+			int exponent = emit(((BFunction) function).getExponent(), theta);
+			target = instruction(CompiledFunction.B_FUNCTION, theta, exponent, 0, 0);
+		}
+		else if(function instanceof PoissonRho) {
+			PoissonRho poisson = (PoissonRho) function;
+			int rho = emit(poisson.getRho(), theta);
+			target = instruction(CompiledFunction.POISSON_RHO, theta, rho, poisson.getMu(), 0);
+		}
+		else if(function instanceof ConstantFunction) {
+			target = instruction(CompiledFunction.CONSTANT, 0, 0, ((ConstantFunction) function).getRate(), 0);
+		}
+		else if(function instanceof NewParameter) {
+			target = instruction(CompiledFunction.PARAMETER, 0, hoelderIndex(((NewParameter) function).getHoelder()), 0, 0);
+		}
+		else if(function instanceof EBBSigma) {
+			EBBSigma ebb = (EBBSigma) function;
+			target = instruction(CompiledFunction.EBB_SIGMA, theta, 0, ebb.getDecay(), 1/ebb.getDecay()*Math.log(ebb.getPrefactor()));
+		}
+		else if(function instanceof ExponentialSigma) {
+			target = instruction(CompiledFunction.EXPONENTIAL_SIGMA, theta, 0, ((ExponentialSigma) function).getLambda(), 0);
+		}
+		else if(function instanceof StationaryTBSigma) {
+			StationaryTBSigma tb = (StationaryTBSigma) function;
+			target = instruction(CompiledFunction.STATIONARY_TB_SIGMA, theta, 0, tb.getBucket(), tb.getmaxTheta());
+		}
+		else {
+			return call(function, theta);
+		}
+
+		computed.computeIfAbsent(function, f -> new HashMap<>()).put(theta, target);
+		return target;
+	}
+
+	private int call(SymbolicFunction function, int theta) {
+		calls.add(function);
+		int target = instruction(CompiledFunction.CALL, theta, calls.size() - 1, 0, 0);
+		computed.computeIfAbsent(function, f -> new HashMap<>()).put(theta, target);
+		return target;
+	}
+
+	private int scale(int theta, Hoelder hoelder, boolean pScaled) {
+		int index = hoelderIndex(hoelder);
+		long key = ((long) theta << 32) | ((long) index << 1) | (pScaled ? 1 : 0);
+		Integer register = scaledThetas.get(key);
+		if(register == null) {
+			register = instruction(pScaled ? CompiledFunction.SCALE_P : CompiledFunction.SCALE_Q, theta, index, 0, 0);
+			scaledThetas.put(key, register);
+		}
+		return register;
+	}
+
+	private int hoelderIndex(Hoelder hoelder) {
+		Integer index = hoelderIndices.get(hoelder);
+		if(index == null) {
+			index = hoelders.size();
+			hoelders.add(hoelder);
+			hoelderIndices.put(hoelder, index);
+		}
+		return index;
+	}
+
+	private int instruction(int opcode, int firstOperand, int secondOperand, double firstConstant, double secondConstant) {
+		int target = numberOfRegisters++;
+		instructions.add(new int[] { opcode, target, firstOperand, secondOperand });
+		constants.add(new double[] { firstConstant, secondConstant });
+		return target;
+	}
+}
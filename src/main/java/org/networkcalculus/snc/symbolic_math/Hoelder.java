@@ -96,6 +96,30 @@ public class Hoelder implements Serializable {
 		this.p_value = 1/(1-1/q_value);
 	}
 	
+    /**
+     * Sets p- and q-value at once, without recomputing one from the
+     * other. Meant to restore a pair read by {@link #getPValue()} and
+     * {@link #getQValue()} from another Hoelder-object, such that both
+     * values are exactly the same.
+     * 
+     * @param p_value
+     * @param q_value
+     */
+    public void setValues(double p_value, double q_value) {
+		this.p_value = p_value;
+		this.q_value = q_value;
+	}
+
+    /**
+     * Returns the q-value belonging to the p-value <code>p</code>.
+     * 
+     * @param p
+     * @return the conjugated coefficient
+     */
+    public static double conjugate(double p) {
+		return 1/(1-1/p);
+	}
+
     public Hoelder copy() {
         return new Hoelder(this.hoelder_id, this.p_value);
     }
@@ -0,0 +1,216 @@
+/*
+ *  (c) 2017 Michael A. Beck, Sebastian Henningsen
+ *  		disco | Distributed Computer Systems Lab
+ *  		University of Kaiserslautern, Germany
+ *  All Rights Reserved.
+ *
+ * This software is work in progress and is released in the hope that it will
+ * be useful to the scientific community. It is provided "as is" without
+ * express or implied warranty, including but not limited to the correctness
+ * of the code or its suitability for any particular purpose.
+ *
+ * This software is provided under the MIT License, however, we would
+ * appreciate it if you contacted the respective authors prior to commercial use.
+ *
+ * If you find our software useful, we would appreciate if you mentioned it
+ * in any publication arising from the use of this software or acknowledge
+ * our work otherwise. We would also like to hear of any fixes or useful
+ */
+
+
+package org.networkcalculus.snc.symbolic_math;
+
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * A closed interval <code>[lower, upper]</code> of real numbers for the
+ * interval-arithmetic evaluation of a {@link SymbolicFunction} over a box
+ * of thetas and p-values. Each operation returns an interval, which
+ * contains the results of the operation for all points of its operands.
+ * Computed bounds are rounded outwards by one ulp and an undefined bound
+ * (NaN) is replaced by the corresponding infinity, such that the
+ * enclosure also holds in floating-point arithmetic.
+ * Instances are immutable.
+ *
+ * @see SymbolicFunction#getInterval(Interval, Interval[], ParameterSlots)
+ */
+public final class Interval {
+	private final double lower;
+	private final double upper;
+
+	private Interval(double lower, double upper) {
+		this.lower = lower;
+		this.upper = upper;
+	}
+
+	/**
+	 * Creates the interval <code>[lower, upper]</code> with exactly the given bounds.
+	 *
+	 * @param lower
+	 * @param upper must not be smaller than <code>lower</code>
+	 *
+	 * @return the interval
+	 */
+	public static Interval of(double lower, double upper) {
+		if(!(lower <= upper)) {
+			throw new IllegalArgumentException("Empty interval [" + lower + ", " + upper + "]");
+		}
+		return new Interval(lower, upper);
+	}
+
+	public static Interval point(double value) {
+		return of(value, value);
+	}
+
+	/**
+	 * Creates an interval enclosing the computed bounds.
+	 */
+	private static Interval enclose(double lower, double upper) {
+		double l = Double.isNaN(lower) ? Double.NEGATIVE_INFINITY : Math.nextDown(lower);
+		double u = Double.isNaN(upper) ? Double.POSITIVE_INFINITY : Math.nextUp(upper);
+		return new Interval(l, u);
+	}
+
+	public double getLower() {
+		return lower;
+	}
+
+	public double getUpper() {
+		return upper;
+	}
+
+	public double getMidpoint() {
+		return 0.5*lower + 0.5*upper;
+	}
+
+	public double getWidth() {
+		return upper - lower;
+	}
+
+	public boolean contains(double value) {
+		return lower <= value && value <= upper;
+	}
+
+	public Interval add(Interval other) {
+		return enclose(lower + other.lower, upper + other.upper);
+	}
+
+	public Interval add(double constant) {
+		return enclose(lower + constant, upper + constant);
+	}
+
+	public Interval subtract(Interval other) {
+		return enclose(lower - other.upper, upper - other.lower);
+	}
+
+	public Interval negate() {
+		return new Interval(-upper, -lower);
+	}
+
+	public Interval multiply(Interval other) {
+		double a = product(lower, other.lower);
+		double b = product(lower, other.upper);
+		double c = product(upper, other.lower);
+		double d = product(upper, other.upper);
+		return enclose(Math.min(Math.min(a, b), Math.min(c, d)), Math.max(Math.max(a, b), Math.max(c, d)));
+	}
+
+	public Interval multiply(double constant) {
+		return multiply(point(constant));
+	}
+
+	/**
+	 * Multiplies two bounds, zero times an infinite bound being zero.
+	 */
+	private static double product(double a, double b) {
+		return (a == 0 || b == 0) ? 0 : a*b;
+	}
+
+	public Interval divide(double constant) {
+		return multiply(point(constant).reciprocal(1));
+	}
+
+	/**
+	 * Returns <code>numerator/this</code>, which is unbounded if this
+	 * contains zero.
+	 *
+	 * @param numerator a constant
+	 *
+	 * @return the quotient
+	 */
+	public Interval reciprocal(double numerator) {
+		if(numerator == 0) {
+			return point(0);
+		}
+		if(contains(0)) {
+			return new Interval(Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY);
+		}
+		double a = numerator / lower;
+		double b = numerator / upper;
+		return enclose(Math.min(a, b), Math.max(a, b));
+	}
+
+	public Interval exp() {
+		return new Interval(Math.max(0, Math.nextDown(Math.exp(lower))), Math.nextUp(Math.exp(upper)));
+	}
+
+	/**
+	 * Returns the logarithm, which is unbounded from below, if this
+	 * contains non-positive numbers.
+	 *
+	 * @return the logarithm
+	 */
+	public Interval log() {
+		return enclose(lower > 0 ? Math.log(lower) : Double.NEGATIVE_INFINITY, Math.log(upper));
+	}
+
+	public Interval max(Interval other) {
+		return new Interval(Math.max(lower, other.lower), Math.max(upper, other.upper));
+	}
+
+	/**
+	 * Returns <code>-|this - other|</code>.
+	 *
+	 * @param other
+	 *
+	 * @return the negative absolute difference
+	 */
+	public Interval negativeAbsoluteDifference(Interval other) {
+		Interval difference = subtract(other);
+		if(difference.lower >= 0) {
+			return difference.negate();
+		}
+		if(difference.upper <= 0) {
+			return difference;
+		}
+		return new Interval(Math.min(difference.lower, -difference.upper), 0);
+	}
+
+	/**
+	 * Returns the conjugated Hoelder-coefficients <code>1/(1-1/p)</code>
+	 * of all p in this, which must be larger than 1.
+	 *
+	 * @return the conjugates
+	 */
+	public Interval conjugate() {
+		double q = (lower > 1) ? Hoelder.conjugate(lower) : Double.POSITIVE_INFINITY;
+		return enclose(Hoelder.conjugate(upper), q);
+	}
+
+	/**
+	 * Applies a function, which is non-decreasing on this, by evaluating
+	 * it at the bounds.
+	 *
+	 * @param function a non-decreasing function
+	 *
+	 * @return the image of this
+	 */
+	public Interval increasing(DoubleUnaryOperator function) {
+		return enclose(function.applyAsDouble(lower), function.applyAsDouble(upper));
+	}
+
+	@Override
+	public String toString() {
+		return "[" + lower + ", " + upper + "]";
+	}
+}
@@ -114,6 +114,40 @@ public class MaximumFunction extends BinaryFunction implements SymbolicFunction{
 	    
 	    return Math.max(getValueOfFunction(theta, parameters, 1), getValueOfFunction(theta, parameters, 2));
 	}
+
+	@Override
+	public double getValue(double theta, double[] p, ParameterSlots slots)
+			throws ThetaOutOfBoundException, ParameterMismatchException, ServerOverloadException {
+	    return Math.max(getValueOfFunction(theta, p, slots, 1), getValueOfFunction(theta, p, slots, 2));
+	}
+
+	@Override
+	public DualNumber getDualValue(DualNumber theta, double[] p, ParameterSlots slots)
+			throws ThetaOutOfBoundException, ParameterMismatchException, ServerOverloadException {
+	    return getDualValueOfFunction(theta, p, slots, 1).max(getDualValueOfFunction(theta, p, slots, 2));
+	}
+
+	@Override
+	public Interval getInterval(Interval theta, Interval[] p, ParameterSlots slots)
+			throws ThetaOutOfBoundException, ParameterMismatchException, ServerOverloadException {
+	    return getIntervalOfFunction(theta, p, slots, 1).max(getIntervalOfFunction(theta, p, slots, 2));
+	}
+
+	@Override
+	public void getValues(double[] thetas, double[] p, ParameterSlots slots, double[] out) throws ParameterMismatchException {
+	    double[] second = new double[thetas.length];
+	    getValuesOfFunction(thetas, p, slots, 1, out);
+	    getValuesOfFunction(thetas, p, slots, 2, second);
+	    for(int i = 0; i < thetas.length; i++) {
+	    	out[i] = Math.max(out[i], second[i]);
+	    }
+	}
+
+	@Override
+	public double getValue(double theta, double[] p, ParameterSlots slots, EvaluationContext context)
+			throws ThetaOutOfBoundException, ParameterMismatchException, ServerOverloadException {
+	    return Math.max(getValueOfFunction(theta, p, slots, context, 1), getValueOfFunction(theta, p, slots, context, 2));
+	}
 	
 	/**
 	 * Returns an representation of the function in polish notation.
@@ -152,6 +152,46 @@ public class NegativeAbsoluteDifference extends BinaryFunction implements Symbol
 	    return (value1 > value2 ? value2 - value1 : value1 - value2);
 	}
 
+	@Override
+	public double getValue(double theta, double[] p, ParameterSlots slots)
+			throws ThetaOutOfBoundException, ParameterMismatchException, ServerOverloadException {
+	    double value1 = getValueOfFunction(theta, p, slots, 1);
+	    double value2 = getValueOfFunction(theta, p, slots, 2);
+	    return (value1 > value2 ? value2 - value1 : value1 - value2);
+	}
+
+	@Override
+	public DualNumber getDualValue(DualNumber theta, double[] p, ParameterSlots slots)
+			throws ThetaOutOfBoundException, ParameterMismatchException, ServerOverloadException {
+	    DualNumber value1 = getDualValueOfFunction(theta, p, slots, 1);
+	    DualNumber value2 = getDualValueOfFunction(theta, p, slots, 2);
+	    return (value1.getValue() > value2.getValue() ? value2.subtract(value1) : value1.subtract(value2));
+	}
+
+	@Override
+	public Interval getInterval(Interval theta, Interval[] p, ParameterSlots slots)
+			throws ThetaOutOfBoundException, ParameterMismatchException, ServerOverloadException {
+	    return getIntervalOfFunction(theta, p, slots, 1).negativeAbsoluteDifference(getIntervalOfFunction(theta, p, slots, 2));
+	}
+
+	@Override
+	public void getValues(double[] thetas, double[] p, ParameterSlots slots, double[] out) throws ParameterMismatchException {
+	    double[] second = new double[thetas.length];
+	    getValuesOfFunction(thetas, p, slots, 1, out);
+	    getValuesOfFunction(thetas, p, slots, 2, second);
+	    for(int i = 0; i < thetas.length; i++) {
+	    	out[i] = (out[i] > second[i] ? second[i] - out[i] : out[i] - second[i]);
+	    }
+	}
+
+	@Override
+	public double getValue(double theta, double[] p, ParameterSlots slots, EvaluationContext context)
+			throws ThetaOutOfBoundException, ParameterMismatchException, ServerOverloadException {
+	    double value1 = getValueOfFunction(theta, p, slots, context, 1);
+	    double value2 = getValueOfFunction(theta, p, slots, context, 2);
+	    return (value1 > value2 ? value2 - value1 : value1 - value2);
+	}
+
 	/**
 	 * Returns string representation of the function in polish
 	 * notation. Given by:<br>
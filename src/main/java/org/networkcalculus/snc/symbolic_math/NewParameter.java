@@ -19,6 +19,7 @@
 
 package org.networkcalculus.snc.symbolic_math;
 
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -71,6 +72,35 @@ public class NewParameter implements SymbolicFunction {
 		return hoelder.getPValue();
 	}
 	
+	/**
+	 * Returns the p-value stored in the slot of this parameter.
+	 * 
+	 * @param theta not used
+	 * @param p the p-values indexed by slot
+	 * @param slots the slots of <code>p</code>
+	 * 
+	 * @return the new parameter as given.
+	 */
+	@Override
+	public double getValue(double theta, double[] p, ParameterSlots slots) {
+		return p[slots.getSlot(hoelder)];
+	}
+	
+	@Override
+	public DualNumber getDualValue(DualNumber theta, double[] p, ParameterSlots slots) {
+		return DualNumber.parameter(p, slots.getSlot(hoelder));
+	}
+	
+	@Override
+	public Interval getInterval(Interval theta, Interval[] p, ParameterSlots slots) {
+		return p[slots.getSlot(hoelder)];
+	}
+	
+	@Override
+	public void getValues(double[] thetas, double[] p, ParameterSlots slots, double[] out) {
+		Arrays.fill(out, 0, thetas.length, p[slots.getSlot(hoelder)]);
+	}
+	
 	/**
 	 * Returns a string representation of the new parameter, by:<br>
 	 * <code>parameter_id</code>
@@ -97,4 +127,8 @@ public class NewParameter implements SymbolicFunction {
 		parameter_ids.put(hoelder.getHoelderID(), hoelder);
 		return parameter_ids;
 	}
+
+    public Hoelder getHoelder() {
+		return hoelder;
+	}
 }
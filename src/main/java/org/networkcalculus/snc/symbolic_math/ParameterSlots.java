@@ -0,0 +1,157 @@
+/*
+ *  (c) 2017 Michael A. Beck, Sebastian Henningsen
+ *  		disco | Distributed Computer Systems Lab
+ *  		University of Kaiserslautern, Germany
+ *  All Rights Reserved.
+ *
+ * This software is work in progress and is released in the hope that it will
+ * be useful to the scientific community. It is provided "as is" without
+ * express or implied warranty, including but not limited to the correctness
+ * of the code or its suitability for any particular purpose.
+ *
+ * This software is provided under the MIT License, however, we would
+ * appreciate it if you contacted the respective authors prior to commercial use.
+ *
+ * If you find our software useful, we would appreciate if you mentioned it
+ * in any publication arising from the use of this software or acknowledge
+ * our work otherwise. We would also like to hear of any fixes or useful
+ */
+
+package org.networkcalculus.snc.symbolic_math;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Assigns a dense slot number to each of a given set of {@link Hoelder}
+ * parameters. The slots index the <code>double[]</code> of p-values
+ * taken by {@link SymbolicFunction#getValue(double, double[], ParameterSlots)}, such
+ * that a function can be evaluated for any combination of
+ * Hoelder-coefficients without touching a map or the Hoelder-objects.
+ * Slots are assigned in ascending order of the Hoelder-ids and are
+ * resolved by a table indexed by id, such that looking up the slot of a
+ * node's parameter during an evaluation is a single array access. The
+ * mapping is kept here and not in the Hoelder-objects, which may be
+ * shared between several bounds, hence it is passed along with the
+ * p-vector to each evaluation.
+ * A function must be checked against its slots once by
+ * {@link SymbolicFunction#bind(ParameterSlots)} before it is evaluated
+ * with a p-vector.
+ *
+ * @see SymbolicFunction
+ * @see Hoelder
+ */
+public class ParameterSlots {
+	private final Hoelder[] hoelders;
+	private final int firstID;
+	private final int[] slotsByID;
+
+	/**
+	 * Assigns slots <code>0, ..., parameters.size()-1</code> to the
+	 * given Hoelder-parameters.
+	 *
+	 * @param parameters the parameters, keyed by their Hoelder-id
+	 */
+	public ParameterSlots(Map<Integer, Hoelder> parameters) {
+		TreeMap<Integer, Hoelder> sorted = new TreeMap<>(parameters);
+		hoelders = new Hoelder[sorted.size()];
+		if(sorted.isEmpty()) {
+			firstID = 0;
+			slotsByID = new int[0];
+			return;
+		}
+		// The ids of the parameters of one bound are created close to each other
+		firstID = sorted.firstKey();
+		slotsByID = new int[sorted.lastKey() - firstID + 1];
+		Arrays.fill(slotsByID, -1);
+
+		int slot = 0;
+		for(Map.Entry<Integer, Hoelder> entry : sorted.entrySet()) {
+			hoelders[slot] = entry.getValue();
+			slotsByID[entry.getKey() - firstID] = slot;
+			slot++;
+		}
+	}
+
+	/**
+	 * Returns the slot of the Hoelder-parameter with the given id.
+	 *
+	 * @param hoelder_id the id of the Hoelder-parameter
+	 *
+	 * @return its slot or <code>-1</code>, if it has none
+	 */
+	public int getSlot(int hoelder_id) {
+		int index = hoelder_id - firstID;
+		return (index >= 0 && index < slotsByID.length) ? slotsByID[index] : -1;
+	}
+
+	/**
+	 * Returns the slot of the given Hoelder-parameter.
+	 *
+	 * @param hoelder the Hoelder-parameter
+	 *
+	 * @return its slot or <code>-1</code>, if it has none
+	 */
+	public int getSlot(Hoelder hoelder) {
+		return getSlot(hoelder.getHoelderID());
+	}
+
+	/**
+	 * Checks that the given Hoelder-parameter has been assigned a
+	 * slot by this instance. Slots are assigned by id, such that
+	 * copies of a Hoelder-parameter share the same slot.
+	 *
+	 * @param hoelder the parameter to check
+	 *
+	 * @throws ParameterMismatchException if it has no slot here
+	 */
+	public void check(Hoelder hoelder) throws ParameterMismatchException {
+		if(getSlot(hoelder) < 0) {
+			throw new ParameterMismatchException("Hoelder parameter " + hoelder.getHoelderID() + " has no slot assigned.");
+		}
+	}
+
+	public Hoelder getHoelder(int slot) {
+		return hoelders[slot];
+	}
+
+	public int size() {
+		return hoelders.length;
+	}
+
+	/**
+	 * Returns the current p-values of the Hoelder-parameters.
+	 *
+	 * @return the p-values indexed by slot
+	 */
+	public double[] read() {
+		double[] p = new double[hoelders.length];
+		read(p);
+		return p;
+	}
+
+	/**
+	 * Copies the current p-values of the Hoelder-parameters into
+	 * <code>p</code>.
+	 *
+	 * @param p the target array, indexed by slot
+	 */
+	public void read(double[] p) {
+		for(int slot = 0; slot < hoelders.length; slot++) {
+			p[slot] = hoelders[slot].getPValue();
+		}
+	}
+
+	/**
+	 * Sets the p-values of the Hoelder-parameters to the ones given
+	 * in <code>p</code>.
+	 *
+	 * @param p the p-values, indexed by slot
+	 */
+	public void write(double[] p) {
+		for(int slot = 0; slot < hoelders.length; slot++) {
+			hoelders[slot].setPValue(p[slot]);
+		}
+	}
+}
@@ -26,7 +26,6 @@ import java.util.HashSet;
 import java.util.Set;
 
 import org.networkcalculus.snc.network.Network;
-import org.networkcalculus.snc.symbolic_math.functions.BFunction;
 import org.networkcalculus.snc.symbolic_math.functions.ConstantFunction;
 import org.networkcalculus.snc.utils.SetUtils;
 
@@ -216,19 +215,20 @@ public class Service implements Serializable {
 	 */
 	public Service concatenate(Service service1, Service service2){
 		Service service;
+		SymbolicFunctionFactory factory = nw.getFunctionFactory();
 		
 		//Dependent Case
 		if(!SetUtils.getIntersection(service1.getServicedependencies(),service2.getServicedependencies()).isEmpty() || !SetUtils.getIntersection(service1.getArrivaldependencies(), service2.getArrivaldependencies()).isEmpty()){
 			Hoelder hoelder = nw.createHoelder();
-			SymbolicFunction givensigma = new AdditiveComposition(new AdditiveComposition(service1.getSigma(),service2.getSigma(),hoelder),new BFunction(new NegativeAbsoluteDifference(service1.getRho(),service2.getRho(),hoelder)));
-			SymbolicFunction givenrho = new MaximumFunction(service1.getRho(), service2.getRho(), hoelder);
+			SymbolicFunction givensigma = factory.add(factory.add(service1.getSigma(),service2.getSigma(),hoelder),factory.b(factory.negativeAbsoluteDifference(service1.getRho(),service2.getRho(),hoelder)));
+			SymbolicFunction givenrho = factory.maximum(service1.getRho(), service2.getRho(), hoelder);
 			service = new Service(givensigma, givenrho, nw);
 		}
 		
 		//Independent Case
 		else{
-			SymbolicFunction givensigma = new AdditiveComposition(new AdditiveComposition(service1.getSigma(),service2.getSigma()),new BFunction(new NegativeAbsoluteDifference(service1.getRho(),service2.getRho())));
-			SymbolicFunction givenrho = new MaximumFunction(service1.getRho(), service2.getRho());
+			SymbolicFunction givensigma = factory.add(factory.add(service1.getSigma(),service2.getSigma()),factory.b(factory.negativeAbsoluteDifference(service1.getRho(),service2.getRho())));
+			SymbolicFunction givenrho = factory.maximum(service1.getRho(), service2.getRho());
 			service = new Service(givensigma, givenrho, nw);
 		}
 		
@@ -256,20 +256,21 @@ public class Service implements Serializable {
 	 */
 	public Service leftover(Arrival arrival, Service service){
 		Service leftoverservice;
+		SymbolicFunctionFactory factory = nw.getFunctionFactory();
 
 		//Dependent CaseedFunctions
 		if(!SetUtils.getIntersection(arrival.getServicedependencies(),service.getServicedependencies()).isEmpty() || !SetUtils.getIntersection(service.getArrivaldependencies(), arrival.getArrivaldependencies()).isEmpty()){
 			Hoelder hoelder = nw.createHoelder();
-			SymbolicFunction givensigma = new AdditiveComposition(arrival.getSigma(),service.getSigma(),hoelder);
-			SymbolicFunction givenrho = new AdditiveComposition(arrival.getRho(),service.getRho(),hoelder);
+			SymbolicFunction givensigma = factory.add(arrival.getSigma(),service.getSigma(),hoelder);
+			SymbolicFunction givenrho = factory.add(arrival.getRho(),service.getRho(),hoelder);
 			leftoverservice = new Service(givensigma, givenrho, nw);
 			System.out.println("Dependent Case Leftover calculated");
 		}
 		
 		//Independent Case
 		else{
-			SymbolicFunction givensigma = new AdditiveComposition(arrival.getSigma(),service.getSigma());
-			SymbolicFunction givenrho = new AdditiveComposition(arrival.getRho(),service.getRho());
+			SymbolicFunction givensigma = factory.add(arrival.getSigma(),service.getSigma());
+			SymbolicFunction givenrho = factory.add(arrival.getRho(),service.getRho());
 			leftoverservice = new Service(givensigma, givenrho, nw);
 			System.out.println("Independent Case Leftover calculated");
 		}
@@ -20,7 +20,6 @@
 package org.networkcalculus.snc.symbolic_math;
 
 import org.networkcalculus.snc.SNC;
-import org.networkcalculus.snc.symbolic_math.functions.ConstantFunction;
 
 /**
  *
@@ -32,8 +31,9 @@ public class ServiceFactory {
             throw new BadInitializationException("Constant rate server: Rate needs to be greater than zero.", rate);
         }
         
-        SymbolicFunction sigma = new ConstantFunction(0);
-        SymbolicFunction rho = new ConstantFunction(rate);
+        SymbolicFunctionFactory factory = SNC.getInstance().getCurrentNetwork().getFunctionFactory();
+        SymbolicFunction sigma = factory.constant(0);
+        SymbolicFunction rho = factory.constant(rate);
         
         return new Service(sigma, rho, SNC.getInstance().getCurrentNetwork());
     }
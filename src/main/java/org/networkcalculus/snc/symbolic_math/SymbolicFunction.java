@@ -21,8 +21,11 @@ package org.networkcalculus.snc.symbolic_math;
 
 import java.io.Serializable;
 
+import java.util.Collections;
 import java.util.Map;
 
+import org.networkcalculus.snc.exceptions.NotImplementedException;
+
 /**
  * Interface representing a function in theta. 
  * <code>getValue(double[] parameters</code> returns the value of
@@ -34,6 +37,16 @@ import java.util.Map;
  * @author Michael Beck
  */
 public abstract interface SymbolicFunction extends Serializable {
+	/**
+	 * The p-vector of a function without Hoelder-parameters.
+	 */
+	double[] NO_PARAMETERS = new double[0];
+
+	/**
+	 * The slots of a function without Hoelder-parameters.
+	 */
+	ParameterSlots NO_SLOTS = new ParameterSlots(Collections.emptyMap());
+	
 	/**
 	 * Returns the value of the theta-dependent function at theta 
 	 * (theta must be the first of the parameters).
@@ -50,6 +63,152 @@ public abstract interface SymbolicFunction extends Serializable {
 	 */
 	double getValue(double theta, Map<Integer, Hoelder> parameters) throws ThetaOutOfBoundException, ParameterMismatchException, ServerOverloadException;
 	
+	/**
+	 * Returns the value of the theta-dependent function at theta, with
+	 * the p-values of the Hoelder-parameters given by their slot in
+	 * <code>p</code>. The function must have been checked by
+	 * {@link #bind(ParameterSlots)} against the slots used for 
+	 * <code>p</code> before, no parameter-checks are done here.
+	 * The default implementation throws a {@link NotImplementedException},
+	 * as a function, which does not read its p-values from
+	 * <code>p</code>, would silently use the ones stored in the
+	 * Hoelder-objects instead.
+	 * 
+	 * @param theta
+	 * @param p the p-values of the Hoelder-parameters indexed by slot
+	 * @param slots the slots of <code>p</code>
+	 * 
+	 * @return the value of the theta-dependent function at theta.
+	 * 
+	 * @throws ThetaOutOfBoundException
+	 * @throws ParameterMismatchException
+	 * @throws ServerOverloadException
+	 */
+	default double getValue(double theta, double[] p, ParameterSlots slots) throws ThetaOutOfBoundException, ParameterMismatchException, ServerOverloadException {
+		throw new NotImplementedException(getClass().getSimpleName() + " cannot be evaluated with a p-vector.");
+	}
+	
+	/**
+	 * Returns the value of the theta-dependent function at theta, like
+	 * {@link #getValue(double, double[], ParameterSlots)}, but evaluates the
+	 * atom-functions through <code>context</code>, such that shared
+	 * subexpressions are computed only once per top-level evaluation. The
+	 * default implementation does not memorize any atom-functions.
+	 * 
+	 * @param theta
+	 * @param p the p-values of the Hoelder-parameters indexed by slot
+	 * @param slots the slots of <code>p</code>
+	 * @param context the memory of the current top-level evaluation
+	 * 
+	 * @return the value of the theta-dependent function at theta.
+	 * 
+	 * @throws ThetaOutOfBoundException
+	 * @throws ParameterMismatchException
+	 * @throws ServerOverloadException
+	 */
+	default double getValue(double theta, double[] p, ParameterSlots slots, EvaluationContext context) throws ThetaOutOfBoundException, ParameterMismatchException, ServerOverloadException {
+		return getValue(theta, p, slots);
+	}
+	
+	/**
+	 * Calculates the values of the theta-dependent function at each
+	 * theta of <code>thetas</code>, with the p-values of the 
+	 * Hoelder-parameters given by their slot in <code>p</code>.
+	 * Points, at which {@link #getValue(double, double[], ParameterSlots)} would throw
+	 * a {@link ThetaOutOfBoundException} or {@link ServerOverloadException},
+	 * get the value <code>NaN</code>. The default implementation
+	 * evaluates the points one after the other.
+	 * 
+	 * @param thetas the points of evaluation
+	 * @param p the p-values of the Hoelder-parameters indexed by slot
+	 * @param slots the slots of <code>p</code>
+	 * @param out receives the values, must be at least as long as 
+	 * <code>thetas</code> and must not be the same array
+	 * 
+	 * @throws ParameterMismatchException
+	 */
+	default void getValues(double[] thetas, double[] p, ParameterSlots slots, double[] out) throws ParameterMismatchException {
+		for(int i = 0; i < thetas.length; i++) {
+			try {
+				out[i] = getValue(thetas[i], p, slots);
+			} catch(ThetaOutOfBoundException | ServerOverloadException e) {
+				out[i] = Double.NaN;
+			}
+		}
+	}
+	
+	/**
+	 * Calculates the value of the theta-dependent function together
+	 * with its partial derivatives with respect to theta and the
+	 * p-values of the Hoelder-parameters by forward-mode automatic
+	 * differentiation. <code>theta</code> carries its own derivatives,
+	 * as the theta of an atom-function depends on the p-values of the
+	 * Hoelder-scalings above it. The function must have been checked by
+	 * {@link #bind(ParameterSlots)} against the slots used for 
+	 * <code>p</code> before. The default implementation throws a
+	 * {@link NotImplementedException}, as the derivatives of an
+	 * unknown function are not known.
+	 * 
+	 * @param theta theta and its derivatives
+	 * @param p the p-values of the Hoelder-parameters indexed by slot
+	 * @param slots the slots of <code>p</code>
+	 * 
+	 * @return the value of the function and its derivatives
+	 * 
+	 * @throws ThetaOutOfBoundException
+	 * @throws ParameterMismatchException
+	 * @throws ServerOverloadException
+	 * 
+	 * @see DualNumber
+	 */
+	default DualNumber getDualValue(DualNumber theta, double[] p, ParameterSlots slots) throws ThetaOutOfBoundException, ParameterMismatchException, ServerOverloadException {
+		throw new NotImplementedException(getClass().getSimpleName() + " cannot be differentiated.");
+	}
+
+	/**
+	 * Encloses the values of the theta-dependent function for all thetas
+	 * in <code>theta</code> and all p-values in the intervals of
+	 * <code>p</code> by interval arithmetic. The enclosure may be wider
+	 * than the exact range, but never narrower. Points of the box, at
+	 * which the function is not defined, are not enclosed; if it is
+	 * defined at none of them, the exception of {@link #getValue(double, double[], ParameterSlots)}
+	 * is thrown. The function must have been checked by
+	 * {@link #bind(ParameterSlots)} against the slots used for
+	 * <code>p</code> before. The default implementation throws a
+	 * {@link NotImplementedException}.
+	 * 
+	 * @param theta the range of theta
+	 * @param p the ranges of the p-values indexed by slot
+	 * @param slots the slots of <code>p</code>
+	 * 
+	 * @return an interval containing all values of the function on the box
+	 * 
+	 * @throws ThetaOutOfBoundException
+	 * @throws ParameterMismatchException
+	 * @throws ServerOverloadException
+	 * 
+	 * @see Interval
+	 */
+	default Interval getInterval(Interval theta, Interval[] p, ParameterSlots slots) throws ThetaOutOfBoundException, ParameterMismatchException, ServerOverloadException {
+		throw new NotImplementedException(getClass().getSimpleName() + " cannot be evaluated over intervals.");
+	}
+	
+	/**
+	 * Checks once, that every Hoelder-parameter of this function has
+	 * been assigned a slot by <code>slots</code>. This replaces the
+	 * parameter-checks of {@link #getValue(double, Map)} for evaluations
+	 * with {@link #getValue(double, double[], ParameterSlots)}.
+	 * 
+	 * @param slots the slots of the p-vector
+	 * 
+	 * @throws ParameterMismatchException if a parameter has no slot
+	 */
+	default void bind(ParameterSlots slots) throws ParameterMismatchException {
+		for(Hoelder hoelder : getParameters().values()) {
+			slots.check(hoelder);
+		}
+	}
+	
 	/**
 	 * Returns a string representation of the function.
 	 * 
@@ -0,0 +1,369 @@
+/*
+ *  (c) 2017 Michael A. Beck, Sebastian Henningsen
+ *  		disco | Distributed Computer Systems Lab
+ *  		University of Kaiserslautern, Germany
+ *  All Rights Reserved.
+ *
+ * This software is work in progress and is released in the hope that it will
+ * be useful to the scientific community. It is provided "as is" without
+ * express or implied warranty, including but not limited to the correctness
+ * of the code or its suitability for any particular purpose.
+ *
+ * This software is provided under the MIT License, however, we would
+ * appreciate it if you contacted the respective authors prior to commercial use.
+ *
+ * If you find our software useful, we would appreciate if you mentioned it
+ * in any publication arising from the use of this software or acknowledge
+ * our work otherwise. We would also like to hear of any fixes or useful
+ */
+
+package org.networkcalculus.snc.symbolic_math;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.networkcalculus.snc.symbolic_math.functions.BFunction;
+import org.networkcalculus.snc.symbolic_math.functions.ConstantFunction;
+import org.networkcalculus.snc.symbolic_math.functions.EBBSigma;
+import org.networkcalculus.snc.symbolic_math.functions.ExponentialSigma;
+import org.networkcalculus.snc.symbolic_math.functions.PoissonRho;
+import org.networkcalculus.snc.symbolic_math.functions.ScaledFunction;
+import org.networkcalculus.snc.symbolic_math.functions.StationaryTBSigma;
+
+/**
+ * Builds {@link SymbolicFunction}s, such that structurally identical
+ * functions are represented by the same object (hash-consing).
+ * A node is identified by its type, its constants, the
+ * {@link Hoelder}-object it depends on and the identities of its
+ * atom-functions. As long as the atom-functions have been built by
+ * the same factory, identity of the atoms means structural equality
+ * and a symbolic bound forms a DAG, whose number of nodes grows
+ * linearly with the number of operations instead of the size of the
+ * expression it represents.
+ * Each {@link org.networkcalculus.snc.network.Network} owns one
+ * factory, as the Hoelder-parameters belong to a network. The factory
+ * only holds its nodes weakly: a node, which is not referenced by an
+ * arrival, a service or another node any more, is dropped from the
+ * factory and built anew if it is needed again.
+ *
+ * @see SymbolicFunction
+ */
+public class SymbolicFunctionFactory {
+	private final Map<List<Object>, Node> nodes = new HashMap<>();
+	private final ReferenceQueue<SymbolicFunction> collected = new ReferenceQueue<>();
+
+	/**
+	 * Builds a node, which is not interned yet.
+	 */
+	private interface Builder<E extends Exception> {
+		SymbolicFunction build() throws E;
+	}
+
+	/**
+	 * Weak reference to an interned node, which remembers its key such
+	 * that the entry can be removed, once the node has been collected.
+	 */
+	private static final class Node extends WeakReference<SymbolicFunction> {
+		private final List<Object> key;
+
+		private Node(List<Object> key, SymbolicFunction node, ReferenceQueue<SymbolicFunction> queue) {
+			super(node, queue);
+			this.key = key;
+		}
+	}
+
+	/**
+	 * Returns the node interned under <code>key</code>, or builds and
+	 * interns it, if there is none.
+	 *
+	 * @param key the type, constants, Hoelder-object and atoms of the node
+	 * @param builder builds the node, if it is not interned yet
+	 *
+	 * @return the interned node
+	 *
+	 * @throws E if the node cannot be built
+	 */
+	private <E extends Exception> SymbolicFunction intern(List<Object> key, Builder<E> builder) throws E {
+		expunge();
+		Node reference = nodes.get(key);
+		SymbolicFunction node = reference == null ? null : reference.get();
+		if(node == null) {
+			node = builder.build();
+			nodes.put(key, new Node(key, node, collected));
+		}
+		return node;
+	}
+
+	/**
+	 * Removes the entries of collected nodes.
+	 */
+	private void expunge() {
+		Reference<? extends SymbolicFunction> reference;
+		while((reference = collected.poll()) != null) {
+			Node node = (Node) reference;
+			nodes.remove(node.key, node);
+		}
+	}
+
+	public SymbolicFunction add(SymbolicFunction first, SymbolicFunction second) {
+		return add(first, second, null);
+	}
+
+	public SymbolicFunction add(SymbolicFunction first, SymbolicFunction second, Hoelder hoelder) {
+		return intern(Arrays.asList(AdditiveComposition.class, first, second, hoelder), () -> new AdditiveComposition(first, second, hoelder));
+	}
+
+	public SymbolicFunction maximum(SymbolicFunction first, SymbolicFunction second) {
+		return maximum(first, second, null);
+	}
+
+	public SymbolicFunction maximum(SymbolicFunction first, SymbolicFunction second, Hoelder hoelder) {
+		return intern(Arrays.asList(MaximumFunction.class, first, second, hoelder), () -> new MaximumFunction(first, second, hoelder));
+	}
+
+	public SymbolicFunction negativeAbsoluteDifference(SymbolicFunction first, SymbolicFunction second) {
+		return negativeAbsoluteDifference(first, second, null);
+	}
+
+	public SymbolicFunction negativeAbsoluteDifference(SymbolicFunction first, SymbolicFunction second, Hoelder hoelder) {
+		return intern(Arrays.asList(NegativeAbsoluteDifference.class, first, second, hoelder), () -> new NegativeAbsoluteDifference(first, second, hoelder));
+	}
+
+	public SymbolicFunction minus(SymbolicFunction atom) {
+		return intern(Arrays.asList(UnitaryMinus.class, atom), () -> new UnitaryMinus(atom));
+	}
+
+	public SymbolicFunction b(SymbolicFunction exponent) {
+		return intern(Arrays.asList(BFunction.class, exponent), () -> new BFunction(exponent));
+	}
+
+	public SymbolicFunction scaled(SymbolicFunction function, Hoelder hoelder, boolean p_scale) {
+		return intern(Arrays.asList(ScaledFunction.class, function, hoelder, p_scale), () -> new ScaledFunction(function, hoelder, p_scale));
+	}
+
+	public SymbolicFunction poissonRho(SymbolicFunction rho, double mu) {
+		return intern(Arrays.asList(PoissonRho.class, rho, mu), () -> new PoissonRho(rho, mu));
+	}
+
+	public SymbolicFunction parameter(Hoelder hoelder) {
+		return intern(Arrays.asList(NewParameter.class, hoelder), () -> new NewParameter(hoelder));
+	}
+
+	public SymbolicFunction constant(double rate) {
+		return intern(Arrays.asList(ConstantFunction.class, rate), () -> new ConstantFunction(rate));
+	}
+
+	public SymbolicFunction ebbSigma(double decay, double prefactor) throws BadInitializationException {
+		return intern(Arrays.asList(EBBSigma.class, decay, prefactor), () -> new EBBSigma(decay, prefactor));
+	}
+
+	public SymbolicFunction exponentialSigma(double lambda) throws BadInitializationException {
+		return intern(Arrays.asList(ExponentialSigma.class, lambda), () -> new ExponentialSigma(lambda));
+	}
+
+	public SymbolicFunction stationaryTBSigma(double bucket, double maxTheta) throws BadInitializationException {
+		return intern(Arrays.asList(StationaryTBSigma.class, bucket, maxTheta), () -> new StationaryTBSigma(bucket, maxTheta));
+	}
+
+	/**
+	 * Returns the number of distinct functions built by this factory,
+	 * which have not been dropped yet.
+	 *
+	 * @return the number of interned nodes
+	 */
+	public int size() {
+		expunge();
+		return nodes.size();
+	}
+
+	/**
+	 * Counts the distinct nodes of the given functions, i.e. the size of
+	 * their DAG, in which a shared atom-function is counted once.
+	 *
+	 * @param functions the functions
+	 *
+	 * @return the number of distinct nodes
+	 */
+	public static int countNodes(SymbolicFunction... functions) {
+		Map<SymbolicFunction, Boolean> visited = new IdentityHashMap<>();
+		for(SymbolicFunction function : functions) {
+			countNodes(function, visited);
+		}
+		return visited.size();
+	}
+
+	private static void countNodes(SymbolicFunction function, Map<SymbolicFunction, Boolean> visited) {
+		if(visited.put(function, Boolean.TRUE) == null) {
+			for(SymbolicFunction atom : getAtoms(function)) {
+				countNodes(atom, visited);
+			}
+		}
+	}
+
+	/**
+	 * Returns the size of the expression represented by the given function,
+	 * i.e. the number of nodes of its tree, in which a shared atom-function
+	 * is counted once per occurrence.
+	 *
+	 * @param function the function
+	 *
+	 * @return the size of the expression
+	 */
+	public static long getExpressionSize(SymbolicFunction function) {
+		return getExpressionSize(function, new IdentityHashMap<>());
+	}
+
+	private static long getExpressionSize(SymbolicFunction function, Map<SymbolicFunction, Long> sizes) {
+		Long size = sizes.get(function);
+		if(size == null) {
+			size = 1L;
+			for(SymbolicFunction atom : getAtoms(function)) {
+				size += getExpressionSize(atom, sizes);
+			}
+			sizes.put(function, size);
+		}
+		return size;
+	}
+
+	/**
+	 * Computes a signature of the structure of the given functions, i.e.
+	 * of the types of their nodes, the ids of the Hoelder-parameters the
+	 * nodes depend on and the way the nodes are composed. The constants of
+	 * the nodes, e.g. rates or bucket sizes, are not part of the signature,
+	 * hence functions, which differ in their constants only, have the same
+	 * signature. The signature does not depend on the sharing of
+	 * atom-functions. Distinct structures may have the same signature with
+	 * a tiny probability.
+	 *
+	 * @param functions the functions
+	 *
+	 * @return the signature
+	 */
+	public static long getStructuralSignature(SymbolicFunction... functions) {
+		Map<SymbolicFunction, Long> signatures = new IdentityHashMap<>();
+		long signature = functions.length;
+		for(SymbolicFunction function : functions) {
+			signature = mix(signature, getStructuralSignature(function, signatures));
+		}
+		return signature;
+	}
+
+	private static long getStructuralSignature(SymbolicFunction function, Map<SymbolicFunction, Long> signatures) {
+		Long signature = signatures.get(function);
+		if(signature == null) {
+			Hoelder hoelder = null;
+			long flags = 0;
+			if(function instanceof BinaryFunction) {
+				hoelder = ((BinaryFunction) function).getHoelder();
+			} else if(function instanceof ScaledFunction) {
+				hoelder = ((ScaledFunction) function).getHoelder();
+				flags = ((ScaledFunction) function).isPScaled() ? 1 : 2;
+			} else if(function instanceof NewParameter) {
+				hoelder = ((NewParameter) function).getHoelder();
+			}
+			signature = mix(function.getClass().getName().hashCode(), (hoelder == null) ? 0 : hoelder.getHoelderID());
+			signature = mix(signature, flags);
+			for(SymbolicFunction atom : getAtoms(function)) {
+				signature = mix(signature, getStructuralSignature(atom, signatures));
+			}
+			signatures.put(function, signature);
+		}
+		return signature;
+	}
+
+	/**
+	 * Computes an upper bound of the maximal theta of the given function
+	 * over all coefficients of the <code>free</code> Hoelder-parameters,
+	 * whose p- and q-values are at least <code>minimum</code>. The other
+	 * Hoelder-parameters keep their current coefficients. As the maximal
+	 * theta of a node shrinks, if a coefficient it is scaled by grows,
+	 * the bound is attained by the smallest coefficients. Without free
+	 * parameters the result equals {@link SymbolicFunction#getmaxTheta()}.
+	 * Nodes of unknown type and {@link BFunction}s, which fix their
+	 * maximal theta at construction, contribute their own maximal theta.
+	 *
+	 * @param function the function
+	 * @param free the Hoelder-parameters, whose coefficients are not fixed
+	 * @param minimum the smallest p- and q-value of the free parameters
+	 *
+	 * @return the upper bound of the maximal theta
+	 */
+	public static double getMaximumTheta(SymbolicFunction function, Set<Hoelder> free, double minimum) {
+		return getMaximumTheta(function, free, minimum, new IdentityHashMap<>());
+	}
+
+	private static double getMaximumTheta(SymbolicFunction function, Set<Hoelder> free, double minimum, Map<SymbolicFunction, Double> bounds) {
+		Double bound = bounds.get(function);
+		if(bound == null) {
+			if(function instanceof BinaryFunction) {
+				BinaryFunction binary = (BinaryFunction) function;
+				double first = getMaximumTheta(binary.getFirst(), free, minimum, bounds);
+				double second = getMaximumTheta(binary.getSecond(), free, minimum, bounds);
+				Hoelder hoelder = binary.getHoelder();
+				if(hoelder == null) {
+					bound = Math.min(first, second);
+				} else if(free.contains(hoelder)) {
+					bound = Math.min(first, second) / minimum;
+				} else {
+					bound = Math.min(first / hoelder.getPValue(), second / hoelder.getQValue());
+				}
+			} else if(function instanceof ScaledFunction) {
+				ScaledFunction scaled = (ScaledFunction) function;
+				double original = getMaximumTheta(scaled.getOriginal(), free, minimum, bounds);
+				Hoelder hoelder = scaled.getHoelder();
+				if(free.contains(hoelder)) {
+					bound = original / minimum;
+				} else {
+					bound = original / (scaled.isPScaled() ? hoelder.getPValue() : hoelder.getQValue());
+				}
+			} else if(function instanceof UnitaryMinus) {
+				bound = getMaximumTheta(((UnitaryMinus) function).getAtom(), free, minimum, bounds);
+			} else if(function instanceof PoissonRho) {
+				bound = getMaximumTheta(((PoissonRho) function).getRho(), free, minimum, bounds);
+			} else {
+				bound = function.getmaxTheta();
+			}
+			bounds.put(function, bound);
+		}
+		return bound;
+	}
+
+	/**
+	 * Combines two hashes, the order matters.
+	 */
+	private static long mix(long hash, long value) {
+		long mixed = (hash ^ Long.rotateLeft(value, 31)) * 0x9E3779B97F4A7C15L;
+		return mixed ^ (mixed >>> 29);
+	}
+
+	/**
+	 * Returns the atom-functions of the given function.
+	 *
+	 * @param function the function
+	 *
+	 * @return the atom-functions, an empty list for functions of
+	 * unknown type
+	 */
+	static List<SymbolicFunction> getAtoms(SymbolicFunction function) {
+		if(function instanceof BinaryFunction) {
+			return Arrays.asList(((BinaryFunction) function).getFirst(), ((BinaryFunction) function).getSecond());
+		} else if(function instanceof ScaledFunction) {
+			return Collections.singletonList(((ScaledFunction) function).getOriginal());
+		} else if(function instanceof UnitaryMinus) {
+			return Collections.singletonList(((UnitaryMinus) function).getAtom());
+		} else if(function instanceof BFunction) {
+			return Collections.singletonList(((BFunction) function).getExponent());
+		} else if(function instanceof PoissonRho) {
+			return Collections.singletonList(((PoissonRho) function).getRho());
+		}
+		return Collections.emptyList();
+	}
+}
@@ -0,0 +1,322 @@
+/*
+ *  (c) 2017 Michael A. Beck, Sebastian Henningsen
+ *  		disco | Distributed Computer Systems Lab
+ *  		University of Kaiserslautern, Germany
+ *  All Rights Reserved.
+ *
+ * This software is work in progress and is released in the hope that it will
+ * be useful to the scientific community. It is provided "as is" without
+ * express or implied warranty, including but not limited to the correctness
+ * of the code or its suitability for any particular purpose.
+ *
+ * This software is provided under the MIT License, however, we would
+ * appreciate it if you contacted the respective authors prior to commercial use.
+ *
+ * If you find our software useful, we would appreciate if you mentioned it
+ * in any publication arising from the use of this software or acknowledge
+ * our work otherwise. We would also like to hear of any fixes or useful
+ */
+
+package org.networkcalculus.snc.symbolic_math;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.networkcalculus.snc.symbolic_math.functions.BFunction;
+import org.networkcalculus.snc.symbolic_math.functions.ConstantFunction;
+import org.networkcalculus.snc.symbolic_math.functions.PoissonRho;
+import org.networkcalculus.snc.symbolic_math.functions.ScaledFunction;
+
+/**
+ * Rewrites a {@link SymbolicFunction} into a smaller one with the same
+ * values. The rules applied bottom-up are:
+ * <ul>
+ * <li>operations on constants are folded into one constant,</li>
+ * <li>nested sums are flattened, their constant terms are added up and
+ * zero terms are removed,</li>
+ * <li>a double negation is removed,</li>
+ * <li>a Hoelder-scaling of theta is removed from functions, which do not
+ * depend on theta (constants and parameters).</li>
+ * </ul>
+ * The last rule may remove the only occurrence of a Hoelder-parameter.
+ * As the optimizers identify the backlog-parameter of a bound by the 
+ * number of parameters, {@link #simplify(Arrival, SymbolicFunctionFactory)}
+ * only applies it, if all parameters of the arrival are retained.
+ * The rewritten functions are built by a {@link SymbolicFunctionFactory},
+ * hence shared subexpressions stay shared.
+ *
+ * @see SymbolicFunctionFactory
+ */
+public class SymbolicSimplifier {
+	private final SymbolicFunctionFactory factory;
+	private final boolean removeScalings;
+	private final Map<SymbolicFunction, SymbolicFunction> simplified = new IdentityHashMap<>();
+	private final Map<SymbolicFunction, Boolean> thetaIndependent = new IdentityHashMap<>();
+
+	/**
+	 * Creates a simplifier, which applies all rules.
+	 *
+	 * @param factory builds the rewritten functions
+	 */
+	public SymbolicSimplifier(SymbolicFunctionFactory factory) {
+		this(factory, true);
+	}
+
+	private SymbolicSimplifier(SymbolicFunctionFactory factory, boolean removeScalings) {
+		this.factory = factory;
+		this.removeScalings = removeScalings;
+	}
+
+	/**
+	 * Simplifies the sigma- and rho-function of the given arrival in place.
+	 * The Hoelder-parameters of the arrival are the same afterwards.
+	 *
+	 * @param arrival the arrival to be simplified
+	 * @param factory builds the rewritten functions
+	 *
+	 * @return the sizes of the functions before and after the
+	 * simplification
+	 */
+	public static Report simplify(Arrival arrival, SymbolicFunctionFactory factory) {
+		SymbolicFunction[] before = { arrival.getSigma(), arrival.getRho() };
+		Set<Integer> parameters = getParameterIDs(arrival.getSigma(), arrival.getRho());
+
+		SymbolicSimplifier simplifier = new SymbolicSimplifier(factory, true);
+		SymbolicFunction sigma = simplifier.simplify(arrival.getSigma());
+		SymbolicFunction rho = simplifier.simplify(arrival.getRho());
+
+		if(!parameters.equals(getParameterIDs(sigma, rho))) {
+			simplifier = new SymbolicSimplifier(factory, false);
+			sigma = simplifier.simplify(arrival.getSigma());
+			rho = simplifier.simplify(arrival.getRho());
+		}
+		arrival.setSigma(sigma);
+		arrival.setRho(rho);
+		return new Report(before, new SymbolicFunction[] { sigma, rho });
+	}
+
+	/**
+	 * Returns the simplified version of the given function.
+	 *
+	 * @param function the function to be simplified
+	 *
+	 * @return a function with the same values, possibly the given one
+	 */
+	public SymbolicFunction simplify(SymbolicFunction function) {
+		SymbolicFunction result = simplified.get(function);
+		if(result == null) {
+			result = rewrite(function);
+			simplified.put(function, result);
+		}
+		return result;
+	}
+
+	private SymbolicFunction rewrite(SymbolicFunction function) {
+		if(function instanceof AdditiveComposition || function instanceof MaximumFunction
+				|| function instanceof NegativeAbsoluteDifference) {
+			BinaryFunction binary = (BinaryFunction) function;
+			SymbolicFunction first = simplify(binary.getFirst());
+			SymbolicFunction second = simplify(binary.getSecond());
+			Hoelder hoelder = binary.getHoelder();
+			if(hoelder != null && removeScalings && isThetaIndependent(first) && isThetaIndependent(second)) {
+				hoelder = null;
+			}
+
+			if(function instanceof AdditiveComposition) {
+				return hoelder == null ? sum(first, second) : factory.add(first, second, hoelder);
+			}
+			if(hoelder == null && first instanceof ConstantFunction && second instanceof ConstantFunction) {
+				double value1 = ((ConstantFunction) first).getRate();
+				double value2 = ((ConstantFunction) second).getRate();
+				if(function instanceof MaximumFunction) {
+					return factory.constant(Math.max(value1, value2));
+				}
+				return factory.constant(value1 > value2 ? value2 - value1 : value1 - value2);
+			}
+			if(function instanceof MaximumFunction) {
+				return factory.maximum(first, second, hoelder);
+			}
+			return factory.negativeAbsoluteDifference(first, second, hoelder);
+		}
+		else if(function instanceof ScaledFunction) {
+			ScaledFunction scaled = (ScaledFunction) function;
+			SymbolicFunction original = simplify(scaled.getOriginal());
+			if(removeScalings && isThetaIndependent(original)) {
+				return original;
+			}
+			return factory.scaled(original, scaled.getHoelder(), scaled.isPScaled());
+		}
+		else if(function instanceof UnitaryMinus) {
+			SymbolicFunction atom = simplify(((UnitaryMinus) function).getAtom());
+			if(atom instanceof ConstantFunction) {
+				return factory.constant(-((ConstantFunction) atom).getRate());
+			}
+			if(atom instanceof UnitaryMinus) {
+				return ((UnitaryMinus) atom).getAtom();
+			}
+			return factory.minus(atom);
+		}
+		else if(function instanceof BFunction) {
+			return factory.b(simplify(((BFunction) function).getExponent()));
+		}
+		else if(function instanceof PoissonRho) {
+			PoissonRho poisson = (PoissonRho) function;
+			return factory.poissonRho(simplify(poisson.getRho()), poisson.getMu());
+		}
+		// Leaves and functions of unknown type are kept
+		return function;
+	}
+
+	/**
+	 * Builds the sum of two simplified functions. The constant terms of
+	 * the flattened sum are added up, such that at most one constant
+	 * and no zero remains. If there is nothing to add up, the
+	 * association of the terms is kept.
+	 */
+	private SymbolicFunction sum(SymbolicFunction first, SymbolicFunction second) {
+		List<SymbolicFunction> terms = new ArrayList<>();
+		collectTerms(first, terms);
+		collectTerms(second, terms);
+
+		List<SymbolicFunction> others = new ArrayList<>();
+		double constant = 0;
+		int constants = 0;
+		for(SymbolicFunction term : terms) {
+			if(term instanceof ConstantFunction) {
+				constant += ((ConstantFunction) term).getRate();
+				constants++;
+			} else {
+				others.add(term);
+			}
+		}
+		if(constants == 0 || (constants == 1 && constant != 0)) {
+			return factory.add(first, second);
+		}
+
+		SymbolicFunction sum = null;
+		if(constant != 0 || others.isEmpty()) {
+			sum = factory.constant(constant);
+		}
+		for(SymbolicFunction term : others) {
+			sum = (sum == null) ? term : factory.add(sum, term);
+		}
+		return sum;
+	}
+
+	private static void collectTerms(SymbolicFunction function, List<SymbolicFunction> terms) {
+		if(function instanceof AdditiveComposition && ((AdditiveComposition) function).getHoelder() == null) {
+			collectTerms(((AdditiveComposition) function).getFirst(), terms);
+			collectTerms(((AdditiveComposition) function).getSecond(), terms);
+		} else {
+			terms.add(function);
+		}
+	}
+
+	/**
+	 * Checks whether the value of the function does not depend on theta,
+	 * i.e. it is built only from constants and parameters.
+	 */
+	private boolean isThetaIndependent(SymbolicFunction function) {
+		Boolean independent = thetaIndependent.get(function);
+		if(independent == null) {
+			if(function instanceof ConstantFunction || function instanceof NewParameter) {
+				independent = true;
+			} else if(function instanceof BinaryFunction || function instanceof ScaledFunction
+					|| function instanceof UnitaryMinus) {
+				independent = true;
+				for(SymbolicFunction atom : SymbolicFunctionFactory.getAtoms(function)) {
+					independent &= isThetaIndependent(atom);
+				}
+			} else {
+				independent = false;
+			}
+			thetaIndependent.put(function, independent);
+		}
+		return independent;
+	}
+
+	private static Set<Integer> getParameterIDs(SymbolicFunction sigma, SymbolicFunction rho) {
+		Set<Integer> ids = new HashSet<>(sigma.getParameters().keySet());
+		ids.addAll(rho.getParameters().keySet());
+		return ids;
+	}
+	/**
+	 * The sizes of the sigma- and rho-function of an arrival before and
+	 * after its simplification, see
+	 * {@link SymbolicFunctionFactory#countNodes(SymbolicFunction...)} and
+	 * {@link SymbolicFunctionFactory#getExpressionSize(SymbolicFunction)}.
+	 * The sizes are counted when they are first asked for, hence a
+	 * report, which is not used, costs nothing.
+	 */
+	public static final class Report {
+		private final SymbolicFunction[] before;
+		private final SymbolicFunction[] after;
+		private int nodesBefore = -1;
+		private int nodesAfter = -1;
+		private long sizeBefore = -1;
+		private long sizeAfter = -1;
+
+		private Report(SymbolicFunction[] before, SymbolicFunction[] after) {
+			this.before = before;
+			this.after = after;
+		}
+
+		/**
+		 * @return the number of distinct nodes before the simplification
+		 */
+		public int getNodesBefore() {
+			if(nodesBefore < 0) {
+				nodesBefore = SymbolicFunctionFactory.countNodes(before);
+			}
+			return nodesBefore;
+		}
+
+		/**
+		 * @return the number of distinct nodes after the simplification
+		 */
+		public int getNodesAfter() {
+			if(nodesAfter < 0) {
+				nodesAfter = SymbolicFunctionFactory.countNodes(after);
+			}
+			return nodesAfter;
+		}
+
+		/**
+		 * @return the expression size before the simplification
+		 */
+		public long getSizeBefore() {
+			if(sizeBefore < 0) {
+				sizeBefore = expressionSize(before);
+			}
+			return sizeBefore;
+		}
+
+		/**
+		 * @return the expression size after the simplification
+		 */
+		public long getSizeAfter() {
+			if(sizeAfter < 0) {
+				sizeAfter = expressionSize(after);
+			}
+			return sizeAfter;
+		}
+
+		private static long expressionSize(SymbolicFunction[] functions) {
+			long size = 0;
+			for(SymbolicFunction function : functions) {
+				size += SymbolicFunctionFactory.getExpressionSize(function);
+			}
+			return size;
+		}
+
+		@Override
+		public String toString() {
+			return getNodesBefore() + " -> " + getNodesAfter() + " distinct nodes, expression size "
+					+ getSizeBefore() + " -> " + getSizeAfter();
+		}
+	}
+}
@@ -45,6 +45,38 @@ public class UnitaryMinus implements SymbolicFunction {
 		return -atom.getValue(theta, parameters);
 	}
 
+	@Override
+	public double getValue(double theta, double[] p, ParameterSlots slots)
+			throws ThetaOutOfBoundException, ParameterMismatchException, ServerOverloadException {
+		return -atom.getValue(theta, p, slots);
+	}
+
+	@Override
+	public DualNumber getDualValue(DualNumber theta, double[] p, ParameterSlots slots)
+			throws ThetaOutOfBoundException, ParameterMismatchException, ServerOverloadException {
+		return atom.getDualValue(theta, p, slots).negate();
+	}
+
+	@Override
+	public Interval getInterval(Interval theta, Interval[] p, ParameterSlots slots)
+			throws ThetaOutOfBoundException, ParameterMismatchException, ServerOverloadException {
+		return atom.getInterval(theta, p, slots).negate();
+	}
+
+	@Override
+	public void getValues(double[] thetas, double[] p, ParameterSlots slots, double[] out) throws ParameterMismatchException {
+		atom.getValues(thetas, p, slots, out);
+		for(int i = 0; i < thetas.length; i++) {
+			out[i] = -out[i];
+		}
+	}
+
+	@Override
+	public double getValue(double theta, double[] p, ParameterSlots slots, EvaluationContext context)
+			throws ThetaOutOfBoundException, ParameterMismatchException, ServerOverloadException {
+		return -context.getValue(atom, theta, p, slots);
+	}
+
 	@Override
 	public double getmaxTheta() {
 		return atom.getmaxTheta();
@@ -60,4 +92,8 @@ public class UnitaryMinus implements SymbolicFunction {
 		String output = "-"+atom.toString();
 		return output;
 	}
+
+	public SymbolicFunction getAtom() {
+		return atom;
+	}
 }
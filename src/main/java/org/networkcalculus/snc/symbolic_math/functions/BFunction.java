@@ -21,8 +21,12 @@ package org.networkcalculus.snc.symbolic_math.functions;
 
 import java.util.Map;
 
+import org.networkcalculus.snc.symbolic_math.DualNumber;
+import org.networkcalculus.snc.symbolic_math.Interval;
+import org.networkcalculus.snc.symbolic_math.EvaluationContext;
 import org.networkcalculus.snc.symbolic_math.Hoelder;
 import org.networkcalculus.snc.symbolic_math.ParameterMismatchException;
+import org.networkcalculus.snc.symbolic_math.ParameterSlots;
 import org.networkcalculus.snc.symbolic_math.ServerOverloadException;
 import org.networkcalculus.snc.symbolic_math.SymbolicFunction;
 import org.networkcalculus.snc.symbolic_math.ThetaOutOfBoundException;
@@ -85,13 +89,67 @@ public class BFunction implements SymbolicFunction {
 		}
 		
 		//Checks if argument in the logarithm is non-positive (see definition of the B-function)
-		if(exponent.getValue(theta, parameters) >= 0){
-			throw new ServerOverloadException("Usage of non-positive argument in log(). Argument:"+Double.toString(1-Math.exp(exponent.getValue(theta, parameters))));
+		double value = exponent.getValue(theta, parameters);
+		if(value >= 0){
+			throw new ServerOverloadException("Usage of non-positive argument in log(). Argument:"+Double.toString(1-Math.exp(value)));
 		} else {
-			return -1/theta*Math.log(1-Math.exp(theta*exponent.getValue(theta, parameters)));
+			return -1/theta*Math.log(1-Math.exp(theta*value));
 		}
 	}
 
+	@Override
+	public double getValue(double theta, double[] p, ParameterSlots slots)
+			throws ThetaOutOfBoundException, ServerOverloadException, ParameterMismatchException {
+		double value = exponent.getValue(theta, p, slots);
+		if(value >= 0){
+			throw new ServerOverloadException("Usage of non-positive argument in log(). Argument:"+Double.toString(1-Math.exp(value)));
+		}
+		return -1/theta*Math.log(1-Math.exp(theta*value));
+	}
+
+	@Override
+	public DualNumber getDualValue(DualNumber theta, double[] p, ParameterSlots slots)
+			throws ThetaOutOfBoundException, ServerOverloadException, ParameterMismatchException {
+		DualNumber value = exponent.getDualValue(theta, p, slots);
+		if(value.getValue() >= 0){
+			throw new ServerOverloadException("Usage of non-positive argument in log(). Argument:"+Double.toString(1-Math.exp(value.getValue())));
+		}
+		return theta.reciprocal(-1).multiply(theta.multiply(value).exp().negate().add(1).log());
+	}
+
+	/**
+	 * Encloses the B-function on the box; if the exponent is non-negative
+	 * somewhere in the box, the enclosure is unbounded from above.
+	 */
+	@Override
+	public Interval getInterval(Interval theta, Interval[] p, ParameterSlots slots)
+			throws ThetaOutOfBoundException, ServerOverloadException, ParameterMismatchException {
+		Interval value = exponent.getInterval(theta, p, slots);
+		if(value.getLower() >= 0){
+			throw new ServerOverloadException("Usage of non-positive argument in log(). Argument:"+Double.toString(1-Math.exp(value.getLower())));
+		}
+		return theta.reciprocal(-1).multiply(theta.multiply(value).exp().negate().add(1).log());
+	}
+
+	@Override
+	public void getValues(double[] thetas, double[] p, ParameterSlots slots, double[] out) throws ParameterMismatchException {
+		exponent.getValues(thetas, p, slots, out);
+		for(int i = 0; i < thetas.length; i++) {
+			// A non-negative argument overloads the server
+			out[i] = (out[i] >= 0) ? Double.NaN : -1/thetas[i]*Math.log(1-Math.exp(thetas[i]*out[i]));
+		}
+	}
+
+	@Override
+	public double getValue(double theta, double[] p, ParameterSlots slots, EvaluationContext context)
+			throws ThetaOutOfBoundException, ServerOverloadException, ParameterMismatchException {
+		double value = context.getValue(exponent, theta, p, slots);
+		if(value >= 0){
+			throw new ServerOverloadException("Usage of non-positive argument in log(). Argument:"+Double.toString(1-Math.exp(value)));
+		}
+		return -1/theta*Math.log(1-Math.exp(theta*value));
+	}
+
 	/**
 	 * Returns a string representation of the B-function. In the 
 	 * form <code>B(f)</code>.
@@ -117,4 +175,8 @@ public class BFunction implements SymbolicFunction {
 	public double getmaxTheta(){
 		return maxtheta;
 	}
+
+    public SymbolicFunction getExponent() {
+		return exponent;
+	}
 }
\ No newline at end of file
@@ -19,11 +19,15 @@
 
 package org.networkcalculus.snc.symbolic_math.functions;
 
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 
+import org.networkcalculus.snc.symbolic_math.DualNumber;
+import org.networkcalculus.snc.symbolic_math.Interval;
 import org.networkcalculus.snc.symbolic_math.Hoelder;
 import org.networkcalculus.snc.symbolic_math.ParameterMismatchException;
+import org.networkcalculus.snc.symbolic_math.ParameterSlots;
 import org.networkcalculus.snc.symbolic_math.SymbolicFunction;
 
 /** 
@@ -55,6 +59,26 @@ public class ConstantFunction implements SymbolicFunction {
 	    }
 	    return rate;
 	}
+
+	@Override
+	public double getValue(double theta, double[] p, ParameterSlots slots) {
+	    return rate;
+	}
+
+	@Override
+	public DualNumber getDualValue(DualNumber theta, double[] p, ParameterSlots slots) {
+	    return theta.constant(rate);
+	}
+
+	@Override
+	public Interval getInterval(Interval theta, Interval[] p, ParameterSlots slots) {
+	    return Interval.point(rate);
+	}
+
+	@Override
+	public void getValues(double[] thetas, double[] p, ParameterSlots slots, double[] out) {
+	    Arrays.fill(out, 0, thetas.length, rate);
+	}
 	
 	@Override
 	public String toString(){
@@ -70,4 +94,8 @@ public class ConstantFunction implements SymbolicFunction {
 	public Map<Integer, Hoelder> getParameters() {
 	    return new HashMap<>(0);
 	}
+
+    public double getRate() {
+	    return rate;
+	}
 }
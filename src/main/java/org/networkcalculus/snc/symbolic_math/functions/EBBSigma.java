@@ -23,8 +23,11 @@ import java.util.HashMap;
 import java.util.Map;
 
 import org.networkcalculus.snc.symbolic_math.BadInitializationException;
+import org.networkcalculus.snc.symbolic_math.DualNumber;
+import org.networkcalculus.snc.symbolic_math.Interval;
 import org.networkcalculus.snc.symbolic_math.Hoelder;
 import org.networkcalculus.snc.symbolic_math.ParameterMismatchException;
+import org.networkcalculus.snc.symbolic_math.ParameterSlots;
 import org.networkcalculus.snc.symbolic_math.ServerOverloadException;
 import org.networkcalculus.snc.symbolic_math.SymbolicFunction;
 import org.networkcalculus.snc.symbolic_math.ThetaOutOfBoundException;
@@ -81,6 +84,11 @@ public class EBBSigma implements SymbolicFunction {
 		// Checks for a mismatch of given and needed parameters
 		if(parameters.size() != 0) throw new ParameterMismatchException("EBBFunction has only (modified) theta as parameters.");
 		
+		return getValue(theta, NO_PARAMETERS, NO_SLOTS);
+	}
+
+	@Override
+	public double getValue(double theta, double[] p, ParameterSlots slots) throws ThetaOutOfBoundException {
 		// Checks if theta is larger the decay-rate (in which case the integral appearing in the conversion theorem is indefinite)
 		if(theta > decay){
 			throw new ThetaOutOfBoundException("The given theta exceeds the decay-rate of this EBB-arrival. theta: "+theta+". decay-rate: "+decay);
@@ -89,6 +97,34 @@ public class EBBSigma implements SymbolicFunction {
 		}
 	}
 
+	@Override
+	public DualNumber getDualValue(DualNumber theta, double[] p, ParameterSlots slots) throws ThetaOutOfBoundException {
+		if(theta.getValue() > decay){
+			throw new ThetaOutOfBoundException("The given theta exceeds the decay-rate of this EBB-arrival. theta: "+theta.getValue()+". decay-rate: "+decay);
+		}
+		return theta.reciprocal(1).multiply(theta.divide(decay).negate().add(1).log()).negate().add(1/decay*Math.log(prefactor));
+	}
+
+	/**
+	 * Uses that sigma is non-decreasing in theta.
+	 */
+	@Override
+	public Interval getInterval(Interval theta, Interval[] p, ParameterSlots slots) throws ThetaOutOfBoundException {
+		if(theta.getLower() > decay){
+			throw new ThetaOutOfBoundException("The given theta exceeds the decay-rate of this EBB-arrival. theta: "+theta.getLower()+". decay-rate: "+decay);
+		}
+		double offset = 1/decay*Math.log(prefactor);
+		return theta.increasing(t -> (t > decay) ? Double.POSITIVE_INFINITY : offset - 1/t*Math.log(1 - t/decay));
+	}
+
+	@Override
+	public void getValues(double[] thetas, double[] p, ParameterSlots slots, double[] out) {
+		double offset = 1/decay*Math.log(prefactor);
+		for(int i = 0; i < thetas.length; i++) {
+			out[i] = (thetas[i] > decay) ? Double.NaN : offset - 1/thetas[i]*Math.log(1 - thetas[i]/decay);
+		}
+	}
+
 	/**
 	 * Returns a string representation of the EBB-function. In the 
 	 * form <code>EBB(rate,decay,prefactor)</code>.
@@ -115,4 +151,12 @@ public class EBBSigma implements SymbolicFunction {
 	public Map<Integer, Hoelder> getParameters() {
 		return new HashMap<Integer, Hoelder>(0);
 	}
+
+	public double getDecay() {
+		return decay;
+	}
+
+	public double getPrefactor() {
+		return prefactor;
+	}
 }
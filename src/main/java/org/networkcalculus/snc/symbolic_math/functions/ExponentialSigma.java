@@ -23,8 +23,11 @@ import java.util.HashMap;
 import java.util.Map;
 
 import org.networkcalculus.snc.symbolic_math.BadInitializationException;
+import org.networkcalculus.snc.symbolic_math.DualNumber;
+import org.networkcalculus.snc.symbolic_math.Interval;
 import org.networkcalculus.snc.symbolic_math.Hoelder;
 import org.networkcalculus.snc.symbolic_math.ParameterMismatchException;
+import org.networkcalculus.snc.symbolic_math.ParameterSlots;
 import org.networkcalculus.snc.symbolic_math.SymbolicFunction;
 import org.networkcalculus.snc.symbolic_math.ThetaOutOfBoundException;
 
@@ -75,6 +78,11 @@ public class ExponentialSigma implements SymbolicFunction{
 			throw new ParameterMismatchException("exponentialsigma needs exactly one parameter");
 		}
 		
+		return getValue(theta, NO_PARAMETERS, NO_SLOTS);
+	}
+
+	@Override
+	public double getValue(double theta, double[] p, ParameterSlots slots) throws ThetaOutOfBoundException {
 		// Checks if theta is smaller lambda
 		if(theta >= lambda){
 			throw new ThetaOutOfBoundException("theta ("+theta+") larger lambda ("+lambda+") in exponential distribution");
@@ -82,6 +90,32 @@ public class ExponentialSigma implements SymbolicFunction{
 		
 		return 1/theta * Math.log(lambda/(lambda-theta));
 	}
+
+	@Override
+	public DualNumber getDualValue(DualNumber theta, double[] p, ParameterSlots slots) throws ThetaOutOfBoundException {
+		if(theta.getValue() >= lambda){
+			throw new ThetaOutOfBoundException("theta ("+theta.getValue()+") larger lambda ("+lambda+") in exponential distribution");
+		}
+		return theta.reciprocal(1).multiply(theta.negate().add(lambda).reciprocal(lambda).log());
+	}
+
+	/**
+	 * Uses that sigma is non-decreasing in theta.
+	 */
+	@Override
+	public Interval getInterval(Interval theta, Interval[] p, ParameterSlots slots) throws ThetaOutOfBoundException {
+		if(theta.getLower() >= lambda){
+			throw new ThetaOutOfBoundException("theta ("+theta.getLower()+") larger lambda ("+lambda+") in exponential distribution");
+		}
+		return theta.increasing(t -> (t >= lambda) ? Double.POSITIVE_INFINITY : 1/t * Math.log(lambda/(lambda-t)));
+	}
+
+	@Override
+	public void getValues(double[] thetas, double[] p, ParameterSlots slots, double[] out) {
+		for(int i = 0; i < thetas.length; i++) {
+			out[i] = (thetas[i] >= lambda) ? Double.NaN : 1/thetas[i] * Math.log(lambda/(lambda-thetas[i]));
+		}
+	}
 	
 	/**
 	 * Returns a string representation of the exponential 
@@ -104,4 +138,8 @@ public class ExponentialSigma implements SymbolicFunction{
 	public Map<Integer, Hoelder> getParameters() {
 		return new HashMap<Integer, Hoelder>(0);
 	}
+
+	public double getLambda() {
+		return lambda;
+	}
 }
@@ -21,8 +21,12 @@ package org.networkcalculus.snc.symbolic_math.functions;
 
 import java.util.Map;
 
+import org.networkcalculus.snc.symbolic_math.DualNumber;
+import org.networkcalculus.snc.symbolic_math.Interval;
+import org.networkcalculus.snc.symbolic_math.EvaluationContext;
 import org.networkcalculus.snc.symbolic_math.Hoelder;
 import org.networkcalculus.snc.symbolic_math.ParameterMismatchException;
+import org.networkcalculus.snc.symbolic_math.ParameterSlots;
 import org.networkcalculus.snc.symbolic_math.ServerOverloadException;
 import org.networkcalculus.snc.symbolic_math.SymbolicFunction;
 import org.networkcalculus.snc.symbolic_math.ThetaOutOfBoundException;
@@ -84,6 +88,38 @@ public class PoissonRho implements SymbolicFunction {
 			
 		return mu/theta*(Math.exp(rho.getValue(theta, parameters)*theta) - 1 );
 	}
+
+	@Override
+	public double getValue(double theta, double[] p, ParameterSlots slots)
+			throws ThetaOutOfBoundException, ParameterMismatchException, ServerOverloadException {
+		return mu/theta*(Math.exp(rho.getValue(theta, p, slots)*theta) - 1 );
+	}
+
+	@Override
+	public DualNumber getDualValue(DualNumber theta, double[] p, ParameterSlots slots)
+			throws ThetaOutOfBoundException, ParameterMismatchException, ServerOverloadException {
+		return theta.reciprocal(mu).multiply(rho.getDualValue(theta, p, slots).multiply(theta).exp().add(-1));
+	}
+
+	@Override
+	public Interval getInterval(Interval theta, Interval[] p, ParameterSlots slots)
+			throws ThetaOutOfBoundException, ParameterMismatchException, ServerOverloadException {
+		return theta.reciprocal(mu).multiply(rho.getInterval(theta, p, slots).multiply(theta).exp().add(-1));
+	}
+
+	@Override
+	public void getValues(double[] thetas, double[] p, ParameterSlots slots, double[] out) throws ParameterMismatchException {
+		rho.getValues(thetas, p, slots, out);
+		for(int i = 0; i < thetas.length; i++) {
+			out[i] = mu/thetas[i]*(Math.exp(out[i]*thetas[i]) - 1 );
+		}
+	}
+
+	@Override
+	public double getValue(double theta, double[] p, ParameterSlots slots, EvaluationContext context)
+			throws ThetaOutOfBoundException, ParameterMismatchException, ServerOverloadException {
+		return mu/theta*(Math.exp(context.getValue(rho, theta, p, slots)*theta) - 1 );
+	}
 		
 	public String toString(){
 		String output = "Poi_arr("+rho.toString()+")";
@@ -99,4 +135,12 @@ public class PoissonRho implements SymbolicFunction {
 	public Map<Integer, Hoelder> getParameters() {
 		return rhoParameters;
 	}
+
+    public SymbolicFunction getRho() {
+		return rho;
+	}
+
+    public double getMu() {
+		return mu;
+	}
 }
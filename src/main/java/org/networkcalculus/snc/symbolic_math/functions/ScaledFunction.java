@@ -22,8 +22,12 @@ package org.networkcalculus.snc.symbolic_math.functions;
 import java.util.HashMap;
 import java.util.Map;
 
+import org.networkcalculus.snc.symbolic_math.DualNumber;
+import org.networkcalculus.snc.symbolic_math.Interval;
+import org.networkcalculus.snc.symbolic_math.EvaluationContext;
 import org.networkcalculus.snc.symbolic_math.Hoelder;
 import org.networkcalculus.snc.symbolic_math.ParameterMismatchException;
+import org.networkcalculus.snc.symbolic_math.ParameterSlots;
 import org.networkcalculus.snc.symbolic_math.ServerOverloadException;
 import org.networkcalculus.snc.symbolic_math.SymbolicFunction;
 import org.networkcalculus.snc.symbolic_math.ThetaOutOfBoundException;
@@ -140,6 +144,44 @@ public class ScaledFunction implements SymbolicFunction {
 		return original.getValue(theta, givenparameters);
 	}
 
+	@Override
+	public double getValue(double theta, double[] p, ParameterSlots slots)
+			throws ThetaOutOfBoundException, ParameterMismatchException, ServerOverloadException {
+		double pValue = p[slots.getSlot(hoelder)];
+		return original.getValue(theta*(p_scale ? pValue : Hoelder.conjugate(pValue)), p, slots);
+	}
+
+	@Override
+	public DualNumber getDualValue(DualNumber theta, double[] p, ParameterSlots slots)
+			throws ThetaOutOfBoundException, ParameterMismatchException, ServerOverloadException {
+		DualNumber pValue = DualNumber.parameter(p, slots.getSlot(hoelder));
+		return original.getDualValue(theta.multiply(p_scale ? pValue : pValue.conjugate()), p, slots);
+	}
+
+	@Override
+	public Interval getInterval(Interval theta, Interval[] p, ParameterSlots slots)
+			throws ThetaOutOfBoundException, ParameterMismatchException, ServerOverloadException {
+		Interval pValue = p[slots.getSlot(hoelder)];
+		return original.getInterval(theta.multiply(p_scale ? pValue : pValue.conjugate()), p, slots);
+	}
+
+	@Override
+	public void getValues(double[] thetas, double[] p, ParameterSlots slots, double[] out) throws ParameterMismatchException {
+		double factor = p_scale ? p[slots.getSlot(hoelder)] : Hoelder.conjugate(p[slots.getSlot(hoelder)]);
+		double[] scaled = new double[thetas.length];
+		for(int i = 0; i < thetas.length; i++) {
+			scaled[i] = thetas[i]*factor;
+		}
+		original.getValues(scaled, p, slots, out);
+	}
+
+	@Override
+	public double getValue(double theta, double[] p, ParameterSlots slots, EvaluationContext context)
+			throws ThetaOutOfBoundException, ParameterMismatchException, ServerOverloadException {
+		double pValue = p[slots.getSlot(hoelder)];
+		return context.getValue(original, theta*(p_scale ? pValue : Hoelder.conjugate(pValue)), p, slots);
+	}
+
 	/**
 	 * Gives a String representation of the scaled function by<br>
 	 * <code>scaled(f(t),scale_parameter_ID)</code><br>
@@ -164,4 +206,16 @@ public class ScaledFunction implements SymbolicFunction {
 		copy.put(hoelder.getHoelderID(), hoelder);
 		return copy;
 	}
+
+    public SymbolicFunction getOriginal() {
+		return original;
+	}
+
+    public Hoelder getHoelder() {
+		return hoelder;
+	}
+
+    public boolean isPScaled() {
+		return p_scale;
+	}
 }
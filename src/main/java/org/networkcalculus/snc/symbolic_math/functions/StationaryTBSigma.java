@@ -23,8 +23,11 @@ import java.util.HashMap;
 import java.util.Map;
 
 import org.networkcalculus.snc.symbolic_math.BadInitializationException;
+import org.networkcalculus.snc.symbolic_math.DualNumber;
+import org.networkcalculus.snc.symbolic_math.Interval;
 import org.networkcalculus.snc.symbolic_math.Hoelder;
 import org.networkcalculus.snc.symbolic_math.ParameterMismatchException;
+import org.networkcalculus.snc.symbolic_math.ParameterSlots;
 import org.networkcalculus.snc.symbolic_math.ServerOverloadException;
 import org.networkcalculus.snc.symbolic_math.SymbolicFunction;
 import org.networkcalculus.snc.symbolic_math.ThetaOutOfBoundException;
@@ -83,6 +86,11 @@ public class StationaryTBSigma implements SymbolicFunction {
 		//Checks for a mismatch of given and needed parameters
 		if(parameters.size() != 0) throw new ParameterMismatchException("StationaryTBSigma has only (modified) theta as parameters.");
 		
+		return getValue(theta, NO_PARAMETERS, NO_SLOTS);
+	}
+
+	@Override
+	public double getValue(double theta, double[] p, ParameterSlots slots) throws ThetaOutOfBoundException {
 		//Checks if theta is larger the decay-rate (in which case the integral appearing in the conversion theorem is indefinite)
 		if(theta > maxTheta){
 			throw new ThetaOutOfBoundException("The given theta exceeds the maximal theta given here. theta: "+theta+". maxTheta: "+maxTheta);
@@ -93,6 +101,35 @@ public class StationaryTBSigma implements SymbolicFunction {
 		}
 	}
 
+	@Override
+	public DualNumber getDualValue(DualNumber theta, double[] p, ParameterSlots slots) throws ThetaOutOfBoundException {
+		if(theta.getValue() > maxTheta){
+			throw new ThetaOutOfBoundException("The given theta exceeds the maximal theta given here. theta: "+theta.getValue()+". maxTheta: "+maxTheta);
+		}
+		DualNumber up = theta.multiply(bucket).exp().multiply(0.5);
+		DualNumber down = theta.negate().multiply(bucket).exp().multiply(0.5);
+		return theta.reciprocal(1).multiply(up.add(down).log());
+	}
+
+	/**
+	 * Uses that sigma is non-decreasing in theta.
+	 */
+	@Override
+	public Interval getInterval(Interval theta, Interval[] p, ParameterSlots slots) throws ThetaOutOfBoundException {
+		if(theta.getLower() > maxTheta){
+			throw new ThetaOutOfBoundException("The given theta exceeds the maximal theta given here. theta: "+theta.getLower()+". maxTheta: "+maxTheta);
+		}
+		return theta.increasing(t -> (t > maxTheta) ? Double.POSITIVE_INFINITY : 1/t*Math.log(0.5* Math.exp(t*bucket) + 0.5* Math.exp(-t*bucket)));
+	}
+
+	@Override
+	public void getValues(double[] thetas, double[] p, ParameterSlots slots, double[] out) {
+		for(int i = 0; i < thetas.length; i++) {
+			double theta = thetas[i];
+			out[i] = (theta > maxTheta) ? Double.NaN : 1/theta*Math.log(0.5* Math.exp(theta*bucket) + 0.5* Math.exp(-theta*bucket));
+		}
+	}
+
 	/**
 	 * Returns a string representation of the EBB-function. In the 
 	 * form <code>EBB(rate,decay,prefactor)</code>.
@@ -112,4 +149,8 @@ public class StationaryTBSigma implements SymbolicFunction {
 	public Map<Integer, Hoelder> getParameters() {
 		return new HashMap<Integer, Hoelder>(0);
 	}
+
+	public double getBucket() {
+		return bucket;
+	}
 }
@@ -0,0 +1,65 @@
+/*
+ *  (c) 2017 Michael A. Beck, Sebastian Henningsen
+ *  		disco | Distributed Computer Systems Lab
+ *  		University of Kaiserslautern, Germany
+ *  All Rights Reserved.
+ *
+ * This software is work in progress and is released in the hope that it will
+ * be useful to the scientific community. It is provided "as is" without
+ * express or implied warranty, including but not limited to the correctness
+ * of the code or its suitability for any particular purpose.
+ *
+ * This software is provided under the MIT License, however, we would
+ * appreciate it if you contacted the respective authors prior to commercial use.
+ *
+ * If you find our software useful, we would appreciate if you mentioned it
+ * in any publication arising from the use of this software or acknowledge
+ * our work otherwise. We would also like to hear of any fixes or useful
+ */
+
+package org.networkcalculus.snc.benchmark;
+
+import java.io.File;
+import java.net.URISyntaxException;
+import java.net.URL;
+
+import org.networkcalculus.snc.SNC;
+import org.networkcalculus.snc.analysis.AnalysisType;
+import org.networkcalculus.snc.analysis.BoundType;
+import org.networkcalculus.snc.network.Network;
+import org.networkcalculus.snc.symbolic_math.Arrival;
+
+/**
+ * Loads the networks of the benchmarks and analyzes the delay of their
+ * flow of interest (the first flow).
+ */
+final class BenchmarkNetworks {
+
+    private BenchmarkNetworks() {
+    }
+
+    /**
+     * Loads a network, analyzes it and prints the size of the resulting
+     * bound.
+     *
+     * @param network the name of one of the example networks in
+     * <code>src/test/resources/networks</code>, or the path of a network
+     * file
+     * @param vertex the id of the vertex, at which the delay is bounded
+     *
+     * @return the symbolic delay bound of the flow of interest
+     */
+    static Arrival analyzeDelay(String network, int vertex) throws URISyntaxException {
+        URL resource = BenchmarkNetworks.class.getResource("/networks/" + network);
+        File file = resource != null ? new File(resource.toURI()) : new File(network);
+        SNC snc = SNC.getInstance();
+        snc.loadNetwork(file);
+        Network nw = snc.getCurrentNetwork();
+        Arrival arrival = snc.analyzeNetwork(nw.getFlow(1), nw.getVertex(vertex), AnalysisType.SIMPLE_ANA,
+                BoundType.DELAY, nw);
+        System.out.println("Bound of " + network + " at v" + vertex + ": max theta " + arrival.getThetastar()
+                + ", " + arrival.getSigma().getParameters().size() + " + " + arrival.getRho().getParameters().size()
+                + " Hoelder parameters");
+        return arrival;
+    }
+}
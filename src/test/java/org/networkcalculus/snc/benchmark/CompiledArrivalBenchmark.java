@@ -0,0 +1,123 @@
+/*
+ *  (c) 2017 Michael A. Beck, Sebastian Henningsen
+ *  		disco | Distributed Computer Systems Lab
+ *  		University of Kaiserslautern, Germany
+ *  All Rights Reserved.
+ *
+ * This software is work in progress and is released in the hope that it will
+ * be useful to the scientific community. It is provided "as is" without
+ * express or implied warranty, including but not limited to the correctness
+ * of the code or its suitability for any particular purpose.
+ *
+ * This software is provided under the MIT License, however, we would
+ * appreciate it if you contacted the respective authors prior to commercial use.
+ *
+ * If you find our software useful, we would appreciate if you mentioned it
+ * in any publication arising from the use of this software or acknowledge
+ * our work otherwise. We would also like to hear of any fixes or useful
+ */
+
+package org.networkcalculus.snc.benchmark;
+
+import java.lang.management.ManagementFactory;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.networkcalculus.snc.symbolic_math.Arrival;
+import org.networkcalculus.snc.symbolic_math.CompiledArrival;
+import org.networkcalculus.snc.symbolic_math.Hoelder;
+import org.networkcalculus.snc.symbolic_math.ParameterMismatchException;
+import org.networkcalculus.snc.symbolic_math.ParameterSlots;
+import org.networkcalculus.snc.symbolic_math.ServerOverloadException;
+import org.networkcalculus.snc.symbolic_math.ThetaOutOfBoundException;
+
+/**
+ * Compares the time and the allocated memory per evaluation of
+ * {@link Arrival#evaluate(double, int, int)}, which walks the
+ * function-trees, with the {@link CompiledArrival}, evaluated with the
+ * values of the Hoelder-objects and with a p-vector. The delay bound
+ * (n = 4, all Hoelder-coefficients 2) is evaluated at 1000 thetas below
+ * the maximal theta; the first rounds serve as warm-up.
+ * <p>
+ * Arguments: the network (default <code>tandem_mixed.txt</code>) and the
+ * vertex (default 2), see {@link BenchmarkNetworks#analyzeDelay}.
+ */
+public class CompiledArrivalBenchmark {
+
+    private static final int THETAS = 1000;
+    private static final int REPETITIONS = 200;
+    private static final int ROUNDS = 6;
+
+    public static void main(String[] args) throws Exception {
+        String network = args.length > 0 ? args[0] : "tandem_mixed.txt";
+        int vertex = args.length > 1 ? Integer.parseInt(args[1]) : 2;
+        Arrival arrival = BenchmarkNetworks.analyzeDelay(network, vertex);
+
+        Map<Integer, Hoelder> parameters = new HashMap<>(arrival.getSigma().getParameters());
+        parameters.putAll(arrival.getRho().getParameters());
+        for (Hoelder hoelder : parameters.values()) {
+            hoelder.setPValue(2);
+        }
+        CompiledArrival compiled = arrival.compile();
+        ParameterSlots slots = new ParameterSlots(parameters);
+        compiled.bind(slots);
+        double[] p = slots.read();
+
+        double limit = Math.min(arrival.getThetastar(), 5) * 0.99;
+        double[] thetas = new double[THETAS];
+        for (int i = 0; i < THETAS; i++) {
+            thetas[i] = (i + 0.5) * limit / THETAS;
+        }
+
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+        double points = (double) REPETITIONS * THETAS;
+        for (int round = 0; round < ROUNDS; round++) {
+            long bytes0 = threads.getThreadAllocatedBytes(thread);
+            long time0 = System.nanoTime();
+            double tree = 0;
+            for (int r = 0; r < REPETITIONS; r++) {
+                for (double theta : thetas) {
+                    tree += evaluate(() -> arrival.evaluate(theta, 4, 0));
+                }
+            }
+            long time1 = System.nanoTime();
+            long bytes1 = threads.getThreadAllocatedBytes(thread);
+            double flat = 0;
+            for (int r = 0; r < REPETITIONS; r++) {
+                for (double theta : thetas) {
+                    flat += evaluate(() -> compiled.evaluate(theta, 4, 0));
+                }
+            }
+            long time2 = System.nanoTime();
+            long bytes2 = threads.getThreadAllocatedBytes(thread);
+            double vector = 0;
+            for (int r = 0; r < REPETITIONS; r++) {
+                for (double theta : thetas) {
+                    vector += evaluate(() -> compiled.evaluate(theta, p, 4, 0));
+                }
+            }
+            long time3 = System.nanoTime();
+            long bytes3 = threads.getThreadAllocatedBytes(thread);
+            System.out.printf("Round %d: tree %.0f ns %.0f B, compiled %.0f ns %.0f B, p-vector %.0f ns %.0f B per point,"
+                    + " same sums: %b%n", round, (time1 - time0) / points, (bytes1 - bytes0) / points,
+                    (time2 - time1) / points, (bytes2 - bytes1) / points, (time3 - time2) / points,
+                    (bytes3 - bytes2) / points, tree == flat && tree == vector);
+        }
+    }
+
+    private interface Evaluation {
+        double evaluate() throws ThetaOutOfBoundException, ParameterMismatchException, ServerOverloadException;
+    }
+
+    /**
+     * @return the value, 0 if theta is infeasible
+     */
+    private static double evaluate(Evaluation evaluation) throws ParameterMismatchException {
+        try {
+            return evaluation.evaluate();
+        } catch (ThetaOutOfBoundException | ServerOverloadException e) {
+            return 0;
+        }
+    }
+}
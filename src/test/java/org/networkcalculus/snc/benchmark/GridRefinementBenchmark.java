@@ -0,0 +1,71 @@
+/*
+ *  (c) 2017 Michael A. Beck, Sebastian Henningsen
+ *  		disco | Distributed Computer Systems Lab
+ *  		University of Kaiserslautern, Germany
+ *  All Rights Reserved.
+ *
+ * This software is work in progress and is released in the hope that it will
+ * be useful to the scientific community. It is provided "as is" without
+ * express or implied warranty, including but not limited to the correctness
+ * of the code or its suitability for any particular purpose.
+ *
+ * This software is provided under the MIT License, however, we would
+ * appreciate it if you contacted the respective authors prior to commercial use.
+ *
+ * If you find our software useful, we would appreciate if you mentioned it
+ * in any publication arising from the use of this software or acknowledge
+ * our work otherwise. We would also like to hear of any fixes or useful
+ */
+
+package org.networkcalculus.snc.benchmark;
+
+import org.networkcalculus.snc.analysis.BoundType;
+import org.networkcalculus.snc.optimization.BoundFactory;
+import org.networkcalculus.snc.optimization.OptimizationFactory;
+import org.networkcalculus.snc.optimization.OptimizationResult;
+import org.networkcalculus.snc.optimization.OptimizationType;
+import org.networkcalculus.snc.optimization.Optimizer;
+import org.networkcalculus.snc.symbolic_math.Arrival;
+
+/**
+ * Compares the {@link OptimizationType#GRID_REFINEMENT_OPT} with the
+ * exhaustive search of the same grid by the
+ * {@link OptimizationType#SIMPLE_OPT}. The inverse delay bound
+ * (violation probability 1E-3, thetagranularity 0.01,
+ * hoeldergranularity 0.1) is optimized 30 times by each optimizer; the
+ * optimum, the number of evaluations and the best time are printed.
+ * <p>
+ * Arguments: the network (default <code>single_ebb.txt</code>), the
+ * vertex (default 1), see {@link BenchmarkNetworks#analyzeDelay}, and a
+ * comma separated list of optimization types (default
+ * <code>SIMPLE_OPT,GRID_REFINEMENT_OPT</code>).
+ */
+public class GridRefinementBenchmark {
+
+    private static final double VIOLATION_PROBABILITY = 1E-3;
+    private static final double THETA_GRANULARITY = 0.01;
+    private static final double HOELDER_GRANULARITY = 0.1;
+    private static final int RUNS = 30;
+
+    public static void main(String[] args) throws Exception {
+        String network = args.length > 0 ? args[0] : "single_ebb.txt";
+        int vertex = args.length > 1 ? Integer.parseInt(args[1]) : 1;
+        String types = args.length > 2 ? args[2] : "SIMPLE_OPT,GRID_REFINEMENT_OPT";
+        Arrival arrival = BenchmarkNetworks.analyzeDelay(network, vertex);
+
+        for (String type : types.split(",")) {
+            OptimizationResult result = null;
+            long best = Long.MAX_VALUE;
+            for (int run = 0; run < RUNS; run++) {
+                Optimizer optimizer = OptimizationFactory.getOptimizer(
+                        BoundFactory.createBound(arrival, BoundType.INVERSE_DELAY, VIOLATION_PROBABILITY),
+                        BoundType.DELAY, OptimizationType.valueOf(type));
+                long start = System.nanoTime();
+                result = optimizer.optimize(THETA_GRANULARITY, HOELDER_GRANULARITY);
+                best = Math.min(best, System.nanoTime() - start);
+            }
+            System.out.printf("%s: bound %s, %d evaluations, best of %d runs %.2f ms%n", type, result.getBound(),
+                    result.getEvaluations(), RUNS, best / 1e6);
+        }
+    }
+}
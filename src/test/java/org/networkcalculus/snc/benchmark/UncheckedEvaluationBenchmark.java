@@ -0,0 +1,106 @@
+/*
+ *  (c) 2017 Michael A. Beck, Sebastian Henningsen
+ *  		disco | Distributed Computer Systems Lab
+ *  		University of Kaiserslautern, Germany
+ *  All Rights Reserved.
+ *
+ * This software is work in progress and is released in the hope that it will
+ * be useful to the scientific community. It is provided "as is" without
+ * express or implied warranty, including but not limited to the correctness
+ * of the code or its suitability for any particular purpose.
+ *
+ * This software is provided under the MIT License, however, we would
+ * appreciate it if you contacted the respective authors prior to commercial use.
+ *
+ * If you find our software useful, we would appreciate if you mentioned it
+ * in any publication arising from the use of this software or acknowledge
+ * our work otherwise. We would also like to hear of any fixes or useful
+ */
+
+package org.networkcalculus.snc.benchmark;
+
+import org.networkcalculus.snc.analysis.BoundType;
+import org.networkcalculus.snc.optimization.BoundFactory;
+import org.networkcalculus.snc.optimization.Optimizable;
+import org.networkcalculus.snc.symbolic_math.Arrival;
+import org.networkcalculus.snc.symbolic_math.EvaluationStatus;
+import org.networkcalculus.snc.symbolic_math.Hoelder;
+import org.networkcalculus.snc.symbolic_math.ServerOverloadException;
+import org.networkcalculus.snc.symbolic_math.ThetaOutOfBoundException;
+
+/**
+ * Compares {@link Optimizable#evaluate(double)}, which throws an
+ * exception for each infeasible theta, with
+ * {@link Optimizable#evaluateUnchecked(double)}. The delay bound (value
+ * 4, all Hoelder-coefficients 2) is evaluated at 2000 thetas up to three times the maximal theta, so
+ * that two thirds of them are infeasible; the first rounds serve as
+ * warm-up. Without a maximal theta the first infeasible theta found by
+ * doubling takes its place.
+ * <p>
+ * Arguments: the network (default <code>single_ebb.txt</code>) and the
+ * vertex (default 1), see {@link BenchmarkNetworks#analyzeDelay}.
+ */
+public class UncheckedEvaluationBenchmark {
+
+    private static final int THETAS = 2000;
+    private static final int REPETITIONS = 50;
+    private static final int ROUNDS = 8;
+    private static final double MAX_LIMIT = 1E6;
+
+    public static void main(String[] args) throws Exception {
+        String network = args.length > 0 ? args[0] : "single_ebb.txt";
+        int vertex = args.length > 1 ? Integer.parseInt(args[1]) : 1;
+        Arrival arrival = BenchmarkNetworks.analyzeDelay(network, vertex);
+
+        Optimizable bound = BoundFactory.createBound(arrival, BoundType.DELAY, 4);
+        bound.prepare();
+        for (Hoelder hoelder : bound.getHoelderParameters().values()) {
+            hoelder.setPValue(2);
+        }
+        double maxTheta = bound.getMaximumTheta();
+        if (maxTheta == Double.POSITIVE_INFINITY) {
+            // Doubles theta until the bound is infeasible, e.g. as a server is overloaded
+            maxTheta = 0.01;
+            while (maxTheta < MAX_LIMIT && EvaluationStatus.isFeasible(bound.evaluateUnchecked(maxTheta))) {
+                maxTheta *= 2;
+            }
+            System.out.println("No maximal theta, the bound is infeasible from theta " + maxTheta);
+        }
+        double[] thetas = new double[THETAS];
+        for (int i = 0; i < THETAS; i++) {
+            thetas[i] = (i + 1) * 3 * maxTheta / THETAS;
+        }
+
+        for (int round = 0; round < ROUNDS; round++) {
+            long time0 = System.nanoTime();
+            double checked = 0;
+            int checkedInfeasible = 0;
+            for (int r = 0; r < REPETITIONS; r++) {
+                for (double theta : thetas) {
+                    try {
+                        checked += bound.evaluate(theta);
+                    } catch (ThetaOutOfBoundException | ServerOverloadException e) {
+                        checkedInfeasible++;
+                    }
+                }
+            }
+            long time1 = System.nanoTime();
+            double unchecked = 0;
+            int uncheckedInfeasible = 0;
+            for (int r = 0; r < REPETITIONS; r++) {
+                for (double theta : thetas) {
+                    double value = bound.evaluateUnchecked(theta);
+                    if (EvaluationStatus.isFeasible(value)) {
+                        unchecked += value;
+                    } else {
+                        uncheckedInfeasible++;
+                    }
+                }
+            }
+            long time2 = System.nanoTime();
+            System.out.printf("Round %d: checked %.1f ms (%d infeasible), unchecked %.1f ms (%d infeasible),"
+                    + " same sums: %b%n", round, (time1 - time0) / 1e6, checkedInfeasible, (time2 - time1) / 1e6,
+                    uncheckedInfeasible, checked == unchecked);
+        }
+    }
+}
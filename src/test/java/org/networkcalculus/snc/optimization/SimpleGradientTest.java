@@ -0,0 +1,82 @@
+/*
+ *  (c) 2017 Michael A. Beck, Sebastian Henningsen
+ *  		disco | Distributed Computer Systems Lab
+ *  		University of Kaiserslautern, Germany
+ *  All Rights Reserved.
+ *
+ * This software is work in progress and is released in the hope that it will
+ * be useful to the scientific community. It is provided "as is" without
+ * express or implied warranty, including but not limited to the correctness
+ * of the code or its suitability for any particular purpose.
+ *
+ * This software is provided under the MIT License, however, we would
+ * appreciate it if you contacted the respective authors prior to commercial use.
+ *
+ * If you find our software useful, we would appreciate if you mentioned it
+ * in any publication arising from the use of this software or acknowledge
+ * our work otherwise. We would also like to hear of any fixes or useful
+ */
+
+package org.networkcalculus.snc.optimization;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.networkcalculus.snc.SNC;
+import org.networkcalculus.snc.analysis.AnalysisType;
+import org.networkcalculus.snc.analysis.BoundType;
+import org.networkcalculus.snc.network.Network;
+import org.networkcalculus.snc.symbolic_math.Arrival;
+
+/**
+ * Checks that the gradient search of {@link SimpleGradient} is repeated
+ * exactly by its {@link SimpleGradient#ReverseBound}. The network is a
+ * tandem of three constant rate servers, whose flow of interest shares
+ * the last two servers with a cross flow, such that the bound at the last
+ * server depends on the Hoelder parameters of several hops.
+ */
+public class SimpleGradientTest {
+
+    private static final double THETA_GRANULARITY = 0.01;
+    private static final double HOELDER_GRANULARITY = 0.1;
+    private static final double VIOLATION_PROBABILITY = 0.001;
+
+    private SNC snc;
+    private Network nw;
+
+    @Before
+    public void loadNetwork() throws Exception {
+        snc = SNC.getInstance();
+        snc.loadNetwork(new File(getClass().getResource("/networks/dependent_tandem.txt").toURI()));
+        nw = snc.getCurrentNetwork();
+    }
+
+    @Test
+    public void reverseBoundRepeatsMinimize() throws Exception {
+        Arrival arrival = snc.analyzeNetwork(nw.getFlow(1), nw.getVertex(3), AnalysisType.SIMPLE_ANA,
+                BoundType.DELAY, nw);
+        Optimizer optimizer = OptimizationFactory.getOptimizer(
+                BoundFactory.createBound(arrival, BoundType.INVERSE_DELAY, VIOLATION_PROBABILITY), BoundType.DELAY,
+                OptimizationType.GRADIENT_OPT);
+
+        double minimum = optimizer.minimize(THETA_GRANULARITY, HOELDER_GRANULARITY);
+        double reverse = optimizer.ReverseBound(arrival, BoundType.DELAY, VIOLATION_PROBABILITY,
+                THETA_GRANULARITY, HOELDER_GRANULARITY);
+
+        assertTrue(minimum < Double.POSITIVE_INFINITY);
+        assertEquals(minimum, reverse, 0.0);
+    }
+
+    @Test
+    public void optimizeSymbolicFunctionFindsFiniteDelay() {
+        OptimizationResult result = snc.optimizeSymbolicFunction(nw.getFlow(1), nw.getVertex(3), THETA_GRANULARITY,
+                HOELDER_GRANULARITY, AnalysisType.SIMPLE_ANA, OptimizationType.GRADIENT_OPT, BoundType.INVERSE_DELAY,
+                VIOLATION_PROBABILITY, nw);
+
+        assertTrue(result.getBound() < Double.POSITIVE_INFINITY);
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ *  (c) 2017 Michael A. Beck, Sebastian Henningsen
+ *  		disco | Distributed Computer Systems Lab
+ *  		University of Kaiserslautern, Germany
+ *  All Rights Reserved.
+ *
+ * This software is work in progress and is released in the hope that it will
+ * be useful to the scientific community. It is provided "as is" without
+ * express or implied warranty, including but not limited to the correctness
+ * of the code or its suitability for any particular purpose.
+ *
+ * This software is provided under the MIT License, however, we would
+ * appreciate it if you contacted the respective authors prior to commercial use.
+ *
+ * If you find our software useful, we would appreciate if you mentioned it
+ * in any publication arising from the use of this software or acknowledge
+ * our work otherwise. We would also like to hear of any fixes or useful
+ */
+
+package org.networkcalculus.snc.symbolic_math;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameter;
+import org.junit.runners.Parameterized.Parameters;
+import org.networkcalculus.snc.SNC;
+import org.networkcalculus.snc.analysis.AnalysisType;
+import org.networkcalculus.snc.analysis.BoundType;
+import org.networkcalculus.snc.network.Network;
+
+/**
+ * Checks that a {@link CompiledArrival} evaluates to the same values as
+ * {@link Arrival#evaluate(double, int, int)} walking the function-trees,
+ * both with the values of the Hoelder-objects and with a p-vector, and
+ * that an evaluation through an {@link EvaluationContext} does so. The
+ * arrivals are the delay bounds of the flow of interest in the example
+ * networks, evaluated on a grid of thetas reaching beyond the maximal
+ * theta and for several Hoelder coefficients.
+ */
+@RunWith(Parameterized.class)
+public class CompiledArrivalTest {
+
+    private static final int THETAS = 200;
+
+    @Parameters(name = "{0} at v{1}")
+    public static Collection<Object[]> networks() {
+        return Arrays.asList(new Object[][] {
+            { "single_ebb.txt", 1 },
+            { "single_exponential.txt", 1 },
+            { "single_token_bucket.txt", 1 },
+            { "tandem_mixed.txt", 2 },
+            { "tandem_ebb.txt", 2 },
+            { "tandem_exponential.txt", 2 },
+            { "tandem_token_bucket.txt", 2 },
+            { "tandem4_exponential.txt", 2 }
+        });
+    }
+
+    @Parameter(0)
+    public String network;
+
+    @Parameter(1)
+    public int vertex;
+
+    private Arrival arrival;
+    private Map<Integer, Hoelder> parameters;
+
+    @Before
+    public void analyze() throws Exception {
+        SNC snc = SNC.getInstance();
+        snc.loadNetwork(new File(getClass().getResource("/networks/" + network).toURI()));
+        Network nw = snc.getCurrentNetwork();
+        arrival = snc.analyzeNetwork(nw.getFlow(1), nw.getVertex(vertex), AnalysisType.SIMPLE_ANA, BoundType.DELAY, nw);
+        parameters = new HashMap<>(arrival.getSigma().getParameters());
+        parameters.putAll(arrival.getRho().getParameters());
+    }
+
+    @Test
+    public void compiledMatchesTree() throws Exception {
+        CompiledArrival compiled = arrival.compile();
+        ParameterSlots slots = new ParameterSlots(parameters);
+        compiled.bind(slots);
+
+        for (double pValue : new double[] { 2, 1.5, 3.7 }) {
+            int i = 0;
+            for (Hoelder hoelder : parameters.values()) {
+                // Varies the coefficients between the parameters as well
+                hoelder.setPValue(i++ % 2 == 0 ? pValue : 2);
+            }
+            double[] p = slots.read();
+            for (int n : new int[] { 0, 4 }) {
+                for (double theta : thetas()) {
+                    String point = "theta " + theta + ", n " + n + ", p " + Arrays.toString(p);
+                    Object expected = evaluate(() -> arrival.evaluate(theta, n, 0));
+                    assertFalse(point, expected instanceof Double && Double.isNaN((Double) expected));
+                    assertSame(point + " (compiled)", expected, evaluate(() -> compiled.evaluate(theta, n, 0)));
+                    assertSame(point + " (p-vector)", expected, evaluate(() -> compiled.evaluate(theta, p, n, 0)));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void contextMatchesTree() throws Exception {
+        ParameterSlots slots = new ParameterSlots(parameters);
+        arrival.getSigma().bind(slots);
+        arrival.getRho().bind(slots);
+        for (Hoelder hoelder : parameters.values()) {
+            hoelder.setPValue(1.5);
+        }
+        double[] p = slots.read();
+        EvaluationContext context = new EvaluationContext();
+
+        for (double theta : thetas()) {
+            String point = "theta " + theta + ", p " + Arrays.toString(p);
+            Object expected = evaluate(() -> arrival.evaluate(theta, 4, 0));
+            assertSame(point, expected, evaluate(() -> arrival.evaluate(theta, p, slots, 4, 0, context)));
+        }
+        assertTrue(context.getMisses() > 0);
+    }
+
+    /**
+     * @return thetas from close to zero up to twice the maximal theta, or
+     * up to 10 if there is none
+     */
+    private double[] thetas() {
+        double limit = arrival.getThetastar() < Double.POSITIVE_INFINITY ? 2 * arrival.getThetastar() : 10;
+        double[] thetas = new double[THETAS];
+        for (int i = 0; i < THETAS; i++) {
+            thetas[i] = (i + 0.5) * limit / THETAS;
+        }
+        return thetas;
+    }
+
+    private interface Evaluation {
+        double evaluate() throws ThetaOutOfBoundException, ParameterMismatchException, ServerOverloadException;
+    }
+
+    /**
+     * @return the value, or the class of the exception thrown instead
+     */
+    private static Object evaluate(Evaluation evaluation) throws ParameterMismatchException {
+        try {
+            return evaluation.evaluate();
+        } catch (ThetaOutOfBoundException | ServerOverloadException e) {
+            return e.getClass();
+        }
+    }
+
+    private static void assertSame(String message, Object expected, Object actual) {
+        if (expected instanceof Double && actual instanceof Double) {
+            double tolerance = 1e-12 * Math.max(1, Math.abs((Double) expected));
+            assertEquals(message, (Double) expected, (Double) actual, tolerance);
+        } else {
+            assertEquals(message, expected, actual);
+        }
+    }
+}